@@ -0,0 +1,59 @@
+/**
+ * Copyright (C) 2010-2015 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser Public License as published by the
+ * Free Software Foundation, either version 3.0 of the License, or (at your
+ * option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser Public License along
+ * with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.examples.with.different.packagename.benchmark;
+
+/**
+ * Sample class under test for the benchmarks, with object state and
+ * exceptions
+ */
+public class BoundedStack {
+
+	private final Object[] elements;
+
+	private int size = 0;
+
+	public BoundedStack(int capacity) {
+		if (capacity <= 0)
+			throw new IllegalArgumentException("Capacity must be positive");
+		elements = new Object[capacity];
+	}
+
+	public void push(Object element) {
+		if (size == elements.length)
+			throw new IllegalStateException("Stack is full");
+		elements[size++] = element;
+	}
+
+	public Object pop() {
+		if (size == 0)
+			throw new IllegalStateException("Stack is empty");
+		Object element = elements[--size];
+		elements[size] = null;
+		return element;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	public boolean isFull() {
+		return size == elements.length;
+	}
+}
@@ -0,0 +1,148 @@
+/**
+ * Copyright (C) 2010-2015 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser Public License as published by the
+ * Free Software Foundation, either version 3.0 of the License, or (at your
+ * option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser Public License along
+ * with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.benchmark;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Run all benchmarks of this module, store their scores as a CSV baseline, and
+ * compare them to a previous baseline.
+ * 
+ * <p>
+ * Usage: <code>BaselineReport &lt;output.csv&gt; [&lt;previous.csv&gt;]</code>.
+ * All benchmarks report average times, so a score that grew by more than
+ * {@link #REGRESSION_THRESHOLD} is reported as a regression, and the exit code
+ * is 1 if there is any.
+ */
+public class BaselineReport {
+
+	/** Relative slowdown above which a benchmark counts as a regression */
+	public static final double REGRESSION_THRESHOLD = 0.10;
+
+	public static void main(String[] args) throws RunnerException, IOException {
+		if (args.length < 1 || args.length > 2) {
+			System.err.println("Usage: BaselineReport <output.csv> [<previous.csv>]");
+			System.exit(2);
+		}
+
+		Options options = new OptionsBuilder().include(BaselineReport.class.getPackage().getName() + ".*Benchmark.*").build();
+		Collection<RunResult> results = new Runner(options).run();
+
+		Map<String, Double> scores = new LinkedHashMap<String, Double>();
+		Map<String, String> units = new LinkedHashMap<String, String>();
+		for (RunResult result : results) {
+			String name = getName(result);
+			scores.put(name, result.getPrimaryResult().getScore());
+			units.put(name, result.getPrimaryResult().getScoreUnit());
+		}
+		writeBaseline(new File(args[0]), scores, units);
+
+		if (args.length == 2) {
+			List<String> regressions = compare(readBaseline(new File(args[1])), scores);
+			for (String regression : regressions) {
+				System.out.println("REGRESSION: " + regression);
+			}
+			if (!regressions.isEmpty())
+				System.exit(1);
+		}
+	}
+
+	/**
+	 * Name of a benchmark including its parameters, e.g.
+	 * <code>...TestCaseExecutorBenchmark.execute:calls=10</code>
+	 */
+	private static String getName(RunResult result) {
+		StringBuilder name = new StringBuilder(result.getParams().getBenchmark());
+		for (String key : result.getParams().getParamsKeys()) {
+			name.append(':').append(key).append('=').append(result.getParams().getParam(key));
+		}
+		return name.toString();
+	}
+
+	private static void writeBaseline(File file, Map<String, Double> scores, Map<String, String> units)
+	        throws IOException {
+		PrintWriter writer = new PrintWriter(file, "UTF-8");
+		try {
+			writer.println("benchmark,score,unit");
+			for (Entry<String, Double> entry : scores.entrySet()) {
+				writer.println(entry.getKey() + "," + entry.getValue() + "," + units.get(entry.getKey()));
+			}
+		} finally {
+			writer.close();
+		}
+	}
+
+	private static Map<String, Double> readBaseline(File file) throws IOException {
+		Map<String, Double> scores = new LinkedHashMap<String, Double>();
+		BufferedReader reader = new BufferedReader(new FileReader(file));
+		try {
+			// skip the header
+			String line = reader.readLine();
+			while ((line = reader.readLine()) != null) {
+				String[] fields = line.split(",");
+				if (fields.length == 3)
+					scores.put(fields[0], Double.parseDouble(fields[1]));
+			}
+		} finally {
+			reader.close();
+		}
+		return scores;
+	}
+
+	/**
+	 * Print the relative change of each benchmark that is in both baselines
+	 * 
+	 * @return descriptions of the benchmarks that got slower by more than
+	 *         the threshold
+	 */
+	static List<String> compare(Map<String, Double> previous, Map<String, Double> current) {
+		List<String> regressions = new ArrayList<String>();
+		for (Entry<String, Double> entry : current.entrySet()) {
+			Double before = previous.get(entry.getKey());
+			if (before == null || before <= 0.0) {
+				System.out.println(entry.getKey() + ": new");
+				continue;
+			}
+			double change = (entry.getValue() - before) / before;
+			String description = String.format("%s: %.3f -> %.3f (%+.1f%%)", entry.getKey(), before,
+			                                   entry.getValue(), 100.0 * change);
+			System.out.println(description);
+			if (change > REGRESSION_THRESHOLD)
+				regressions.add(description);
+		}
+		return regressions;
+	}
+}
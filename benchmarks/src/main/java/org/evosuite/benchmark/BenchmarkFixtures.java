@@ -0,0 +1,132 @@
+/**
+ * Copyright (C) 2010-2015 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser Public License as published by the
+ * Free Software Foundation, either version 3.0 of the License, or (at your
+ * option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser Public License along
+ * with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.benchmark;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.evosuite.Properties;
+import org.evosuite.TestGenerationContext;
+import org.evosuite.classpath.ClassPathHandler;
+import org.evosuite.runtime.classhandling.ResetManager;
+import org.evosuite.setup.DependencyAnalysis;
+import org.evosuite.testcase.DefaultTestCase;
+import org.evosuite.testcase.statements.ConstructorStatement;
+import org.evosuite.testcase.statements.MethodStatement;
+import org.evosuite.testcase.statements.numeric.IntPrimitiveStatement;
+import org.evosuite.testcase.variable.VariableReference;
+import org.evosuite.utils.Randomness;
+import org.evosuite.utils.generic.GenericConstructor;
+import org.evosuite.utils.generic.GenericMethod;
+
+import com.examples.with.different.packagename.benchmark.Triangle;
+
+/**
+ * Fixed set-up shared by the benchmarks, so that all of them run on the same
+ * sample classes under test and the same tests
+ */
+public final class BenchmarkFixtures {
+
+	/** Seed for everything that is random in the benchmarks */
+	public static final long SEED = 42;
+
+	private BenchmarkFixtures() {
+		// no instances
+	}
+
+	/**
+	 * Reset EvoSuite and analyze the given class as the target class, as the
+	 * client does before starting the search
+	 * 
+	 * @param className
+	 * @throws ClassNotFoundException
+	 */
+	public static void setUpTargetClass(String className) throws ClassNotFoundException {
+		Properties.getInstance().resetToDefaults();
+		Randomness.setSeed(SEED);
+		ClassPathHandler.getInstance().changeTargetCPtoTheSameAsEvoSuite();
+		Properties.TARGET_CLASS = className;
+		TestGenerationContext.getInstance().resetContext();
+		ResetManager.getInstance().clearManager();
+		DependencyAnalysis.analyzeClass(Properties.TARGET_CLASS,
+		                                Arrays.asList(ClassPathHandler.getInstance().getClassPathElementsForTargetProject()));
+	}
+
+	/**
+	 * Reset EvoSuite after a benchmark
+	 */
+	public static void tearDown() {
+		TestGenerationContext.getInstance().resetContext();
+		ResetManager.getInstance().clearManager();
+		Properties.getInstance().resetToDefaults();
+	}
+
+	/**
+	 * Triangles with sides between 0 and 10, always the same for a given
+	 * number and seed
+	 * 
+	 * @param number
+	 * @param seed
+	 * @return
+	 */
+	public static int[][] triangles(int number, long seed) {
+		Random random = new Random(seed);
+		int[][] triangles = new int[number][3];
+		for (int i = 0; i < number; i++) {
+			for (int j = 0; j < 3; j++) {
+				triangles[i][j] = random.nextInt(11);
+			}
+		}
+		return triangles;
+	}
+
+	/**
+	 * Create a test that classifies the given triangles with a single
+	 * {@link Triangle}, loaded by the class loader of the SUT. Each triangle
+	 * takes four statements
+	 * 
+	 * @param triangles
+	 * @return
+	 * @throws ClassNotFoundException
+	 * @throws NoSuchMethodException
+	 */
+	public static DefaultTestCase createTriangleTest(int[][] triangles)
+	        throws ClassNotFoundException, NoSuchMethodException {
+		Class<?> sut = TestGenerationContext.getInstance().getClassLoaderForSUT().loadClass(Triangle.class.getName());
+		GenericConstructor constructor = new GenericConstructor(sut.getConstructor(), sut);
+		Method method = sut.getMethod("classify", int.class, int.class, int.class);
+		GenericMethod classify = new GenericMethod(method, sut);
+
+		DefaultTestCase test = new DefaultTestCase();
+		VariableReference triangle = test.addStatement(new ConstructorStatement(test,
+		        constructor, new ArrayList<VariableReference>()));
+		for (int[] sides : triangles) {
+			List<VariableReference> parameters = new ArrayList<VariableReference>();
+			for (int side : sides) {
+				parameters.add(test.addStatement(new IntPrimitiveStatement(test, side)));
+			}
+			test.addStatement(new MethodStatement(test, classify, triangle, parameters));
+		}
+		return test;
+	}
+}
@@ -0,0 +1,101 @@
+/**
+ * Copyright (C) 2010-2015 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser Public License as published by the
+ * Free Software Foundation, either version 3.0 of the License, or (at your
+ * option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser Public License along
+ * with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.evosuite.Properties;
+import org.evosuite.coverage.branch.BranchCoverageSuiteFitness;
+import org.evosuite.testcase.TestChromosome;
+import org.evosuite.testcase.execution.TestCaseExecutor;
+import org.evosuite.testsuite.TestSuiteChromosome;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.examples.with.different.packagename.benchmark.Triangle;
+
+/**
+ * Branch coverage fitness of a suite of {@link Triangle} tests, both when no
+ * test has changed since the last evaluation and when all tests need to be
+ * executed again
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BranchCoverageSuiteFitnessBenchmark {
+
+	/** Number of classify calls in each test */
+	private static final int CALLS_PER_TEST = 5;
+
+	@Param({ "10", "50" })
+	public int tests;
+
+	private BranchCoverageSuiteFitness fitness;
+
+	private TestSuiteChromosome suite;
+
+	@Setup(Level.Trial)
+	public void setUp() throws Exception {
+		BenchmarkFixtures.setUpTargetClass(Triangle.class.getName());
+		// the archive would remove covered goals from the fitness function
+		Properties.TEST_ARCHIVE = false;
+
+		fitness = new BranchCoverageSuiteFitness();
+		suite = new TestSuiteChromosome();
+		for (int i = 0; i < tests; i++) {
+			suite.addTest(BenchmarkFixtures.createTriangleTest(BenchmarkFixtures.triangles(CALLS_PER_TEST,
+			                                                                             BenchmarkFixtures.SEED + i)));
+		}
+		fitness.getFitness(suite);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		TestCaseExecutor.pullDown();
+		BenchmarkFixtures.tearDown();
+	}
+
+	@Benchmark
+	public double getFitnessUnchanged() {
+		return fitness.getFitness(suite);
+	}
+
+	@Benchmark
+	public double getFitnessChanged() {
+		for (TestChromosome test : suite.getTestChromosomes()) {
+			test.setChanged(true);
+		}
+		return fitness.getFitness(suite);
+	}
+}
@@ -0,0 +1,100 @@
+/**
+ * Copyright (C) 2010-2015 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser Public License as published by the
+ * Free Software Foundation, either version 3.0 of the License, or (at your
+ * option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser Public License along
+ * with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.evosuite.Properties;
+import org.evosuite.testcase.execution.ExecutionTracer;
+import org.objectweb.asm.Opcodes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of the calls that instrumented code makes for every branch and line it
+ * executes
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Thread)
+public class ExecutionTracerBenchmark {
+
+	/** Number of distinct branches and lines the calls are spread over */
+	private static final int NUM_TARGETS = 64;
+
+	private static final String CLASS_NAME = "com.examples.with.different.packagename.benchmark.Triangle";
+
+	private static final String METHOD_NAME = "classify(III)I";
+
+	private int next = 0;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		Properties.getInstance().resetToDefaults();
+		ExecutionTracer.setCheckCallerThread(false);
+		ExecutionTracer.enable();
+	}
+
+	@Setup(Level.Iteration)
+	public void clearTrace() {
+		ExecutionTracer.getExecutionTracer().clear();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		ExecutionTracer.getExecutionTracer().clear();
+		ExecutionTracer.setCheckCallerThread(true);
+	}
+
+	private int nextTarget() {
+		next = (next + 1) % NUM_TARGETS;
+		return next;
+	}
+
+	@Benchmark
+	public void passedBranch() {
+		int target = nextTarget();
+		ExecutionTracer.passedBranch(target, Opcodes.IFEQ, target + 1, target);
+	}
+
+	@Benchmark
+	public void passedBranchComparison() {
+		int target = nextTarget();
+		ExecutionTracer.passedBranch(target, NUM_TARGETS / 2, Opcodes.IF_ICMPLT, target + 1, target);
+	}
+
+	@Benchmark
+	public void passedLine() {
+		ExecutionTracer.passedLine(CLASS_NAME, METHOD_NAME, nextTarget() + 1);
+	}
+}
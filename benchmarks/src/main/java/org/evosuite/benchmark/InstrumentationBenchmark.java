@@ -0,0 +1,94 @@
+/**
+ * Copyright (C) 2010-2015 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser Public License as published by the
+ * Free Software Foundation, either version 3.0 of the License, or (at your
+ * option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser Public License along
+ * with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.benchmark;
+
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.IOUtils;
+import org.evosuite.TestGenerationContext;
+import org.evosuite.instrumentation.BytecodeInstrumentation;
+import org.objectweb.asm.ClassReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Instrumentation of the bytes of a sample class, as done by the instrumenting
+ * class loader for every class of the SUT
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InstrumentationBenchmark {
+
+	@Param({ "Triangle", "BoundedStack" })
+	public String cut;
+
+	private String className;
+
+	private byte[] bytes;
+
+	@Setup(Level.Trial)
+	public void setUp() throws Exception {
+		className = "com/examples/with/different/packagename/benchmark/" + cut;
+		BenchmarkFixtures.setUpTargetClass(className.replace('/', '.'));
+		InputStream in = getClass().getClassLoader().getResourceAsStream(className + ".class");
+		try {
+			bytes = IOUtils.toByteArray(in);
+		} finally {
+			in.close();
+		}
+	}
+
+	/**
+	 * Each transformation registers the branches and control flow graphs of
+	 * the class again, so the pools are reset to keep them from growing
+	 */
+	@Setup(Level.Iteration)
+	public void resetPools() {
+		TestGenerationContext.getInstance().resetContext();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		BenchmarkFixtures.tearDown();
+	}
+
+	@Benchmark
+	public byte[] transformBytes() {
+		BytecodeInstrumentation instrumentation = new BytecodeInstrumentation();
+		return instrumentation.transformBytes(TestGenerationContext.getInstance().getClassLoaderForSUT(),
+		                                      className, new ClassReader(bytes));
+	}
+}
@@ -0,0 +1,142 @@
+/**
+ * Copyright (C) 2010-2015 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser Public License as published by the
+ * Free Software Foundation, either version 3.0 of the License, or (at your
+ * option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser Public License along
+ * with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.evosuite.Properties;
+import org.evosuite.symbolic.expr.Comparator;
+import org.evosuite.symbolic.expr.Constraint;
+import org.evosuite.symbolic.expr.IntegerConstraint;
+import org.evosuite.symbolic.expr.bv.IntegerConstant;
+import org.evosuite.symbolic.expr.bv.IntegerVariable;
+import org.evosuite.symbolic.solver.Solver;
+import org.evosuite.symbolic.solver.SolverCache;
+import org.evosuite.symbolic.solver.SolverResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Lookups in the {@link SolverCache}, with a solver that answers immediately
+ * so that only the cost of the cache is measured
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Thread)
+public class SolverCacheBenchmark {
+
+	private static class ImmediateSolver extends Solver {
+
+		@Override
+		public SolverResult solve(Collection<Constraint<?>> constraints) {
+			return SolverResult.newUNSAT();
+		}
+	}
+
+	/** Number of queries in the cache */
+	@Param({ "100", "1000" })
+	public int entries;
+
+	private final IntegerVariable x = new IntegerVariable("x", 0, Integer.MIN_VALUE, Integer.MAX_VALUE);
+
+	private final IntegerVariable y = new IntegerVariable("y", 0, Integer.MIN_VALUE, Integer.MAX_VALUE);
+
+	private final Solver solver = new ImmediateSolver();
+
+	private List<List<Constraint<?>>> cachedQueries;
+
+	private int next = 0;
+
+	private long nextUnknown = 0;
+
+	@Setup(Level.Iteration)
+	public void setUp() {
+		Properties.getInstance().resetToDefaults();
+		Properties.DSE_SOLVER_CACHE_SIZE = entries;
+		SolverCache cache = SolverCache.getInstance();
+		cache.clear();
+
+		cachedQueries = new ArrayList<List<Constraint<?>>>();
+		for (int i = 0; i < entries; i++) {
+			List<Constraint<?>> query = Arrays.<Constraint<?>> asList(constraint(x, Comparator.EQ, i),
+			                                                          constraint(y, Comparator.GT, i));
+			Map<String, Object> model = new HashMap<String, Object>();
+			model.put("x", (long) i);
+			model.put("y", (long) i + 1);
+			final SolverResult result = SolverResult.newSAT(model);
+			cache.solve(new Solver() {
+				@Override
+				public SolverResult solve(Collection<Constraint<?>> constraints) {
+					return result;
+				}
+			}, query);
+			cachedQueries.add(query);
+		}
+		nextUnknown = entries;
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		SolverCache.getInstance().clear();
+		Properties.getInstance().resetToDefaults();
+	}
+
+	private static Constraint<?> constraint(IntegerVariable v, Comparator cmp, long value) {
+		return new IntegerConstraint(v, cmp, new IntegerConstant(value));
+	}
+
+	@Benchmark
+	public SolverResult lookupCached() {
+		next = (next + 1) % entries;
+		return SolverCache.getInstance().solve(solver, cachedQueries.get(next));
+	}
+
+	/**
+	 * A query that is not in the cache and not satisfied by any recent model,
+	 * so it goes to the solver and is added to the cache
+	 */
+	@Benchmark
+	public SolverResult lookupUnknown() {
+		long value = nextUnknown++;
+		List<Constraint<?>> query = Arrays.<Constraint<?>> asList(constraint(x, Comparator.EQ, value),
+		                                                          constraint(y, Comparator.LT, -value));
+		return SolverCache.getInstance().solve(solver, query);
+	}
+}
@@ -0,0 +1,75 @@
+/**
+ * Copyright (C) 2010-2015 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser Public License as published by the
+ * Free Software Foundation, either version 3.0 of the License, or (at your
+ * option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser Public License along
+ * with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.evosuite.testcase.TestCase;
+import org.evosuite.testcase.TestCodeVisitor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.examples.with.different.packagename.benchmark.Triangle;
+
+/**
+ * Generation of the JUnit code of a test
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TestCodeVisitorBenchmark {
+
+	@Param({ "1", "10", "100" })
+	public int calls;
+
+	private TestCase test;
+
+	@Setup(Level.Trial)
+	public void setUp() throws Exception {
+		BenchmarkFixtures.setUpTargetClass(Triangle.class.getName());
+		test = BenchmarkFixtures.createTriangleTest(BenchmarkFixtures.triangles(calls, BenchmarkFixtures.SEED));
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		BenchmarkFixtures.tearDown();
+	}
+
+	@Benchmark
+	public String generateCode() {
+		TestCodeVisitor visitor = new TestCodeVisitor();
+		test.accept(visitor);
+		return visitor.getCode();
+	}
+}
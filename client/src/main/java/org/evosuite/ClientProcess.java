@@ -25,6 +25,7 @@ package org.evosuite;
 import org.dom4j.DocumentFactory;
 import org.dom4j.dom.DOMDocumentFactory;
 import org.evosuite.classpath.ClassPathHacker;
+import org.evosuite.ga.FitnessFunctionIndex;
 import org.evosuite.junit.writer.TestSuiteWriterUtils;
 import org.evosuite.result.TestGenerationResult;
 import org.evosuite.result.TestGenerationResultBuilder;
@@ -188,6 +189,7 @@ public class ClientProcess {
 			LoggingUtils.getEvoLogger().info("* Starting client");
 			ClientProcess process = new ClientProcess();
 			TimeController.resetSingleton();
+			FitnessFunctionIndex.getInstance().reset();
 			process.run();
 			if (!onThread) {
 				/*
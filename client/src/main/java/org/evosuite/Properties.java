@@ -389,9 +389,20 @@ public class Properties {
 	@Parameter(key = "dse_solver", group = "DSE", description = "Specify which constraint solver to use. Note: external solver will need to be installed and cofigured separately")
 	public static SolverType DSE_SOLVER = SolverType.EVOSUITE_SOLVER;
 
+	@Parameter(key = "dse_solver_cache_size", group = "DSE", description = "Maximum number of constraint sets whose solver result is cached")
+	@IntValue(min = 1)
+	public static int DSE_SOLVER_CACHE_SIZE = 5000;
+
+	@Parameter(key = "dse_parallel_solvers", group = "DSE", description = "Number of negated branch conditions that are solved concurrently during DSE (1 means sequential)")
+	@IntValue(min = 1)
+	public static int DSE_PARALLEL_SOLVERS = 1;
+
 	@Parameter(key = "z3_path", group = "DSE", description = "Indicates the path to the Z3 solver")
 	public static String Z3_PATH = null;
 
+	@Parameter(key = "z3_session", group = "DSE", description = "Keep the Z3 process alive across queries, and only assert the constraints that differ from the previous query. Not used if dse_parallel_solvers > 1, as the process answers one query at a time")
+	public static boolean Z3_SESSION = false;
+
 	@Parameter(key = "z3_str2_path", group = "DSE", description = "Indicates the path to the Z3-Str2 solver")
 	public static String Z3_STR2_PATH = null;
 
@@ -608,6 +619,14 @@ public class Properties {
 	@Parameter(key = "selection_function", group = "Search Algorithm", description = "Selection function during search")
 	public static SelectionFunction SELECTION_FUNCTION = SelectionFunction.RANK;
 
+	public enum NonDominatedSortingAlgorithm {
+		FAST, ENS
+	}
+
+	/** Constant <code>NON_DOMINATED_SORTING</code> */
+	@Parameter(key = "non_dominated_sorting", group = "Search Algorithm", description = "Algorithm used to compute the non-dominated fronts in MOSA and NSGAII")
+	public static NonDominatedSortingAlgorithm NON_DOMINATED_SORTING = NonDominatedSortingAlgorithm.ENS;
+
 	// TODO: Fix values
 	/** Constant <code>SECONDARY_OBJECTIVE="totallength"</code> */
 	@Parameter(key = "secondary_objectives", group = "Search Algorithm", description = "Secondary objective during search")
@@ -917,6 +936,14 @@ public class Properties {
 	@Parameter(key = "minimize_values", group = "Output", description = "Minimize constants and method calls")
 	public static boolean MINIMIZE_VALUES = false;
 
+	public enum MinimizationStrategy {
+		ITERATIVE, DDMIN
+	}
+
+	/** Constant <code>MINIMIZATION_STRATEGY</code> */
+	@Parameter(key = "minimization_strategy", group = "Output", description = "How statements are removed when minimizing a test: ITERATIVE tries one statement at a time, DDMIN first removes chunks of statements with delta debugging")
+	public static MinimizationStrategy MINIMIZATION_STRATEGY = MinimizationStrategy.ITERATIVE;
+
 	/** Constant <code>COVERAGE=true</code> */
 	@Parameter(key = "coverage", group = "Output", description = "Calculate coverage after test suite generation")
 	public static boolean COVERAGE = true;
@@ -1028,6 +1055,9 @@ public class Properties {
 	@Parameter(key = "timeline_interval", group = "Output", description = "Time interval in milliseconds for timeline statistics")
 	public static long TIMELINE_INTERVAL = 60 * 1000;
 
+	@Parameter(key = "statistics_send_interval", group = "Output", description = "Time interval in milliseconds at which the statistics sampled during the search are sent in batch to the master process")
+	public static long STATISTICS_SEND_INTERVAL = 10 * 1000;
+
     /** Constant <code>TIMELINE_INTERPOLATION=true</code> */
     @Parameter(key = "timeline_interpolation", group = "Output", description = "Interpolate timeline values")
     public static boolean TIMELINE_INTERPOLATION = true;
@@ -1086,6 +1116,9 @@ public class Properties {
 	@Parameter(key = "inheritance_file", description = "Cached version of inheritance tree")
 	public static String INHERITANCE_FILE = "";
 
+	@Parameter(key = "inheritance_cache_dir", description = "Directory where the analysis of each jar on the classpath is cached across runs. Empty to disable")
+	public static String INHERITANCE_CACHE_DIR = "";
+
 	/** Constant <code>BRANCH_EVAL=false</code> */
 	@Parameter(key = "branch_eval", description = "Jeremy's branch evaluation")
 	public static boolean BRANCH_EVAL = false;
@@ -1252,6 +1285,10 @@ public class Properties {
 	public static int TIMEOUT_RESET = 2000;
 
 
+	@Parameter(key = "num_parallel_executors", group = "Test Execution", description = "Number of isolated workers used to execute the tests of a suite or population concurrently. Only used if the runtime environment does not need to be mocked (e.g., no replace_calls, virtual_fs and virtual_net)")
+	@IntValue(min = 1)
+	public static int NUM_PARALLEL_EXECUTORS = 1;
+
 	@Parameter(key = "concolic_timeout", group = "Test Execution", description = "Milliseconds allowed per test during concolic execution")
 	public static int CONCOLIC_TIMEOUT = 15000;
 
@@ -35,6 +35,7 @@ import org.evosuite.coverage.TestFitnessFactory;
 import org.evosuite.coverage.branch.Branch;
 import org.evosuite.coverage.branch.BranchPool;
 import org.evosuite.coverage.dataflow.DefUseCoverageSuiteFitness;
+import org.evosuite.ga.FitnessFunction;
 import org.evosuite.ga.metaheuristics.GeneticAlgorithm;
 import org.evosuite.ga.stoppingconditions.StoppingCondition;
 import org.evosuite.junit.JUnitAnalyzer;
@@ -162,6 +163,20 @@ public class TestSuiteGenerator {
 		return result;
 	}
 
+	/**
+	 * The fitness function of the only criterion among those the suite was
+	 * evaluated with. The fitness values of a chromosome are not kept in the
+	 * order in which they were set, so the first one is not necessarily it.
+	 */
+	private static TestSuiteFitnessFunction getValueMinimizationFitnessFunction(TestSuiteChromosome testSuite) {
+		Class<?> fitnessClass = FitnessFunctions.getFitnessFunctionClass(Properties.CRITERION[0]);
+		for (FitnessFunction<?> ff : testSuite.getFitnessValues().keySet()) {
+			if (ff != null && ff.getClass().equals(fitnessClass))
+				return (TestSuiteFitnessFunction) ff;
+		}
+		return FitnessFunctions.getFitnessFunction(Properties.CRITERION[0]);
+	}
+
 	/**
 	 * Apply any readability optimizations and other techniques
 	 * that should use or modify the generated tests
@@ -183,7 +198,7 @@ public class TestSuiteGenerator {
 			ClientServices.getInstance().getClientNode().changeState(ClientState.MINIMIZING_VALUES);
 			LoggingUtils.getEvoLogger().info("* Minimizing values");
 			ValueMinimizer minimizer = new ValueMinimizer();
-			minimizer.minimize(testSuite, (TestSuiteFitnessFunction)testSuite.getFitnessValues().keySet().iterator().next());
+			minimizer.minimize(testSuite, getValueMinimizationFitnessFunction(testSuite));
 //			minimizer.minimizeUnsafeType(testSuite);
 			assert (fitness >= testSuite.getFitness());
 		}
@@ -116,13 +116,18 @@ public class SimpleMutationAssertionGenerator extends
 		Map<Mutation, List<OutputTrace<?>>> mutationTraces = new HashMap<Mutation, List<OutputTrace<?>>>();
 		List<Mutation> executedMutants = new ArrayList<Mutation>();
 
+		int numNotInfected = 0;
 		for (Integer mutationId : origResult.getTrace().getTouchedMutants()) {
 			if (!mutants.containsKey(mutationId)) {
 				//logger.warn("Mutation ID unknown: " + mutationId);
 				//logger.warn(mutants.keySet().toString());
+			} else if (!origResult.getTrace().wasMutationInfected(mutationId)) {
+				// the mutant never changed the state, so running the test on it would give the same traces
+				numNotInfected++;
 			} else
 				executedMutants.add(mutants.get(mutationId));
 		}
+		logger.debug("Skipping " + numNotInfected + " mutants that were touched but not infected");
 
 		Randomness.shuffle(executedMutants);
 		logger.debug("Executed mutants: "+origResult.getTrace().getTouchedMutants());
@@ -110,9 +110,9 @@ public class StructuredAssertionGenerator extends AssertionGenerator {
 		ExecutionResult origResult = runTest(test);
 		Map<Mutation, ExecutionResult> mutationResults = new HashMap<Mutation, ExecutionResult>();
 
-		// execute on all mutants in the target method that were touched
+		// execute on all mutants in the target method that were touched and infected
 		for (Mutation mutant : mutants) {
-			if (!origResult.getTrace().wasMutationTouched(mutant.getId()))
+			if (!origResult.getTrace().wasMutationInfected(mutant.getId()))
 				continue;
 			if (!targetMethods.contains(mutant.getMethodName())) {
 				continue;
@@ -19,6 +19,9 @@
  */
 package org.evosuite.coverage;
 
+import java.util.EnumMap;
+import java.util.Map;
+
 import org.evosuite.Properties;
 import org.evosuite.Properties.Criterion;
 import org.evosuite.coverage.ambiguity.AmbiguityCoverageFactory;
@@ -66,6 +69,37 @@ public class FitnessFunctions {
 	
 	private static Logger logger = LoggerFactory.getLogger(FitnessFunctions.class);
 
+	/**
+	 * The class of the test suite fitness function of each criterion
+	 */
+	private static final Map<Criterion, Class<? extends TestSuiteFitnessFunction>> suiteFitnessClasses = new EnumMap<Criterion, Class<? extends TestSuiteFitnessFunction>>(Criterion.class);
+
+	static {
+		suiteFitnessClasses.put(Criterion.STRONGMUTATION, StrongMutationSuiteFitness.class);
+		suiteFitnessClasses.put(Criterion.WEAKMUTATION, WeakMutationSuiteFitness.class);
+		suiteFitnessClasses.put(Criterion.MUTATION, StrongMutationSuiteFitness.class);
+		suiteFitnessClasses.put(Criterion.ONLYMUTATION, OnlyMutationSuiteFitness.class);
+		suiteFitnessClasses.put(Criterion.DEFUSE, DefUseCoverageSuiteFitness.class);
+		suiteFitnessClasses.put(Criterion.BRANCH, BranchCoverageSuiteFitness.class);
+		suiteFitnessClasses.put(Criterion.CBRANCH, CBranchSuiteFitness.class);
+		suiteFitnessClasses.put(Criterion.IBRANCH, IBranchSuiteFitness.class);
+		suiteFitnessClasses.put(Criterion.STATEMENT, StatementCoverageSuiteFitness.class);
+		suiteFitnessClasses.put(Criterion.RHO, RhoCoverageSuiteFitness.class);
+		suiteFitnessClasses.put(Criterion.AMBIGUITY, AmbiguityCoverageSuiteFitness.class);
+		suiteFitnessClasses.put(Criterion.ALLDEFS, AllDefsCoverageSuiteFitness.class);
+		suiteFitnessClasses.put(Criterion.EXCEPTION, ExceptionCoverageSuiteFitness.class);
+		suiteFitnessClasses.put(Criterion.REGRESSION, RegressionSuiteFitness.class);
+		suiteFitnessClasses.put(Criterion.READABILITY, ReadabilitySuiteFitness.class);
+		suiteFitnessClasses.put(Criterion.ONLYBRANCH, OnlyBranchCoverageSuiteFitness.class);
+		suiteFitnessClasses.put(Criterion.METHODTRACE, MethodTraceCoverageSuiteFitness.class);
+		suiteFitnessClasses.put(Criterion.METHOD, MethodCoverageSuiteFitness.class);
+		suiteFitnessClasses.put(Criterion.METHODNOEXCEPTION, MethodNoExceptionCoverageSuiteFitness.class);
+		suiteFitnessClasses.put(Criterion.ONLYLINE, OnlyLineCoverageSuiteFitness.class);
+		suiteFitnessClasses.put(Criterion.LINE, LineCoverageSuiteFitness.class);
+		suiteFitnessClasses.put(Criterion.OUTPUT, OutputCoverageSuiteFitness.class);
+		suiteFitnessClasses.put(Criterion.INPUT, InputCoverageSuiteFitness.class);
+	}
+
 	/**
 	 * <p>
 	 * getFitnessFunction
@@ -76,58 +110,33 @@ public class FitnessFunctions {
 	 * @return a {@link org.evosuite.testsuite.TestSuiteFitnessFunction} object.
 	 */
 	public static TestSuiteFitnessFunction getFitnessFunction(Criterion criterion) {
-		switch (criterion) {
-		case STRONGMUTATION:
-			return new StrongMutationSuiteFitness();
-		case WEAKMUTATION:
-			return new WeakMutationSuiteFitness();
-		case MUTATION:
-			return new StrongMutationSuiteFitness();
-		case ONLYMUTATION:
-			return new OnlyMutationSuiteFitness();
-		case DEFUSE:
-			return new DefUseCoverageSuiteFitness();
-		case BRANCH:
-			return new BranchCoverageSuiteFitness();
-		case CBRANCH:
-			return new CBranchSuiteFitness();
-		case IBRANCH:
-			return new IBranchSuiteFitness();
-		case STATEMENT:
-			return new StatementCoverageSuiteFitness();
-		case RHO:
-			return new RhoCoverageSuiteFitness();
-		case AMBIGUITY:
-			return new AmbiguityCoverageSuiteFitness();
-		case ALLDEFS:
-			return new AllDefsCoverageSuiteFitness();
-		case EXCEPTION:
-			return new ExceptionCoverageSuiteFitness();
-		case REGRESSION:
-			return new RegressionSuiteFitness();
-		case READABILITY:
-			return new ReadabilitySuiteFitness();
-		case ONLYBRANCH:
-			return new OnlyBranchCoverageSuiteFitness();
-		case METHODTRACE:
-			return new MethodTraceCoverageSuiteFitness();
-		case METHOD:
-			return new MethodCoverageSuiteFitness();
-		case METHODNOEXCEPTION:
-			return new MethodNoExceptionCoverageSuiteFitness();
-		case ONLYLINE:
-			return new OnlyLineCoverageSuiteFitness();
-		case LINE:
-			return new LineCoverageSuiteFitness();
-		case OUTPUT:
-			return new OutputCoverageSuiteFitness();
-		case INPUT:
-			return new InputCoverageSuiteFitness();
-		default:
+		if (!suiteFitnessClasses.containsKey(criterion)) {
 			logger.warn("No TestSuiteFitnessFunction defined for " + Properties.CRITERION
 			        + " using default one (BranchCoverageSuiteFitness)");
 			return new BranchCoverageSuiteFitness();
 		}
+		try {
+			return suiteFitnessClasses.get(criterion).newInstance();
+		} catch (InstantiationException | IllegalAccessException e) {
+			throw new IllegalStateException("Cannot create the fitness function of " + criterion, e);
+		}
+	}
+	
+	/**
+	 * <p>
+	 * Get the class of the fitness function returned by
+	 * {@link #getFitnessFunction(Criterion)}, without creating it
+	 * </p>
+	 * 
+	 * @param criterion
+	 *            a {@link org.evosuite.Properties.Criterion} object.
+	 * @return a {@link java.lang.Class} object.
+	 */
+	public static Class<? extends TestSuiteFitnessFunction> getFitnessFunctionClass(Criterion criterion) {
+		if (!suiteFitnessClasses.containsKey(criterion)) {
+			return BranchCoverageSuiteFitness.class;
+		}
+		return suiteFitnessClasses.get(criterion);
 	}
 	
 	/**
@@ -22,11 +22,14 @@ package org.evosuite.coverage.archive;
 import java.io.IOException;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Set;
 
 import org.evosuite.Properties;
@@ -73,83 +76,143 @@ public enum TestsArchive implements Archive<TestSuiteChromosome>, Serializable {
 	 */
 
 	/**
-	 * necessary to avoid having a billion of redundant test cases
+	 * A test stored in the archive, together with the values used to compare
+	 * it to other tests covering the same goals. One instance is shared by all
+	 * the goals the test is the best for
 	 */
-    private final Map<FitnessFunction<?>, Set<TestFitnessFunction>> coveredGoals;
+	private static final class ArchivedTest {
 
-    private final Map<FitnessFunction<?>, Integer> goalsCountMap;
+		private final ExecutionResult result;
 
-    // This can probably be optimised, but to remove the testsuitechromosome
-    // I'm just replicating the maps we used in here
-    private final Map<FitnessFunction<?>, Integer> coveredGoalsCountMap;
-    private final Map<FitnessFunction<?>, Double> coverageMap;
-    
-	private final Map<FitnessFunction<?>, Set<TestFitnessFunction>> goalMap;
-    private final Map<String, Set<TestFitnessFunction>> methodMap;
+		/** Number of statements after removing those following an exception */
+		private final int size;
 
-	private final Map<TestFitnessFunction, ExecutionResult> testMap;
+		/** Number of functional mocks and private accesses used */
+		private final int penalty;
+
+		private ArchivedTest(ExecutionResult result, int size, int penalty) {
+			this.result = result;
+			this.size = size;
+			this.penalty = penalty;
+		}
+	}
+
+	/** Dense id of each goal of each fitness function, in order of registration */
+	private final Map<FitnessFunction<?>, Map<TestFitnessFunction, Integer>> goalIds;
+
+	/** Goals, fitness functions and best tests, indexed by goal id */
+	private final List<TestFitnessFunction> goals;
+	private final List<FitnessFunction<?>> goalFunctions;
+	private final List<ArchivedTest> bestTests;
+
+	/** Ids of covered goals */
+	private final BitSet coveredGoalIds;
+
+	/** Ids of the goals that have a test, in the order they got it */
+	private final List<Integer> goalsWithTest;
+
+	/**
+	 * Ids of the goals of each method, covered or not, keyed by
+	 * <code>class.method</code> as in the execution traces
+	 */
+	private final Map<String, List<Integer>> methodGoalIds;
+
+	/**
+	 * Ids of the goals that cannot be found by method: those without target
+	 * class or method, and those in static initializers, which are not
+	 * recorded as executed methods
+	 */
+	private final List<Integer> unindexedGoalIds;
+
+	private final Map<FitnessFunction<?>, Integer> goalsCountMap;
+
+	// This can probably be optimised, but to remove the testsuitechromosome
+	// I'm just replicating the maps we used in here
+	private final Map<FitnessFunction<?>, Integer> coveredGoalsCountMap;
+	private final Map<FitnessFunction<?>, Double> coverageMap;
+
+	private final Map<String, Set<TestFitnessFunction>> methodMap;
 
 	private TestsArchive() {
-		coveredGoals = new HashMap<>();
+		goalIds = new HashMap<>();
+		goals = new ArrayList<>();
+		goalFunctions = new ArrayList<>();
+		bestTests = new ArrayList<>();
+		coveredGoalIds = new BitSet();
+		goalsWithTest = new ArrayList<>();
+		methodGoalIds = new HashMap<>();
+		unindexedGoalIds = new ArrayList<>();
 		goalsCountMap = new HashMap<>();
 		coveredGoalsCountMap = new HashMap<>();
 		coverageMap = new HashMap<>();
-		goalMap = new HashMap<>();
 		methodMap = new HashMap<>();
-		testMap = new HashMap<>();
 	}
 
 
 	// ------- public methods ------------
 
 	public void reset() {
-		coveredGoals.clear();
-		goalMap.clear();
+		goalIds.clear();
+		goals.clear();
+		goalFunctions.clear();
+		bestTests.clear();
+		coveredGoalIds.clear();
+		goalsWithTest.clear();
+		methodGoalIds.clear();
+		unindexedGoalIds.clear();
 		goalsCountMap.clear();
-		methodMap.clear();
-		testMap.clear();
 		coveredGoalsCountMap.clear();
 		coverageMap.clear();
+		methodMap.clear();
 	}
 
 
 	public void addGoalToCover(FitnessFunction<?> ff, TestFitnessFunction goal) {
-        String key = getGoalKey(goal);
+		String key = getGoalKey(goal);
 
 		if(!methodMap.containsKey(key)) {
-            methodMap.put(key, new HashSet<TestFitnessFunction>());
-        }
+			methodMap.put(key, new HashSet<TestFitnessFunction>());
+		}
+
+		if(!goalIds.containsKey(ff)) {
+			goalIds.put(ff, new HashMap<TestFitnessFunction, Integer>());
+			goalsCountMap.put(ff, 0);
+		}
 
-		if(!goalMap.containsKey(ff)) {
-			goalMap.put(ff, new HashSet<TestFitnessFunction>());
-            goalsCountMap.put(ff, 0);
+		if(goalIds.get(ff).containsKey(goal)) {
+			return;
 		}
 
-		goalMap.get(ff).add(goal);
-        methodMap.get(key).add(goal);
-        goalsCountMap.put(ff, goalsCountMap.get(ff) + 1);
+		registerGoal(ff, goal);
+		methodMap.get(key).add(goal);
+		goalsCountMap.put(ff, goalsCountMap.get(ff) + 1);
 
 		logger.debug("Registering new goal: " + goal);
 	}
 
 
-    public void putTest(FitnessFunction<?> ff, TestFitnessFunction goal, ExecutionResult result) {
+	public void putTest(FitnessFunction<?> ff, TestFitnessFunction goal, ExecutionResult result) {
 
-		if (! goalMap.containsKey(ff)) {
+		if (!goalIds.containsKey(ff)) {
 			return;
 		}
 
-		if (!coveredGoals.containsKey(ff)) {
-			coveredGoals.put(ff,new HashSet<TestFitnessFunction>());
+		Integer id = goalIds.get(ff).get(goal);
+		if (id == null) {
+			id = registerGoal(ff, goal);
 		}
 
-		boolean isNewCoveredGoal = !coveredGoals.get(ff).contains(goal);
+		boolean isNewCoveredGoal = !coveredGoalIds.get(id);
 
 		if (isNewCoveredGoal) {
-			coveredNewGoal(ff, goal);
+			coveredNewGoal(id);
 		}
 
-		boolean better = isBetterThanCurrent(goal, result);
+		// the test is archived without the statements after its first exception,
+		// so it is compared on those statements only
+		int size = getSizeUntilException(result);
+		int penalty = calculatePenalty(result.test, size);
+		boolean better = isBetterThanCurrent(id, result, size, penalty);
 
 		if(isNewCoveredGoal || better){
 			ExecutionResult copy = result.clone();
@@ -160,9 +223,11 @@ public enum TestsArchive implements Archive<TestSuiteChromosome>, Serializable {
 			if(!copy.noThrownExceptions()) {
 				copy.test.chop(copy.getFirstPositionOfThrownException() + 1);
 			}
-			
-			testMap.put(goal, copy);
-			handleCollateralCoverage(copy); //check for collateral only when there is improvement over current goal
+
+			assert copy.test.size() == size;
+			ArchivedTest archived = new ArchivedTest(copy, size, penalty);
+			setBestTest(id, archived);
+			handleCollateralCoverage(archived); //check for collateral only when there is improvement over current goal
 		}
 	}
 
@@ -177,18 +242,25 @@ public enum TestsArchive implements Archive<TestSuiteChromosome>, Serializable {
 		try {
 			best = suite.clone();
 
-			for (Entry<TestFitnessFunction, ExecutionResult> entry : testMap.entrySet()) {
-				if (!entry.getKey().isCoveredBy(best)) {
+			// A test that was already added covers all goals it is stored for
+			Set<ArchivedTest> added = Collections.newSetFromMap(new IdentityHashMap<ArchivedTest, Boolean>());
+			for (int id : goalsWithTest) {
+				ArchivedTest archived = bestTests.get(id);
+				if (added.contains(archived)) {
+					continue;
+				}
+				if (!goals.get(id).isCoveredBy(best)) {
 					TestChromosome chromosome = new TestChromosome();
-					ExecutionResult copy = entry.getValue().clone();
+					ExecutionResult copy = archived.result.clone();
 					TestCase copyTest = copy.test.clone();
 					copy.setTest(copyTest);
 					chromosome.setTestCase(copy.test);
 					chromosome.setLastExecutionResult(copy);
 					best.addTest(chromosome); //should avoid re-execute the tests
+					added.add(archived);
 				}
 			}
-			for (FitnessFunction ff : coveredGoals.keySet()) {
+			for (FitnessFunction ff : coveredGoalsCountMap.keySet()) {
 				ff.getFitness(best);
 			}
 		} finally {
@@ -201,7 +273,7 @@ public enum TestsArchive implements Archive<TestSuiteChromosome>, Serializable {
 	}
 
 	public boolean isArchiveEmpty(){
-		return testMap.isEmpty();
+		return goalsWithTest.isEmpty();
 	}
 	
 	public int getTotalNumberOfGoals() {
@@ -223,7 +295,8 @@ public enum TestsArchive implements Archive<TestSuiteChromosome>, Serializable {
 			Note: this gives higher probability to tests that cover more targets.
 			Maybe it is not the best way, but likely the quickest to compute
 		 */
-		ExecutionResult res = Randomness.choice(testMap.values());
+		Integer id = Randomness.choice(goalsWithTest);
+		ExecutionResult res = bestTests.get(id).result;
 		if(!res.noThrownExceptions()) {
 			// If the test ends with an exception, remove the statement 
 			// that throws the exception
@@ -236,120 +309,165 @@ public enum TestsArchive implements Archive<TestSuiteChromosome>, Serializable {
 	
 	@Override
 	public String toString() {
-        int sum = 0;
-		for (FitnessFunction<?> ff : coveredGoals.keySet()) {
-            sum += coveredGoals.get(ff).size();
-        }
-        return "Goals covered: " + sum;
+        return "Goals covered: " + coveredGoalIds.cardinality();
 	}
 
 
 
 	// ---------  private/protected methods -------------------
 
-	private void coveredNewGoal(FitnessFunction<?> ff, TestFitnessFunction goal) {
-		if (!coveredGoals.containsKey(ff)) {
-			coveredGoals.put(ff,new HashSet<TestFitnessFunction>());
+	private int registerGoal(FitnessFunction<?> ff, TestFitnessFunction goal) {
+		int id = goals.size();
+		goalIds.get(ff).put(goal, id);
+		goals.add(goal);
+		goalFunctions.add(ff);
+		bestTests.add(null);
+
+		if (goal.getTargetClass() == null || goal.getTargetMethod() == null
+		        || goal.getTargetMethod().startsWith("<clinit>")) {
+			unindexedGoalIds.add(id);
+		} else {
+			String key = getGoalKey(goal);
+			List<Integer> ids = methodGoalIds.get(key);
+			if (ids == null) {
+				ids = new ArrayList<>();
+				methodGoalIds.put(key, ids);
+			}
+			ids.add(id);
 		}
+		return id;
+	}
 
-		logger.debug("Adding covered goal to archive: " + goal);
-		coveredGoals.get(ff).add(goal);
-		updateMaps(ff, goal);
-		setCoverage(ff, goal);
-		if (isMethodFullyCovered(getGoalKey(goal))) {
-			removeTestCall(goal.getTargetClass(), goal.getTargetMethod());
+	private void setBestTest(int id, ArchivedTest archived) {
+		if (bestTests.get(id) == null) {
+			goalsWithTest.add(id);
 		}
+		bestTests.set(id, archived);
 	}
 
+	private void coveredNewGoal(int id) {
+		FitnessFunction<?> ff = goalFunctions.get(id);
+		TestFitnessFunction goal = goals.get(id);
 
-	private void handleCollateralCoverage(ExecutionResult copy) {
-
+		logger.debug("Adding covered goal to archive: " + goal);
+		coveredGoalIds.set(id);
+		Integer covered = coveredGoalsCountMap.get(ff);
+		coveredGoalsCountMap.put(ff, covered == null ? 1 : covered + 1);
+		setCoverage(ff);
 
-		//check if this improves upon already covered targets
-		for(Entry<FitnessFunction<?>, Set<TestFitnessFunction>> entry : coveredGoals.entrySet()){
-			for(TestFitnessFunction goal : entry.getValue()){
-				if(isBetterThanCurrent(goal,copy)){
-					testMap.put(goal, copy);
-				}
-			}
+		String key = getGoalKey(goal);
+		if (methodMap.containsKey(key)) {
+			methodMap.get(key).remove(goal);
 		}
+		if (isMethodFullyCovered(key)) {
+			removeTestCall(goal.getTargetClass(), goal.getTargetMethod());
+		}
+	}
 
 
-		Map<FitnessFunction<?>, Set<TestFitnessFunction>> toUpdate = new HashMap<>();
-
-		//does it cover new targets?
-		for(Entry<FitnessFunction<?>, Set<TestFitnessFunction>> entry : goalMap.entrySet()){
-			Set<TestFitnessFunction> set = new HashSet<>();
-			toUpdate.put(entry.getKey(),set);
-
-			for(TestFitnessFunction goal : entry.getValue()){
-				if(goal.isCovered(copy)){
-					set.add(goal); //keep track, as cannot modify goalMap while looping over it
-					testMap.put(goal, copy);
+	/**
+	 * Only the goals of the methods the test executed can be covered by it,
+	 * so the other goals are not checked. If the trace does not record
+	 * methods, all goals are checked
+	 */
+	private void handleCollateralCoverage(ArchivedTest archived) {
+
+		List<Integer> candidates = new ArrayList<>(unindexedGoalIds);
+		Set<String> executedMethods = archived.result.getTrace().getCoveredMethods();
+		if (executedMethods.isEmpty()) {
+			candidates.clear();
+			for (int id = 0; id < goals.size(); id++) {
+				candidates.add(id);
+			}
+		} else {
+			for (String method : executedMethods) {
+				List<Integer> ids = methodGoalIds.get(method);
+				if (ids != null) {
+					candidates.addAll(ids);
 				}
 			}
 		}
 
-		for(Entry<FitnessFunction<?>, Set<TestFitnessFunction>> entry : toUpdate.entrySet()) {
-			for (TestFitnessFunction goal : entry.getValue()) {
-				coveredNewGoal(entry.getKey(),goal);
+		List<Integer> newlyCovered = new ArrayList<>();
+		for (int id : candidates) {
+			if (coveredGoalIds.get(id)) {
+				//check if this improves upon already covered targets
+				if (isBetterThanCurrent(id, archived.result, archived.size, archived.penalty)) {
+					setBestTest(id, archived);
+				}
+			} else if (goals.get(id).isCovered(archived.result)) {
+				//does it cover new targets?
+				newlyCovered.add(id);
+				setBestTest(id, archived);
 			}
 		}
 
+		for (int id : newlyCovered) {
+			coveredNewGoal(id);
+		}
 	}
 
-	private boolean isBetterThanCurrent(TestFitnessFunction goal, ExecutionResult result) {
+	private boolean isBetterThanCurrent(int id, ExecutionResult result, int size, int penalty) {
 
-		if(!goal.isCovered(result)){
+		ArchivedTest current = bestTests.get(id);
+		if (current != null && current.result == result) {
 			return false;
 		}
 
-		if(testMap.get(goal)==null){
-			return true;
+		if(!goals.get(id).isCovered(result)){
+			return false;
 		}
 
-		TestCase current = testMap.get(goal).test;
-		TestCase candidate = result.test;
-
-
-		int penaltyCurrent = calculatePenalty(current);
-		int penaltyCandidate = calculatePenalty(candidate);
+		if(current==null){
+			return true;
+		}
 
 		/*
 			Check if tests are using any functional mock or private access.
 			Those will be worse than a test that do not use them
 		 */
-		if(penaltyCandidate < penaltyCurrent){
+		if(penalty < current.penalty){
 			return true;
-		} else if(penaltyCandidate > penaltyCurrent){
+		} else if(penalty > current.penalty){
 			return false;
 		}
 
 		// only look at length if penalty scores are the same
-		assert penaltyCandidate == penaltyCurrent;
+		assert penalty == current.penalty;
 
 		// If we try to add a test for a goal we've already covered
 		// and the new test is shorter, keep the shorter one
-		if(candidate.size() < current.size()) {
+		if(size < current.size) {
 			return true;
 		}
 
 		return false;
 	}
 
-	private int calculatePenalty(TestCase tc){
+	private int getSizeUntilException(ExecutionResult result) {
+		if (result.noThrownExceptions()) {
+			return result.test.size();
+		}
+		return Math.min(result.test.size(), result.getFirstPositionOfThrownException() + 1);
+	}
+
+	/**
+	 * @param size number of statements of the test to consider
+	 */
+	private int calculatePenalty(TestCase tc, int size){
 		int penalty = 0;
-		if(hasFunctionalMocks(tc)){
+		if(hasFunctionalMocks(tc, size)){
 			penalty++;
 		}
-		if(hasPrivateAccess(tc)){
+		if(hasPrivateAccess(tc, size)){
 			penalty++;
 		}
 		return penalty;
 	}
 
-	private boolean hasFunctionalMocks(TestCase tc){
-		for(Statement st : tc){
+	private boolean hasFunctionalMocks(TestCase tc, int size){
+		for(int i = 0; i < size; i++){
+			Statement st = tc.getStatement(i);
 			if(st instanceof FunctionalMockStatement){
 				return true;
 			}
@@ -357,8 +475,9 @@ public enum TestsArchive implements Archive<TestSuiteChromosome>, Serializable {
 		return false;
 	}
 
-	private boolean hasPrivateAccess(TestCase tc){
-		for(Statement st : tc){
+	private boolean hasPrivateAccess(TestCase tc, int size){
+		for(int i = 0; i < size; i++){
+			Statement st = tc.getStatement(i);
 			if(st instanceof PrivateFieldStatement || st instanceof PrivateMethodStatement){
 				return true;
 			}
@@ -366,12 +485,11 @@ public enum TestsArchive implements Archive<TestSuiteChromosome>, Serializable {
 		return false;
 	}
 
-	private void setCoverage(FitnessFunction<?> ff, TestFitnessFunction goal) {
+	private void setCoverage(FitnessFunction<?> ff) {
 		assert(goalsCountMap != null);
-		int covered = coveredGoals.get(ff).size();
+		int covered = coveredGoalsCountMap.get(ff);
 		int total = goalsCountMap.containsKey(ff) ? goalsCountMap.get(ff) : 0;
 		double coverage = total == 0 ? 1.0 : (double) covered / (double) total;
-		coveredGoalsCountMap.put(ff, covered);
 		coverageMap.put(ff, coverage);
 	}
 
@@ -420,16 +538,8 @@ public enum TestsArchive implements Archive<TestSuiteChromosome>, Serializable {
 		}
 	}
 
-	private void updateMaps(FitnessFunction<?> ff, TestFitnessFunction goal) {
-		String key = getGoalKey(goal);
-		if (! goalMap.containsKey(ff))
-			return;
-		goalMap.get(ff).remove(goal);
-		methodMap.get(key).remove(goal);
-	}
-
 	private String getGoalKey(TestFitnessFunction goal) {
-		return goal.getTargetClass() + goal.getTargetMethod();
+		return goal.getTargetClass() + "." + goal.getTargetMethod();
 	}
 
 
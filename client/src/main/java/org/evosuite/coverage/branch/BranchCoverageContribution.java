@@ -0,0 +1,116 @@
+/**
+ * Copyright (C) 2010-2015 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser Public License as published by the
+ * Free Software Foundation, either version 3.0 of the License, or (at your
+ * option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser Public License along
+ * with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.coverage.branch;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeSet;
+
+import org.evosuite.testcase.execution.ExecutionResult;
+import org.evosuite.testcase.execution.ExecutionTrace;
+
+/**
+ * The branch coverage data of a single test, in a compact form that can be
+ * merged into the data of a whole suite without boxing.
+ * 
+ * <p>
+ * A contribution is computed once per execution result and cached on it, so
+ * re-evaluating a suite only analyzes the traces of the tests that were
+ * changed and executed again since the last evaluation.
+ */
+final class BranchCoverageContribution {
+
+	/** Ids of the branches reached by the test, in increasing order */
+	final int[] branchIds;
+
+	/** Number of times each branch predicate was executed, 0 if never */
+	final int[] executionCounts;
+
+	/** Minimal distance to the true branch, NaN if none was recorded */
+	final double[] trueDistances;
+
+	/** Minimal distance to the false branch, NaN if none was recorded */
+	final double[] falseDistances;
+
+	/** Names of the methods called by the test */
+	final String[] methods;
+
+	/** Number of times each method was called */
+	final int[] methodCounts;
+
+	private BranchCoverageContribution(ExecutionTrace trace) {
+		Map<Integer, Integer> predicates = trace.getPredicateExecutionCount();
+		Map<Integer, Double> trueMap = trace.getTrueDistances();
+		Map<Integer, Double> falseMap = trace.getFalseDistances();
+
+		TreeSet<Integer> ids = new TreeSet<Integer>(predicates.keySet());
+		ids.addAll(trueMap.keySet());
+		ids.addAll(falseMap.keySet());
+
+		branchIds = new int[ids.size()];
+		executionCounts = new int[ids.size()];
+		trueDistances = new double[ids.size()];
+		falseDistances = new double[ids.size()];
+		Arrays.fill(trueDistances, Double.NaN);
+		Arrays.fill(falseDistances, Double.NaN);
+
+		int i = 0;
+		for (Integer id : ids) {
+			branchIds[i] = id;
+			Integer count = predicates.get(id);
+			if (count != null)
+				executionCounts[i] = count;
+			Double distance = trueMap.get(id);
+			if (distance != null)
+				trueDistances[i] = distance;
+			distance = falseMap.get(id);
+			if (distance != null)
+				falseDistances[i] = distance;
+			i++;
+		}
+
+		Map<String, Integer> calls = trace.getMethodExecutionCount();
+		methods = new String[calls.size()];
+		methodCounts = new int[calls.size()];
+		i = 0;
+		for (Entry<String, Integer> entry : calls.entrySet()) {
+			methods[i] = entry.getKey();
+			methodCounts[i] = entry.getValue();
+			i++;
+		}
+	}
+
+	/**
+	 * Get the contribution of an execution result, analyzing its trace only
+	 * if this was not done before
+	 * 
+	 * @param result
+	 * @return
+	 */
+	static BranchCoverageContribution of(ExecutionResult result) {
+		BranchCoverageContribution contribution = result.getFitnessContribution(BranchCoverageContribution.class);
+		if (contribution == null) {
+			contribution = new BranchCoverageContribution(result.getTrace());
+			result.setFitnessContribution(BranchCoverageContribution.class, contribution);
+		}
+		return contribution;
+	}
+}
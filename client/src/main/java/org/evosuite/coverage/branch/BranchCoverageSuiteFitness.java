@@ -19,11 +19,11 @@
  */
 package org.evosuite.coverage.branch;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Set;
 
 import org.evosuite.Properties;
@@ -60,6 +60,9 @@ public class BranchCoverageSuiteFitness extends TestSuiteFitnessFunction {
 	private final Set<String> methods;
 	
 	private final Set<Integer> branchesId;
+
+	// Largest id in branchesId, used to size the per-suite arrays
+	private int maxBranchId = 0;
 	
 	// Some stuff for debug output
 	public int maxCoveredBranches = 0;
@@ -137,6 +140,7 @@ public class BranchCoverageSuiteFitness extends TestSuiteFitnessFunction {
 				                                        + goal.getMethod(), goal);
 			} else {
 				branchesId.add(goal.getBranch().getActualBranchId());
+				maxBranchId = Math.max(maxBranchId, goal.getBranch().getActualBranchId());
 				if (goal.getBranchExpressionValue())
 					branchCoverageTrueMap.put(goal.getBranch().getActualBranchId(), goal);
 				else
@@ -195,90 +199,113 @@ public class BranchCoverageSuiteFitness extends TestSuiteFitnessFunction {
 	}
 
 	/**
-	 * Iterate over all execution results and summarize statistics
+	 * Execution counts and minimal branch distances over all tests of a suite,
+	 * indexed by branch id
+	 */
+	private static class SuiteBranchData {
+
+		private final int[] predicateCount;
+		private final double[] trueDistance;
+		private final double[] falseDistance;
+		private int numExecutedPredicates = 0;
+
+		SuiteBranchData(int maxBranchId) {
+			predicateCount = new int[maxBranchId + 1];
+			trueDistance = new double[maxBranchId + 1];
+			falseDistance = new double[maxBranchId + 1];
+			Arrays.fill(trueDistance, Double.NaN);
+			Arrays.fill(falseDistance, Double.NaN);
+		}
+
+		void addExecutions(int branchId, int count) {
+			if (predicateCount[branchId] == 0)
+				numExecutedPredicates++;
+			predicateCount[branchId] += count;
+		}
+
+		void updateTrueDistance(int branchId, double distance) {
+			if (Double.isNaN(trueDistance[branchId]) || distance < trueDistance[branchId])
+				trueDistance[branchId] = distance;
+		}
+
+		void updateFalseDistance(int branchId, double distance) {
+			if (Double.isNaN(falseDistance[branchId]) || distance < falseDistance[branchId])
+				falseDistance[branchId] = distance;
+		}
+	}
+
+	/**
+	 * Iterate over all execution results and summarize statistics. The trace
+	 * of each result is only analyzed once, later evaluations merge the
+	 * cached {@link BranchCoverageContribution} of the result
 	 * 
 	 * @param results
-	 * @param predicateCount
+	 * @param branchData
 	 * @param callCount
-	 * @param trueDistance
-	 * @param falseDistance
 	 * @return
 	 */
 	private boolean analyzeTraces(AbstractTestSuiteChromosome<? extends ExecutableChromosome> suite, List<ExecutionResult> results,
-	        Map<Integer, Integer> predicateCount, Map<String, Integer> callCount,
-	        Map<Integer, Double> trueDistance, Map<Integer, Double> falseDistance) {
+	        SuiteBranchData branchData, Map<String, Integer> callCount) {
 		boolean hasTimeoutOrTestException = false;
 		for (ExecutionResult result : results) {
 			if (result.hasTimeout() || result.hasTestException()) {
 				hasTimeoutOrTestException = true;
 				continue;
 			}
-			
-			for (Entry<String, Integer> entry : result.getTrace().getMethodExecutionCount().entrySet()) {
-				if(entry.getKey()==null||!methods.contains(entry.getKey())||removedRootBranches.contains(entry.getKey())) continue;
-				if (!callCount.containsKey(entry.getKey()))
-					callCount.put(entry.getKey(), entry.getValue());
+
+			BranchCoverageContribution contribution = BranchCoverageContribution.of(result);
+
+			for (int i = 0; i < contribution.methods.length; i++) {
+				String method = contribution.methods[i];
+				if(method==null||!methods.contains(method)||removedRootBranches.contains(method)) continue;
+				if (!callCount.containsKey(method))
+					callCount.put(method, contribution.methodCounts[i]);
 				else {
-					callCount.put(entry.getKey(),
-					              callCount.get(entry.getKey()) + entry.getValue());
+					callCount.put(method, callCount.get(method) + contribution.methodCounts[i]);
 				}
 				// If a specific target method is set we need to check
 				// if this is a target branch or not
-				if (branchlessMethodCoverageMap.containsKey(entry.getKey())) {
-					result.test.addCoveredGoal(branchlessMethodCoverageMap.get(entry.getKey()));
+				if (branchlessMethodCoverageMap.containsKey(method)) {
+					result.test.addCoveredGoal(branchlessMethodCoverageMap.get(method));
 					if(Properties.TEST_ARCHIVE) {
-						TestsArchive.instance.putTest(this, branchlessMethodCoverageMap.get(entry.getKey()), result);
-						toRemoveRootBranches.add(entry.getKey());
+						TestsArchive.instance.putTest(this, branchlessMethodCoverageMap.get(method), result);
+						toRemoveRootBranches.add(method);
 						suite.isToBeUpdated(true);
 					}
 				}
 			}
-			for (Entry<Integer, Integer> entry : result.getTrace().getPredicateExecutionCount().entrySet()) {
-				if (!branchesId.contains(entry.getKey())
-						|| (removedBranchesT.contains(entry.getKey())
-						&& removedBranchesF.contains(entry.getKey())))
+			for (int i = 0; i < contribution.branchIds.length; i++) {
+				int branchId = contribution.branchIds[i];
+				if (!branchesId.contains(branchId))
 					continue;
-				if (!predicateCount.containsKey(entry.getKey()))
-					predicateCount.put(entry.getKey(), entry.getValue());
-				else {
-					predicateCount.put(entry.getKey(),
-							predicateCount.get(entry.getKey())
-							+ entry.getValue());
-				}
-			}
-			for (Entry<Integer, Double> entry : result.getTrace().getTrueDistances().entrySet()) {
-				if(!branchesId.contains(entry.getKey())||removedBranchesT.contains(entry.getKey())) continue;
-				if (!trueDistance.containsKey(entry.getKey()))
-					trueDistance.put(entry.getKey(), entry.getValue());
-				else {
-					trueDistance.put(entry.getKey(),
-							Math.min(trueDistance.get(entry.getKey()),
-									entry.getValue()));
-				}
-				if ((Double.compare(entry.getValue(), 0.0) ==0)) {
-					result.test.addCoveredGoal(branchCoverageTrueMap.get(entry.getKey()));
-					if(Properties.TEST_ARCHIVE) {
-						TestsArchive.instance.putTest(this, branchCoverageTrueMap.get(entry.getKey()), result);
-						toRemoveBranchesT.add(entry.getKey());
-						suite.isToBeUpdated(true);
+
+				if (contribution.executionCounts[i] > 0
+				        && !(removedBranchesT.contains(branchId) && removedBranchesF.contains(branchId)))
+					branchData.addExecutions(branchId, contribution.executionCounts[i]);
+
+				double trueDistance = contribution.trueDistances[i];
+				if (!Double.isNaN(trueDistance) && !removedBranchesT.contains(branchId)) {
+					branchData.updateTrueDistance(branchId, trueDistance);
+					if ((Double.compare(trueDistance, 0.0) ==0)) {
+						result.test.addCoveredGoal(branchCoverageTrueMap.get(branchId));
+						if(Properties.TEST_ARCHIVE) {
+							TestsArchive.instance.putTest(this, branchCoverageTrueMap.get(branchId), result);
+							toRemoveBranchesT.add(branchId);
+							suite.isToBeUpdated(true);
+						}
 					}
 				}
-			}
-			for (Entry<Integer, Double> entry : result.getTrace().getFalseDistances().entrySet()) {
-				if(!branchesId.contains(entry.getKey())||removedBranchesF.contains(entry.getKey())) continue;
-				if (!falseDistance.containsKey(entry.getKey()))
-					falseDistance.put(entry.getKey(), entry.getValue());
-				else {
-					falseDistance.put(entry.getKey(),
-							Math.min(falseDistance.get(entry.getKey()),
-									entry.getValue()));
-				}
-				if ((Double.compare(entry.getValue(), 0.0) ==0)) {
-					result.test.addCoveredGoal(branchCoverageFalseMap.get(entry.getKey()));
-					if(Properties.TEST_ARCHIVE) {
-						TestsArchive.instance.putTest(this, branchCoverageFalseMap.get(entry.getKey()), result);
-						toRemoveBranchesF.add(entry.getKey());
-						suite.isToBeUpdated(true);
+
+				double falseDistance = contribution.falseDistances[i];
+				if (!Double.isNaN(falseDistance) && !removedBranchesF.contains(branchId)) {
+					branchData.updateFalseDistance(branchId, falseDistance);
+					if ((Double.compare(falseDistance, 0.0) ==0)) {
+						result.test.addCoveredGoal(branchCoverageFalseMap.get(branchId));
+						if(Properties.TEST_ARCHIVE) {
+							TestsArchive.instance.putTest(this, branchCoverageFalseMap.get(branchId), result);
+							toRemoveBranchesF.add(branchId);
+							suite.isToBeUpdated(true);
+						}
 					}
 				}
 			}
@@ -354,37 +381,38 @@ public class BranchCoverageSuiteFitness extends TestSuiteFitnessFunction {
 		double fitness = 0.0;
 
 		List<ExecutionResult> results = runTestSuite(suite);
-		Map<Integer, Double> trueDistance = new HashMap<Integer, Double>();
-		Map<Integer, Double> falseDistance = new HashMap<Integer, Double>();
-		Map<Integer, Integer> predicateCount = new HashMap<Integer, Integer>();
+		SuiteBranchData branchData = new SuiteBranchData(maxBranchId);
 		Map<String, Integer> callCount = new HashMap<String, Integer>();
 
 		// Collect stats in the traces 
-		boolean hasTimeoutOrTestException = analyzeTraces(suite, results, predicateCount,
-		                                                  callCount, trueDistance,
-		                                                  falseDistance);
+		boolean hasTimeoutOrTestException = analyzeTraces(suite, results, branchData,
+		                                                  callCount);
 		// In case there were exceptions in a constructor
 		handleConstructorExceptions(suite, results, callCount);
 
 		// Collect branch distances of covered branches
 		int numCoveredBranches = 0;
 
-		for (Integer key : predicateCount.keySet()) {
+		for (int key = 0; key <= maxBranchId; key++) {
+			if (branchData.predicateCount[key] == 0)
+				continue;
 			
 			double df = 0.0;
 			double dt = 0.0;
-			int numExecuted = predicateCount.get(key);
+			int numExecuted = branchData.predicateCount[key];
 			
 			if(removedBranchesT.contains(key))
 				numExecuted++;
 			if(removedBranchesF.contains(key))
 				numExecuted++;
 			
-			if (trueDistance.containsKey(key)) {
-				dt =  trueDistance.get(key);
+			boolean hasTrueDistance = !Double.isNaN(branchData.trueDistance[key]);
+			boolean hasFalseDistance = !Double.isNaN(branchData.falseDistance[key]);
+			if (hasTrueDistance) {
+				dt = branchData.trueDistance[key];
 			}
-			if(falseDistance.containsKey(key)){
-				df = falseDistance.get(key);
+			if (hasFalseDistance) {
+				df = branchData.falseDistance[key];
 			}
 			// If the branch predicate was only executed once, then add 1 
 			if (numExecuted == 1) {
@@ -393,15 +421,15 @@ public class BranchCoverageSuiteFitness extends TestSuiteFitnessFunction {
 				fitness += normalize(df) + normalize(dt);
 			}
 
-			if (falseDistance.containsKey(key)&&(Double.compare(df, 0.0) == 0))
+			if (hasFalseDistance&&(Double.compare(df, 0.0) == 0))
 				numCoveredBranches++;
 
-			if (trueDistance.containsKey(key)&&(Double.compare(dt, 0.0) == 0))
+			if (hasTrueDistance&&(Double.compare(dt, 0.0) == 0))
 				numCoveredBranches++;
 		}
 		
 		// +1 for every branch that was not executed
-		fitness += 2 * (totalBranches - predicateCount.size());
+		fitness += 2 * (totalBranches - branchData.numExecutedPredicates);
 
 		// Ensure all methods are called
 		int missingMethods = 0;
@@ -0,0 +1,140 @@
+/**
+ * Copyright (C) 2010-2015 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser Public License as published by the
+ * Free Software Foundation, either version 3.0 of the License, or (at your
+ * option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser Public License along
+ * with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.coverage.branch;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.evosuite.coverage.ControlFlowDistance;
+import org.evosuite.testcase.execution.ExecutionResult;
+import org.evosuite.testcase.execution.MethodCall;
+
+/**
+ * Index of the method calls of an execution result, used by
+ * {@link ControlFlowDistanceCalculator} so that the distances to all branch
+ * goals can be computed without scanning the whole trace for each goal.
+ * 
+ * <p>
+ * The index is built once per result and cached on it. It maps each method to
+ * its calls, and each call to the minimal true and false distances of the
+ * branches it passed. It also remembers the distances already computed for
+ * goals, as the same result is usually evaluated for many goals, and for the
+ * same goal several times.
+ */
+final class BranchDistanceIndex {
+
+	/** Minimal distances of the branches passed by one method call */
+	static final class CallDistances {
+
+		/** Branch id to {minimal true distance, minimal false distance} */
+		private final Map<Integer, double[]> distances = new HashMap<Integer, double[]>();
+
+		private CallDistances(MethodCall call) {
+			for (int pos = 0; pos < call.branchTrace.size(); pos++) {
+				Integer branchId = call.branchTrace.get(pos);
+				double[] minima = distances.get(branchId);
+				if (minima == null) {
+					minima = new double[] { Double.MAX_VALUE, Double.MAX_VALUE };
+					distances.put(branchId, minima);
+				}
+				minima[0] = Math.min(minima[0], call.trueDistanceTrace.get(pos));
+				minima[1] = Math.min(minima[1], call.falseDistanceTrace.get(pos));
+			}
+		}
+
+		/**
+		 * @return the minimal distance of the branch to evaluate to the given
+		 *         value in this call, or null if the call did not pass the
+		 *         branch
+		 */
+		Double getDistance(int branchId, boolean value) {
+			double[] minima = distances.get(branchId);
+			if (minima == null)
+				return null;
+			return value ? minima[0] : minima[1];
+		}
+	}
+
+	/** Calls of each method, keyed by class and method name */
+	private final Map<String, List<CallDistances>> callsByMethod = new HashMap<String, List<CallDistances>>();
+
+	/** Distances computed for goals, keyed by branch id and value */
+	private final Map<Integer, ControlFlowDistance> goalDistances = new HashMap<Integer, ControlFlowDistance>();
+
+	private BranchDistanceIndex(ExecutionResult result) {
+		for (MethodCall call : result.getTrace().getMethodCalls()) {
+			String key = call.className + "." + call.methodName;
+			List<CallDistances> calls = callsByMethod.get(key);
+			if (calls == null) {
+				calls = new ArrayList<CallDistances>();
+				callsByMethod.put(key, calls);
+			}
+			calls.add(new CallDistances(call));
+		}
+	}
+
+	/**
+	 * Get the index of an execution result, building it if this was not done
+	 * before
+	 * 
+	 * @param result
+	 * @return
+	 */
+	static BranchDistanceIndex of(ExecutionResult result) {
+		BranchDistanceIndex index = result.getFitnessContribution(BranchDistanceIndex.class);
+		if (index == null) {
+			index = new BranchDistanceIndex(result);
+			result.setFitnessContribution(BranchDistanceIndex.class, index);
+		}
+		return index;
+	}
+
+	/**
+	 * @return the calls of the given method, in the order of the trace
+	 */
+	List<CallDistances> getCalls(String className, String methodName) {
+		List<CallDistances> calls = callsByMethod.get(className + "." + methodName);
+		if (calls == null)
+			return Collections.emptyList();
+		return calls;
+	}
+
+	/**
+	 * @return a copy of the distance previously stored for the goal, or null
+	 */
+	ControlFlowDistance getGoalDistance(Branch branch, boolean value) {
+		ControlFlowDistance distance = goalDistances.get(getGoalKey(branch, value));
+		if (distance == null)
+			return null;
+		return new ControlFlowDistance(distance.getApproachLevel(), distance.getBranchDistance());
+	}
+
+	void putGoalDistance(Branch branch, boolean value, ControlFlowDistance distance) {
+		goalDistances.put(getGoalKey(branch, value),
+		                  new ControlFlowDistance(distance.getApproachLevel(), distance.getBranchDistance()));
+	}
+
+	private static int getGoalKey(Branch branch, boolean value) {
+		return 2 * branch.getActualBranchId() + (value ? 1 : 0);
+	}
+}
@@ -21,7 +21,6 @@ package org.evosuite.coverage.branch;
 
 import java.util.Collections;
 import java.util.HashSet;
-import java.util.List;
 import java.util.Set;
 
 import org.evosuite.coverage.ControlFlowDistance;
@@ -30,7 +29,6 @@ import org.evosuite.graphs.cfg.BytecodeInstruction;
 import org.evosuite.graphs.cfg.ControlDependency;
 import org.evosuite.testcase.statements.Statement;
 import org.evosuite.testcase.execution.ExecutionResult;
-import org.evosuite.testcase.execution.MethodCall;
 import org.evosuite.testcase.statements.ConstructorStatement;
 import org.objectweb.asm.Type;
 import org.slf4j.Logger;
@@ -78,6 +76,8 @@ public class ControlFlowDistanceCalculator {
 	// ExecutionResult during computation in order to speed up things -
 	// experiment at least 
 	// ... did that, but no real speed up observed 
+	// The final distances per goal and the per call branch distances are
+	// now kept in a BranchDistanceIndex of the ExecutionResult
 
 	/**
 	 * Calculates the ControlFlowDistance indicating how far away the given
@@ -206,28 +206,31 @@ public class ControlFlowDistanceCalculator {
 		String className = branch.getClassName();
 		String methodName = branch.getMethodName();
 
-		ControlFlowDistance r = new ControlFlowDistance();
+		BranchDistanceIndex index = BranchDistanceIndex.of(result);
+		ControlFlowDistance r = index.getGoalDistance(branch, value);
+		if (r != null)
+			return r;
+
+		r = new ControlFlowDistance();
 		r.setApproachLevel(branch.getInstruction().getActualCFG().getDiameter() + 1);
 
 		// Minimal distance between target node and path
-		for (MethodCall call : result.getTrace().getMethodCalls()) {
-			if (call.className.equals(className) && call.methodName.equals(methodName)) {
-				ControlFlowDistance d2;
-				Set<Branch> handled = new HashSet<Branch>();
-				//				result.intermediateDistances = new HashMap<Branch,ControlFlowDistance>();
-				d2 = getNonRootDistance(result, call, branch, value, className,
-				                        methodName, handled);
-				if (d2.compareTo(r) < 0) {
-					r = d2;
-				}
+		for (BranchDistanceIndex.CallDistances call : index.getCalls(className, methodName)) {
+			ControlFlowDistance d2;
+			Set<Branch> handled = new HashSet<Branch>();
+			d2 = getNonRootDistance(result, call, branch, value, className,
+			                        methodName, handled);
+			if (d2.compareTo(r) < 0) {
+				r = d2;
 			}
 		}
 
+		index.putGoalDistance(branch, value, r);
 		return r;
 	}
 
 	private static ControlFlowDistance getNonRootDistance(ExecutionResult result,
-	        MethodCall call, Branch branch, boolean value, String className,
+	        BranchDistanceIndex.CallDistances call, Branch branch, boolean value, String className,
 	        String methodName, Set<Branch> handled) {
 
 		if (branch == null)
@@ -247,9 +250,6 @@ public class ControlFlowDistanceCalculator {
 		}
 		handled.add(branch);
 
-		List<Double> trueDistances = call.trueDistanceTrace;
-		List<Double> falseDistances = call.falseDistanceTrace;
-
 		// IDEA:
 		// if this goal's branch is traced in the given path, return the
 		// true_/false_distance, depending on this.value
@@ -257,20 +257,12 @@ public class ControlFlowDistanceCalculator {
 		// and return 1 + minimum of the branch coverage goal distance over all
 		// such branches taking as value the branchExpressionValue
 
-		Set<Integer> branchTracePositions = determineBranchTracePositions(call, branch);
+		Double branchDistance = call.getDistance(branch.getActualBranchId(), value);
 
-		if (!branchTracePositions.isEmpty()) {
+		if (branchDistance != null) {
 
 			// branch was traced in given path
-			ControlFlowDistance r = new ControlFlowDistance(0, Double.MAX_VALUE);
-
-			for (Integer branchTracePosition : branchTracePositions)
-				if (value)
-					r.setBranchDistance(Math.min(r.getBranchDistance(),
-					                             trueDistances.get(branchTracePosition)));
-				else
-					r.setBranchDistance(Math.min(r.getBranchDistance(),
-					                             falseDistances.get(branchTracePosition)));
+			ControlFlowDistance r = new ControlFlowDistance(0, branchDistance);
 
 			if (r.getBranchDistance() == Double.MAX_VALUE)
 				throw new IllegalStateException("should be impossible");
@@ -294,7 +286,7 @@ public class ControlFlowDistanceCalculator {
 	}
 
 	private static ControlFlowDistance getControlDependenceDistancesFor(
-	        ExecutionResult result, MethodCall call, BytecodeInstruction instruction,
+	        ExecutionResult result, BranchDistanceIndex.CallDistances call, BytecodeInstruction instruction,
 	        String className, String methodName, Set<Branch> handled) {
 
 		Set<ControlFlowDistance> cdDistances = getDistancesForControlDependentBranchesOf(result,
@@ -317,7 +309,7 @@ public class ControlFlowDistanceCalculator {
 	 * @param handled
 	 */
 	private static Set<ControlFlowDistance> getDistancesForControlDependentBranchesOf(
-	        ExecutionResult result, MethodCall call, BytecodeInstruction instruction,
+	        ExecutionResult result, BranchDistanceIndex.CallDistances call, BytecodeInstruction instruction,
 	        String className, String methodName, Set<Branch> handled) {
 
 		Set<ControlFlowDistance> r = new HashSet<ControlFlowDistance>();
@@ -349,17 +341,4 @@ public class ControlFlowDistanceCalculator {
 		return r;
 	}
 
-	private static Set<Integer> determineBranchTracePositions(MethodCall call,
-	        Branch branch) {
-
-		Set<Integer> r = new HashSet<Integer>();
-		List<Integer> path = call.branchTrace;
-		for (int pos = 0; pos < path.size(); pos++) {
-			if (path.get(pos) == branch.getActualBranchId()) { //.getActualBranchId()); {
-				r.add(pos);
-			}
-		}
-		return r;
-	}
-
 }
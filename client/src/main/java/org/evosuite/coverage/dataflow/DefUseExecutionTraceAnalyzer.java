@@ -21,7 +21,6 @@ package org.evosuite.coverage.dataflow;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -483,50 +482,8 @@ public abstract class DefUseExecutionTraceAnalyzer {
 	 * @return a {@link java.util.Set} object.
 	 */
 	public static Set<DefUseCoverageTestFitness> getCoveredGoals(ExecutionResult result) {
-
-		Set<DefUseCoverageTestFitness> r = new HashSet<DefUseCoverageTestFitness>();
-
-		Map<String, HashMap<Integer, HashMap<Integer, Integer>>> passedDefs = result.getTrace().getDefinitionData();
-		Map<String, HashMap<Integer, HashMap<Integer, Integer>>> passedUses = result.getTrace().getUseData();
-
-		for (String goalVariable : passedDefs.keySet()) {
-			if (passedUses.get(goalVariable) == null)
-				continue;
-			for (Integer objectId : passedDefs.get(goalVariable).keySet()) {
-				if (passedUses.get(goalVariable).get(objectId) == null)
-					continue;
-
-				// DONE sort use map too, merge to one big trace => way better
-				// performance
-				Map<Integer, Integer> currentDefMap = passedDefs.get(goalVariable).get(objectId);
-				Map<Integer, Integer> currentUseMap = passedUses.get(goalVariable).get(objectId);
-
-				List<Integer> duCounterTrace = new ArrayList<Integer>(
-				        currentDefMap.keySet());
-				duCounterTrace.addAll(currentUseMap.keySet());
-				//				System.out.println(duCounterTrace.size()); oO for ncs.Bessj these can be up to 50k entries big
-				Collections.sort(duCounterTrace);
-				int traceLength = duCounterTrace.size();
-				Integer[] sortedDefDUTrace = duCounterTrace.toArray(new Integer[traceLength]);
-
-				int activeDef = -1;
-				for (int i = 0; i < traceLength; i++) {
-					int currentDUCounter = sortedDefDUTrace[i];
-
-					if (currentDefMap.containsKey(currentDUCounter)) {
-						activeDef = currentDefMap.get(currentDUCounter);
-					} else if (activeDef != -1) {
-						int currentUse = currentUseMap.get(currentDUCounter);
-						DefUseCoverageTestFitness currentGoal = DefUseCoverageFactory.retrieveGoal(activeDef,
-						                                                                           currentUse);
-						if (currentGoal != null)
-							r.add(currentGoal);
-					}
-				}
-			}
-		}
-
-		return r;
+		return new HashSet<DefUseCoverageTestFitness>(
+		        DefUsePairMatcher.of(result).getCoveredGoals());
 	}
 
 	//	private static Set<DefUseCoverageTestFitness> getGoalsFor(int activeDef,
@@ -19,6 +19,7 @@
  */
 package org.evosuite.coverage.dataflow;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -218,16 +219,26 @@ public class DefUseFitnessCalculator {
 			return fitness;
 		}
 
-		// check if goalDefinition is active at any goalUsePosition
-		List<Integer> usePositions = DefUseExecutionTraceAnalyzer.getUsePositions(goalUse,
-		                                                                          objectTrace,
-		                                                                          objectId);
 		List<Integer> goalDefinitionPositions = DefUseExecutionTraceAnalyzer.getDefinitionPositions(goalDefinition,
 		                                                                                            objectTrace,
 		                                                                                            objectId);
 
-		if (!defVariable.equals(useVariable)) {
+		// check if goalDefinition is active at any goalUsePosition
+		List<Integer> usePositions;
+		if (defVariable.equals(useVariable)) {
+			// the active definitions at all uses are resolved once per result
+			if (DefUsePairMatcher.of(result).isCovered(goalDefinition.getDefId(),
+			                                           goalUse.getUseId(), objectId)) {
+				if (ArrayUtil.contains(Properties.CRITERION, Criterion.DEFUSE))
+					goal.setCovered(individual, objectTrace, objectId);
+				return 0.0;
+			}
+			usePositions = Collections.emptyList();
+		} else {
 			logger.debug("Checking an aliasing case: " + goalDefinition + "\n" + goalUse);
+			usePositions = DefUseExecutionTraceAnalyzer.getUsePositions(goalUse,
+			                                                            objectTrace,
+			                                                            objectId);
 		}
 
 		for (Integer usePos : usePositions) {
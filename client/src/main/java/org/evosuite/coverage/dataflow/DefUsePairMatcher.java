@@ -0,0 +1,118 @@
+/**
+ * Copyright (C) 2010-2015 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser Public License as published by the
+ * Free Software Foundation, either version 3.0 of the License, or (at your
+ * option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser Public License along
+ * with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.coverage.dataflow;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.evosuite.testcase.execution.DefUseEventLog;
+import org.evosuite.testcase.execution.ExecutionResult;
+
+/**
+ * Resolves the def-use pairs covered by an execution result.
+ * 
+ * <p>
+ * The events of the {@link DefUseEventLog} of the trace are ordered by their
+ * duCounter position, so a single sweep over the log that keeps the active
+ * definition of each variable and object suffices to pair every use with the
+ * definition that reaches it. The matcher is built once per result and cached
+ * on it.
+ */
+final class DefUsePairMatcher {
+
+	/** (defId, useId) pair to the objects on which the pair was covered */
+	private final Map<Long, Set<Integer>> coveredPairs = new HashMap<Long, Set<Integer>>();
+
+	private Set<DefUseCoverageTestFitness> coveredGoals = null;
+
+	DefUsePairMatcher(DefUseEventLog events) {
+		// (variable, objectId) to the last definition passed
+		Map<Long, Integer> activeDefinitions = new HashMap<Long, Integer>();
+		for (int i = 0; i < events.size(); i++) {
+			int objectId = events.getObjectId(i);
+			Long key = key(events.getVariable(i), objectId);
+			if (events.isDefinition(i)) {
+				activeDefinitions.put(key, events.getId(i));
+				continue;
+			}
+			Integer activeDef = activeDefinitions.get(key);
+			if (activeDef == null)
+				continue;
+			Long pair = key(activeDef, events.getId(i));
+			Set<Integer> objects = coveredPairs.get(pair);
+			if (objects == null) {
+				objects = new HashSet<Integer>();
+				coveredPairs.put(pair, objects);
+			}
+			objects.add(objectId);
+		}
+	}
+
+	/**
+	 * @param result
+	 * @return the matcher of the given result
+	 */
+	static DefUsePairMatcher of(ExecutionResult result) {
+		DefUsePairMatcher matcher = result.getFitnessContribution(DefUsePairMatcher.class);
+		if (matcher == null) {
+			matcher = new DefUsePairMatcher(result.getTrace().getDefUseEvents());
+			result.setFitnessContribution(DefUsePairMatcher.class, matcher);
+		}
+		return matcher;
+	}
+
+	private static Long key(int high, int low) {
+		return ((long) high << 32) | (low & 0xFFFFFFFFL);
+	}
+
+	/**
+	 * @return whether the use was reached by the definition on the given object
+	 */
+	boolean isCovered(int defId, int useId, int objectId) {
+		Set<Integer> objects = coveredPairs.get(key(defId, useId));
+		return objects != null && objects.contains(objectId);
+	}
+
+	/**
+	 * @return the number of distinct covered (def, use) pairs
+	 */
+	int getNumCoveredPairs() {
+		return coveredPairs.size();
+	}
+
+	/**
+	 * @return the goals of the covered pairs that are known to the
+	 *         {@link DefUseCoverageFactory}
+	 */
+	Set<DefUseCoverageTestFitness> getCoveredGoals() {
+		if (coveredGoals == null) {
+			coveredGoals = new HashSet<DefUseCoverageTestFitness>();
+			for (Long pair : coveredPairs.keySet()) {
+				DefUseCoverageTestFitness goal = DefUseCoverageFactory.retrieveGoal((int) (pair >>> 32),
+				                                                                    (int) pair.longValue());
+				if (goal != null)
+					coveredGoals.add(goal);
+			}
+		}
+		return coveredGoals;
+	}
+}
@@ -106,6 +106,14 @@ public abstract class MutationSuiteFitness extends TestSuiteFitnessFunction {
 		return runTest(test, null);
 	}
 
+	/**
+	 * Mutants are activated globally, so tests are executed one at a time
+	 */
+	@Override
+	protected boolean canExecuteTestsInParallel() {
+		return false;
+	}
+
 	public int getNumMutants() {
 		return mutationGoals.size();
 	}
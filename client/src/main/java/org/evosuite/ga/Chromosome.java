@@ -19,11 +19,21 @@
  */
 package org.evosuite.ga;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Set;
 
 import org.evosuite.ga.localsearch.LocalSearchObjective;
+import org.evosuite.utils.AbstractIntArrayMap;
+import org.evosuite.utils.IntDoubleArrayMap;
+import org.evosuite.utils.IntIntArrayMap;
 import org.evosuite.utils.PublicCloneable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -48,11 +58,19 @@ public abstract class Chromosome implements Comparable<Chromosome>, Serializable
 		// empty
 	}
 	protected boolean toBeUpdated=false;
+
+	/*
+	 * The values of the fitness functions are kept in arrays indexed by the
+	 * FitnessFunctionIndex of the fitness functions, as with many-objective
+	 * search each chromosome has one value per goal. The maps are written
+	 * with their fitness functions when serialized, see writeObject.
+	 */
+
 	/** Last recorded fitness value */
-	private LinkedHashMap<FitnessFunction<?>, Double> fitnessValues = new LinkedHashMap<FitnessFunction<?>, Double>();
+	private transient IntDoubleArrayMap fitnessValues = new IntDoubleArrayMap();
 	
 	/** Previous fitness, to see if there was an improvement */
-	private LinkedHashMap<FitnessFunction<?>, Double> previousFitnessValues = new LinkedHashMap<FitnessFunction<?>, Double>();
+	private transient IntDoubleArrayMap previousFitnessValues = new IntDoubleArrayMap();
 
 	/** Has this chromosome changed since its fitness was last evaluated? */
 	private boolean changed = true;
@@ -60,11 +78,11 @@ public abstract class Chromosome implements Comparable<Chromosome>, Serializable
 	/** Has local search been applied to this individual since it was last changed? */
 	private boolean localSearchApplied = false;
 
-	private LinkedHashMap<FitnessFunction<?>, Double> coverageValues = new LinkedHashMap<FitnessFunction<?>, Double>();
+	private transient IntDoubleArrayMap coverageValues = new IntDoubleArrayMap();
 
-	private LinkedHashMap<FitnessFunction<?>, Integer> numsNotCoveredGoals = new LinkedHashMap<FitnessFunction<?>, Integer>();
+	private transient IntIntArrayMap numsNotCoveredGoals = new IntIntArrayMap();
 
-	private LinkedHashMap<FitnessFunction<?>, Integer> numsCoveredGoals = new LinkedHashMap<FitnessFunction<?>, Integer>();
+	private transient IntIntArrayMap numsCoveredGoals = new IntIntArrayMap();
 
 	
 	// protected double coverage = 0.0;
@@ -86,41 +104,56 @@ public abstract class Chromosome implements Comparable<Chromosome>, Serializable
 	 * @return a double.
 	 */
 	public double getFitness() {
-		if (fitnessValues.size() > 1) {
-			double sumFitnesses = 0.0;
-			for (FitnessFunction<?> fitnessFunction : fitnessValues.keySet()) {
-				sumFitnesses += fitnessValues.get(fitnessFunction);
-			}
-			return sumFitnesses;
-		} else
-			return fitnessValues.isEmpty() ? 0.0 : fitnessValues.get(fitnessValues.keySet().iterator().next());
+		// with a single fitness function, the sum is just its value
+		return fitnessValues.sum();
 	}
 
 	public double getFitness(FitnessFunction<?> ff) {
-		return fitnessValues.containsKey(ff) ? fitnessValues.get(ff) : 0.0;
+		return fitnessValues.getDouble(lookupIndex(ff), 0.0);
+	}
+
+	/**
+	 * Gets the fitness value of the fitness function with the given index, as
+	 * assigned by {@link FitnessFunctionIndex}. This avoids the lookup of the
+	 * index when the same goals are queried repeatedly.
+	 *
+	 * @param index
+	 *            the index of a fitness function
+	 * @return the fitness value, or 0 if there is none
+	 */
+	public double getFitness(int index) {
+		return fitnessValues.getDouble(index, 0.0);
 	}
 
+	/**
+	 * Returns a read-only view of the fitness values
+	 *
+	 * @return a map from fitness functions to their values
+	 */
 	public Map<FitnessFunction<?>, Double> getFitnessValues() {
-		return this.fitnessValues;
+		return new FitnessFunctionMap<Double>(fitnessValues);
 	}
 
+	/**
+	 * Returns a read-only view of the previous fitness values
+	 *
+	 * @return a map from fitness functions to their values
+	 */
 	public Map<FitnessFunction<?>, Double> getPreviousFitnessValues() {
-		return this.previousFitnessValues;
+		return new FitnessFunctionMap<Double>(previousFitnessValues);
 	}
 	
 	public boolean hasExecutedFitness(FitnessFunction<?> ff) {
-		return this.previousFitnessValues.containsKey(ff);
+		return this.previousFitnessValues.containsKey(lookupIndex(ff));
 	}
 
 	public void setFitnessValues(Map<FitnessFunction<?>, Double> fits) {
 		//TODO mainfitness?
-		this.fitnessValues.clear();
-		this.fitnessValues.putAll(fits);
+		copyDoubles(fits, this.fitnessValues);
 	}
 
 	public void setPreviousFitnessValues(Map<FitnessFunction<?>, Double> lastFits) {
-		this.previousFitnessValues.clear();
-		this.previousFitnessValues.putAll(lastFits);
+		copyDoubles(lastFits, this.previousFitnessValues);
 	}
 
 	public boolean isToBeUpdated() {
@@ -169,11 +202,7 @@ public abstract class Chromosome implements Comparable<Chromosome>, Serializable
 	 *            the coverage value for {@code ff}
 	 */
 	public void addFitness(FitnessFunction<?> ff, double fitnessValue, double coverage) {
-		this.fitnessValues.put(ff, fitnessValue);
-		this.previousFitnessValues.put(ff, fitnessValue);
-		this.coverageValues.put(ff, coverage);
-		this.numsCoveredGoals.put(ff, 0);
-		this.numsNotCoveredGoals.put(ff, -1);
+		this.addFitness(ff, fitnessValue, coverage, 0);
 	}
 
 	/**
@@ -191,11 +220,12 @@ public abstract class Chromosome implements Comparable<Chromosome>, Serializable
 	 */
 	public void addFitness(FitnessFunction<?> ff, double fitnessValue, double coverage,
 			int numCoveredGoals) { 
-		this.fitnessValues.put(ff, fitnessValue);
-		this.previousFitnessValues.put(ff, fitnessValue);
-		this.coverageValues.put(ff, coverage);
-		this.numsCoveredGoals.put(ff, numCoveredGoals);
-		this.numsNotCoveredGoals.put(ff, -1);
+		int index = getIndex(ff);
+		this.fitnessValues.putDouble(index, fitnessValue);
+		this.previousFitnessValues.putDouble(index, fitnessValue);
+		this.coverageValues.putDouble(index, coverage);
+		this.numsCoveredGoals.putInt(index, numCoveredGoals);
+		this.numsNotCoveredGoals.putInt(index, -1);
 	}
 
 	/**
@@ -211,18 +241,14 @@ public abstract class Chromosome implements Comparable<Chromosome>, Serializable
 					+ ff.getClass().getName());
 		}
 
-		if (!fitnessValues.containsKey(ff)) {
-			previousFitnessValues.put(ff, value);
-			fitnessValues.put(ff, value);
-		} else {
-			previousFitnessValues.put(ff, fitnessValues.get(ff));
-			fitnessValues.put(ff, value);
-		}
+		int index = getIndex(ff);
+		previousFitnessValues.putDouble(index, fitnessValues.getDouble(index, value));
+		fitnessValues.putDouble(index, value);
 	}
 
 	public boolean hasFitnessChanged() {
-		for (FitnessFunction<?> ff : fitnessValues.keySet()) {
-			if (!fitnessValues.get(ff).equals(previousFitnessValues.get(ff))) {
+		for (Map.Entry<Integer, Double> entry : fitnessValues.entrySet()) {
+			if (!entry.getValue().equals(previousFitnessValues.get(entry.getKey()))) {
 				return true;
 			}
 		}
@@ -383,58 +409,44 @@ public abstract class Chromosome implements Comparable<Chromosome>, Serializable
 	 * @return a double.
 	 */
 	public double getCoverage() {
-        double sum = 0;
-        for (FitnessFunction<?> fitnessFunction : coverageValues.keySet()) {
-            sum += coverageValues.get(fitnessFunction);
-        }
+        double sum = coverageValues.sum();
         double cov = coverageValues.isEmpty() ? 0.0 : sum / coverageValues.size();
         assert (cov >= 0.0 && cov <= 1.0) : "Incorrect coverage value " + cov + ". Expected value between 0 and 1";
         return cov;
     }
 
 	public int getNumOfCoveredGoals() {
-        int sum = 0;
-        for (FitnessFunction<?> fitnessFunction : numsCoveredGoals.keySet()) {
-            sum += numsCoveredGoals.get(fitnessFunction);
-        }
-        return sum;
+        return numsCoveredGoals.sum();
     }
 	
 	public int getNumOfNotCoveredGoals() {
-        int sum = 0;
-        for (FitnessFunction<?> fitnessFunction : numsNotCoveredGoals.keySet()) {
-            sum += numsNotCoveredGoals.get(fitnessFunction);
-        }
-        return sum;
+        return numsNotCoveredGoals.sum();
     }
 
 	public void setNumsOfCoveredGoals(Map<FitnessFunction<?>, Integer> fits) {
-		this.numsCoveredGoals.clear();
-		this.numsCoveredGoals.putAll(fits);
+		copyIntegers(fits, this.numsCoveredGoals);
 	}
 
 	public void setNumsOfNotCoveredGoals(Map<FitnessFunction<?>, Integer> fits) {
-		this.numsNotCoveredGoals.clear();
-		this.numsNotCoveredGoals.putAll(fits);
+		copyIntegers(fits, this.numsNotCoveredGoals);
 	}
 	public void setNumOfNotCoveredGoals(FitnessFunction<?> ff, int numCoveredGoals) {
-		this.numsNotCoveredGoals.put(ff, numCoveredGoals);
+		this.numsNotCoveredGoals.putInt(getIndex(ff), numCoveredGoals);
 	}
 	public Map<FitnessFunction<?>, Integer> getNumsOfCoveredGoals() {
-		return this.numsCoveredGoals;
+		return new FitnessFunctionMap<Integer>(this.numsCoveredGoals);
 	}
 	
-	public LinkedHashMap<FitnessFunction<?>, Integer> getNumsNotCoveredGoals() {
-		return numsNotCoveredGoals;
+	public Map<FitnessFunction<?>, Integer> getNumsNotCoveredGoals() {
+		return new FitnessFunctionMap<Integer>(numsNotCoveredGoals);
 	}
 	
 	public Map<FitnessFunction<?>, Double> getCoverageValues() {
-		return this.coverageValues;
+		return new FitnessFunctionMap<Double>(this.coverageValues);
 	}
 
 	public void setCoverageValues(Map<FitnessFunction<?>, Double> coverages) {
-		this.coverageValues.clear();
-		this.coverageValues.putAll(coverages);
+		copyDoubles(coverages, this.coverageValues);
 	}
 
 	// public void setNumOfCoveredGoals(int numOfCoveredGoals) {
@@ -449,7 +461,7 @@ public abstract class Chromosome implements Comparable<Chromosome>, Serializable
 	 * @return the number of covered goals for {@code ff}
 	 */
 	public double getCoverage(FitnessFunction<?> ff) {
-		return coverageValues.containsKey(ff) ? coverageValues.get(ff) : 0.0;
+		return coverageValues.getDouble(lookupIndex(ff), 0.0);
 	}
 
 	/**
@@ -461,7 +473,7 @@ public abstract class Chromosome implements Comparable<Chromosome>, Serializable
 	 *            the coverage value
 	 */
 	public void setCoverage(FitnessFunction<?> ff, double coverage) {
-		this.coverageValues.put(ff, coverage);
+		this.coverageValues.putDouble(getIndex(ff), coverage);
 	}
 
 	/**
@@ -472,7 +484,7 @@ public abstract class Chromosome implements Comparable<Chromosome>, Serializable
 	 * @return the number of covered goals for {@code ff}
 	 */
 	public int getNumOfCoveredGoals(FitnessFunction<?> ff) {
-		return numsCoveredGoals.containsKey(ff) ? numsCoveredGoals.get(ff) : 0;
+		return numsCoveredGoals.getInt(lookupIndex(ff), 0);
 	}
 	
 	/**
@@ -483,7 +495,8 @@ public abstract class Chromosome implements Comparable<Chromosome>, Serializable
 	 * @return the number of covered goals for {@code ff}
 	 */
 	public int getNumOfNotCoveredGoals(FitnessFunction<?> ff) {
-		return numsNotCoveredGoals.containsKey(ff) ? numsCoveredGoals.get(ff) : 0;
+		int index = lookupIndex(ff);
+		return numsNotCoveredGoals.containsKey(index) ? numsCoveredGoals.getInt(index, 0) : 0;
 	}
 
 	/**
@@ -495,7 +508,7 @@ public abstract class Chromosome implements Comparable<Chromosome>, Serializable
 	 *            the number of covered goals
 	 */
 	public void setNumOfCoveredGoals(FitnessFunction<?> ff, int numCoveredGoals) {
-		this.numsCoveredGoals.put(ff, numCoveredGoals);
+		this.numsCoveredGoals.putInt(getIndex(ff), numCoveredGoals);
 	}
 
 	public void updateAge(int generation) {
@@ -523,18 +536,152 @@ public abstract class Chromosome implements Comparable<Chromosome>, Serializable
 	}
 
 	public double getFitnessInstanceOf(Class<?> clazz) {
-		for (FitnessFunction<?> fitnessFunction : fitnessValues.keySet()) {
-			if (clazz.isInstance(fitnessFunction))
-				return fitnessValues.get(fitnessFunction);
-		}
-		return 0.0;
+		return getInstanceOf(fitnessValues, clazz);
 	}
 
 	public double getCoverageInstanceOf(Class<?> clazz) {
-		for (FitnessFunction<?> fitnessFunction : coverageValues.keySet()) {
-			if (clazz.isInstance(fitnessFunction))
-				return coverageValues.get(fitnessFunction);
+		return getInstanceOf(coverageValues, clazz);
+	}
+
+	private static double getInstanceOf(IntDoubleArrayMap values, Class<?> clazz) {
+		FitnessFunctionIndex index = FitnessFunctionIndex.getInstance();
+		for (Map.Entry<Integer, Double> entry : values.entrySet()) {
+			if (clazz.isInstance(index.getFitnessFunction(entry.getKey())))
+				return entry.getValue();
 		}
 		return 0.0;
 	}
+
+	private static int getIndex(FitnessFunction<?> ff) {
+		return FitnessFunctionIndex.getInstance().getIndex(ff);
+	}
+
+	/**
+	 * Index of the given fitness function, without registering it, as it has
+	 * no value in any chromosome if it has no index yet
+	 */
+	private static int lookupIndex(FitnessFunction<?> ff) {
+		return FitnessFunctionIndex.getInstance().lookupIndex(ff);
+	}
+
+	private static void copyDoubles(Map<FitnessFunction<?>, Double> source,
+	        IntDoubleArrayMap target) {
+		if (source instanceof FitnessFunctionMap) {
+			AbstractIntArrayMap<?> values = ((FitnessFunctionMap<?>) source).values;
+			if (values instanceof IntDoubleArrayMap) {
+				target.copyFrom((IntDoubleArrayMap) values);
+				return;
+			}
+		}
+		target.clear();
+		for (Map.Entry<FitnessFunction<?>, Double> entry : source.entrySet()) {
+			target.putDouble(getIndex(entry.getKey()), entry.getValue());
+		}
+	}
+
+	private static void copyIntegers(Map<FitnessFunction<?>, Integer> source,
+	        IntIntArrayMap target) {
+		if (source instanceof FitnessFunctionMap) {
+			AbstractIntArrayMap<?> values = ((FitnessFunctionMap<?>) source).values;
+			if (values instanceof IntIntArrayMap) {
+				target.copyFrom((IntIntArrayMap) values);
+				return;
+			}
+		}
+		target.clear();
+		for (Map.Entry<FitnessFunction<?>, Integer> entry : source.entrySet()) {
+			target.putInt(getIndex(entry.getKey()), entry.getValue());
+		}
+	}
+
+	private void writeObject(ObjectOutputStream oos) throws IOException {
+		oos.defaultWriteObject();
+		oos.writeObject(new LinkedHashMap<FitnessFunction<?>, Double>(getFitnessValues()));
+		oos.writeObject(new LinkedHashMap<FitnessFunction<?>, Double>(getPreviousFitnessValues()));
+		oos.writeObject(new LinkedHashMap<FitnessFunction<?>, Double>(getCoverageValues()));
+		oos.writeObject(new LinkedHashMap<FitnessFunction<?>, Integer>(getNumsNotCoveredGoals()));
+		oos.writeObject(new LinkedHashMap<FitnessFunction<?>, Integer>(getNumsOfCoveredGoals()));
+	}
+
+	@SuppressWarnings("unchecked")
+	private void readObject(ObjectInputStream ois) throws ClassNotFoundException,
+	        IOException {
+		ois.defaultReadObject();
+		// the indices of the fitness functions can differ in this JVM
+		fitnessValues = new IntDoubleArrayMap();
+		previousFitnessValues = new IntDoubleArrayMap();
+		coverageValues = new IntDoubleArrayMap();
+		numsNotCoveredGoals = new IntIntArrayMap();
+		numsCoveredGoals = new IntIntArrayMap();
+		copyDoubles((Map<FitnessFunction<?>, Double>) ois.readObject(), fitnessValues);
+		copyDoubles((Map<FitnessFunction<?>, Double>) ois.readObject(), previousFitnessValues);
+		copyDoubles((Map<FitnessFunction<?>, Double>) ois.readObject(), coverageValues);
+		copyIntegers((Map<FitnessFunction<?>, Integer>) ois.readObject(), numsNotCoveredGoals);
+		copyIntegers((Map<FitnessFunction<?>, Integer>) ois.readObject(), numsCoveredGoals);
+	}
+
+	/**
+	 * Read-only view of one of the maps of a chromosome, with the fitness
+	 * functions as keys
+	 */
+	private static class FitnessFunctionMap<V> extends AbstractMap<FitnessFunction<?>, V> {
+
+		private final AbstractIntArrayMap<V> values;
+
+		public FitnessFunctionMap(AbstractIntArrayMap<V> values) {
+			this.values = values;
+		}
+
+		@Override
+		public boolean containsKey(Object key) {
+			return key instanceof FitnessFunction
+			        && values.containsKey(lookupIndex((FitnessFunction<?>) key));
+		}
+
+		@Override
+		public V get(Object key) {
+			if (!(key instanceof FitnessFunction))
+				return null;
+			return values.get(lookupIndex((FitnessFunction<?>) key));
+		}
+
+		@Override
+		public int size() {
+			return values.size();
+		}
+
+		@Override
+		public Set<Map.Entry<FitnessFunction<?>, V>> entrySet() {
+			return new AbstractSet<Map.Entry<FitnessFunction<?>, V>>() {
+				@Override
+				public Iterator<Map.Entry<FitnessFunction<?>, V>> iterator() {
+					final Iterator<Map.Entry<Integer, V>> iterator = values.entrySet().iterator();
+					return new Iterator<Map.Entry<FitnessFunction<?>, V>>() {
+						@Override
+						public boolean hasNext() {
+							return iterator.hasNext();
+						}
+
+						@Override
+						public Map.Entry<FitnessFunction<?>, V> next() {
+							Map.Entry<Integer, V> entry = iterator.next();
+							return new AbstractMap.SimpleImmutableEntry<FitnessFunction<?>, V>(
+							        FitnessFunctionIndex.getInstance().getFitnessFunction(entry.getKey()),
+							        entry.getValue());
+						}
+
+						@Override
+						public void remove() {
+							throw new UnsupportedOperationException();
+						}
+					};
+				}
+
+				@Override
+				public int size() {
+					return values.size();
+				}
+			};
+		}
+	}
 }
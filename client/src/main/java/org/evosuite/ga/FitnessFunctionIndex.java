@@ -0,0 +1,144 @@
+/**
+ * Copyright (C) 2010-2015 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser Public License as published by the
+ * Free Software Foundation, either version 3.0 of the License, or (at your
+ * option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser Public License along
+ * with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.ga;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>
+ * Assigns dense <code>int</code> indices to fitness functions, so that
+ * chromosomes can keep one value per goal in arrays rather than in hash maps
+ * keyed by {@link FitnessFunction} objects.
+ * </p>
+ *
+ * <p>
+ * Fitness functions are identified by <code>equals</code>, as they were by
+ * the maps of {@link Chromosome}. Indices are assigned in the order in which
+ * the fitness functions are first seen, and do not change until
+ * {@link #reset()} is called between two runs, so the same goal has the same
+ * index in every chromosome. A <code>null</code> fitness function gets an
+ * index like any other, as the maps of {@link Chromosome} accepted it as key.
+ * </p>
+ */
+public class FitnessFunctionIndex {
+
+	private static final FitnessFunctionIndex instance = new FitnessFunctionIndex();
+
+	/** Stands for <code>null</code> in {@link #indices}, which has no null keys */
+	private static final Object NULL_FUNCTION = new Object();
+
+	private final Map<Object, Integer> indices = new ConcurrentHashMap<Object, Integer>();
+
+	private final List<FitnessFunction<?>> fitnessFunctions = new ArrayList<FitnessFunction<?>>();
+
+	private FitnessFunctionIndex() {
+		// singleton
+	}
+
+	public static FitnessFunctionIndex getInstance() {
+		return instance;
+	}
+
+	/**
+	 * Get the index of the given fitness function, assigning a new one if the
+	 * fitness function was never seen before
+	 *
+	 * @param ff
+	 *            a fitness function
+	 * @return a non-negative index
+	 */
+	public int getIndex(FitnessFunction<?> ff) {
+		Object key = maskNull(ff);
+		Integer index = indices.get(key);
+		if (index != null)
+			return index;
+
+		synchronized (fitnessFunctions) {
+			index = indices.get(key);
+			if (index == null) {
+				index = fitnessFunctions.size();
+				fitnessFunctions.add(ff);
+				indices.put(key, index);
+			}
+			return index;
+		}
+	}
+
+	/**
+	 * Get the index of the given fitness function, without assigning one
+	 *
+	 * @param ff
+	 *            a fitness function
+	 * @return the index of {@code ff}, or -1 if it has none
+	 */
+	public int lookupIndex(FitnessFunction<?> ff) {
+		Integer index = indices.get(maskNull(ff));
+		return index == null ? -1 : index;
+	}
+
+	/**
+	 * Get the fitness function with the given index
+	 *
+	 * @param index
+	 *            an index returned by {@link #getIndex(FitnessFunction)}
+	 * @return a fitness function
+	 */
+	public FitnessFunction<?> getFitnessFunction(int index) {
+		synchronized (fitnessFunctions) {
+			return fitnessFunctions.get(index);
+		}
+	}
+
+	/**
+	 * Get the indices of the given fitness functions, in iteration order
+	 *
+	 * @param ffs
+	 *            a collection of fitness functions
+	 * @return an array of indices
+	 */
+	public int[] getIndices(Iterable<? extends FitnessFunction<?>> ffs) {
+		List<Integer> result = new ArrayList<Integer>();
+		for (FitnessFunction<?> ff : ffs)
+			result.add(getIndex(ff));
+		int[] array = new int[result.size()];
+		for (int i = 0; i < array.length; i++)
+			array[i] = result.get(i);
+		return array;
+	}
+
+	/**
+	 * Forget all fitness functions, so that the goals of a previous run are
+	 * not kept alive. Only call this when no chromosome of that run is used
+	 * any more, as their values would be assigned to other fitness functions.
+	 */
+	public void reset() {
+		synchronized (fitnessFunctions) {
+			indices.clear();
+			fitnessFunctions.clear();
+		}
+	}
+
+	private static Object maskNull(FitnessFunction<?> ff) {
+		return ff == null ? NULL_FUNCTION : ff;
+	}
+}
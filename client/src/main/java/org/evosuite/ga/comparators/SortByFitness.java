@@ -23,6 +23,7 @@ import java.util.Comparator;
 
 import org.evosuite.ga.Chromosome;
 import org.evosuite.ga.FitnessFunction;
+import org.evosuite.ga.FitnessFunctionIndex;
 
 /**
  * Sort a Collection of Chromosomes by their fitness value
@@ -32,7 +33,8 @@ import org.evosuite.ga.FitnessFunction;
 public class SortByFitness
     implements Comparator<Chromosome>
 {
-    private FitnessFunction<?> ff;
+    /** Index of the fitness function, see {@link FitnessFunctionIndex} */
+    private int ff;
 
     private boolean order;
 
@@ -42,7 +44,7 @@ public class SortByFitness
      * @param des descending order
      */
     public SortByFitness(FitnessFunction<?> ff, boolean desc) {
-        this.ff = ff;
+        this.ff = FitnessFunctionIndex.getInstance().getIndex(ff);
         this.order = desc;
     }
 
@@ -21,17 +21,16 @@ package org.evosuite.ga.metaheuristics;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
 
 import org.evosuite.Properties;
 import org.evosuite.ga.Chromosome;
 import org.evosuite.ga.ChromosomeFactory;
 import org.evosuite.ga.FitnessFunction;
+import org.evosuite.ga.FitnessFunctionIndex;
 import org.evosuite.ga.comparators.CrowdingComparator;
-import org.evosuite.ga.comparators.DominanceComparator;
 import org.evosuite.ga.comparators.SortByFitness;
+import org.evosuite.ga.operators.ranking.NonDominatedSorting;
 import org.evosuite.utils.Randomness;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -66,7 +65,7 @@ public class NSGAII<T extends Chromosome>
 
     private static final Logger logger = LoggerFactory.getLogger(NSGAII.class);
 
-    private DominanceComparator dc;
+    private NonDominatedSorting sorting;
 
     /**
      * Constructor
@@ -76,7 +75,7 @@ public class NSGAII<T extends Chromosome>
     public NSGAII(ChromosomeFactory<T> factory)
     {
         super(factory);
-        this.dc = new DominanceComparator();
+        this.sorting = NonDominatedSorting.getInstance();
     }
 
     /** {@inheritDoc} */
@@ -232,104 +231,24 @@ public class NSGAII<T extends Chromosome>
     }
 
     /**
-     * Fast nondominated sorting
+     * Non-dominated sorting, with the algorithm selected by
+     * {@link Properties#NON_DOMINATED_SORTING}
      * 
      * @param population Population to sort using domination
      * @return Return the list of identified fronts
      */
-    @SuppressWarnings("unchecked")
     protected List<List<T>> fastNonDominatedSort(List<T> union)
     {
-        // dominateMe[i] contains the number of individuals dominating i
-        int[] dominateMe = new int[union.size()];
-
-        // iDominate[k] contains the list of individuals dominated by k
-        List<Integer>[] iDominate = new List[union.size()];
-
-        // front[i] contains the list of individuals belonging to the front i
-        List<Integer>[] front = new List[union.size() + 1];
-
-        // flagDominate is an auxiliar variable
-        int flagDominate;
+        if (union.isEmpty())
+            return new ArrayList<List<T>>();
 
-        // Initialize the fronts
-        for (int i = 0; i < front.length; i++)
-            front[i] = new LinkedList<Integer>();
-
-        // Fast non dominated sorting algorithm
-        for (int p = 0; p < union.size(); p++)
-        {
-            // Initialize the list of individuals that i dominate and the number
-            // of individuals that dominate me
-            iDominate[p] = new LinkedList<Integer>();
-            dominateMe[p] = 0;
-        }
-
-        for (int p = 0; p < (union.size() - 1); p++)
-        {
-            // for all q individuals, calculate if p dominates q or vice versa
-            for (int q = p + 1; q < union.size(); q++)
-            {
-                //flagDominate = dominanceComparator(union.get(p), union.get(q));
-                flagDominate = dc.compare(union.get(p), union.get(q));
-                if (flagDominate == -1)
-                {
-                    iDominate[p].add(q);
-                    dominateMe[q]++;
-                }
-                else if (flagDominate == 1)
-                {
-                    iDominate[q].add(p);
-                    dominateMe[p]++;
-                }
-            }
-            // if nobody dominates p, p belongs to the first front
-        }
+        // all individuals are evaluated on the same fitness functions, see DominanceComparator
+        int[] objectives = FitnessFunctionIndex.getInstance().getIndices(union.get(0).getFitnessValues().keySet());
+        int[] ranks = this.sorting.computeRanks(NonDominatedSorting.getObjectiveValues(union, objectives));
         for (int p = 0; p < union.size(); p++)
-        {
-            if (dominateMe[p] == 0)
-            {
-                front[0].add(p);
-                union.get(p).setRank(0);
-            }
-        }
-
-        // obtain the rest of fronts
-        int i = 0;
-        Iterator<Integer> it1, it2;
-        while (front[i].size() != 0)
-        {
-            i++;
-            it1 = front[i - 1].iterator();
-            while (it1.hasNext())
-            {
-                it2 = iDominate[it1.next()].iterator();
-                while (it2.hasNext())
-                {
-                    int index = it2.next();
-                    dominateMe[index]--;
-                    if (dominateMe[index] == 0)
-                    {
-                        front[i].add(index);
-                        union.get(index).setRank(i);
-                    }
-                }
-            }
-        }
-
-        List<List<T>> ranking = new ArrayList<List<T>>(i);
-        // 0,1,2,....,i-1 are front, then i fronts
-        for (int j = 0; j < i; j++)
-        {
-            List<T> f = new ArrayList<T>(front[j].size());
-            it1 = front[j].iterator();
-            while (it1.hasNext())
-                f.add(union.get(it1.next()));
-
-            ranking.add(f);
-        }
+            union.get(p).setRank(ranks[p]);
 
-        return ranking;
+        return NonDominatedSorting.getFronts(union, ranks);
     }
 
     protected void crowingDistanceAssignment(List<T> f)
@@ -24,7 +24,6 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -40,12 +39,15 @@ import org.evosuite.ga.Chromosome;
 import org.evosuite.ga.ChromosomeFactory;
 import org.evosuite.ga.ConstructionFailedException;
 import org.evosuite.ga.FitnessFunction;
+import org.evosuite.ga.FitnessFunctionIndex;
 import org.evosuite.ga.comparators.CrowdingComparator;
 import org.evosuite.ga.comparators.SortByFitness;
 import org.evosuite.ga.metaheuristics.GeneticAlgorithm;
 import org.evosuite.ga.metaheuristics.SearchListener;
+import org.evosuite.ga.operators.ranking.NonDominatedSorting;
 import org.evosuite.ga.operators.selection.SelectionFunction;
 import org.evosuite.testcase.TestChromosome;
+import org.evosuite.testcase.execution.ParallelTestCaseExecutor;
 import org.evosuite.testsuite.TestSuiteChromosome;
 import org.evosuite.testsuite.TestSuiteFitnessFunction;
 import org.evosuite.utils.ArrayUtil;
@@ -174,6 +176,7 @@ public class MOSA<T extends Chromosome> extends GeneticAlgorithm<T> {
 	 */
 	private List<T> breedNextGeneration() {
 		List<T> offspringPopulation = new ArrayList<T>();
+		List<T> changedOffspring = new ArrayList<T>();
 		while (!isNextPopulationFull(offspringPopulation)) {
 			// select best individuals
 			T parent1 = selectionFunction.select(population);
@@ -192,11 +195,11 @@ public class MOSA<T extends Chromosome> extends GeneticAlgorithm<T> {
 
 				if (offspring1.isChanged()) {
 					offspring1.updateAge(currentIteration);
-					calculateFitness(offspring1);
+					changedOffspring.add(offspring1);
 				}
 				if (offspring2.isChanged()) {
 					offspring2.updateAge(currentIteration);
-					calculateFitness(offspring2);
+					changedOffspring.add(offspring2);
 				}
 
 			} catch (ConstructionFailedException e) {
@@ -214,8 +217,30 @@ public class MOSA<T extends Chromosome> extends GeneticAlgorithm<T> {
 			else
 				offspringPopulation.add(parent2);
 		}
+
+		// the fitness is computed once the whole offspring is known, such that
+		// the tests can be executed in parallel
+		executeInParallel(changedOffspring);
+		for (T offspring : changedOffspring) {
+			calculateFitness(offspring);
+		}
 		return offspringPopulation;
 	}
+
+	/**
+	 * Execute the changed tests among the given individuals in parallel, if
+	 * possible. The fitness functions of the goals then re-use the cached
+	 * execution results
+	 */
+	private void executeInParallel(List<T> individuals) {
+		List<TestChromosome> tests = new ArrayList<TestChromosome>();
+		for (T individual : individuals) {
+			if (!(individual instanceof TestChromosome))
+				return;
+			tests.add((TestChromosome) individual);
+		}
+		ParallelTestCaseExecutor.executeChanged(tests);
+	}
 	
 	/**
 	 * Method used to mutate an offspring
@@ -323,6 +348,9 @@ public class MOSA<T extends Chromosome> extends GeneticAlgorithm<T> {
 	protected void calculateFitness() {
 		logger.debug("Calculating fitness for " + population.size() + " individuals");
 
+		if (!isFinished())
+			executeInParallel(population);
+
 		Iterator<T> iterator = population.iterator();
 		while (iterator.hasNext()) {
 			T c = iterator.next();
@@ -435,10 +463,11 @@ public class MOSA<T extends Chromosome> extends GeneticAlgorithm<T> {
 		double objetiveMinn;
 		double distance;
 
-		for (final FitnessFunction<?> ff : this.uncoveredGoals) {
+		for (final FitnessFunction<?> goal : this.uncoveredGoals) {
 			// Sort the population by Fit n
-			Collections.sort(front, new SortByFitness(ff, true));
+			Collections.sort(front, new SortByFitness(goal, true));
 
+			int ff = FitnessFunctionIndex.getInstance().getIndex(goal);
 			objetiveMinn = front.get(0).getFitness(ff);
 			objetiveMaxn = front.get(front.size() - 1).getFitness(ff);
 
@@ -503,83 +532,10 @@ public class MOSA<T extends Chromosome> extends GeneticAlgorithm<T> {
 	private List<T>[] nonDominatedSorting(List<T> solutionSet) {
 		// re-calculate all fitness gaols for double-check
 		this.completeCalculateFitness();
-				
-		MOSADominanceComparator<T> criterion_ = new MOSADominanceComparator<T>(this.getCoveredGoals());
-		List<T> solutionSet_ = solutionSet;
-
-		// dominateMe[i] contains the number of solutions dominating i
-		int[] dominateMe = new int[solutionSet_.size()];
-
-		// iDominate[k] contains the list of solutions dominated by k
-		List<Integer>[] iDominate = new List[solutionSet_.size()];
-
-		// front[i] contains the list of individuals belonging to the front i
-		List<Integer>[] front = new List[solutionSet_.size() + 1];
-
-		// flagDominate is an auxiliary encodings.variable
-		int flagDominate;
 
-		// Initialize the fronts
-		for (int i = 0; i < front.length; i++)
-			front[i] = new LinkedList<Integer>();
-
-		// -> Fast non dominated sorting algorithm
-		for (int p = 0; p < solutionSet_.size(); p++) {
-			// Initialize the list of individuals that i dominate and the number
-			// of individuals that dominate me
-			iDominate[p] = new LinkedList<Integer>();
-			dominateMe[p] = 0;
-		}
-		for (int p = 0; p < (solutionSet_.size() - 1); p++) {
-			// For all q individuals , calculate if p dominates q or vice versa
-			for (int q = p + 1; q < solutionSet_.size(); q++) {
-				flagDominate = criterion_.compare(solutionSet.get(p), solutionSet.get(q));
-
-				if (flagDominate == -1) {
-					iDominate[p].add(q);
-					dominateMe[q]++;
-				} else if (flagDominate == 1) {
-					iDominate[q].add(p);
-					dominateMe[p]++;
-				}
-			}
-			// If nobody dominates p, p belongs to the first front
-		}
-		for (int p = 0; p < solutionSet_.size(); p++) {
-			if (dominateMe[p] == 0) {
-				front[0].add(p);
-				//solutionSet.get(p).setRank(1);
-			}
-		}
-
-		// Obtain the rest of fronts
-		int i = 0;
-		Iterator<Integer> it1, it2; // Iterators
-		while (front[i].size() != 0) {
-			i++;
-			it1 = front[i - 1].iterator();
-			while (it1.hasNext()) {
-				it2 = iDominate[it1.next()].iterator();
-				while (it2.hasNext()) {
-					int index = it2.next();
-					dominateMe[index]--;
-					if (dominateMe[index] == 0) {
-						front[i].add(index);
-						//solutionSet_.get(index).setRank(i+1);
-					}
-				}
-			}
-		}
-		List<T>[] fronts = new ArrayList[i];
-		// 0,1,2,....,i-1 are front, then i fronts
-		for (int j = 0; j < i; j++) {
-			fronts[j] = new ArrayList<T>();
-			it1 = front[j].iterator();
-			while (it1.hasNext()) {
-				fronts[j].add(solutionSet.get(it1.next()));
-			}
-		}
-		return fronts;
+		int[] objectives = FitnessFunctionIndex.getInstance().getIndices(this.getCoveredGoals());
+		List<List<T>> fronts = NonDominatedSorting.getInstance().computeFronts(solutionSet, objectives);
+		return fronts.toArray(new List[fronts.size()]);
 	} // Ranking
 
 }
@@ -23,6 +23,7 @@ import java.util.Comparator;
 import java.util.Set;
 import org.evosuite.ga.Chromosome;
 import org.evosuite.ga.FitnessFunction;
+import org.evosuite.ga.FitnessFunctionIndex;
 
 /**
  * This class implements a <code>Comparator</code> (a method for comparing <code>Chromosomes</code> objects) 
@@ -32,7 +33,8 @@ import org.evosuite.ga.FitnessFunction;
  */
 public class MOSADominanceComparator<T extends Chromosome> implements Comparator<Object> {
 
-	private Set<FitnessFunction<T>> objectives;
+	/** Indices of the goals to consider, see {@link FitnessFunctionIndex} */
+	private final int[] objectives;
 
 	/**
 	 *  Constructor
@@ -40,7 +42,7 @@ public class MOSADominanceComparator<T extends Chromosome> implements Comparator
 	 * @param goals set of test goals to consider when computing the dominance relationship 
 	 */
 	public MOSADominanceComparator(Set<FitnessFunction<T>> goals) {
-		this.objectives = goals;
+		this.objectives = FitnessFunctionIndex.getInstance().getIndices(goals);
 	}
 
 	/**
@@ -67,7 +69,7 @@ public class MOSADominanceComparator<T extends Chromosome> implements Comparator
 		int flag;
 
 		double value1, value2;
-		for (FitnessFunction<T> entry : objectives) {
+		for (int entry : objectives) {
 			value1 = solution1.getFitness(entry); 
 			value2 = solution2.getFitness(entry); 
 			if (value1 < value2)
@@ -81,6 +83,8 @@ public class MOSADominanceComparator<T extends Chromosome> implements Comparator
                 dominate1 = 1;
             if (flag == 1)
                 dominate2 = 1;
+            if (dominate1 == 1 && dominate2 == 1)
+                break; // neither can dominate the other any more
         }
 
         if (dominate1 == dominate2)
@@ -21,14 +21,14 @@ package org.evosuite.ga.metaheuristics.mosa;
 
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Iterator;
-import java.util.LinkedList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import org.evosuite.ga.Chromosome;
 import org.evosuite.ga.FitnessFunction;
+import org.evosuite.ga.FitnessFunctionIndex;
+import org.evosuite.ga.operators.ranking.NonDominatedSorting;
 
 /**
  * This class ranks the test cases according to the 
@@ -55,10 +55,27 @@ public class RankBasedPreferenceSorting<T extends Chromosome> implements Ranking
 	 * @param uncovered_goals Set of uncovered goals
 	 */
 	public RankBasedPreferenceSorting(List<T> solutionSet, Set<FitnessFunction<T>> uncovered_goals) {
+		this(solutionSet, uncovered_goals, NonDominatedSorting.getInstance());
+	}
+
+	/**
+	 * Constructor that applies the Sorting Algorithm
+	 * @param solutionSet List of chromosomes
+	 * @param uncovered_goals Set of uncovered goals
+	 * @param sorting the algorithm computing the non-dominated fronts
+	 */
+	public RankBasedPreferenceSorting(List<T> solutionSet, Set<FitnessFunction<T>> uncovered_goals,
+			NonDominatedSorting sorting) {
+		// the objective values are read once, and shared by both steps
+		List<FitnessFunction<T>> goals = new ArrayList<FitnessFunction<T>>(uncovered_goals);
+		double[][] values = NonDominatedSorting.getObjectiveValues(solutionSet,
+				FitnessFunctionIndex.getInstance().getIndices(goals));
+
 		//first compute the ranks according to the non-dominate sorting algorithm
 		// then apply the "preference sorting" to the first front only
-		List<T>[] fronts = getNextNonDominatedFronts(solutionSet, uncovered_goals);
-		List<T> first_set = applyPreferenceCriterion(fronts[0], uncovered_goals);
+		int[] ranks = sorting.computeRanks(values);
+		List<T>[] fronts = getNextNonDominatedFronts(solutionSet, ranks);
+		List<T> first_set = applyPreferenceCriterion(solutionSet, ranks, values, goals);
 		ranking_ = new ArrayList[fronts.length*2];
 		ranking_[0] = first_set;
 		fronts[0].removeAll(first_set);
@@ -70,28 +87,45 @@ public class RankBasedPreferenceSorting<T extends Chromosome> implements Ranking
 
 	/**
 	 * This method derive the "best" tests for the uncovered goals according to the "preference criterion" 
+	 * The best test of a goal is not kept across generations, as it is chosen among the first front of
+	 * the current population, and both that front and the goals it depends on change at each generation
 	 * @param solutionSet
+	 * @param ranks the front of each test case; only the first front is considered
+	 * @param values the values of the uncovered goals for each test case
 	 * @param uncovered_goals
 	 * @return list of "best" test cases
 	 */
-	private List<T> applyPreferenceCriterion(List<T> solutionSet, Set<FitnessFunction<T>> uncovered_goals){
+	private List<T> applyPreferenceCriterion(List<T> solutionSet, int[] ranks, double[][] values,
+			List<FitnessFunction<T>> uncovered_goals){
+		// only the test cases of the first front are candidates
+		int firstFrontSize = 0;
+		int[] firstFront = new int[solutionSet.size()];
+		double[] sizes = new double[solutionSet.size()];
+		for (int p = 0; p < sizes.length; p++) {
+			if (ranks[p] == 0) {
+				firstFront[firstFrontSize++] = p;
+				sizes[p] = solutionSet.get(p).size();
+			}
+		}
+
 		// Initialize the fronts
-		Set<T> isBest = new HashSet<T>();
-		for (FitnessFunction<T> entry : uncovered_goals) {
+		Set<T> isBest = new LinkedHashSet<T>();
+		for (int goal = 0; goal < uncovered_goals.size(); goal++) {
 			double best_size = Double.MAX_VALUE; 
 			double minimumValues = Double.MAX_VALUE; 
 			T best = null;
-			for (T solution : solutionSet) {
-				double value = solution.getFitness(entry);
-				double size = solution.size();
+			for (int i = 0; i < firstFrontSize; i++) {
+				int p = firstFront[i];
+				double value = values[p][goal];
+				double size = sizes[p];
 				if (value < minimumValues || (value == minimumValues && size < best_size)) {
 					minimumValues = value;
 					best_size = size;
-					best = solution;
+					best = solutionSet.get(p);
 				}
 			}
 			if (minimumValues == 0.0)
-				this.newCoveredGoals.put(entry, best);
+				this.newCoveredGoals.put(uncovered_goals.get(goal), best);
 			isBest.add(best);
 		}
 		// add the current best individuals to the first rank (rank 0)
@@ -104,95 +138,20 @@ public class RankBasedPreferenceSorting<T extends Chromosome> implements Ranking
 	}
 	
 	/**
-	 * This method ranks the remaining test cases using the traditional "Non-Dominated Sorting Algorithm"
+	 * This method groups the test cases by the fronts of the "Non-Dominated Sorting Algorithm"
 	 * @param solutionSet set of test cases to rank with "Non-Dominated Sorting Algorithm"
-	 * @param covered_goal set of goals
+	 * @param ranks the front of each test case according to the uncovered goals
 	 * @return the list of fronts according to the uncovered goals
 	 */
-	private List<T>[] getNextNonDominatedFronts(List<T> solutionSet, Set<FitnessFunction<T>> uncovered_goals) {
-
-		MOSADominanceComparator<T> criterion_ = new MOSADominanceComparator<T>(uncovered_goals);
-		List<T> solutionSet_ = solutionSet;
-
-		// dominateMe[i] contains the number of solutions dominating i
-		int[] dominateMe = new int[solutionSet_.size()];
-
-		// iDominate[k] contains the list of solutions dominated by k
-		List<Integer>[] iDominate = new List[solutionSet_.size()];
-
-		// front[i] contains the list of individuals belonging to the front i
-		List<Integer>[] front = new List[solutionSet_.size() + 1];
-
-		// flagDominate is an auxiliary encodings.variable
-		int flagDominate;
-
-		// Initialize the fronts
-		for (int i = 0; i < front.length; i++)
-			front[i] = new LinkedList<Integer>();
-
+	private List<T>[] getNextNonDominatedFronts(List<T> solutionSet, int[] ranks) {
 		// Initialize distance
-		for (int p = 0; p < (solutionSet_.size()); p++) {
+		for (int p = 0; p < solutionSet.size(); p++) {
 			solutionSet.get(p).setDistance(Double.MAX_VALUE);
+			solutionSet.get(p).setRank(ranks[p] + 1);
 		}
 
-		// -> Fast non dominated sorting algorithm
-		for (int p = 0; p < solutionSet_.size(); p++) {
-			// Initialize the list of individuals that i dominate and the number
-			// of individuals that dominate me
-			iDominate[p] = new LinkedList<Integer>();
-			dominateMe[p] = 0;
-		}
-
-		for (int p = 0; p < (solutionSet_.size() - 1); p++) {
-			// For all q individuals , calculate if p dominates q or vice versa
-			for (int q = p + 1; q < solutionSet_.size(); q++) {
-				flagDominate = criterion_.compare(solutionSet.get(p), solutionSet.get(q));
-
-				if (flagDominate == -1) {
-					iDominate[p].add(q);
-					dominateMe[q]++;
-				} else if (flagDominate == 1) {
-					iDominate[q].add(p);
-					dominateMe[p]++;
-				}
-			}
-			// If nobody dominates p, p belongs to the first front
-		}
-		for (int p = 0; p < solutionSet_.size(); p++) {
-			if (dominateMe[p] == 0) {
-				front[0].add(p);
-				solutionSet.get(p).setRank(1);
-			}
-		}
-
-		// Obtain the rest of fronts
-		int i = 0;
-		Iterator<Integer> it1, it2; // Iterators
-		while (front[i].size() != 0) {
-			i++;
-			it1 = front[i - 1].iterator();
-			while (it1.hasNext()) {
-				it2 = iDominate[it1.next()].iterator();
-				while (it2.hasNext()) {
-					int index = it2.next();
-					dominateMe[index]--;
-					if (dominateMe[index] == 0) {
-						front[i].add(index);
-						solutionSet_.get(index).setRank(i+1);
-					}
-				}
-			}
-		}
-		List<T>[] fronts = new ArrayList[i];
-		// 0,1,2,....,i-1 are front, then i fronts
-		for (int j = 0; j < i; j++) {
-			fronts[j] = new ArrayList<T>();
-			it1 = front[j].iterator();
-			while (it1.hasNext()) {
-				fronts[j].add(solutionSet.get(it1.next()));
-			}
-		}
-		return fronts;
+		List<List<T>> front = NonDominatedSorting.getFronts(solutionSet, ranks);
+		return front.toArray(new List[front.size()]);
 	} // Ranking
 
 	/* (non-Javadoc)
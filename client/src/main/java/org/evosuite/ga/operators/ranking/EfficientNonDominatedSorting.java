@@ -0,0 +1,99 @@
+/**
+ * Copyright (C) 2010-2015 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser Public License as published by the
+ * Free Software Foundation, either version 3.0 of the License, or (at your
+ * option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser Public License along
+ * with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.ga.operators.ranking;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * <p>
+ * Efficient non-dominated sorting with sequential search (ENS-SS, Zhang et al.,
+ * 2015).
+ * </p>
+ *
+ * <p>
+ * Solutions are visited in lexicographic order of their objectives, so a
+ * solution can only be dominated by solutions visited before it, which are
+ * already in their fronts. Each solution is then compared only with the
+ * members of the fronts before its own, rather than with all the other
+ * solutions. This is much faster than {@link FastNonDominatedSorting} when
+ * there are few fronts, which is the common case with many objectives.
+ * </p>
+ */
+public class EfficientNonDominatedSorting extends NonDominatedSorting {
+
+	private static final long serialVersionUID = 2979596862958296478L;
+
+	@Override
+	public int[] computeRanks(final double[][] values) {
+		int n = values.length;
+		int[] ranks = new int[n];
+
+		Integer[] order = new Integer[n];
+		for (int i = 0; i < n; i++)
+			order[i] = i;
+		Arrays.sort(order, new Comparator<Integer>() {
+			@Override
+			public int compare(Integer i1, Integer i2) {
+				double[] values1 = values[i1];
+				double[] values2 = values[i2];
+				for (int i = 0; i < values1.length; i++) {
+					int result = Double.compare(values1[i], values2[i]);
+					if (result != 0)
+						return result;
+				}
+				return 0;
+			}
+		});
+
+		// fronts[k][0..frontSizes[k]) are the members of front k
+		int[][] fronts = new int[n][];
+		int[] frontSizes = new int[n];
+		int numFronts = 0;
+
+		for (int p : order) {
+			int k = 0;
+			while (k < numFronts && isDominated(values, p, fronts[k], frontSizes[k]))
+				k++;
+			if (k == numFronts) {
+				fronts[k] = new int[4];
+				numFronts++;
+			} else if (frontSizes[k] == fronts[k].length) {
+				fronts[k] = Arrays.copyOf(fronts[k], fronts[k].length * 2);
+			}
+			fronts[k][frontSizes[k]++] = p;
+			ranks[p] = k;
+		}
+		return ranks;
+	}
+
+	/**
+	 * Is solution <code>p</code> dominated by a member of the front? The last
+	 * members are checked first, as they are the closest to <code>p</code> in
+	 * the lexicographic order.
+	 */
+	private static boolean isDominated(double[][] values, int p, int[] front, int size) {
+		for (int i = size - 1; i >= 0; i--) {
+			if (compare(values[front[i]], values[p]) == -1)
+				return true;
+		}
+		return false;
+	}
+}
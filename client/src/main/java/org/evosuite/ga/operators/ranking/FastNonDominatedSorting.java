@@ -0,0 +1,98 @@
+/**
+ * Copyright (C) 2010-2015 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser Public License as published by the
+ * Free Software Foundation, either version 3.0 of the License, or (at your
+ * option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser Public License along
+ * with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.ga.operators.ranking;
+
+/**
+ * <p>
+ * The fast non-dominated sorting of NSGA-II (Deb et al., 2002), which compares
+ * all pairs of solutions: O(MN<sup>2</sup>) comparisons for N solutions and M
+ * objectives.
+ * </p>
+ */
+public class FastNonDominatedSorting extends NonDominatedSorting {
+
+	private static final long serialVersionUID = -3577373012271264455L;
+
+	@Override
+	public int[] computeRanks(double[][] values) {
+		int n = values.length;
+		int[] ranks = new int[n];
+
+		// dominateMe[p] contains the number of solutions dominating p
+		int[] dominateMe = new int[n];
+
+		// iDominate[p][0..numDominated[p]) are the solutions dominated by p
+		int[][] iDominate = new int[n][];
+		int[] numDominated = new int[n];
+		for (int p = 0; p < n; p++)
+			iDominate[p] = new int[4];
+
+		for (int p = 0; p < n - 1; p++) {
+			for (int q = p + 1; q < n; q++) {
+				int flagDominate = compare(values[p], values[q]);
+				if (flagDominate == -1) {
+					add(iDominate, numDominated, p, q);
+					dominateMe[q]++;
+				} else if (flagDominate == 1) {
+					add(iDominate, numDominated, q, p);
+					dominateMe[p]++;
+				}
+			}
+		}
+
+		// the solutions nobody dominates are the first front
+		int[] front = new int[n];
+		int frontSize = 0;
+		for (int p = 0; p < n; p++) {
+			if (dominateMe[p] == 0)
+				front[frontSize++] = p;
+		}
+
+		int rank = 0;
+		int[] next = new int[n];
+		while (frontSize > 0) {
+			int nextSize = 0;
+			for (int i = 0; i < frontSize; i++) {
+				int p = front[i];
+				ranks[p] = rank;
+				for (int j = 0; j < numDominated[p]; j++) {
+					int q = iDominate[p][j];
+					if (--dominateMe[q] == 0)
+						next[nextSize++] = q;
+				}
+			}
+			int[] tmp = front;
+			front = next;
+			next = tmp;
+			frontSize = nextSize;
+			rank++;
+		}
+		return ranks;
+	}
+
+	private static void add(int[][] lists, int[] sizes, int list, int value) {
+		if (sizes[list] == lists[list].length) {
+			int[] grown = new int[lists[list].length * 2];
+			System.arraycopy(lists[list], 0, grown, 0, sizes[list]);
+			lists[list] = grown;
+		}
+		lists[list][sizes[list]++] = value;
+	}
+}
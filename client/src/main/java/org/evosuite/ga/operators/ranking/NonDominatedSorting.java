@@ -0,0 +1,161 @@
+/**
+ * Copyright (C) 2010-2015 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser Public License as published by the
+ * Free Software Foundation, either version 3.0 of the License, or (at your
+ * option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser Public License along
+ * with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.ga.operators.ranking;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.evosuite.Properties;
+import org.evosuite.ga.Chromosome;
+import org.evosuite.ga.FitnessFunctionIndex;
+
+/**
+ * <p>
+ * Abstract base class of the algorithms that partition a set of solutions into
+ * non-dominated fronts, as used by the ranking of NSGA-II and MOSA.
+ * </p>
+ *
+ * <p>
+ * All objectives are minimised. The objective values of the solutions are read
+ * once into a matrix (see {@link #getObjectiveValues(List, int[])}), so that
+ * the sorting algorithms work on arrays of <code>double</code> rather than on
+ * the fitness maps of the chromosomes. Within each front, solutions are in the
+ * order in which they appear in the sorted list.
+ * </p>
+ */
+public abstract class NonDominatedSorting implements Serializable {
+
+	private static final long serialVersionUID = 2580219484437316367L;
+
+	/**
+	 * Get the sorting algorithm selected by
+	 * {@link Properties#NON_DOMINATED_SORTING}
+	 *
+	 * @return a {@link NonDominatedSorting} object.
+	 */
+	public static NonDominatedSorting getInstance() {
+		switch (Properties.NON_DOMINATED_SORTING) {
+		case FAST:
+			return new FastNonDominatedSorting();
+		case ENS:
+		default:
+			return new EfficientNonDominatedSorting();
+		}
+	}
+
+	/**
+	 * Compute the index of the front of each solution, front 0 being the
+	 * non-dominated solutions
+	 *
+	 * @param values
+	 *            the objective values, one row per solution; all rows have the
+	 *            same length
+	 * @return the front of each row of <code>values</code>
+	 */
+	public abstract int[] computeRanks(double[][] values);
+
+	/**
+	 * Partition the given solutions into non-dominated fronts
+	 *
+	 * @param solutions
+	 *            the solutions to sort
+	 * @param objectives
+	 *            the indices of the fitness functions to consider, see
+	 *            {@link FitnessFunctionIndex}
+	 * @return the fronts, starting from the non-dominated one
+	 */
+	public <T extends Chromosome> List<List<T>> computeFronts(List<T> solutions,
+	        int[] objectives) {
+		return getFronts(solutions, computeRanks(getObjectiveValues(solutions, objectives)));
+	}
+
+	/**
+	 * Read the values of the given fitness functions from the solutions
+	 *
+	 * @param solutions
+	 *            a list of chromosomes
+	 * @param objectives
+	 *            the indices of the fitness functions, see
+	 *            {@link FitnessFunctionIndex}
+	 * @return a matrix with one row per solution and one column per objective
+	 */
+	public static double[][] getObjectiveValues(List<? extends Chromosome> solutions,
+	        int[] objectives) {
+		double[][] values = new double[solutions.size()][objectives.length];
+		for (int i = 0; i < values.length; i++) {
+			Chromosome solution = solutions.get(i);
+			for (int j = 0; j < objectives.length; j++) {
+				values[i][j] = solution.getFitness(objectives[j]);
+			}
+		}
+		return values;
+	}
+
+	/**
+	 * Group the solutions by rank
+	 *
+	 * @param solutions
+	 *            a list of chromosomes
+	 * @param ranks
+	 *            the front of each solution, as returned by
+	 *            {@link #computeRanks(double[][])}
+	 * @return the fronts, starting from the one of rank 0
+	 */
+	public static <T extends Chromosome> List<List<T>> getFronts(List<T> solutions, int[] ranks) {
+		List<List<T>> fronts = new ArrayList<List<T>>();
+		for (int i = 0; i < ranks.length; i++) {
+			while (fronts.size() <= ranks[i])
+				fronts.add(new ArrayList<T>());
+			fronts.get(ranks[i]).add(solutions.get(i));
+		}
+		return fronts;
+	}
+
+	/**
+	 * Dominance test between two vectors of objective values
+	 *
+	 * @param values1
+	 *            the objectives of the first solution
+	 * @param values2
+	 *            the objectives of the second solution
+	 * @return -1, or 0, or 1 if the first solution dominates the second one,
+	 *         both are non-dominated, or the first solution is dominated by the
+	 *         second one, respectively
+	 */
+	public static int compare(double[] values1, double[] values2) {
+		boolean dominate1 = false;
+		boolean dominate2 = false;
+		for (int i = 0; i < values1.length; i++) {
+			if (values1[i] < values2[i]) {
+				if (dominate2)
+					return 0;
+				dominate1 = true;
+			} else if (values1[i] > values2[i]) {
+				if (dominate1)
+					return 0;
+				dominate2 = true;
+			}
+		}
+		if (dominate1 == dominate2)
+			return 0;
+		return dominate1 ? -1 : 1;
+	}
+}
@@ -19,6 +19,7 @@
  */
 package org.evosuite.instrumentation;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
@@ -27,6 +28,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.evosuite.Properties;
 import org.evosuite.TestGenerationContext;
@@ -54,6 +56,7 @@ public class InstrumentingClassLoader extends ClassLoader {
 	private final BytecodeInstrumentation instrumentation;
 	private final ClassLoader classLoader;
 	private final Map<String, Class<?>> classes = new HashMap<>();
+	private final Map<String, byte[]> instrumentedBytes = new ConcurrentHashMap<>();
 	private boolean isRegression = false;
 	
 	/**
@@ -103,9 +106,27 @@ public class InstrumentingClassLoader extends ClassLoader {
 	
 	public Class<?> loadClassFromFile(String fullyQualifiedTargetClass, String fileName) throws ClassNotFoundException {
 
+		try(InputStream is = new FileInputStream(new File(fileName))) {
+			return loadClassFromStream(fullyQualifiedTargetClass, is, fileName);
+		} catch (IOException e) {
+			logger.info("Error while loading class " + fullyQualifiedTargetClass + " : " + e);
+			throw new ClassNotFoundException(e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Define a class from bytecode that is kept in memory, e.g. the output
+	 * of an in-memory compilation
+	 */
+	public Class<?> loadClassFromBytes(String fullyQualifiedTargetClass, byte[] bytes) throws ClassNotFoundException {
+		return loadClassFromStream(fullyQualifiedTargetClass, new ByteArrayInputStream(bytes), "memory");
+	}
+
+	private Class<?> loadClassFromStream(String fullyQualifiedTargetClass, InputStream is, String origin) throws ClassNotFoundException {
+
 		String className = fullyQualifiedTargetClass.replace('.', '/');
 
-		try(InputStream is = new FileInputStream(new File(fileName))) {
+		try {
 
 			byte[] byteBuffer = getTransformedBytes(className, is);
 
@@ -114,7 +135,7 @@ public class InstrumentingClassLoader extends ClassLoader {
 
 			classes.put(fullyQualifiedTargetClass, result);
 
-			logger.info("Loaded class " + fullyQualifiedTargetClass + " directly from "+fileName);
+			logger.info("Loaded class " + fullyQualifiedTargetClass + " directly from "+origin);
 			return result;
 		} catch (Throwable t) {
 			logger.info("Error while loading class " + fullyQualifiedTargetClass + " : " + t);
@@ -188,6 +209,10 @@ public class InstrumentingClassLoader extends ClassLoader {
 			}
 			
 			byte[] byteBuffer = getTransformedBytes(className,is);
+			if (Properties.NUM_PARALLEL_EXECUTORS > 1) {
+				// keep them for the class loaders of the parallel test executors
+				instrumentedBytes.put(fullyQualifiedTargetClass, byteBuffer);
+			}
 			createPackageDefinition(fullyQualifiedTargetClass);
 			Class<?> result = defineClass(fullyQualifiedTargetClass, byteBuffer, 0,byteBuffer.length);
 			classes.put(fullyQualifiedTargetClass, result);
@@ -229,4 +254,18 @@ public class InstrumentingClassLoader extends ClassLoader {
 		return instrumentation;
 	}
 
+	/**
+	 * Bytecode of a class as it was defined by this class loader, i.e. after
+	 * instrumentation. Bytes are only kept when test cases are executed in
+	 * parallel (see {@link Properties#NUM_PARALLEL_EXECUTORS})
+	 * 
+	 * @param className
+	 *            fully qualified name with dots
+	 * @return the instrumented bytecode, or <code>null</code> if the class
+	 *         was not instrumented by this class loader
+	 */
+	public byte[] getInstrumentedBytes(String className) {
+		return instrumentedBytes.get(className);
+	}
+
 }
@@ -0,0 +1,81 @@
+/**
+ * Copyright (C) 2010-2015 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser Public License as published by the
+ * Free Software Foundation, either version 3.0 of the License, or (at your
+ * option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser Public License along
+ * with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.instrumentation;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.evosuite.Properties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A class loader that defines its own copy of the classes instrumented by
+ * another {@link InstrumentingClassLoader}, without instrumenting them again.
+ *
+ * <p>
+ * As the bytecode is identical, branch, line and mutation ids are the same as
+ * in the original class loader, and all the pools populated during
+ * instrumentation (e.g., <code>BranchPool</code>) remain valid. Static state,
+ * however, is private to each replica, which is what allows test cases to be
+ * executed concurrently.
+ * </p>
+ */
+public class ReplicatingClassLoader extends InstrumentingClassLoader {
+
+	private final static Logger logger = LoggerFactory.getLogger(ReplicatingClassLoader.class);
+
+	private final InstrumentingClassLoader original;
+
+	public ReplicatingClassLoader(InstrumentingClassLoader original) {
+		super(original.getInstrumentation());
+		setClassAssertionStatus(Properties.TARGET_CLASS, true);
+		this.original = original;
+	}
+
+	public InstrumentingClassLoader getOriginal() {
+		return original;
+	}
+
+	@Override
+	protected byte[] getTransformedBytes(String className, InputStream is) throws IOException {
+		String classNameWithDots = className.replace('/', '.');
+		byte[] bytes = original.getInstrumentedBytes(classNameWithDots);
+		if (bytes == null) {
+			try {
+				// make sure the original class loader has instrumented the class
+				original.loadClass(classNameWithDots);
+			} catch (ClassNotFoundException e) {
+				throw new IOException(e);
+			}
+			bytes = original.getInstrumentedBytes(classNameWithDots);
+		}
+		if (bytes == null) {
+			/*
+			 * This can only happen if the class was loaded before the instrumented
+			 * bytecode was retained. Instrumenting it again keeps the replica
+			 * working, but the ids of its branches might not match
+			 */
+			logger.warn("No instrumented bytecode available for " + classNameWithDots);
+			return super.getTransformedBytes(className, is);
+		}
+		return bytes;
+	}
+}
@@ -0,0 +1,120 @@
+/**
+ * Copyright (C) 2010-2015 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser Public License as published by the
+ * Free Software Foundation, either version 3.0 of the License, or (at your
+ * option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser Public License along
+ * with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.junit;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaFileObject;
+import javax.tools.JavaFileObject.Kind;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+
+/**
+ * A file manager that reads the sources to compile from strings and keeps the
+ * compiled classes in memory, so that generated tests can be compiled and
+ * loaded without writing anything to disk. Everything else (e.g., the
+ * classpath) is handled by the wrapped standard file manager.
+ */
+public class InMemoryJavaFileManager extends ForwardingJavaFileManager<StandardJavaFileManager> {
+
+	private final Map<String, ClassFile> classFiles = new LinkedHashMap<String, ClassFile>();
+
+	/**
+	 * A compilation unit whose source code is kept in a string
+	 */
+	public static class SourceFile extends SimpleJavaFileObject {
+
+		private final String className;
+
+		private final String code;
+
+		/**
+		 * @param className
+		 *            fully qualified name of the class defined in the source
+		 * @param code
+		 *            the source code
+		 */
+		public SourceFile(String className, String code) {
+			super(URI.create("string:///" + className.replace('.', '/') + Kind.SOURCE.extension), Kind.SOURCE);
+			this.className = className;
+			this.code = code;
+		}
+
+		public String getClassName() {
+			return className;
+		}
+
+		@Override
+		public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+			return code;
+		}
+	}
+
+	private static class ClassFile extends SimpleJavaFileObject {
+
+		private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+		public ClassFile(String className) {
+			super(URI.create("bytes:///" + className.replace('.', '/') + Kind.CLASS.extension), Kind.CLASS);
+		}
+
+		@Override
+		public OutputStream openOutputStream() {
+			return bytes;
+		}
+	}
+
+	public InMemoryJavaFileManager(StandardJavaFileManager fileManager) {
+		super(fileManager);
+	}
+
+	@Override
+	public JavaFileObject getJavaFileForOutput(Location location, String className, Kind kind,
+			FileObject sibling) throws IOException {
+		if (kind != Kind.CLASS) {
+			return super.getJavaFileForOutput(location, className, kind, sibling);
+		}
+		ClassFile classFile = new ClassFile(className);
+		classFiles.put(className, classFile);
+		return classFile;
+	}
+
+	/**
+	 * Get the bytecode of all the classes compiled so far, including inner and
+	 * anonymous classes
+	 * 
+	 * @return map from fully qualified class names to bytecode, in the order
+	 *         in which the compiler generated the classes
+	 */
+	public Map<String, byte[]> getCompiledClasses() {
+		Map<String, byte[]> classes = new LinkedHashMap<String, byte[]>();
+		for (Map.Entry<String, ClassFile> entry : classFiles.entrySet()) {
+			classes.put(entry.getKey(), entry.getValue().bytes.toByteArray());
+		}
+		return classes;
+	}
+}
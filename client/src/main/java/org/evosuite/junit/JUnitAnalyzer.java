@@ -24,12 +24,12 @@ import java.io.IOException;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collection;
-import java.util.Iterator;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
 
 import javax.tools.Diagnostic;
@@ -45,6 +45,7 @@ import org.evosuite.Properties;
 import org.evosuite.TestGenerationContext;
 import org.evosuite.classpath.ClassPathHandler;
 import org.evosuite.instrumentation.NonInstrumentingClassLoader;
+import org.evosuite.junit.InMemoryJavaFileManager.SourceFile;
 import org.evosuite.junit.writer.TestSuiteWriter;
 import org.evosuite.junit.writer.TestSuiteWriterUtils;
 import org.evosuite.junit.xml.JUnitProcessLauncher;
@@ -69,7 +70,6 @@ public class JUnitAnalyzer {
 
 	private static int dirCounter = 0;
 
-	private static final String JAVA = ".java";
 	private static final String CLASS = ".class";
 
 	
@@ -77,7 +77,13 @@ public class JUnitAnalyzer {
 	
 	/**
 	 * Try to compile each test separately, and remove the ones that cannot be
-	 * compiled
+	 * compiled.
+	 * 
+	 * <p>
+	 * Each test is written to its own test class, but all the classes are
+	 * compiled in memory in a single compilation task. The tests to remove are
+	 * identified from the diagnostics of the compiler, and the others are
+	 * compiled again, as the compiler might have stopped before reaching them.
 	 * 
 	 * @param tests
 	 */
@@ -89,40 +95,58 @@ public class JUnitAnalyzer {
 			return;
 		}
 
-		Iterator<TestCase> iter = tests.iterator();
+		List<List<SourceFile>> sources = new ArrayList<List<SourceFile>>();
+		for (TestCase test : tests) {
+			sources.add(generateSources(Collections.singletonList(test)));
+		}
 
-		while (iter.hasNext()) {
-			TestCase test = iter.next();
+		Set<Integer> failing = new HashSet<Integer>();
+		List<Integer> remaining = new ArrayList<Integer>();
+		for (int i = 0; i < tests.size(); i++) {
+			remaining.add(i);
+		}
 
-			File dir = createNewTmpDir();
-			if (dir == null) {
-				logger.warn("Failed to create tmp dir");
-				return;
+		while (!remaining.isEmpty()) {
+			List<SourceFile> units = new ArrayList<SourceFile>();
+			for (Integer i : remaining) {
+				units.addAll(sources.get(i));
 			}
-			logger.debug("Created tmp folder: " + dir.getAbsolutePath());
 
-			try {
-				List<TestCase> singleList = new ArrayList<TestCase>();
-				singleList.add(test);
-				List<File> generated = compileTests(singleList, dir);
-				if (generated == null) {
-					iter.remove();
-					String code = test.toCode();
-					logger.error("Failed to compile test case:\n" + code);
+			DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<JavaFileObject>();
+			if (compile(units, diagnostics) != null) {
+				break;
+			}
+
+			Set<Integer> failed = new LinkedHashSet<Integer>();
+			for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+				if (diagnostic.getKind() != Diagnostic.Kind.ERROR) {
+					continue;
 				}
-			} finally {
-				//let's be sure we clean up all what we wrote on disk
-				if (dir != null) {
-					try {
-						FileUtils.deleteDirectory(dir);
-						logger.debug("Deleted tmp folder: " + dir.getAbsolutePath());
-					} catch (Exception e) {
-						logger.error("Cannot delete tmp dir: " + dir.getAbsolutePath(), e);
+				for (Integer i : remaining) {
+					if (sources.get(i).contains(diagnostic.getSource())) {
+						failed.add(i);
 					}
 				}
 			}
+			if (failed.isEmpty()) {
+				// e.g., no compiler is available
+				logger.error("Compilation errors cannot be related to any test case");
+				failed.addAll(remaining);
+			}
+
+			for (Integer i : failed) {
+				logCompilationErrors(diagnostics, sources.get(i));
+			}
+			remaining.removeAll(failed);
+			failing.addAll(failed);
+		}
 
-		} // end of while
+		for (int i = tests.size() - 1; i >= 0; i--) {
+			if (failing.contains(i)) {
+				TestCase test = tests.remove(i);
+				logger.error("Failed to compile test case:\n" + test.toCode());
+			}
+		}
 	}
 
 	/**
@@ -145,16 +169,9 @@ public class JUnitAnalyzer {
 			return numUnstable;
 		}
 
-		File dir = createNewTmpDir();
-		if (dir == null) {
-			logger.error("Failed to create tmp dir");
-			return numUnstable;
-		}
-		logger.debug("Created tmp folder: " + dir.getAbsolutePath());
-
 		try {
-			List<File> generated = compileTests(tests, dir);
-			if (generated == null) {
+			Map<String, byte[]> compiled = compileTests(tests);
+			if (compiled == null) {
 				/*
 				 * Note: in theory this shouldn't really happen, as check for compilation
 				 * is done before calling this method
@@ -163,14 +180,14 @@ public class JUnitAnalyzer {
 				return numUnstable;
 			}
 
-			Class<?>[] testClasses = loadTests(generated);
+			Class<?>[] testClasses = loadTests(compiled);
 
 			if (testClasses == null) {
 				logger.error("Found no classes for compiled tests");
 				return numUnstable;
 			}
 
-			JUnitResult result = runTests(testClasses, dir);
+			JUnitResult result = runTests(testClasses, compiled);
 
 			if (result.wasSuccessful()) {
 				return numUnstable; //everything is OK
@@ -242,32 +259,44 @@ public class JUnitAnalyzer {
 		} catch (Exception e) {
 			logger.error("" + e, e);
 			return numUnstable;
-		} finally {
-			//let's be sure we clean up all what we wrote on disk
-
-			if (dir != null) {
-				try {
-					FileUtils.deleteDirectory(dir);
-				} catch (Exception e) {
-					logger.warn("Cannot delete tmp dir: " + dir.getName(), e);
-				}
-			}
-
 		}
 
 		//if we arrive here, then it means at least one test was unstable
 		return numUnstable;
 	}
 
-	private static JUnitResult runTests(Class<?>[] testClasses, File testClassDir)
+	private static JUnitResult runTests(Class<?>[] testClasses, Map<String, byte[]> compiledClasses)
 	        throws JUnitExecutionException {
 		if (Properties.JUNIT_CHECK_ON_SEPARATE_PROCESS) {
-			return runJUnitOnSeparateProcess(testClasses, testClassDir);
+			// the other process loads the tests from its classpath
+			File dir = createNewTmpDir();
+			if (dir == null) {
+				throw new JUnitExecutionException("Failed to create tmp dir");
+			}
+			try {
+				writeClassFiles(compiledClasses, dir);
+				return runJUnitOnSeparateProcess(testClasses, dir);
+			} catch (IOException e) {
+				throw new JUnitExecutionException(e);
+			} finally {
+				try {
+					FileUtils.deleteDirectory(dir);
+				} catch (IOException e) {
+					logger.warn("Cannot delete tmp dir: " + dir.getName(), e);
+				}
+			}
 		} else {
 			return runJUnitOnCurrentProcess(testClasses);
 		}
 	}
 
+	private static void writeClassFiles(Map<String, byte[]> compiledClasses, File dir) throws IOException {
+		for (Map.Entry<String, byte[]> entry : compiledClasses.entrySet()) {
+			File file = new File(dir, entry.getKey().replace('.', File.separatorChar) + CLASS);
+			FileUtils.writeByteArrayToFile(file, entry.getValue());
+		}
+	}
+
 	private static JUnitResult runJUnitOnSeparateProcess(Class<?>[] testClasses,
 	        File testClassDir) throws JUnitExecutionException {
 		JUnitProcessLauncher launcher = new JUnitProcessLauncher();
@@ -330,7 +359,13 @@ public class JUnitAnalyzer {
 	// EvoSuite classloader, and thus cannot easily be re-loaded
 	private static int NUM = 0;
 
-	private static List<File> compileTests(List<TestCase> tests, File dir) {
+	/**
+	 * Write the given tests to JUnit classes, without writing them to disk
+	 * 
+	 * @param tests
+	 * @return the source files of the test classes and of their scaffolding
+	 */
+	private static List<SourceFile> generateSources(List<TestCase> tests) {
 
 		TestSuiteWriter suite = new TestSuiteWriter();
 		suite.insertAllTests(tests);
@@ -340,76 +375,104 @@ public class JUnitAnalyzer {
 		String name = Properties.TARGET_CLASS.substring(beginIndex);
 		name += "_" +(NUM++) + "_tmp_" + Properties.JUNIT_SUFFIX ; //postfix
 
-		try {
-			//now generate the JUnit test case
-			List<File> generated = suite.writeTestSuite(name, dir.getAbsolutePath());
-			for (File file : generated) {
-				if (!file.exists()) {
-					logger.error("Supposed to generate " + file
-					        + " but it does not exist");
-					return null;
-				}
-			}
+		String packagePrefix = Properties.CLASS_PREFIX;
+		if (!packagePrefix.isEmpty() && !packagePrefix.endsWith(".")) {
+			packagePrefix += ".";
+		}
 
-			//try to compile the test cases
-			JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
-			if (compiler == null) {
-				logger.error("No Java compiler is available");
-				return null;
-			}
+		List<SourceFile> sources = new ArrayList<SourceFile>();
+		for (Map.Entry<String, String> source : suite.generateTestSuite(name).entrySet()) {
+			sources.add(new SourceFile(packagePrefix + source.getKey(), source.getValue()));
+		}
+		return sources;
+	}
 
-			DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<JavaFileObject>();
-			Locale locale = Locale.getDefault();
-			Charset charset = Charset.forName("UTF-8");
-			StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics,
-			                                                                      locale,
-			                                                                      charset);
+	private static Map<String, byte[]> compileTests(List<TestCase> tests) {
+
+		List<SourceFile> sources = generateSources(tests);
+
+		DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<JavaFileObject>();
+		Map<String, byte[]> compiled = compile(sources, diagnostics);
+		if (compiled == null) {
+			logCompilationErrors(diagnostics, sources);
+		}
+		return compiled;
+	}
+
+	/**
+	 * Compile the given sources in memory, in a single compilation task
+	 * 
+	 * @param sources
+	 * @param diagnostics
+	 *            collects the errors of the compiler
+	 * @return the bytecode of the compiled classes, or null if the
+	 *         compilation failed
+	 */
+	private static Map<String, byte[]> compile(List<SourceFile> sources,
+	        DiagnosticCollector<JavaFileObject> diagnostics) {
 
-			Iterable<? extends JavaFileObject> compilationUnits = fileManager.getJavaFileObjectsFromFiles(generated);
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		if (compiler == null) {
+			logger.error("No Java compiler is available");
+			return null;
+		}
 
-			List<String> optionList = new ArrayList<>();
-			String evosuiteCP = ClassPathHandler.getInstance().getEvoSuiteClassPath();
-			String targetProjectCP = ClassPathHandler.getInstance().getTargetProjectClasspath();
-			String classpath = targetProjectCP + File.pathSeparator + evosuiteCP;
-			optionList.addAll(Arrays.asList("-classpath", classpath));
+		Locale locale = Locale.getDefault();
+		Charset charset = Charset.forName("UTF-8");
+		StandardJavaFileManager standardFileManager = compiler.getStandardFileManager(diagnostics,
+		                                                                              locale,
+		                                                                              charset);
+		InMemoryJavaFileManager fileManager = new InMemoryJavaFileManager(standardFileManager);
+
+		List<String> optionList = new ArrayList<>();
+		String evosuiteCP = ClassPathHandler.getInstance().getEvoSuiteClassPath();
+		String targetProjectCP = ClassPathHandler.getInstance().getTargetProjectClasspath();
+		String classpath = targetProjectCP + File.pathSeparator + evosuiteCP;
+		optionList.addAll(Arrays.asList("-classpath", classpath));
+		//report the errors of all the classes, not just of the first ones
+		optionList.addAll(Arrays.asList("-Xmaxerrs", "" + Integer.MAX_VALUE));
 
+		try {
 			CompilationTask task = compiler.getTask(null, fileManager, diagnostics,
-			                                        optionList, null, compilationUnits);
+			                                        optionList, null, sources);
 			boolean compiled = task.call();
-			fileManager.close();
-
 			if (!compiled) {
-				logger.error("Compilation failed on compilation units: "+ compilationUnits);
-
-				for (Diagnostic<?> diagnostic : diagnostics.getDiagnostics()) {
-					if (diagnostic.getMessage(null).startsWith("error while writing")) {
-						logger.error("Error is due to file permissions, ignoring...");
-						return generated;
-					}
-					logger.error("Diagnostic: " + diagnostic.getMessage(null) + ": "
-					        + diagnostic.getLineNumber());
-				}
+				return null;
+			}
+			return fileManager.getCompiledClasses();
+		} finally {
+			try {
+				fileManager.close();
+			} catch (IOException e) {
+				logger.warn("Cannot close file manager: " + e);
+			}
+		}
+	}
 
-				StringBuffer buffer = new StringBuffer();
-				for (JavaFileObject sourceFile : compilationUnits) {
-					List<String> lines = FileUtils.readLines(new File(sourceFile.toUri().getPath()));
+	private static void logCompilationErrors(DiagnosticCollector<JavaFileObject> diagnostics,
+	        List<SourceFile> sources) {
 
-					buffer.append(compilationUnits.iterator().next().toString()+"\n");
+		logger.error("Compilation failed on compilation units: "+ sources);
 
-					for (int i = 0; i < lines.size(); i++) {
-						buffer.append((i + 1) + ": " + lines.get(i) +"\n");
-					}
-				}
-				logger.error(buffer.toString());
-				return null;
+		for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+			if (diagnostic.getSource() != null && !sources.contains(diagnostic.getSource())) {
+				continue;
 			}
+			logger.error("Diagnostic: " + diagnostic.getMessage(null) + ": "
+			        + diagnostic.getLineNumber());
+		}
 
-			return generated;
+		StringBuffer buffer = new StringBuffer();
+		for (SourceFile sourceFile : sources) {
+			String[] lines = sourceFile.getCharContent(true).toString().split("\\r?\\n");
 
-		} catch (IOException e) {
-			logger.error("" + e, e);
-			return null;
+			buffer.append(sourceFile.getClassName()+"\n");
+
+			for (int i = 0; i < lines.length; i++) {
+				buffer.append((i + 1) + ": " + lines[i] +"\n");
+			}
 		}
+		logger.error(buffer.toString());
 	}
 
 	protected static File createNewTmpDir() {
@@ -433,7 +496,7 @@ public class JUnitAnalyzer {
 		return dir;
 	}
 
-	private static Class<?>[] loadTests(List<File> tests) {
+	private static Class<?>[] loadTests(Map<String, byte[]> compiledClasses) {
 
 		/*
 		 * Ideally, when we run a generated test case, it
@@ -447,67 +510,20 @@ public class JUnitAnalyzer {
 		 * non-instrumenting classloader to re-load the CUT, and so see
 		 * if the JavaAgent works properly.
 		 */
-		Class<?>[] testClasses = getClassesFromFiles(tests);
-		List<File> otherClasses = listOnlyFiles(tests);
-		/*
-		 * this is important to force the loading of all files generated
-		 * in the target folder.
-		 * If we do not do that, then we will miss all the anonymous classes 
-		 */
-		getClassesFromFiles(otherClasses);
+		Class<?>[] testClasses = getTestClasses(compiledClasses);
 
-		return testClasses;
-	}
-
-	private static List<File> listOnlyFiles(List<File> tests) throws IllegalArgumentException{
-		if(tests==null || tests.isEmpty()){
-			return null;
-		}
-
-		Set<String> classNames = new LinkedHashSet<>();
-		
-		File parentFolder = tests.get(0).getParentFile();
-		for(File file : tests){
-			if(!file.getParentFile().equals(parentFolder)){
-				throw new IllegalArgumentException("Tests file are not in the same folder");
-			}
-			classNames.add(removeFileExtension(file.getName()));
-		}
-		
 		/*
-		 * if we already loaded a CUT due to its .java, do not want
-		 * to re-loaded it for a .class file that is in the same folder
+		 * this is important to force the loading of all the compiled
+		 * classes, as the loader cannot find them anywhere else.
+		 * If we do not do that, then we will miss all the anonymous classes 
 		 */
-		
-		List<File> otherClasses = new LinkedList<>();
-		
-		for(File file : parentFolder.listFiles()){
-			String  name = removeFileExtension(file.getName());
-
-			if(classNames.contains(name)){
-				continue;
+		for (Map.Entry<String, byte[]> entry : compiledClasses.entrySet()) {
+			if (isInnerClass(entry.getKey())) {
+				loadClass(entry.getKey(), entry.getValue());
 			}
-			
-			classNames.add(name);
-			otherClasses.add(file);
-		}
-		
-		return otherClasses;
-	}
-	
-
-	private static String removeFileExtension(String str) {
-		if (str == null) {
-			return null;
-		}
-
-		int pos = str.lastIndexOf(".");
-
-		if (pos == -1) {
-			return str;
 		}
 
-		return str.substring(0, pos);
+		return testClasses;
 	}
 
 	/**
@@ -535,29 +551,23 @@ public class JUnitAnalyzer {
 			return true;
 		}
 
-		File dir = createNewTmpDir();
-		if (dir == null) {
-			logger.warn("Failed to create tmp dir");
-			return false;
-		}
-
 		try {
-			List<File> generated = compileTests(tests, dir);
-			if (generated == null) {
+			Map<String, byte[]> compiled = compileTests(tests);
+			if (compiled == null) {
 				logger.warn("Failed to compile the test cases ");
 				return false;
 			}
 
 			//as last step, execute the generated/compiled test cases
 
-			Class<?>[] testClasses = loadTests(generated);
+			Class<?>[] testClasses = loadTests(compiled);
 
 			if (testClasses == null) {
 				logger.error("Found no classes for compiled tests");
 				return false;
 			}
 
-			JUnitResult result = runTests(testClasses, dir);
+			JUnitResult result = runTests(testClasses, compiled);
 
 			if (!result.wasSuccessful()) {
 				logger.error("" + result.getFailureCount() + " test cases failed");
@@ -581,15 +591,6 @@ public class JUnitAnalyzer {
 		} catch (Exception e) {
 			logger.error("" + e, e);
 			return false;
-		} finally {
-			//let's be sure we clean up all what we wrote on disk
-			if (dir != null) {
-				try {
-					FileUtils.deleteDirectory(dir);
-				} catch (IOException e) {
-					logger.warn("Cannot delete tmp dir: " + dir.getName(), e);
-				}
-			}
 		}
 
 		logger.debug("Successfully compiled and run test cases generated for "
@@ -598,21 +599,21 @@ public class JUnitAnalyzer {
 	}
 
 	/**
-	 * Given a list of files representing .java/.class classes, load them (it
-	 * assumes the classpath to be correctly set)
+	 * Given the bytecode of compiled classes, load the top level test classes
+	 * and their scaffolding
 	 * 
-	 * @param files
-	 * @return
+	 * @param compiledClasses
+	 * @return the test classes, without the scaffolding
 	 */
-	private static Class<?>[] getClassesFromFiles(Collection<File> files) {
+	private static Class<?>[] getTestClasses(Map<String, byte[]> compiledClasses) {
 		/*
 		 * first load only the scaffolding files
 		 */
-		for (File file : files) {
-			if(!isScaffolding(file)){
+		for (Map.Entry<String, byte[]> entry : compiledClasses.entrySet()) {
+			if(isInnerClass(entry.getKey()) || !isScaffolding(entry.getKey())){
 				continue;
 			}
-			loadClass(file);			
+			loadClass(entry.getKey(), entry.getValue());
 		}
 		
 		List<Class<?>> classes = new ArrayList<>();
@@ -621,11 +622,11 @@ public class JUnitAnalyzer {
 		 * once the scaffoldings are loaded, we can load the tests that
 		 * depend on them 
 		 */
-		for (File file : files) {
-			if(isScaffolding(file)){
+		for (Map.Entry<String, byte[]> entry : compiledClasses.entrySet()) {
+			if(isInnerClass(entry.getKey()) || isScaffolding(entry.getKey())){
 				continue;
 			}
-			Class<?> clazz = loadClass(file);
+			Class<?> clazz = loadClass(entry.getKey(), entry.getValue());
 			if(clazz != null){
 				classes.add(clazz);
 			}
@@ -634,52 +635,21 @@ public class JUnitAnalyzer {
 		return classes.toArray(new Class<?>[classes.size()]);
 	}
 
-	private static boolean isScaffolding(File file){
-		String name = file.getName();
-		return name.endsWith("_"+Properties.SCAFFOLDING_SUFFIX+JAVA) || 
-				name.endsWith("_"+Properties.SCAFFOLDING_SUFFIX+CLASS);
+	private static boolean isScaffolding(String className){
+		return className.endsWith("_"+Properties.SCAFFOLDING_SUFFIX);
 	}
-	
-	private static Class<?> loadClass(File file){
-		if (!file.isFile()) {
-			return null;
-		}
-
-		String packagePrefix = Properties.CLASS_PREFIX;
-		if (!packagePrefix.isEmpty() && !packagePrefix.endsWith(".")) {
-			packagePrefix += ".";
-		}
-
-		String name = file.getName();
-
-		if (!name.endsWith(JAVA) && !name.endsWith(CLASS)) {
-			/*
-			 * this could happen when we scan a folder for all src/compiled
-			 * files
-			 */
-			return null;
-		}
-
-		String fileName = file.getAbsolutePath();
-
-		if (name.endsWith(JAVA)) {
-			name = name.substring(0, name.length() - JAVA.length());
-			fileName = fileName.substring(0, fileName.length() - JAVA.length()) + ".class";
-		} else {
-			assert name.endsWith(CLASS);
-			name = name.substring(0, name.length() - CLASS.length());
-		}
-
-		String className = packagePrefix + name;
 
+	private static boolean isInnerClass(String className){
+		return className.contains("$");
+	}
+	
+	private static Class<?> loadClass(String className, byte[] bytecode){
 		Class<?> testClass = null;
 		try {
 			logger.info("Loading class " + className);
-			//testClass = ((InstrumentingClassLoader) TestGenerationContext.getInstance().getClassLoaderForSUT()).loadClassFromFile(className,
-			testClass = loader.loadClassFromFile(className,fileName);
+			testClass = loader.loadClassFromBytes(className, bytecode);
 		} catch (ClassNotFoundException e) {
-			logger.error("Failed to load test case " + className + " from file "
-			        + file.getAbsolutePath() + " , error " + e, e);
+			logger.error("Failed to load test case " + className + " , error " + e, e);
 		}
 		return testClass;
 	}
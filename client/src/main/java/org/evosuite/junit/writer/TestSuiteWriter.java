@@ -187,6 +187,29 @@ public class TestSuiteWriter implements Opcodes {
      */
     public List<File> writeTestSuite(String name, String directory) throws IllegalArgumentException {
 
+        Map<String, String> sources = generateTestSuite(name);
+
+        List<File> generated = new ArrayList<File>();
+        String dir = TestSuiteWriterUtils.makeDirectory(directory);
+        for (Map.Entry<String, String> source : sources.entrySet()) {
+            File file = new File(dir + "/" + source.getKey() + ".java");
+            Utils.writeFile(source.getValue(), file);
+            generated.add(file);
+        }
+        return generated;
+    }
+
+    /**
+     * Create the source code of the JUnit test suite for class, without
+     * writing it to disk
+     *
+     * @param name Name of the class
+     * @return the source code of each generated class, keyed by its name
+     *         without package, in the same order as the files written by
+     *         {@link #writeTestSuite(String, String)}
+     */
+    public Map<String, String> generateTestSuite(String name) throws IllegalArgumentException {
+
         if (name == null || name.isEmpty()) {
             throw new IllegalArgumentException("Empty test class name");
         }
@@ -197,8 +220,7 @@ public class TestSuiteWriter implements Opcodes {
             throw new IllegalArgumentException("Test classes should have name ending with 'Test'. Invalid input name: " + name);
         }
 
-        List<File> generated = new ArrayList<File>();
-        String dir = TestSuiteWriterUtils.makeDirectory(directory);
+        Map<String, String> sources = new LinkedHashMap<String, String>();
         String content = "";
 
         // Execute all tests
@@ -210,35 +232,29 @@ public class TestSuiteWriter implements Opcodes {
         }
 
         if (Properties.OUTPUT_GRANULARITY == OutputGranularity.MERGED) {
-            File file = new File(dir + "/" + name + ".java");
             //executor.newObservers();
             content = getUnitTestsAllInSameFile(name, results);
-            Utils.writeFile(content, file);
-            generated.add(file);
+            sources.put(name, content);
         } else {
             for (int i = 0; i < testCases.size(); i++) {
                 String testSuiteName = name.substring(0, name.length() - "Test".length()) + "_" + i + "_Test";
-                File file = new File(dir + "/" + testSuiteName + ".java");
                 //executor.newObservers();
                 String testCode = getOneUnitTestInAFile(name, i, results);
-                Utils.writeFile(testCode, file);
+                sources.put(testSuiteName, testCode);
                 content += testCode;
-                generated.add(file);
             }
         }
 
         if (Properties.TEST_SCAFFOLDING) {
             String scaffoldingName = Scaffolding.getFileName(name);
-            File file = new File(dir + "/" + scaffoldingName + ".java");
             String scaffoldingContent = Scaffolding.getScaffoldingFileContent(name, results,
                     TestSuiteWriterUtils.hasAnySecurityException(results));
-            Utils.writeFile(scaffoldingContent, file);
-            generated.add(file);
+            sources.put(scaffoldingName, scaffoldingContent);
             content += scaffoldingContent;
         }
 
         TestGenerationResultBuilder.getInstance().setTestSuiteCode(content);
-        return generated;
+        return sources;
     }
 
     /**
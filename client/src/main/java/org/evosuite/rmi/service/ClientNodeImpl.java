@@ -48,6 +48,7 @@ import org.evosuite.runtime.sandbox.Sandbox;
 import org.evosuite.setup.DependencyAnalysis;
 import org.evosuite.setup.TestCluster;
 import org.evosuite.statistics.RuntimeVariable;
+import org.evosuite.statistics.StatisticsSample;
 import org.evosuite.utils.LoggingUtils;
 import org.evosuite.utils.Randomness;
 import org.evosuite.utils.Utils;
@@ -242,6 +243,17 @@ public class ClientNodeImpl implements ClientNodeLocal, ClientNodeRemote {
 		}
 	}
 
+	@Override
+	public void updateStatistics(List<StatisticsSample> samples) {
+		logger.info("Sending " + samples.size() + " statistics samples to master process");
+
+		try {
+			masterNode.evosuite_collectStatisticsSamples(clientRmiIdentifier, samples);
+		} catch (RemoteException e) {
+			logger.error("Cannot inform master of change of state", e);
+		}
+	}
+
 	@Override
 	public void flushStatisticsForClassChange() {
 		logger.info("Flushing output variables to master process");
@@ -19,8 +19,11 @@
  */
 package org.evosuite.rmi.service;
 
+import java.util.List;
+
 import org.evosuite.ga.Chromosome;
 import org.evosuite.statistics.RuntimeVariable;
+import org.evosuite.statistics.StatisticsSample;
 
 /**
  * Client Node view in the client process.
@@ -41,6 +44,12 @@ public interface ClientNodeLocal {
 
 	public void updateStatistics(Chromosome individual);
 
+	/**
+	 * Send a batch of output variable values of the current best individual,
+	 * in the order in which they were sampled
+	 */
+	public void updateStatistics(List<StatisticsSample> samples);
+
 	public void flushStatisticsForClassChange();
 
 	public void updateProperty(String propertyName, Object value);
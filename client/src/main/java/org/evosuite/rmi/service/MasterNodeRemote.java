@@ -27,6 +27,7 @@ import org.evosuite.Properties.NoSuchParameterException;
 import org.evosuite.ga.Chromosome;
 import org.evosuite.result.TestGenerationResult;
 import org.evosuite.statistics.RuntimeVariable;
+import org.evosuite.statistics.StatisticsSample;
 
 /**
  * Master Node view in the client process.  
@@ -50,6 +51,8 @@ public interface MasterNodeRemote extends Remote {
 
 	public void evosuite_collectStatistics(String clientRmiIdentifier, RuntimeVariable variable, Object value) throws RemoteException;
 
+	public void evosuite_collectStatisticsSamples(String clientRmiIdentifier, List<StatisticsSample> samples) throws RemoteException;
+
 	public void evosuite_collectTestGenerationResult(String clientRmiIdentifier, List<TestGenerationResult> results) throws RemoteException;
 
 	public void evosuite_flushStatisticsForClassChange(String clientRmiIdentifier) throws RemoteException;
@@ -23,6 +23,7 @@
 package org.evosuite.setup;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
@@ -107,12 +108,16 @@ public class InheritanceTree {
 	
 	//TODO the initialization in the clinit dosen't work, no idea why - mattia
 	public void addAnalyzedMethod(String classname, String methodname, String descriptor) {
+		addAnalyzedMethod(classname, methodname+descriptor);
+	}
+
+	public void addAnalyzedMethod(String classname, String methodNameWdescriptor) {
 		initialiseMap();
 		classname = classname.replace(File.separator, ".");
 		Set<String> tmp = analyzedMethods.get(classname);
 		if(tmp==null)
 			analyzedMethods.put(classname, tmp = new HashSet<>());
-		tmp.add(methodname+descriptor);
+		tmp.add(methodNameWdescriptor);
 	}
 	
 	
@@ -212,4 +217,44 @@ public class InheritanceTree {
 		return inheritanceGraph.vertexSet().size();
 	}
 
+	/*
+	 * Raw access to the tree content, used by InheritanceTreeSnapshot
+	 * to (de)serialize it without going through the name conversions
+	 */
+
+	Set<String> getInterfaceNames() {
+		initialiseMap();
+		return interfacesSet;
+	}
+
+	Set<String> getAbstractClassNames() {
+		initialiseMap();
+		return abstractClassesSet;
+	}
+
+	Map<String, Set<String>> getAnalyzedMethods() {
+		initialiseMap();
+		return analyzedMethods;
+	}
+
+	/**
+	 * @return the direct subclasses (and subinterfaces/implementations) of
+	 *         {@code className}, with one entry per edge in the graph
+	 */
+	List<String> getDirectSubclasses(String className) {
+		List<String> result = new ArrayList<>();
+		for (DefaultEdge edge : inheritanceGraph.outgoingEdgesOf(className)) {
+			result.add(inheritanceGraph.getEdgeTarget(edge));
+		}
+		return result;
+	}
+
+	void addClassVertex(String classNameWithDots) {
+		inheritanceGraph.addVertex(classNameWithDots);
+	}
+
+	void addInheritanceEdge(String superNameWithDots, String classNameWithDots) {
+		inheritanceGraph.addEdge(superNameWithDots, classNameWithDots);
+	}
+
 }
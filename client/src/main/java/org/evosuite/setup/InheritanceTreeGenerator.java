@@ -25,7 +25,6 @@ package org.evosuite.setup;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
@@ -37,7 +36,6 @@ import java.util.List;
 import java.util.Set;
 import java.util.regex.Pattern;
 import java.util.zip.GZIPInputStream;
-import java.util.zip.GZIPOutputStream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 
@@ -45,13 +43,13 @@ import org.evosuite.Properties;
 import org.evosuite.TestGenerationContext;
 import org.evosuite.classpath.ResourceList;
 import org.evosuite.rmi.ClientServices;
+import org.evosuite.setup.InheritanceTreeSnapshot.ClassInfo;
 import org.evosuite.statistics.RuntimeVariable;
 import org.evosuite.utils.LoggingUtils;
 import org.objectweb.asm.ClassReader;
 import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.tree.ClassNode;
 import org.objectweb.asm.tree.InnerClassNode;
-import org.objectweb.asm.tree.MethodNode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -91,6 +89,9 @@ public class InheritanceTreeGenerator {
             inheritanceTree = new InheritanceTree();
         }
 
+		File cacheDir = Properties.INHERITANCE_CACHE_DIR.isEmpty() ? null : new File(
+		        Properties.INHERITANCE_CACHE_DIR);
+
 		logger.debug("CP: "+classPath);
 		for (String classPathEntry : classPath) {
 			logger.debug("Looking at CP entry: "+classPathEntry);
@@ -102,16 +103,43 @@ public class InheritanceTreeGenerator {
 
 			logger.debug("Analyzing classpath entry " + classPathEntry);
 			LoggingUtils.getEvoLogger().info("  - " + classPathEntry);
-	        for(String className : ResourceList.getInstance(TestGenerationContext.getInstance().getClassLoaderForSUT()).getAllClasses(classPathEntry, "", true, false)) {
-	        	// handle individual class
-				analyzeClassStream(inheritanceTree, ResourceList.getInstance(TestGenerationContext.getInstance().getClassLoaderForSUT()).getClassAsStream(className), false);
-	        }
+
+			// directories are usually the project under test itself, and change between runs
+			File jar = new File(classPathEntry);
+			boolean cacheable = cacheDir != null && classPathEntry.endsWith(".jar") && jar.isFile();
+
+			List<ClassInfo> classes = null;
+			if (cacheable) {
+				classes = InheritanceTreeSnapshot.readJarEntry(cacheDir, jar);
+			}
+			if (classes == null) {
+				classes = analyzeClassPathEntry(classPathEntry);
+				if (cacheable) {
+					InheritanceTreeSnapshot.writeJarEntry(cacheDir, jar, classes);
+				}
+			}
+			for (ClassInfo info : classes) {
+				addClassInfo(inheritanceTree, info, false);
+			}
 
 			// analyze(inheritanceTree, classPathEntry);
 		}
 		return inheritanceTree;
 	}
 
+	private static List<ClassInfo> analyzeClassPathEntry(String classPathEntry) {
+		ResourceList resources = ResourceList.getInstance(TestGenerationContext.getInstance().getClassLoaderForSUT());
+		List<ClassInfo> classes = new ArrayList<>();
+		for (String className : resources.getAllClasses(classPathEntry, "", true, false)) {
+			// handle individual class
+			ClassInfo info = readClassInfo(resources.getClassAsStream(className));
+			if (info != null) {
+				classes.add(info);
+			}
+		}
+		return classes;
+	}
+
 	/**
 	 * Create inheritance tree only for the classes passed as parameter
 	 * 
@@ -249,6 +277,13 @@ public class InheritanceTreeGenerator {
 
 	private static void analyzeClassStream(InheritanceTree inheritanceTree,
 	        InputStream inputStream, boolean onlyPublic) {
+		ClassInfo info = readClassInfo(inputStream);
+		if (info != null) {
+			addClassInfo(inheritanceTree, info, onlyPublic);
+		}
+	}
+
+	private static ClassInfo readClassInfo(InputStream inputStream) {
 		try {
 			ClassReader reader = new ClassReader(inputStream);
 			inputStream.close();
@@ -256,19 +291,18 @@ public class InheritanceTreeGenerator {
 			ClassNode cn = new ClassNode();
 			reader.accept(cn, ClassReader.SKIP_FRAMES | ClassReader.SKIP_DEBUG
 			        | ClassReader.SKIP_CODE);
-			analyzeClassNode(inheritanceTree, cn, onlyPublic);
-
+			return new ClassInfo(cn);
 
 		} catch (IOException e) {
 			logger.error("", e);
 		} catch(java.lang.ArrayIndexOutOfBoundsException e) {
 			logger.error("ASM Error while reading class ("+e.getMessage()+")");
 		}
+		return null;
 	}
 	
-	@SuppressWarnings("unchecked")
-	private static void analyzeClassNode(InheritanceTree inheritanceTree,
-	        ClassNode cn, boolean onlyPublic) {
+	private static void addClassInfo(InheritanceTree inheritanceTree,
+	        ClassInfo cn, boolean onlyPublic) {
 		
 		logger.info("Analyzing class " + cn.name);
 		
@@ -277,10 +311,9 @@ public class InheritanceTreeGenerator {
 			return;
 
 		if ((Opcodes.ACC_INTERFACE & cn.access) != Opcodes.ACC_INTERFACE) {
-			for (Object m : cn.methods) {
-				MethodNode mn = (MethodNode) m;
+			for (String method : cn.methods) {
 				inheritanceTree
-				.addAnalyzedMethod(cn.name, mn.name, mn.desc);
+				.addAnalyzedMethod(cn.name, method);
 			}
 			if ((Opcodes.ACC_ABSTRACT & cn.access) == Opcodes.ACC_ABSTRACT) {
 				inheritanceTree.registerAbstractClass(cn.name);
@@ -302,8 +335,7 @@ public class InheritanceTreeGenerator {
 		if (cn.superName != null)
 			inheritanceTree.addSuperclass(cn.name, cn.superName, cn.access);
 
-		List<String> interfaces = cn.interfaces;
-		for (String interfaceName : interfaces) {
+		for (String interfaceName : cn.interfaces) {
 			inheritanceTree.addInterface(cn.name, interfaceName);
 		}
 	}
@@ -444,21 +476,35 @@ public class InheritanceTreeGenerator {
 
 		logger.info("Finished checking classes, writing data for "+counter+" classes");
 
-		// Write data to XML file
+		// Write data to binary snapshot
 		try {
-			FileOutputStream stream = new FileOutputStream(
-			        new File("client/src/main/resources/JDK_inheritance.xml"));
-			XStream xstream = new XStream();
-			xstream.toXML(inheritanceTree, stream);
-		} catch (FileNotFoundException e) {
+			InheritanceTreeSnapshot.write(inheritanceTree,
+			        new File("client/src/main/resources/JDK_inheritance.bin"));
+		} catch (IOException e) {
 			logger.error("", e);
 		}
 	}
 
+	/**
+	 * Load the JDK inheritance tree from the resources, preferring the binary
+	 * snapshot over the legacy XML version
+	 */
 	public static InheritanceTree readJDKData() {
-		XStream xstream = new XStream();
-		String fileName = "/JDK_inheritance.xml";
+		String fileName = "/JDK_inheritance.bin";
 		InputStream inheritance = InheritanceTreeGenerator.class.getResourceAsStream(fileName);
+		if (inheritance != null) {
+			try {
+				return InheritanceTreeSnapshot.read(inheritance);
+			} catch (IOException e) {
+				logger.warn("Failed to read JDK inheritance tree " + fileName + ": " + e);
+			} finally {
+				closeQuietly(inheritance);
+			}
+		}
+
+		XStream xstream = new XStream();
+		fileName = "/JDK_inheritance.xml";
+		inheritance = InheritanceTreeGenerator.class.getResourceAsStream(fileName);
 
         if (inheritance != null) {
             return (InheritanceTree) xstream.fromXML(inheritance);
@@ -468,28 +514,51 @@ public class InheritanceTreeGenerator {
         }
 	}
 
+	/**
+	 * Read a tree written by {@link #writeInheritanceTree(InheritanceTree, File)}.
+	 * Gzipped XML trees from older versions are still supported
+	 */
 	public static InheritanceTree readInheritanceTree(String fileName) throws IOException {
+		File file = new File(fileName);
+		if (InheritanceTreeSnapshot.isSnapshot(file)) {
+			return InheritanceTreeSnapshot.read(file);
+		}
 		XStream xstream = new XStream();
 		// InputStream inheritance = new FileInputStream(new File(fileName));
-		GZIPInputStream inheritance = new GZIPInputStream(new FileInputStream(new File(
-		        fileName)));
-		return (InheritanceTree) xstream.fromXML(inheritance);
+		GZIPInputStream inheritance = new GZIPInputStream(new FileInputStream(file));
+		try {
+			return (InheritanceTree) xstream.fromXML(inheritance);
+		} finally {
+			inheritance.close();
+		}
 	}
 
 	public static InheritanceTree readUncompressedInheritanceTree(String fileName)
 	        throws IOException {
+		File file = new File(fileName);
+		if (InheritanceTreeSnapshot.isSnapshot(file)) {
+			return InheritanceTreeSnapshot.read(file);
+		}
 		XStream xstream = new XStream();
-		InputStream inheritance = new FileInputStream(new File(fileName));
-		return (InheritanceTree) xstream.fromXML(inheritance);
+		InputStream inheritance = new FileInputStream(file);
+		try {
+			return (InheritanceTree) xstream.fromXML(inheritance);
+		} finally {
+			inheritance.close();
+		}
 	}
 
 	public static void writeInheritanceTree(InheritanceTree tree, File file)
 	        throws IOException {
-		XStream xstream = new XStream();
-		//		OutputStream output = new FileOutputStream(file);	
-		GZIPOutputStream output = new GZIPOutputStream(new FileOutputStream(file));
-		xstream.toXML(tree, output);
-		output.close();
+		InheritanceTreeSnapshot.write(tree, file);
+	}
+
+	private static void closeQuietly(InputStream stream) {
+		try {
+			stream.close();
+		} catch (IOException e) {
+			// nothing to do
+		}
 	}
 
 
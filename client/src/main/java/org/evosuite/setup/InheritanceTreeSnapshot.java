@@ -0,0 +1,503 @@
+/**
+ * Copyright (C) 2010-2015 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser Public License as published by the
+ * Free Software Foundation, either version 3.0 of the License, or (at your
+ * option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser Public License along
+ * with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.setup;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compact binary format for {@link InheritanceTree}s, replacing the XStream XML
+ * serialization.
+ *
+ * <p>
+ * A tree snapshot stores every class name once in a string table. The graph is
+ * stored as adjacency arrays (offsets plus targets, indexed by class), and
+ * method signatures are interned in a second table. Snapshot files are memory
+ * mapped when read.
+ *
+ * <p>
+ * The same encoding is used to cache the analysis of single jar files on the
+ * classpath (see {@link #readJarEntry(File, File)}). Each jar is stored in its
+ * own file, keyed by path and validated against the size and modification
+ * time of the jar, so only jars that changed need to be scanned again.
+ */
+public class InheritanceTreeSnapshot {
+
+	private static final Logger logger = LoggerFactory.getLogger(InheritanceTreeSnapshot.class);
+
+	/** "EVIT": snapshot of a whole inheritance tree */
+	private static final int TREE_MAGIC = 0x45564954;
+
+	/** "EVIJ": analysis of a single classpath jar */
+	private static final int JAR_MAGIC = 0x4556494A;
+
+	private static final int VERSION = 1;
+
+	private static final byte IN_GRAPH = 1;
+	private static final byte INTERFACE = 2;
+	private static final byte ABSTRACT = 4;
+	private static final byte ANALYZED = 8;
+
+	private static final Charset UTF8 = Charset.forName("UTF-8");
+
+	private static final int NO_SUPERCLASS = -1;
+
+	/**
+	 * The part of a class file that is relevant to build the inheritance tree
+	 */
+	static final class ClassInfo {
+
+		final String name;
+		final int access;
+		final String superName;
+		final String[] interfaces;
+		final String[] methods;
+
+		ClassInfo(String name, int access, String superName, String[] interfaces, String[] methods) {
+			this.name = name;
+			this.access = access;
+			this.superName = superName;
+			this.interfaces = interfaces;
+			this.methods = methods;
+		}
+
+		@SuppressWarnings("unchecked")
+		ClassInfo(ClassNode cn) {
+			this.name = cn.name;
+			this.access = cn.access;
+			this.superName = cn.superName;
+			List<String> interfaceList = cn.interfaces;
+			this.interfaces = interfaceList.toArray(new String[interfaceList.size()]);
+			List<MethodNode> methodList = cn.methods;
+			this.methods = new String[methodList.size()];
+			for (int i = 0; i < methods.length; i++) {
+				MethodNode mn = methodList.get(i);
+				methods[i] = mn.name + mn.desc;
+			}
+		}
+	}
+
+	/**
+	 * Interns strings, assigning them consecutive indices
+	 */
+	private static final class StringTable {
+
+		private final Map<String, Integer> indices = new LinkedHashMap<>();
+
+		int add(String s) {
+			Integer index = indices.get(s);
+			if (index == null) {
+				index = indices.size();
+				indices.put(s, index);
+			}
+			return index;
+		}
+
+		int indexOf(String s) {
+			return indices.get(s);
+		}
+
+		int size() {
+			return indices.size();
+		}
+
+		void write(DataOutputStream out) throws IOException {
+			out.writeInt(indices.size());
+			for (String s : indices.keySet()) {
+				writeString(out, s);
+			}
+		}
+	}
+
+	// ---------------------------------------------------------------
+	// Whole inheritance tree
+
+	public static void write(InheritanceTree tree, File file) throws IOException {
+		OutputStream output = new BufferedOutputStream(new FileOutputStream(file));
+		try {
+			write(tree, output);
+		} finally {
+			output.close();
+		}
+	}
+
+	public static void write(InheritanceTree tree, OutputStream output) throws IOException {
+		StringTable classes = new StringTable();
+		for (String className : tree.getAllClasses()) {
+			classes.add(className);
+		}
+		for (String className : tree.getInterfaceNames()) {
+			classes.add(className);
+		}
+		for (String className : tree.getAbstractClassNames()) {
+			classes.add(className);
+		}
+		Map<String, Set<String>> analyzedMethods = tree.getAnalyzedMethods();
+		for (String className : analyzedMethods.keySet()) {
+			classes.add(className);
+		}
+
+		StringTable signatures = new StringTable();
+		for (Set<String> methods : analyzedMethods.values()) {
+			for (String method : methods) {
+				signatures.add(method);
+			}
+		}
+
+		DataOutputStream out = new DataOutputStream(output);
+		out.writeInt(TREE_MAGIC);
+		out.writeInt(VERSION);
+		classes.write(out);
+
+		Set<String> inGraph = tree.getAllClasses();
+		for (String className : classes.indices.keySet()) {
+			byte flags = 0;
+			if (inGraph.contains(className))
+				flags |= IN_GRAPH;
+			if (tree.isInterface(className))
+				flags |= INTERFACE;
+			if (tree.isAbstractClass(className))
+				flags |= ABSTRACT;
+			if (analyzedMethods.containsKey(className))
+				flags |= ANALYZED;
+			out.writeByte(flags);
+		}
+
+		// adjacency arrays: offsets[i]..offsets[i+1] are the direct subclasses of class i
+		List<int[]> subclasses = new ArrayList<>(classes.size());
+		int numEdges = 0;
+		for (String className : classes.indices.keySet()) {
+			if (!inGraph.contains(className)) {
+				subclasses.add(new int[0]);
+				continue;
+			}
+			List<String> targets = tree.getDirectSubclasses(className);
+			int[] indices = new int[targets.size()];
+			for (int i = 0; i < indices.length; i++) {
+				indices[i] = classes.indexOf(targets.get(i));
+			}
+			subclasses.add(indices);
+			numEdges += indices.length;
+		}
+		out.writeInt(numEdges);
+		int offset = 0;
+		for (int[] targets : subclasses) {
+			out.writeInt(offset);
+			offset += targets.length;
+		}
+		out.writeInt(offset);
+		for (int[] targets : subclasses) {
+			for (int target : targets) {
+				out.writeInt(target);
+			}
+		}
+
+		signatures.write(out);
+		for (String className : classes.indices.keySet()) {
+			Set<String> methods = analyzedMethods.get(className);
+			if (methods == null)
+				continue;
+			out.writeInt(methods.size());
+			for (String method : methods) {
+				out.writeInt(signatures.indexOf(method));
+			}
+		}
+		out.flush();
+	}
+
+	/**
+	 * Load a tree snapshot, mapping the file in memory
+	 */
+	public static InheritanceTree read(File file) throws IOException {
+		return read(map(file));
+	}
+
+	/**
+	 * Load a tree snapshot from a stream, e.g. a resource on the classpath
+	 */
+	public static InheritanceTree read(InputStream input) throws IOException {
+		return read(ByteBuffer.wrap(readFully(input)));
+	}
+
+	public static InheritanceTree read(ByteBuffer buffer) throws IOException {
+		try {
+			checkHeader(buffer, TREE_MAGIC);
+
+			String[] classes = readStrings(buffer);
+			byte[] flags = new byte[classes.length];
+			buffer.get(flags);
+
+			int numEdges = buffer.getInt();
+			int[] offsets = new int[classes.length + 1];
+			for (int i = 0; i < offsets.length; i++) {
+				offsets[i] = buffer.getInt();
+			}
+			int[] targets = new int[numEdges];
+			for (int i = 0; i < numEdges; i++) {
+				targets[i] = buffer.getInt();
+			}
+
+			String[] signatures = readStrings(buffer);
+
+			InheritanceTree tree = new InheritanceTree();
+			Map<String, Set<String>> analyzedMethods = tree.getAnalyzedMethods();
+			for (int i = 0; i < classes.length; i++) {
+				if ((flags[i] & IN_GRAPH) != 0)
+					tree.addClassVertex(classes[i]);
+				if ((flags[i] & INTERFACE) != 0)
+					tree.getInterfaceNames().add(classes[i]);
+				if ((flags[i] & ABSTRACT) != 0)
+					tree.getAbstractClassNames().add(classes[i]);
+			}
+			for (int i = 0; i < classes.length; i++) {
+				for (int j = offsets[i]; j < offsets[i + 1]; j++) {
+					tree.addInheritanceEdge(classes[i], classes[targets[j]]);
+				}
+			}
+			for (int i = 0; i < classes.length; i++) {
+				if ((flags[i] & ANALYZED) == 0)
+					continue;
+				int numMethods = buffer.getInt();
+				Set<String> methods = new HashSet<>(numMethods * 2);
+				for (int j = 0; j < numMethods; j++) {
+					methods.add(signatures[buffer.getInt()]);
+				}
+				analyzedMethods.put(classes[i], methods);
+			}
+			return tree;
+		} catch (BufferUnderflowException | IndexOutOfBoundsException
+		        | IllegalArgumentException | NegativeArraySizeException e) {
+			throw new IOException("Corrupted inheritance tree snapshot: " + e, e);
+		}
+	}
+
+	/**
+	 * @return {@code true} if {@code file} starts with the header of a tree
+	 *         snapshot, as opposed to e.g. a legacy XML tree
+	 */
+	public static boolean isSnapshot(File file) throws IOException {
+		DataInputStream input = new DataInputStream(new FileInputStream(file));
+		try {
+			return file.length() >= 4 && input.readInt() == TREE_MAGIC;
+		} finally {
+			input.close();
+		}
+	}
+
+	// ---------------------------------------------------------------
+	// Per-jar cache
+
+	/**
+	 * @return the cached analysis of {@code jar} in {@code cacheDir}, or
+	 *         {@code null} if there is none or if the jar changed since it was
+	 *         written
+	 */
+	static List<ClassInfo> readJarEntry(File cacheDir, File jar) {
+		File file = getJarEntryFile(cacheDir, jar);
+		if (!file.isFile()) {
+			return null;
+		}
+		try {
+			ByteBuffer buffer = map(file);
+			checkHeader(buffer, JAR_MAGIC);
+			String path = readString(buffer);
+			long length = buffer.getLong();
+			long lastModified = buffer.getLong();
+			if (!path.equals(jar.getAbsolutePath()) || length != jar.length()
+			        || lastModified != jar.lastModified()) {
+				logger.debug("Stale inheritance cache for {}", jar);
+				return null;
+			}
+
+			String[] names = readStrings(buffer);
+			int numClasses = buffer.getInt();
+			List<ClassInfo> infos = new ArrayList<>(numClasses);
+			for (int i = 0; i < numClasses; i++) {
+				String name = names[buffer.getInt()];
+				int access = buffer.getInt();
+				int superIndex = buffer.getInt();
+				String superName = superIndex == NO_SUPERCLASS ? null : names[superIndex];
+				String[] interfaces = new String[buffer.getInt()];
+				for (int j = 0; j < interfaces.length; j++) {
+					interfaces[j] = names[buffer.getInt()];
+				}
+				String[] methods = new String[buffer.getInt()];
+				for (int j = 0; j < methods.length; j++) {
+					methods[j] = names[buffer.getInt()];
+				}
+				infos.add(new ClassInfo(name, access, superName, interfaces, methods));
+			}
+			return infos;
+		} catch (IOException | BufferUnderflowException | IndexOutOfBoundsException
+		        | IllegalArgumentException | NegativeArraySizeException e) {
+			logger.warn("Failed to read inheritance cache " + file + ": " + e);
+			return null;
+		}
+	}
+
+	/**
+	 * Store the analysis of {@code jar} in {@code cacheDir}. Failures are only
+	 * logged, as the cache is just an optimization
+	 */
+	static void writeJarEntry(File cacheDir, File jar, List<ClassInfo> infos) {
+		if (!cacheDir.isDirectory() && !cacheDir.mkdirs()) {
+			logger.warn("Cannot create inheritance cache directory " + cacheDir);
+			return;
+		}
+
+		StringTable names = new StringTable();
+		for (ClassInfo info : infos) {
+			names.add(info.name);
+			if (info.superName != null)
+				names.add(info.superName);
+			for (String interfaceName : info.interfaces)
+				names.add(interfaceName);
+			for (String method : info.methods)
+				names.add(method);
+		}
+
+		File file = getJarEntryFile(cacheDir, jar);
+		File tmp = null;
+		try {
+			// write to a temporary file first, so that concurrent runs never see a partial entry
+			tmp = File.createTempFile(file.getName(), ".tmp", cacheDir);
+			DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+			        new FileOutputStream(tmp)));
+			try {
+				out.writeInt(JAR_MAGIC);
+				out.writeInt(VERSION);
+				writeString(out, jar.getAbsolutePath());
+				out.writeLong(jar.length());
+				out.writeLong(jar.lastModified());
+				names.write(out);
+				out.writeInt(infos.size());
+				for (ClassInfo info : infos) {
+					out.writeInt(names.indexOf(info.name));
+					out.writeInt(info.access);
+					out.writeInt(info.superName == null ? NO_SUPERCLASS
+					        : names.indexOf(info.superName));
+					out.writeInt(info.interfaces.length);
+					for (String interfaceName : info.interfaces)
+						out.writeInt(names.indexOf(interfaceName));
+					out.writeInt(info.methods.length);
+					for (String method : info.methods)
+						out.writeInt(names.indexOf(method));
+				}
+			} finally {
+				out.close();
+			}
+			if (file.exists() && !file.delete()) {
+				logger.debug("Cannot replace inheritance cache " + file);
+			} else if (tmp.renameTo(file)) {
+				tmp = null;
+			}
+		} catch (IOException e) {
+			logger.warn("Failed to write inheritance cache " + file + ": " + e);
+		} finally {
+			if (tmp != null) {
+				tmp.delete();
+			}
+		}
+	}
+
+	private static File getJarEntryFile(File cacheDir, File jar) {
+		String path = jar.getAbsolutePath();
+		return new File(cacheDir, jar.getName() + "-" + Integer.toHexString(path.hashCode())
+		        + ".bin");
+	}
+
+	// ---------------------------------------------------------------
+	// Encoding
+
+	private static ByteBuffer map(File file) throws IOException {
+		RandomAccessFile raf = new RandomAccessFile(file, "r");
+		try {
+			FileChannel channel = raf.getChannel();
+			return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		} finally {
+			// the mapping stays valid after the channel is closed
+			raf.close();
+		}
+	}
+
+	private static byte[] readFully(InputStream input) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		byte[] chunk = new byte[8192];
+		int n;
+		while ((n = input.read(chunk)) != -1) {
+			bytes.write(chunk, 0, n);
+		}
+		return bytes.toByteArray();
+	}
+
+	private static void checkHeader(ByteBuffer buffer, int magic) throws IOException {
+		if (buffer.remaining() < 8 || buffer.getInt() != magic) {
+			throw new IOException("Not an inheritance tree snapshot");
+		}
+		int version = buffer.getInt();
+		if (version != VERSION) {
+			throw new IOException("Unsupported inheritance tree snapshot version: " + version);
+		}
+	}
+
+	private static void writeString(DataOutputStream out, String s) throws IOException {
+		byte[] bytes = s.getBytes(UTF8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	private static String readString(ByteBuffer buffer) {
+		byte[] bytes = new byte[buffer.getInt()];
+		buffer.get(bytes);
+		return new String(bytes, UTF8);
+	}
+
+	private static String[] readStrings(ByteBuffer buffer) {
+		String[] strings = new String[buffer.getInt()];
+		for (int i = 0; i < strings.length; i++) {
+			strings[i] = readString(buffer);
+		}
+		return strings;
+	}
+}
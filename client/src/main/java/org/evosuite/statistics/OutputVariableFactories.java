@@ -0,0 +1,542 @@
+/**
+ * Copyright (C) 2010-2015 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser Public License as published by the
+ * Free Software Foundation, either version 3.0 of the License, or (at your
+ * option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser Public License along
+ * with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.statistics;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.evosuite.coverage.ambiguity.AmbiguityCoverageSuiteFitness;
+import org.evosuite.coverage.branch.BranchCoverageSuiteFitness;
+import org.evosuite.coverage.branch.OnlyBranchCoverageSuiteFitness;
+import org.evosuite.coverage.cbranch.CBranchSuiteFitness;
+import org.evosuite.coverage.exception.ExceptionCoverageSuiteFitness;
+import org.evosuite.coverage.input.InputCoverageSuiteFitness;
+import org.evosuite.coverage.line.LineCoverageSuiteFitness;
+import org.evosuite.coverage.method.MethodCoverageSuiteFitness;
+import org.evosuite.coverage.method.MethodNoExceptionCoverageSuiteFitness;
+import org.evosuite.coverage.method.MethodTraceCoverageSuiteFitness;
+import org.evosuite.coverage.mutation.OnlyMutationSuiteFitness;
+import org.evosuite.coverage.mutation.WeakMutationSuiteFitness;
+import org.evosuite.coverage.output.OutputCoverageSuiteFitness;
+import org.evosuite.coverage.rho.RhoCoverageSuiteFitness;
+import org.evosuite.testsuite.TestSuiteChromosome;
+
+/**
+ * The output variables that are extracted from the best individual of the search.
+ *
+ * <p>
+ * These are shared by the master, which stores and writes the values, and by the
+ * client, which computes them locally during the search (see {@link StatisticsSampler})
+ */
+public class OutputVariableFactories {
+
+	private OutputVariableFactories() {
+	}
+
+	/**
+	 * @return a new instance of each factory of final values, keyed by variable name
+	 */
+	public static Map<String, ChromosomeOutputVariableFactory<?>> createChromosomeFactories() {
+		Map<String, ChromosomeOutputVariableFactory<?>> factories = new TreeMap<String, ChromosomeOutputVariableFactory<?>>();
+		factories.put(RuntimeVariable.Length.name(), new ChromosomeLengthOutputVariableFactory());
+		factories.put(RuntimeVariable.Size.name(), new ChromosomeSizeOutputVariableFactory());
+		factories.put(RuntimeVariable.Coverage.name(), new ChromosomeCoverageOutputVariableFactory());
+		factories.put(RuntimeVariable.Fitness.name(), new ChromosomeFitnessOutputVariableFactory());
+		return factories;
+	}
+
+	/**
+	 * @return a new instance of each factory of timeline values, keyed by variable name
+	 */
+	public static Map<String, SequenceOutputVariableFactory<?>> createSequenceFactories() {
+		Map<String, SequenceOutputVariableFactory<?>> factories = new TreeMap<String, SequenceOutputVariableFactory<?>>();
+		factories.put(RuntimeVariable.CoverageTimeline.name(), new CoverageSequenceOutputVariableFactory());
+		factories.put(RuntimeVariable.FitnessTimeline.name(), new FitnessSequenceOutputVariableFactory());
+		factories.put(RuntimeVariable.SizeTimeline.name(), new SizeSequenceOutputVariableFactory());
+		factories.put(RuntimeVariable.LengthTimeline.name(), new LengthSequenceOutputVariableFactory());
+		factories.put(RuntimeVariable.TotalExceptionsTimeline.name(), new TotalExceptionsSequenceOutputVariableFactory());
+		factories.put(RuntimeVariable.IBranchGoalsTimeline.name(), new IBranchGoalsSequenceOutputVariableFactory());
+
+		factories.put(RuntimeVariable.BranchCoverageTimeline.name(), new BranchCoverageSequenceOutputVariableFactory());
+		factories.put(RuntimeVariable.OnlyBranchFitnessTimeline.name(), new OnlyBranchFitnessSequenceOutputVariableFactory());
+		factories.put(RuntimeVariable.OnlyBranchCoverageTimeline.name(), new OnlyBranchCoverageSequenceOutputVariableFactory());
+		factories.put(RuntimeVariable.CBranchFitnessTimeline.name(), new CBranchFitnessSequenceOutputVariableFactory());
+		factories.put(RuntimeVariable.CBranchCoverageTimeline.name(), new CBranchCoverageSequenceOutputVariableFactory());
+		factories.put(RuntimeVariable.MethodTraceFitnessTimeline.name(), new MethodTraceFitnessSequenceOutputVariableFactory());
+		factories.put(RuntimeVariable.MethodTraceCoverageTimeline.name(), new MethodTraceCoverageSequenceOutputVariableFactory());
+		factories.put(RuntimeVariable.MethodFitnessTimeline.name(), new MethodFitnessSequenceOutputVariableFactory());
+		factories.put(RuntimeVariable.MethodCoverageTimeline.name(), new MethodCoverageSequenceOutputVariableFactory());
+		factories.put(RuntimeVariable.MethodNoExceptionFitnessTimeline.name(), new MethodNoExceptionFitnessSequenceOutputVariableFactory());
+		factories.put(RuntimeVariable.MethodNoExceptionCoverageTimeline.name(), new MethodNoExceptionCoverageSequenceOutputVariableFactory());
+		factories.put(RuntimeVariable.RhoScoreTimeline.name(), new RhoFitnessSequenceOutputVariableFactory());
+		factories.put(RuntimeVariable.AmbiguityScoreTimeline.name(), new AmbiguityFitnessSequenceOutputVariableFactory());
+		factories.put(RuntimeVariable.LineFitnessTimeline.name(), new LineFitnessSequenceOutputVariableFactory());
+		factories.put(RuntimeVariable.LineCoverageTimeline.name(), new LineCoverageSequenceOutputVariableFactory());
+		factories.put(RuntimeVariable.OutputFitnessTimeline.name(), new OutputFitnessSequenceOutputVariableFactory());
+		factories.put(RuntimeVariable.OutputCoverageTimeline.name(), new OutputCoverageSequenceOutputVariableFactory());
+		factories.put(RuntimeVariable.InputFitnessTimeline.name(), new InputFitnessSequenceOutputVariableFactory());
+		factories.put(RuntimeVariable.InputCoverageTimeline.name(), new InputCoverageSequenceOutputVariableFactory());
+		factories.put(RuntimeVariable.ExceptionFitnessTimeline.name(), new ExceptionFitnessSequenceOutputVariableFactory());
+		factories.put(RuntimeVariable.ExceptionCoverageTimeline.name(), new ExceptionCoverageSequenceOutputVariableFactory());
+		factories.put(RuntimeVariable.WeakMutationCoverageTimeline.name(), new WeakMutationCoverageSequenceOutputVariableFactory());
+		factories.put(RuntimeVariable.OnlyMutationFitnessTimeline.name(), new OnlyMutationFitnessSequenceOutputVariableFactory());
+		factories.put(RuntimeVariable.OnlyMutationCoverageTimeline.name(), new OnlyMutationCoverageSequenceOutputVariableFactory());
+		return factories;
+	}
+
+	/**
+	 * Total length of a test suite
+	 */
+	private static class ChromosomeLengthOutputVariableFactory extends ChromosomeOutputVariableFactory<Integer> {
+		public ChromosomeLengthOutputVariableFactory() {
+			super(RuntimeVariable.Length);
+		}
+
+		@Override
+		protected Integer getData(TestSuiteChromosome individual) {
+			return individual.totalLengthOfTestCases();
+		}
+	}
+
+	/**
+	 * Number of tests in a test suite
+	 */
+	private static class ChromosomeSizeOutputVariableFactory extends ChromosomeOutputVariableFactory<Integer> {
+		public ChromosomeSizeOutputVariableFactory() {
+			super(RuntimeVariable.Size);
+		}
+
+		@Override
+		protected Integer getData(TestSuiteChromosome individual) {
+			return individual.size();
+		}
+	}
+
+	/**
+	 * Fitness value of a test suite
+	 */
+	private static class ChromosomeFitnessOutputVariableFactory extends ChromosomeOutputVariableFactory<Double> {
+		public ChromosomeFitnessOutputVariableFactory() {
+			super(RuntimeVariable.Fitness);
+		}
+
+		@Override
+		protected Double getData(TestSuiteChromosome individual) {
+			return individual.getFitness();
+		}
+	}
+
+	/**
+	 * Coverage value of a test suite
+	 */
+	private static class ChromosomeCoverageOutputVariableFactory extends ChromosomeOutputVariableFactory<Double> {
+		public ChromosomeCoverageOutputVariableFactory() {
+			super(RuntimeVariable.Coverage);
+		}
+
+		@Override
+		protected Double getData(TestSuiteChromosome individual) {
+			return individual.getCoverage();
+		}
+	}
+
+	/**
+	 * Sequence variable for fitness values
+	 */
+	private static class FitnessSequenceOutputVariableFactory extends SequenceOutputVariableFactory<Double> {
+
+		public FitnessSequenceOutputVariableFactory() {
+			super(RuntimeVariable.FitnessTimeline);
+		}
+
+		@Override
+		protected Double getValue(TestSuiteChromosome individual) {
+			return individual.getFitness();
+		}
+	}
+
+	/**
+	 * Sequence variable for coverage values
+	 */
+	private static class CoverageSequenceOutputVariableFactory extends SequenceOutputVariableFactory<Double> {
+
+		public CoverageSequenceOutputVariableFactory() {
+			super(RuntimeVariable.CoverageTimeline);
+		}
+
+		@Override
+		public Double getValue(TestSuiteChromosome individual) {
+			return individual.getCoverage();
+		}
+	}
+
+	/**
+	 * Sequence variable for number of tests
+	 */
+	private static class SizeSequenceOutputVariableFactory extends SequenceOutputVariableFactory<Integer> {
+
+		public SizeSequenceOutputVariableFactory() {
+			super(RuntimeVariable.SizeTimeline);
+		}
+
+		@Override
+		public Integer getValue(TestSuiteChromosome individual) {
+			return individual.size();
+		}
+	}
+
+	/**
+	 * Sequence variable for total length of tests
+	 */
+	private static class LengthSequenceOutputVariableFactory extends SequenceOutputVariableFactory<Integer> {
+
+		public LengthSequenceOutputVariableFactory() {
+			super(RuntimeVariable.LengthTimeline);
+		}
+
+		@Override
+		public Integer getValue(TestSuiteChromosome individual) {
+			return individual.totalLengthOfTestCases();
+		}
+	}
+
+    /**
+     * Total number of exceptions
+     */
+    private static class TotalExceptionsSequenceOutputVariableFactory extends DirectSequenceOutputVariableFactory<Integer> {
+        public TotalExceptionsSequenceOutputVariableFactory() {
+            super(RuntimeVariable.TotalExceptionsTimeline);
+            this.value = 0;
+        }
+
+        @Override
+        public Integer getValue(TestSuiteChromosome individual) {
+            return (Integer) this.value;
+        }
+
+        @Override
+        public void setValue(Integer value) {
+            this.value = value;
+        }
+    }
+
+    /**
+     * Sequence variable for coverage values
+     */
+    private static class IBranchGoalsSequenceOutputVariableFactory extends SequenceOutputVariableFactory<Integer> {
+
+        public IBranchGoalsSequenceOutputVariableFactory() {
+            super(RuntimeVariable.IBranchGoalsTimeline);
+        }
+
+        @Override
+        public Integer getValue(TestSuiteChromosome individual) {
+            return individual.getNumOfNotCoveredGoals();
+        }
+    }
+
+    private static class BranchCoverageSequenceOutputVariableFactory extends SequenceOutputVariableFactory<Double> {
+
+        public BranchCoverageSequenceOutputVariableFactory() {
+            super(RuntimeVariable.BranchCoverageTimeline);
+        }
+
+        @Override
+        public Double getValue(TestSuiteChromosome individual) {
+            return individual.getCoverageInstanceOf(BranchCoverageSuiteFitness.class);
+        }
+    }
+
+    private static class OnlyBranchFitnessSequenceOutputVariableFactory extends SequenceOutputVariableFactory<Double> {
+
+        public OnlyBranchFitnessSequenceOutputVariableFactory() {
+            super(RuntimeVariable.OnlyBranchFitnessTimeline);
+        }
+
+        @Override
+        public Double getValue(TestSuiteChromosome individual) {
+            return individual.getFitnessInstanceOf(OnlyBranchCoverageSuiteFitness.class);
+        }
+    }
+
+    private static class OnlyBranchCoverageSequenceOutputVariableFactory extends SequenceOutputVariableFactory<Double> {
+
+        public OnlyBranchCoverageSequenceOutputVariableFactory() {
+            super(RuntimeVariable.OnlyBranchCoverageTimeline);
+        }
+
+        @Override
+        public Double getValue(TestSuiteChromosome individual) {
+            return individual.getCoverageInstanceOf(OnlyBranchCoverageSuiteFitness.class);
+        }
+    }
+
+    private static class CBranchFitnessSequenceOutputVariableFactory extends SequenceOutputVariableFactory<Double> {
+
+        public CBranchFitnessSequenceOutputVariableFactory() {
+            super(RuntimeVariable.CBranchFitnessTimeline);
+        }
+
+        @Override
+        public Double getValue(TestSuiteChromosome individual) {
+            return individual.getFitnessInstanceOf(CBranchSuiteFitness.class);
+        }
+    }
+
+    private static class CBranchCoverageSequenceOutputVariableFactory extends SequenceOutputVariableFactory<Double> {
+
+        public CBranchCoverageSequenceOutputVariableFactory() {
+            super(RuntimeVariable.CBranchCoverageTimeline);
+        }
+
+        @Override
+        public Double getValue(TestSuiteChromosome individual) {
+            return individual.getCoverageInstanceOf(CBranchSuiteFitness.class);
+        }
+    }
+
+    private static class MethodTraceFitnessSequenceOutputVariableFactory extends SequenceOutputVariableFactory<Double> {
+
+        public MethodTraceFitnessSequenceOutputVariableFactory() {
+            super(RuntimeVariable.MethodTraceFitnessTimeline);
+        }
+
+        @Override
+        public Double getValue(TestSuiteChromosome individual) {
+            return individual.getFitnessInstanceOf(MethodTraceCoverageSuiteFitness.class);
+        }
+    }
+
+    private static class MethodTraceCoverageSequenceOutputVariableFactory extends SequenceOutputVariableFactory<Double> {
+
+        public MethodTraceCoverageSequenceOutputVariableFactory() {
+            super(RuntimeVariable.MethodTraceCoverageTimeline);
+        }
+
+        @Override
+        public Double getValue(TestSuiteChromosome individual) {
+            return individual.getCoverageInstanceOf(MethodTraceCoverageSuiteFitness.class);
+        }
+    }
+
+    private static class MethodFitnessSequenceOutputVariableFactory extends SequenceOutputVariableFactory<Double> {
+
+        public MethodFitnessSequenceOutputVariableFactory() {
+            super(RuntimeVariable.MethodFitnessTimeline);
+        }
+
+        @Override
+        public Double getValue(TestSuiteChromosome individual) {
+            return individual.getFitnessInstanceOf(MethodCoverageSuiteFitness.class);
+        }
+    }
+
+    private static class MethodCoverageSequenceOutputVariableFactory extends SequenceOutputVariableFactory<Double> {
+
+        public MethodCoverageSequenceOutputVariableFactory() {
+            super(RuntimeVariable.MethodCoverageTimeline);
+        }
+
+        @Override
+        public Double getValue(TestSuiteChromosome individual) {
+            return individual.getCoverageInstanceOf(MethodCoverageSuiteFitness.class);
+        }
+    }
+
+    private static class MethodNoExceptionFitnessSequenceOutputVariableFactory extends SequenceOutputVariableFactory<Double> {
+
+        public MethodNoExceptionFitnessSequenceOutputVariableFactory() {
+            super(RuntimeVariable.MethodNoExceptionFitnessTimeline);
+        }
+
+        @Override
+        public Double getValue(TestSuiteChromosome individual) {
+            return individual.getFitnessInstanceOf(MethodNoExceptionCoverageSuiteFitness.class);
+        }
+    }
+
+    private static class MethodNoExceptionCoverageSequenceOutputVariableFactory extends SequenceOutputVariableFactory<Double> {
+
+        public MethodNoExceptionCoverageSequenceOutputVariableFactory() {
+            super(RuntimeVariable.MethodNoExceptionCoverageTimeline);
+        }
+
+        @Override
+        public Double getValue(TestSuiteChromosome individual) {
+            return individual.getCoverageInstanceOf(MethodNoExceptionCoverageSuiteFitness.class);
+        }
+    }
+
+    private static class RhoFitnessSequenceOutputVariableFactory extends SequenceOutputVariableFactory<Double> {
+
+        public RhoFitnessSequenceOutputVariableFactory() {
+            super(RuntimeVariable.RhoScoreTimeline);
+        }
+
+        @Override
+        public Double getValue(TestSuiteChromosome individual) {
+            return individual.getFitnessInstanceOf(RhoCoverageSuiteFitness.class);
+        }
+    }
+
+    private static class AmbiguityFitnessSequenceOutputVariableFactory extends SequenceOutputVariableFactory<Double> {
+
+        public AmbiguityFitnessSequenceOutputVariableFactory() {
+            super(RuntimeVariable.AmbiguityScoreTimeline);
+        }
+
+        @Override
+        public Double getValue(TestSuiteChromosome individual) {
+            return individual.getFitnessInstanceOf(AmbiguityCoverageSuiteFitness.class);
+        }
+    }
+
+    private static class LineFitnessSequenceOutputVariableFactory extends SequenceOutputVariableFactory<Double> {
+
+        public LineFitnessSequenceOutputVariableFactory() {
+            super(RuntimeVariable.LineFitnessTimeline);
+        }
+
+        @Override
+        public Double getValue(TestSuiteChromosome individual) {
+            return individual.getFitnessInstanceOf(LineCoverageSuiteFitness.class);
+        }
+    }
+
+    private static class LineCoverageSequenceOutputVariableFactory extends SequenceOutputVariableFactory<Double> {
+
+        public LineCoverageSequenceOutputVariableFactory() {
+            super(RuntimeVariable.LineCoverageTimeline);
+        }
+
+        @Override
+        public Double getValue(TestSuiteChromosome individual) {
+            return individual.getCoverageInstanceOf(LineCoverageSuiteFitness.class);
+        }
+    }
+
+    private static class OutputFitnessSequenceOutputVariableFactory extends SequenceOutputVariableFactory<Double> {
+
+        public OutputFitnessSequenceOutputVariableFactory() {
+            super(RuntimeVariable.OutputFitnessTimeline);
+        }
+
+        @Override
+        public Double getValue(TestSuiteChromosome individual) {
+            return individual.getFitnessInstanceOf(OutputCoverageSuiteFitness.class);
+        }
+    }
+
+    private static class OutputCoverageSequenceOutputVariableFactory extends SequenceOutputVariableFactory<Double> {
+
+        public OutputCoverageSequenceOutputVariableFactory() {
+            super(RuntimeVariable.OutputCoverageTimeline);
+        }
+
+        @Override
+        public Double getValue(TestSuiteChromosome individual) {
+            return individual.getCoverageInstanceOf(OutputCoverageSuiteFitness.class);
+        }
+    }
+
+    private static class InputFitnessSequenceOutputVariableFactory extends SequenceOutputVariableFactory<Double> {
+
+        public InputFitnessSequenceOutputVariableFactory() {
+            super(RuntimeVariable.InputFitnessTimeline);
+        }
+
+        @Override
+        public Double getValue(TestSuiteChromosome individual) {
+            return individual.getFitnessInstanceOf(InputCoverageSuiteFitness.class);
+        }
+    }
+
+    private static class InputCoverageSequenceOutputVariableFactory extends SequenceOutputVariableFactory<Double> {
+
+        public InputCoverageSequenceOutputVariableFactory() {
+            super(RuntimeVariable.InputCoverageTimeline);
+        }
+
+        @Override
+        public Double getValue(TestSuiteChromosome individual) {
+            return individual.getCoverageInstanceOf(InputCoverageSuiteFitness.class);
+        }
+    }
+
+    private static class ExceptionFitnessSequenceOutputVariableFactory extends SequenceOutputVariableFactory<Double> {
+
+        public ExceptionFitnessSequenceOutputVariableFactory() {
+            super(RuntimeVariable.ExceptionFitnessTimeline);
+        }
+
+        @Override
+        public Double getValue(TestSuiteChromosome individual) {
+            return individual.getFitnessInstanceOf(ExceptionCoverageSuiteFitness.class);
+        }
+    }
+
+    private static class ExceptionCoverageSequenceOutputVariableFactory extends SequenceOutputVariableFactory<Double> {
+
+        public ExceptionCoverageSequenceOutputVariableFactory() {
+            super(RuntimeVariable.ExceptionCoverageTimeline);
+        }
+
+        @Override
+        public Double getValue(TestSuiteChromosome individual) {
+            return individual.getCoverageInstanceOf(ExceptionCoverageSuiteFitness.class);
+        }
+    }
+
+    private static class WeakMutationCoverageSequenceOutputVariableFactory extends SequenceOutputVariableFactory<Double> {
+
+        public WeakMutationCoverageSequenceOutputVariableFactory() {
+            super(RuntimeVariable.WeakMutationCoverageTimeline);
+        }
+
+        @Override
+        public Double getValue(TestSuiteChromosome individual) {
+            return individual.getCoverageInstanceOf(WeakMutationSuiteFitness.class);
+        }
+    }
+
+    private static class OnlyMutationFitnessSequenceOutputVariableFactory extends SequenceOutputVariableFactory<Double> {
+
+        public OnlyMutationFitnessSequenceOutputVariableFactory() {
+            super(RuntimeVariable.OnlyMutationFitnessTimeline);
+        }
+
+        @Override
+        public Double getValue(TestSuiteChromosome individual) {
+            return individual.getFitnessInstanceOf(OnlyMutationSuiteFitness.class);
+        }
+    }
+
+    private static class OnlyMutationCoverageSequenceOutputVariableFactory extends SequenceOutputVariableFactory<Double> {
+
+        public OnlyMutationCoverageSequenceOutputVariableFactory() {
+            super(RuntimeVariable.OnlyMutationCoverageTimeline);
+        }
+
+        @Override
+        public Double getValue(TestSuiteChromosome individual) {
+            return individual.getCoverageInstanceOf(OnlyMutationSuiteFitness.class);
+        }
+    }
+}
@@ -57,6 +57,18 @@ public abstract class SequenceOutputVariableFactory<T extends Number> {
 		timeStamps.add(System.currentTimeMillis() - startTime);
 		values.add(getValue(individual));
 	}
+
+	/**
+	 * Add a value that was already computed, e.g. in another process
+	 * 
+	 * @param time as given by {@link System#currentTimeMillis()} when the value was computed
+	 * @param value
+	 */
+	@SuppressWarnings("unchecked")
+	public void update(long time, Number value) {
+		timeStamps.add(time - startTime);
+		values.add((T) value);
+	}
 	
 	public List<String> getVariableNames() {
 		List<String> variables = new ArrayList<String>();
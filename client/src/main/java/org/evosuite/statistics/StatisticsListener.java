@@ -19,8 +19,11 @@
  */
 package org.evosuite.statistics;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 import org.evosuite.Properties;
 import org.evosuite.coverage.exception.ExceptionCoverageSuiteFitness;
@@ -42,6 +45,14 @@ import org.evosuite.testsuite.TestSuiteChromosome;
 public class StatisticsListener implements SearchListener {
 
 	private volatile BlockingQueue<Chromosome> individuals = new LinkedBlockingQueue<Chromosome>();
+
+	/**
+	 * Values of the best individual during the search, sent in batch
+	 * instead of the whole individual
+	 */
+	private final BlockingQueue<StatisticsSample> samples = new LinkedBlockingQueue<StatisticsSample>();
+
+	private final StatisticsSampler sampler = new StatisticsSampler();
 	
 	private volatile boolean done = false;
 	
@@ -62,13 +73,15 @@ public class StatisticsListener implements SearchListener {
 		notifier = new Thread() {
 			@Override
 			public void run() {
-				// Wait for new element in queue
-				// If there is a new element, then send it to master through RMI
-				while(!done || !individuals.isEmpty()) {
+				// Wait for new element in queue, or for the next batch of samples to be due
+				// Samples are always sent before any following individual, to keep them ordered
+				while(!done || !individuals.isEmpty() || !samples.isEmpty()) {
 					Chromosome individual;
 					try {
-						individual = individuals.take();
-						StatisticsSender.sendIndividualToMaster(individual);
+						individual = individuals.poll(Properties.STATISTICS_SEND_INTERVAL, TimeUnit.MILLISECONDS);
+						sendSamples();
+						if(individual != null)
+							StatisticsSender.sendIndividualToMaster(individual);
 					} catch (InterruptedException e) {
 						done = true;
 					}
@@ -80,6 +93,13 @@ public class StatisticsListener implements SearchListener {
 	}
 
 
+	private void sendSamples() {
+		List<StatisticsSample> batch = new ArrayList<StatisticsSample>();
+		samples.drainTo(batch);
+		if(!batch.isEmpty())
+			StatisticsSender.sendSamplesToMaster(batch);
+	}
+
 	@Override
 	public void iteration(GeneticAlgorithm<?> algorithm) {
 		
@@ -92,8 +112,7 @@ public class StatisticsListener implements SearchListener {
 			 * is no point in sending too many 
 			 */
 			timeFromLastGenerationUpdate = System.currentTimeMillis();
-			// Enqueue current best individual
-			individuals.offer(algorithm.getBestIndividual());
+			sample(algorithm.getBestIndividual());
             // send timeline variable directly
             ClientServices.getInstance().getClientNode().trackOutputVariable(RuntimeVariable.TotalExceptionsTimeline, ExceptionCoverageSuiteFitness.getMaxExceptionsCovered());
 		}	
@@ -104,7 +123,10 @@ public class StatisticsListener implements SearchListener {
 		
 		// If the search is finished, we may want to clear the queue and just send the final element?
 		//individuals.clear(); // TODO: Maybe have a check on size
-		individuals.offer(algorithm.getBestIndividual());
+		Chromosome best = algorithm.getBestIndividual();
+		if(best instanceof TestSuiteChromosome)
+			samples.offer(sampler.sample((TestSuiteChromosome) best));
+		individuals.offer(best);
 		ClientServices.getInstance().getClientNode().trackOutputVariable(RuntimeVariable.Statements_Executed, MaxStatementsStoppingCondition.getNumExecutedStatements());
 		ClientServices.getInstance().getClientNode().trackOutputVariable(RuntimeVariable.Tests_Executed, MaxTestsStoppingCondition.getNumExecutedTests());
 		ClientServices.getInstance().getClientNode().trackOutputVariable(RuntimeVariable.Generations, algorithm.getAge());
@@ -123,6 +145,17 @@ public class StatisticsListener implements SearchListener {
 		}
 	}
 	
+	/**
+	 * Queue the values of a new best individual. Test suites are sampled on
+	 * this side and only sent as a whole at the end of the search.
+	 */
+	private void sample(Chromosome individual) {
+		if(individual instanceof TestSuiteChromosome)
+			samples.offer(sampler.sample((TestSuiteChromosome) individual));
+		else
+			individuals.offer(individual);
+	}
+
 	private void reportTestSuiteResult(TestSuiteChromosome testSuite) {
 		
 	}
@@ -148,13 +181,13 @@ public class StatisticsListener implements SearchListener {
 			if(fitness < bestFitness) {
 				bestFitness = fitness;
 
-				individuals.offer(individual);
+				sample(individual);
 			}
 		} else {
 			if(fitness > bestFitness) {
 				bestFitness = fitness;
 
-				individuals.offer(individual);				
+				sample(individual);
 			}
 		}
 	}
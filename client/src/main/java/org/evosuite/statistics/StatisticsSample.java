@@ -0,0 +1,67 @@
+/**
+ * Copyright (C) 2010-2015 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser Public License as published by the
+ * Free Software Foundation, either version 3.0 of the License, or (at your
+ * option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser Public License along
+ * with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.statistics;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The values of the output variables of the best individual at a given point
+ * in time of the search, as computed in the client process.
+ *
+ * <p>
+ * Samples are deltas: only the variables whose value changed since the
+ * previous sample are included, and the receiver is expected to carry over
+ * the previous values of the others.
+ */
+public class StatisticsSample implements Serializable {
+
+	private static final long serialVersionUID = 2911583702453640862L;
+
+	/**
+	 * When the sample was taken, as given by {@link System#currentTimeMillis()}
+	 */
+	private final long timeStamp;
+
+	private final Map<String, Number> values;
+
+	public StatisticsSample(long timeStamp, Map<String, Number> values) {
+		this.timeStamp = timeStamp;
+		this.values = new LinkedHashMap<String, Number>(values);
+	}
+
+	public long getTimeStamp() {
+		return timeStamp;
+	}
+
+	/**
+	 * @return the changed values, keyed by variable name
+	 */
+	public Map<String, Number> getValues() {
+		return Collections.unmodifiableMap(values);
+	}
+
+	@Override
+	public String toString() {
+		return "StatisticsSample[" + timeStamp + ": " + values + "]";
+	}
+}
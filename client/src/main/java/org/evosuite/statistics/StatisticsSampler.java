@@ -0,0 +1,89 @@
+/**
+ * Copyright (C) 2010-2015 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser Public License as published by the
+ * Free Software Foundation, either version 3.0 of the License, or (at your
+ * option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser Public License along
+ * with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.statistics;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.evosuite.testsuite.TestSuiteChromosome;
+
+/**
+ * Computes the output variables of the best individual in the client process,
+ * so that only their values need to be sent to the master during the search
+ * instead of the whole test suite.
+ *
+ * <p>
+ * Variables whose value is set directly on the master (ie,
+ * {@link DirectSequenceOutputVariableFactory}) are not sampled.
+ */
+public class StatisticsSampler {
+
+	private final Map<String, ChromosomeOutputVariableFactory<?>> variableFactories;
+
+	private final Map<String, SequenceOutputVariableFactory<?>> sequenceFactories;
+
+	/**
+	 * Values included in the previous samples
+	 */
+	private final Map<String, Number> lastValues = new HashMap<String, Number>();
+
+	public StatisticsSampler() {
+		variableFactories = OutputVariableFactories.createChromosomeFactories();
+		sequenceFactories = OutputVariableFactories.createSequenceFactories();
+		Iterator<SequenceOutputVariableFactory<?>> iterator = sequenceFactories.values().iterator();
+		while (iterator.hasNext()) {
+			if (iterator.next() instanceof DirectSequenceOutputVariableFactory) {
+				iterator.remove();
+			}
+		}
+	}
+
+	/**
+	 * Take a sample of {@code individual}
+	 * 
+	 * @param individual
+	 * @return the values that changed since the previous call
+	 */
+	public StatisticsSample sample(TestSuiteChromosome individual) {
+		Map<String, Number> values = new LinkedHashMap<String, Number>();
+		for (Map.Entry<String, ChromosomeOutputVariableFactory<?>> entry : variableFactories.entrySet()) {
+			Object value = entry.getValue().getVariable(individual).getValue();
+			if (value instanceof Number) {
+				addIfChanged(values, entry.getKey(), (Number) value);
+			}
+		}
+		for (Map.Entry<String, SequenceOutputVariableFactory<?>> entry : sequenceFactories.entrySet()) {
+			addIfChanged(values, entry.getKey(), entry.getValue().getValue(individual));
+		}
+		return new StatisticsSample(System.currentTimeMillis(), values);
+	}
+
+	private void addIfChanged(Map<String, Number> values, String name, Number value) {
+		if (value == null) {
+			return;
+		}
+		Number last = lastValues.put(name, value);
+		if (!value.equals(last)) {
+			values.put(name, value);
+		}
+	}
+}
@@ -67,6 +67,19 @@ public class StatisticsSender {
 	}
 
 
+	/**
+	 * Send the given output variable values of the current best individual to
+	 * the master, in place of the individual itself
+	 * 
+	 * @param samples
+	 */
+	public static void sendSamplesToMaster(List<StatisticsSample> samples) {
+		if(!Properties.NEW_STATISTICS)
+			return;
+
+		ClientServices.getInstance().getClientNode().updateStatistics(samples);
+	}
+
 	/**
 	 * First execute (if needed) the test cases to be sure to have latest correct data,
 	 * and then send it to Master
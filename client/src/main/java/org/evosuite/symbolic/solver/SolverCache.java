@@ -20,13 +20,49 @@
 package org.evosuite.symbolic.solver;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
+import org.evosuite.Properties;
 import org.evosuite.symbolic.expr.Constraint;
+import org.evosuite.symbolic.expr.Variable;
 
+/**
+ * Caches the results of the constraint solver.
+ * 
+ * <p>
+ * Constraint collections are cached as sets, so the order of the constraints
+ * and duplicate constraints do not matter. The cache holds at most
+ * {@link Properties#DSE_SOLVER_CACHE_SIZE} entries, and evicts the least
+ * recently used ones. If there is no entry for a query, the cache also tries
+ * to answer it from related entries: a query that contains a known UNSAT
+ * constraint set is UNSAT, and the models of the most recent SAT results are
+ * checked against the query before calling the solver. UNSAT sets are indexed
+ * by one of their constraints, so only the sets indexed by a constraint of the
+ * query need to be compared with it.
+ * </p>
+ * 
+ * <p>
+ * The cache can be shared by several threads. The models are checked and the
+ * solver is called without holding the lock, so two threads may solve the
+ * same query at the same time.
+ * </p>
+ */
 public final class SolverCache {
 
+	/**
+	 * Number of recent SAT models that are checked against a query that is not
+	 * in the cache
+	 */
+	private static final int MAX_MODEL_CHECKS = 20;
+
 	/**
 	 * 
 	 * @param solver
@@ -34,18 +70,35 @@ public final class SolverCache {
 	 * @return 
 	 */
 	public SolverResult solve(Solver solver, Collection<Constraint<?>> constraints) {
-		if (hasCachedResult(constraints)) {
-			SolverResult cached_solution = getCachedResult();
-			return cached_solution;
+		Set<Constraint<?>> key = new HashSet<Constraint<?>>(constraints);
+		List<SolverResult> recentModels;
+		synchronized (this) {
+			SolverResult cachedResult = lookup(key);
+			if (cachedResult != null) {
+				return cachedResult;
+			}
+			recentModels = new ArrayList<SolverResult>(recent_sat_results);
+		}
+
+		SolverResult modelResult = lookupSATModel(key, recentModels);
+		if (modelResult != null) {
+			synchronized (this) {
+				number_of_hits++;
+				cached_solver_results.put(key, modelResult);
+			}
+			return modelResult;
 		}
 
+		// the lock is not held while solving, so queries can be solved concurrently
 		SolverResult solverResult;
 		try {
 			solverResult = solver.solve(constraints);
-			if (solverResult.isUNSAT()) {
-				addUNSAT(constraints, solverResult);
-			} else {
-				addSAT(constraints, solverResult);
+			synchronized (this) {
+				if (solverResult.isUNSAT()) {
+					addUNSAT(key, solverResult);
+				} else {
+					addSAT(key, solverResult);
+				}
 			}
 		} catch (SolverTimeoutException | IOException | SolverParseException | SolverEmptyQueryException
 				| SolverErrorException e) {
@@ -58,7 +111,32 @@ public final class SolverCache {
 
 	private static final SolverCache instance = new SolverCache();
 
-	private HashMap<Collection<Constraint<?>>, SolverResult> cached_solver_results = new HashMap<Collection<Constraint<?>>, SolverResult>();
+	/** Least recently used entries come first */
+	private final LinkedHashMap<Set<Constraint<?>>, SolverResult> cached_solver_results = new LinkedHashMap<Set<Constraint<?>>, SolverResult>(
+			16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Set<Constraint<?>>, SolverResult> eldest) {
+			if (size() > Properties.DSE_SOLVER_CACHE_SIZE) {
+				if (eldest.getValue().isUNSAT()) {
+					removeFromUNSATIndex(eldest.getKey());
+				}
+				return true;
+			}
+			return false;
+		}
+	};
+
+	/**
+	 * The UNSAT sets of the cache, each listed under one of its constraints
+	 * (sets that were found to be UNSAT because of a subset are not listed)
+	 */
+	private final Map<Constraint<?>, List<Set<Constraint<?>>>> unsat_index = new HashMap<Constraint<?>, List<Set<Constraint<?>>>>();
+
+	/** Most recent SAT results first */
+	private final LinkedList<SolverResult> recent_sat_results = new LinkedList<SolverResult>();
+
 	private int cached_sat_result_count = 0;
 	private int cached_unsat_result_count = 0;
 
@@ -81,51 +159,132 @@ public final class SolverCache {
 		return instance;
 	}
 
-	private void addUNSAT(Collection<Constraint<?>> unsat_constraints, SolverResult unsatResult) {
+	private void addUNSAT(Set<Constraint<?>> unsat_constraints, SolverResult unsatResult) {
 		cached_solver_results.put(unsat_constraints, unsatResult);
+		if (!unsat_constraints.isEmpty() && cached_solver_results.containsKey(unsat_constraints)) {
+			Constraint<?> first = unsat_constraints.iterator().next();
+			List<Set<Constraint<?>>> sets = unsat_index.get(first);
+			if (sets == null) {
+				sets = new ArrayList<Set<Constraint<?>>>();
+				unsat_index.put(first, sets);
+			}
+			if (!sets.contains(unsat_constraints)) {
+				sets.add(unsat_constraints);
+			}
+		}
 		cached_unsat_result_count++;
 	}
 
-	private void addSAT(Collection<Constraint<?>> sat_constraints, SolverResult satResult) {
+	private void removeFromUNSATIndex(Set<Constraint<?>> unsat_constraints) {
+		if (unsat_constraints.isEmpty()) {
+			return;
+		}
+		Constraint<?> first = unsat_constraints.iterator().next();
+		List<Set<Constraint<?>>> sets = unsat_index.get(first);
+		if (sets != null) {
+			sets.remove(unsat_constraints);
+			if (sets.isEmpty()) {
+				unsat_index.remove(first);
+			}
+		}
+	}
+
+	private void addSAT(Set<Constraint<?>> sat_constraints, SolverResult satResult) {
 		cached_solver_results.put(sat_constraints, satResult);
+		recent_sat_results.addFirst(satResult);
+		if (recent_sat_results.size() > MAX_MODEL_CHECKS) {
+			recent_sat_results.removeLast();
+		}
 		cached_sat_result_count++;
 	}
 
-	private boolean valid_cached_solution = false;
-	private SolverResult cached_solution = null;
-
-	private boolean hasCachedResult(Collection<Constraint<?>> constraints) {
+	/**
+	 * Returns the cached result for the given constraints, or null if it is
+	 * neither cached nor implied by a cached UNSAT subset
+	 */
+	private SolverResult lookup(Set<Constraint<?>> constraints) {
 		number_of_accesses++;
 
-		if (this.cached_solver_results.containsKey(constraints)) {
-			valid_cached_solution = true;
-			cached_solution = this.cached_solver_results.get(constraints);
+		SolverResult result = cached_solver_results.get(constraints);
+		if (result == null) {
+			result = lookupUNSATSubset(constraints);
+		}
+		if (result != null) {
 			number_of_hits++;
-			return true;
-		} else {
-			valid_cached_solution = false;
-			return false;
 		}
+		return result;
 	}
 
-	public double getHitRate() {
-		return (double) this.number_of_hits / (double) this.number_of_accesses;
+	/**
+	 * If a subset of the constraints is UNSAT, so are the constraints
+	 */
+	private SolverResult lookupUNSATSubset(Set<Constraint<?>> constraints) {
+		Set<Constraint<?>> unsatSubset = null;
+		for (Constraint<?> constraint : constraints) {
+			List<Set<Constraint<?>>> sets = unsat_index.get(constraint);
+			if (sets == null) {
+				continue;
+			}
+			for (Set<Constraint<?>> set : sets) {
+				if (set.size() <= constraints.size() && constraints.containsAll(set)) {
+					unsatSubset = set;
+					break;
+				}
+			}
+			if (unsatSubset != null) {
+				break;
+			}
+		}
+		if (unsatSubset == null) {
+			return null;
+		}
+		// refresh the subset, and cache the constraints in their own right
+		SolverResult unsatResult = cached_solver_results.get(unsatSubset);
+		cached_solver_results.put(constraints, unsatResult);
+		return unsatResult;
 	}
 
 	/**
-	 * If not in cache returns IllegalArgumentException()
-	 * 
-	 * @param constraints
-	 * @return
+	 * If one of the recent models also satisfies the constraints, return it
+	 * (restricted to the variables of the constraints). This does not access
+	 * the cache, so it is called without holding the lock.
 	 */
-	public SolverResult getCachedResult() {
-
-		if (valid_cached_solution == false) {
-			throw new IllegalArgumentException("The constraint is not cached!");
+	private static SolverResult lookupSATModel(Set<Constraint<?>> constraints, List<SolverResult> recentModels) {
+		if (constraints.isEmpty()) {
+			return null;
+		}
+		Set<Variable<?>> variables = Solver.getVariables(constraints);
+		for (SolverResult satResult : recentModels) {
+			Map<String, Object> model = new HashMap<String, Object>();
+			for (Variable<?> variable : variables) {
+				if (!satResult.containsVariable(variable.getName())) {
+					model = null;
+					break;
+				}
+				model.put(variable.getName(), satResult.getValue(variable.getName()));
+			}
+			if (model == null) {
+				continue;
+			}
+			SolverResult result = SolverResult.newSAT(model);
+			if (Solver.checkSAT(constraints, result)) {
+				return result;
+			}
 		}
+		return null;
+	}
+
+	public synchronized double getHitRate() {
+		return (double) this.number_of_hits / (double) this.number_of_accesses;
+	}
 
-		valid_cached_solution = false;
-		return this.cached_solution;
+	/**
+	 * Removes all the cached results
+	 */
+	public synchronized void clear() {
+		cached_solver_results.clear();
+		unsat_index.clear();
+		recent_sat_results.clear();
 	}
 
 }
@@ -0,0 +1,346 @@
+/**
+ * Copyright (C) 2010-2015 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser Public License as published by the
+ * Free Software Foundation, either version 3.0 of the License, or (at your
+ * option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser Public License along
+ * with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.symbolic.solver.z3;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.evosuite.symbolic.solver.SolverErrorException;
+import org.evosuite.symbolic.solver.SolverTimeoutException;
+import org.evosuite.symbolic.solver.smt.SmtAssertion;
+import org.evosuite.symbolic.solver.smt.SmtCheckSatQuery;
+import org.evosuite.symbolic.solver.smt.SmtConstantDeclaration;
+import org.evosuite.symbolic.solver.smt.SmtExprPrinter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A Z3 process that is kept alive across queries.
+ * 
+ * <p>
+ * Each assertion of the current query is asserted in its own
+ * <code>push</code> level. A new query only pops the levels after the longest
+ * common prefix with the previous query and asserts the rest, so that a path
+ * condition that only differs from the previous one in its last conditions is
+ * cheap to check. Constants are declared globally, once.
+ * </p>
+ * 
+ * <p>
+ * If the process dies, answers with an error, or does not answer in time, it
+ * is killed and a new one is started for the next query.
+ * </p>
+ * 
+ * <p>
+ * There is only one process, so queries are answered one at a time. When
+ * several queries are solved concurrently (see
+ * {@link org.evosuite.Properties#DSE_PARALLEL_SOLVERS}), {@link Z3Solver}
+ * runs a process per query instead.
+ * </p>
+ */
+final class Z3Session {
+
+	static Logger logger = LoggerFactory.getLogger(Z3Session.class);
+
+	private static final String END_MARKER = "evosuite-end-of-answer";
+
+	/**
+	 * Extra time given to the process on top of the Z3 timeout before it is
+	 * considered unresponsive
+	 */
+	private static final long PROCESS_TIMEOUT_SLACK_MILLIS = 1000;
+
+	private static Z3Session instance = null;
+
+	/** Kills processes that do not answer in time, shared by all queries */
+	private static final ScheduledExecutorService watchdog = Executors
+			.newSingleThreadScheduledExecutor(new ThreadFactory() {
+				@Override
+				public Thread newThread(Runnable r) {
+					Thread thread = new Thread(r, "Z3SessionWatchdog");
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+
+	private final String z3Cmd;
+
+	private final long timeout;
+
+	private volatile Process process;
+
+	private volatile boolean timedOut = false;
+
+	private BufferedReader reader;
+
+	private Writer writer;
+
+	/** The sorts of the constants declared so far */
+	private final Map<String, String> declaredConstants = new HashMap<String, String>();
+
+	/** The assertions of the current push levels, outermost first */
+	private final List<String> assertionStack = new ArrayList<String>();
+
+	private Z3Session(String z3Cmd, long timeout) {
+		this.z3Cmd = z3Cmd;
+		this.timeout = timeout;
+	}
+
+	/**
+	 * Returns the session for the given command and timeout, replacing the
+	 * current one if either changed
+	 */
+	public static synchronized Z3Session getInstance(String z3Cmd, long timeout) {
+		if (instance != null && (!instance.z3Cmd.equals(z3Cmd) || instance.timeout != timeout)) {
+			instance.close();
+			instance = null;
+		}
+		if (instance == null) {
+			instance = new Z3Session(z3Cmd, timeout);
+		}
+		return instance;
+	}
+
+	/**
+	 * Kills the solver process, if any
+	 */
+	public static synchronized void shutdown() {
+		if (instance != null) {
+			instance.close();
+			instance = null;
+		}
+	}
+
+	/**
+	 * Checks the given query, and returns the answer of Z3 in the same format
+	 * as a process that is run on a complete query (i.e., <code>sat</code>
+	 * followed by the model, or <code>unsat</code>)
+	 */
+	public synchronized String checkSat(SmtCheckSatQuery query) throws IOException, SolverTimeoutException,
+			SolverErrorException {
+
+		if (process == null) {
+			start();
+		}
+
+		timedOut = false;
+		ScheduledFuture<?> kill = watchdog.schedule(new Runnable() {
+			@Override
+			public void run() {
+				killUnresponsiveProcess();
+			}
+		}, timeout + PROCESS_TIMEOUT_SLACK_MILLIS, TimeUnit.MILLISECONDS);
+
+		try {
+			String answer = send(buildCommands(query) + "(check-sat)\n");
+			if (!answer.startsWith("sat")) {
+				return answer;
+			}
+			StringBuffer names = new StringBuffer();
+			for (SmtConstantDeclaration declaration : query.getConstantDeclarations()) {
+				names.append(" ");
+				names.append(declaration.getConstantName());
+			}
+			// only ask for the values of the constants in this query
+			String values = send("(get-value (" + names.toString().trim() + "))\n");
+			return "sat\n" + toModel(values);
+
+		} catch (IOException e) {
+			close();
+			if (timedOut) {
+				throw new SolverTimeoutException();
+			}
+			throw e;
+		} finally {
+			kill.cancel(false);
+		}
+	}
+
+	private String buildCommands(SmtCheckSatQuery query) throws IOException, SolverErrorException {
+		StringBuffer buff = new StringBuffer();
+
+		for (SmtConstantDeclaration declaration : query.getConstantDeclarations()) {
+			String name = declaration.getConstantName();
+			String sort = declaration.getConstantSort();
+			String declaredSort = declaredConstants.get(name);
+			if (declaredSort == null) {
+				buff.append(String.format("(declare-const %s %s)\n", name, sort));
+				declaredConstants.put(name, sort);
+			} else if (!declaredSort.equals(sort)) {
+				// a constant cannot be declared again with another sort
+				logger.debug("Sort of " + name + " changed, starting over");
+				close();
+				start();
+				return buildCommands(query);
+			}
+		}
+
+		SmtExprPrinter printer = new SmtExprPrinter();
+		List<String> assertions = new ArrayList<String>();
+		for (SmtAssertion assertion : query.getAssertions()) {
+			assertions.add(String.format("(assert %s)", assertion.getFormula().accept(printer, null)));
+		}
+
+		int commonPrefix = 0;
+		while (commonPrefix < assertions.size() && commonPrefix < assertionStack.size()
+				&& assertions.get(commonPrefix).equals(assertionStack.get(commonPrefix))) {
+			commonPrefix++;
+		}
+
+		int levelsToPop = assertionStack.size() - commonPrefix;
+		if (levelsToPop > 0) {
+			buff.append("(pop " + levelsToPop + ")\n");
+			assertionStack.subList(commonPrefix, assertionStack.size()).clear();
+		}
+		for (String assertion : assertions.subList(commonPrefix, assertions.size())) {
+			buff.append("(push 1)\n");
+			buff.append(assertion);
+			buff.append("\n");
+			assertionStack.add(assertion);
+		}
+		return buff.toString();
+	}
+
+	/**
+	 * Turns the answer of <code>get-value</code> into the
+	 * <code>get-model</code> format expected by {@link Z3ResultParser}
+	 */
+	private String toModel(String values) {
+		StringBuffer model = new StringBuffer("(model\n");
+		for (Map.Entry<String, String> value : parseValues(values).entrySet()) {
+			String sort = declaredConstants.get(value.getKey());
+			model.append(String.format("  (define-fun %s () %s\n    %s)\n", value.getKey(), sort,
+					value.getValue()));
+		}
+		model.append(")\n");
+		return model.toString();
+	}
+
+	/**
+	 * Parses an answer of <code>get-value</code>, such as
+	 * <code>((x 1) (y (- 2)))</code>
+	 */
+	static Map<String, String> parseValues(String values) {
+		Map<String, String> result = new HashMap<String, String>();
+		String str = values.trim();
+		// skip the outer parenthesis
+		int pos = str.indexOf('(') + 1;
+		while (true) {
+			int start = str.indexOf('(', pos);
+			if (start < 0) {
+				break;
+			}
+			int depth = 0;
+			int end = start;
+			for (; end < str.length(); end++) {
+				char c = str.charAt(end);
+				if (c == '(') {
+					depth++;
+				} else if (c == ')') {
+					depth--;
+					if (depth == 0) {
+						break;
+					}
+				}
+			}
+			String pair = str.substring(start + 1, Math.min(end, str.length())).trim();
+			int separator = pair.indexOf(' ');
+			if (separator > 0) {
+				result.put(pair.substring(0, separator), pair.substring(separator + 1).trim());
+			}
+			pos = end + 1;
+		}
+		return result;
+	}
+
+	private void start() throws IOException {
+		logger.debug("Starting Z3 session: " + z3Cmd);
+		ProcessBuilder builder = new ProcessBuilder(z3Cmd.split(" "));
+		builder.redirectErrorStream(true);
+		process = builder.start();
+		reader = new BufferedReader(new InputStreamReader(process.getInputStream(), "UTF-8"));
+		writer = new OutputStreamWriter(process.getOutputStream(), "UTF-8");
+		declaredConstants.clear();
+		assertionStack.clear();
+		try {
+			send("(set-option :global-declarations true)\n(set-option :timeout " + timeout + ")\n");
+		} catch (SolverErrorException e) {
+			close();
+			throw new IOException(e);
+		}
+	}
+
+	private void killUnresponsiveProcess() {
+		Process p = process;
+		if (p != null) {
+			logger.debug("Z3 did not answer in time, killing it");
+			timedOut = true;
+			p.destroy();
+		}
+	}
+
+	private void close() {
+		if (process != null) {
+			process.destroy();
+			process = null;
+		}
+		declaredConstants.clear();
+		assertionStack.clear();
+	}
+
+	/**
+	 * Sends the given commands, and returns the output they produce
+	 */
+	private String send(String commands) throws IOException, SolverErrorException {
+		logger.debug("Z3 input:\n" + commands);
+		writer.write(commands);
+		writer.write("(echo \"" + END_MARKER + "\")\n");
+		writer.flush();
+
+		StringBuffer output = new StringBuffer();
+		String line = reader.readLine();
+		while (line != null && !line.replace("\"", "").equals(END_MARKER)) {
+			output.append(line);
+			output.append("\n");
+			line = reader.readLine();
+		}
+		if (line == null) {
+			throw new IOException("Z3 process terminated");
+		}
+		String outputStr = output.toString();
+		logger.debug("Z3 output:\n" + outputStr);
+		if (outputStr.contains("(error")) {
+			close();
+			throw new SolverErrorException("Z3 reported an error: " + outputStr);
+		}
+		return outputStr;
+	}
+}
@@ -98,11 +98,15 @@ public class Z3Solver extends Solver {
 		}
 		String z3Cmd = Properties.Z3_PATH + " -smt2 -in";
 
-		ByteArrayOutputStream stdout = new ByteArrayOutputStream();
-
-		launchNewProcess(z3Cmd, smtQueryStr, (int) timeout, stdout);
-
-		String z3ResultStr = stdout.toString("UTF-8");
+		String z3ResultStr;
+		// the session answers one query at a time, which would make parallel solvers wait on each other
+		if (Properties.Z3_SESSION && Properties.DSE_PARALLEL_SOLVERS <= 1) {
+			z3ResultStr = Z3Session.getInstance(z3Cmd, timeout).checkSat(smtCheckSatQuery);
+		} else {
+			ByteArrayOutputStream stdout = new ByteArrayOutputStream();
+			launchNewProcess(z3Cmd, smtQueryStr, (int) timeout, stdout);
+			z3ResultStr = stdout.toString("UTF-8");
+		}
 
 		Map<String, Object> initialValues = getConcreteValues(variables);
 		Z3ResultParser resultParser;
@@ -29,9 +29,11 @@ import java.util.Map;
 import java.util.Set;
 
 import org.evosuite.Properties;
+import org.evosuite.Properties.MinimizationStrategy;
 import org.evosuite.ga.ConstructionFailedException;
 import org.evosuite.ga.FitnessFunction;
 import org.evosuite.ga.SecondaryObjective;
+import org.evosuite.testcase.execution.ParallelTestCaseExecutor;
 import org.evosuite.testcase.statements.Statement;
 import org.evosuite.testcase.variable.VariableReference;
 import org.slf4j.Logger;
@@ -130,6 +132,153 @@ public class TestCaseMinimizer {
 		return fitnessMap;
 	}
 
+	/**
+	 * Reduce the test with delta debugging (ddmin): the statements are split
+	 * into chunks, and the test is replaced by the first variant that keeps
+	 * only one chunk, or removes one chunk, without being worse. If there is no
+	 * such variant, the chunks are made smaller, down to single statements.
+	 * Removing a statement also removes the statements depending on it.
+	 * 
+	 * <p>
+	 * Different chunks can lead to the same test, so each distinct test is
+	 * only executed once. If possible, the variants are executed on the
+	 * parallel executors, {@link Properties#NUM_PARALLEL_EXECUTORS} at a time.
+	 * 
+	 * @param c
+	 *            a {@link org.evosuite.testcase.TestChromosome} object.
+	 */
+	void deltaDebug(TestChromosome c) {
+		Map<String, TestChromosome> evaluated = new HashMap<String, TestChromosome>();
+		evaluated.put(c.getTestCase().toCode(), c);
+
+		int granularity = 2;
+		while (c.size() >= 2) {
+			List<List<Integer>> chunks = split(c.size(), granularity);
+
+			// first the variants keeping one chunk, then those removing one
+			List<TestChromosome> candidates = new ArrayList<TestChromosome>();
+			int numSubsets = 0;
+			if (granularity > 2) {
+				for (List<Integer> chunk : chunks) {
+					List<Integer> others = new ArrayList<Integer>();
+					for (List<Integer> other : chunks) {
+						if (other != chunk)
+							others.addAll(other);
+					}
+					addCandidate(c, others, candidates);
+				}
+				numSubsets = candidates.size();
+			}
+			for (List<Integer> chunk : chunks) {
+				addCandidate(c, chunk, candidates);
+			}
+
+			int reduced = findFirstNotWorse(c, candidates, evaluated);
+			if (reduced >= 0) {
+				TestChromosome candidate = candidates.get(reduced);
+				logger.debug("Reduced test from {} to {} statements", c.size(),
+				             candidate.size());
+				c.setTestCase(candidate.getTestCase());
+				c.copyCachedResults(candidate);
+				c.setFitnessValues(candidate.getFitnessValues());
+				c.setPreviousFitnessValues(candidate.getPreviousFitnessValues());
+				c.setChanged(false);
+				granularity = reduced < numSubsets ? 2 : Math.max(granularity - 1, 2);
+			} else if (granularity < c.size()) {
+				granularity = Math.min(2 * granularity, c.size());
+			} else {
+				break;
+			}
+		}
+	}
+
+	/**
+	 * Split the positions 0 to size - 1 into consecutive chunks of (almost)
+	 * equal size
+	 */
+	private static List<List<Integer>> split(int size, int numChunks) {
+		List<List<Integer>> chunks = new ArrayList<List<Integer>>();
+		int start = 0;
+		for (int i = 0; i < numChunks; i++) {
+			int end = start + (size - start) / (numChunks - i);
+			List<Integer> chunk = new ArrayList<Integer>();
+			for (int pos = start; pos < end; pos++)
+				chunk.add(pos);
+			chunks.add(chunk);
+			start = end;
+		}
+		return chunks;
+	}
+
+	/**
+	 * Add a copy of the test without the given statements (and the statements
+	 * depending on them) to the candidates, unless nothing could be removed
+	 */
+	private static void addCandidate(TestChromosome c, List<Integer> positions,
+	        List<TestChromosome> candidates) {
+		TestFactory testFactory = TestFactory.getInstance();
+		TestChromosome candidate = (TestChromosome) c.clone();
+		List<Integer> toDelete = new ArrayList<Integer>(positions);
+		// statements depending on a deleted one come after it, so the lower positions stay valid
+		Collections.sort(toDelete, Collections.reverseOrder());
+		try {
+			for (Integer position : toDelete) {
+				if (position < candidate.size())
+					testFactory.deleteStatement(candidate.getTestCase(), position);
+			}
+		} catch (ConstructionFailedException e) {
+			return;
+		}
+		if (candidate.size() == c.size())
+			return;
+		candidate.setChanged(true);
+		candidates.add(candidate);
+	}
+
+	/**
+	 * @return the index of the first candidate that is not worse than c, or -1
+	 */
+	int findFirstNotWorse(TestChromosome c, List<TestChromosome> candidates,
+	        Map<String, TestChromosome> evaluated) {
+		int batchSize = Math.max(1, Properties.NUM_PARALLEL_EXECUTORS);
+		for (int start = 0; start < candidates.size(); start += batchSize) {
+			int end = Math.min(start + batchSize, candidates.size());
+
+			List<TestChromosome> toExecute = new ArrayList<TestChromosome>();
+			for (int i = start; i < end; i++) {
+				String code = candidates.get(i).getTestCase().toCode();
+				TestChromosome previous = evaluated.get(code);
+				if (previous != null) {
+					candidates.set(i, previous);
+				} else {
+					evaluated.put(code, candidates.get(i));
+					toExecute.add(candidates.get(i));
+				}
+			}
+			ParallelTestCaseExecutor.executeChanged(toExecute);
+			// the whole batch is scored, as later rounds reuse the memoized candidates
+			for (TestChromosome candidate : toExecute) {
+				getFitnessValues(candidate);
+			}
+
+			for (int i = start; i < end; i++) {
+				TestChromosome candidate = candidates.get(i);
+				if (candidate == c)
+					continue;
+				boolean isWorse = false;
+				for (TestFitnessFunction fitnessFunction : fitnessFunctions) {
+					if (isWorse(fitnessFunction, c, candidate)) {
+						isWorse = true;
+						break;
+					}
+				}
+				if (!isWorse)
+					return i;
+			}
+		}
+		return -1;
+	}
+
 	/**
 	 * Central minimization function. Loop and try to remove until all
 	 * statements have been checked.
@@ -152,6 +301,13 @@ public class TestCaseMinimizer {
 
 		logger.debug("Start fitness values: " + fitness);
 		assert ConstraintVerifier.verifyTest(c);
+
+		if (Properties.MINIMIZATION_STRATEGY == MinimizationStrategy.DDMIN) {
+			// remove large parts first, the loop below then only has to check a short test
+			deltaDebug(c);
+			fitness = getFitnessValues(c);
+		}
+
 		boolean changed = true;
 
 		while (changed) {
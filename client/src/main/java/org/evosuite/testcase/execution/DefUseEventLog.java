@@ -0,0 +1,210 @@
+/**
+ * Copyright (C) 2010-2015 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser Public License as published by the
+ * Free Software Foundation, either version 3.0 of the License, or (at your
+ * option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser Public License along
+ * with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase.execution;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>
+ * Append-only log of the definitions and uses passed during an execution, in
+ * the order in which they were passed. Each event is kept as a handful of
+ * primitives (duCounter position, def- or useId, objectId and variable)
+ * instead of the nested maps of {@link ExecutionTraceImpl}, so that all
+ * def-use pairs of a trace can be resolved in a single sweep.
+ * </p>
+ * 
+ * <p>
+ * Variable names are interned per log, {@link #getVariable(int)} returns the
+ * index of the name.
+ * </p>
+ */
+public class DefUseEventLog {
+
+	private static final int INITIAL_CAPACITY = 16;
+
+	private int size = 0;
+
+	private int[] positions;
+
+	private int[] ids;
+
+	private int[] objectIds;
+
+	private int[] variables;
+
+	private boolean[] definitions;
+
+	private final List<String> variableNames;
+
+	private final Map<String, Integer> variableIndex;
+
+	/**
+	 * <p>
+	 * Constructor for DefUseEventLog.
+	 * </p>
+	 */
+	public DefUseEventLog() {
+		positions = new int[INITIAL_CAPACITY];
+		ids = new int[INITIAL_CAPACITY];
+		objectIds = new int[INITIAL_CAPACITY];
+		variables = new int[INITIAL_CAPACITY];
+		definitions = new boolean[INITIAL_CAPACITY];
+		variableNames = new ArrayList<String>();
+		variableIndex = new HashMap<String, Integer>();
+	}
+
+	/**
+	 * <p>
+	 * Copy constructor.
+	 * </p>
+	 * 
+	 * @param other
+	 *            a {@link DefUseEventLog} object.
+	 */
+	public DefUseEventLog(DefUseEventLog other) {
+		size = other.size;
+		positions = other.positions.clone();
+		ids = other.ids.clone();
+		objectIds = other.objectIds.clone();
+		variables = other.variables.clone();
+		definitions = other.definitions.clone();
+		variableNames = new ArrayList<String>(other.variableNames);
+		variableIndex = new HashMap<String, Integer>(other.variableIndex);
+	}
+
+	/**
+	 * Record that the definition with the given id was passed
+	 * 
+	 * @param position
+	 *            the duCounter at which the definition was passed
+	 * @param variableName
+	 *            the name of the defined variable
+	 * @param objectId
+	 *            the id of the object the definition was passed on
+	 * @param defId
+	 *            the id of the definition
+	 */
+	public void addDefinition(int position, String variableName, int objectId,
+	        int defId) {
+		add(position, variableName, objectId, defId, true);
+	}
+
+	/**
+	 * Record that the use with the given id was passed
+	 * 
+	 * @param position
+	 *            the duCounter at which the use was passed
+	 * @param variableName
+	 *            the name of the used variable
+	 * @param objectId
+	 *            the id of the object the use was passed on
+	 * @param useId
+	 *            the id of the use
+	 */
+	public void addUse(int position, String variableName, int objectId, int useId) {
+		add(position, variableName, objectId, useId, false);
+	}
+
+	private void add(int position, String variableName, int objectId, int id,
+	        boolean definition) {
+		if (size > 0 && position <= positions[size - 1])
+			throw new IllegalArgumentException("Events have to be added in the order of their positions");
+		if (size == positions.length) {
+			int capacity = 2 * size;
+			positions = Arrays.copyOf(positions, capacity);
+			ids = Arrays.copyOf(ids, capacity);
+			objectIds = Arrays.copyOf(objectIds, capacity);
+			variables = Arrays.copyOf(variables, capacity);
+			definitions = Arrays.copyOf(definitions, capacity);
+		}
+		Integer variable = variableIndex.get(variableName);
+		if (variable == null) {
+			variable = variableNames.size();
+			variableNames.add(variableName);
+			variableIndex.put(variableName, variable);
+		}
+		positions[size] = position;
+		ids[size] = id;
+		objectIds[size] = objectId;
+		variables[size] = variable;
+		definitions[size] = definition;
+		size++;
+	}
+
+	/**
+	 * @return the number of recorded events
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * @return the duCounter position of the index'th event
+	 */
+	public int getPosition(int index) {
+		return positions[index];
+	}
+
+	/**
+	 * @return the def- or useId of the index'th event
+	 */
+	public int getId(int index) {
+		return ids[index];
+	}
+
+	/**
+	 * @return the objectId of the index'th event
+	 */
+	public int getObjectId(int index) {
+		return objectIds[index];
+	}
+
+	/**
+	 * @return the index of the variable name of the index'th event
+	 */
+	public int getVariable(int index) {
+		return variables[index];
+	}
+
+	/**
+	 * @return true if the index'th event is a definition, false if it is a use
+	 */
+	public boolean isDefinition(int index) {
+		return definitions[index];
+	}
+
+	/**
+	 * @return the number of distinct variables in this log
+	 */
+	public int getNumVariables() {
+		return variableNames.size();
+	}
+
+	/**
+	 * @return the name of the variable with the given index
+	 */
+	public String getVariableName(int variable) {
+		return variableNames.get(variable);
+	}
+}
@@ -92,6 +92,12 @@ public class ExecutionResult implements Cloneable {
 	/** Output traces produced by observers */
 	protected final Map<Class<?>, OutputTrace<?>> traces = new HashMap<Class<?>, OutputTrace<?>>();
 
+	/**
+	 * Summaries of the execution trace computed by suite fitness functions,
+	 * keyed by their type. They only depend on the trace, so clones share them
+	 */
+	private final Map<Class<?>, Object> fitnessContributions = new HashMap<Class<?>, Object>();
+
 	/** Mapping of method statements to actual return values */
 	private Map<MethodStatement, Object> returnValues;
 
@@ -285,6 +291,7 @@ public class ExecutionResult implements Cloneable {
 			throw new IllegalArgumentException("Trace cannot be null");
 		}
 		this.trace = trace;
+		fitnessContributions.clear();
 	}
 
 	/**
@@ -310,6 +317,32 @@ public class ExecutionResult implements Cloneable {
 		return traces.get(clazz);
 	}
 
+	/**
+	 * Accessor for a summary of the execution trace previously stored by a
+	 * fitness function with {@link #setFitnessContribution(Class, Object)}
+	 * 
+	 * @param clazz
+	 *            the type of the summary
+	 * @return the summary, or null if none was stored for this trace
+	 */
+	public <T> T getFitnessContribution(Class<T> clazz) {
+		return clazz.cast(fitnessContributions.get(clazz));
+	}
+
+	/**
+	 * Store a summary of the execution trace, so that fitness functions do not
+	 * need to analyze the trace again as long as the test is not changed. The
+	 * summary must only depend on the trace, as it is shared with clones
+	 * 
+	 * @param clazz
+	 *            the type of the summary
+	 * @param contribution
+	 *            the summary
+	 */
+	public <T> void setFitnessContribution(Class<T> clazz, T contribution) {
+		fitnessContributions.put(clazz, contribution);
+	}
+
 	/**
 	 * Accessor for the output traces produced by observers
 	 * 
@@ -428,6 +461,7 @@ public class ExecutionResult implements Cloneable {
 			copy.readProperties.addAll(readProperties);
 		}
 		copy.wasAnyPropertyWritten = wasAnyPropertyWritten;
+		copy.fitnessContributions.putAll(fitnessContributions);
 
 		return copy;
 	}
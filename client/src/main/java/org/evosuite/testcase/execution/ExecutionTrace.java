@@ -243,6 +243,13 @@ public interface ExecutionTrace {
 	 */
 	public Map<String, HashMap<Integer, HashMap<Integer, Object>>> getUseDataObjects();
 
+	/**
+	 * Retrieve the definitions and uses in the order in which they were passed
+	 * 
+	 * @return a {@link org.evosuite.testcase.execution.DefUseEventLog} object.
+	 */
+	public DefUseEventLog getDefUseEvents();
+
 	/**
 	 * Retrieve the data definitions for a given variable
 	 * 
@@ -315,6 +322,17 @@ public interface ExecutionTrace {
 	 */
 	public boolean wasMutationTouched(int mutationId);
 
+	/**
+	 * Determine if a mutant was executed with an infection distance of 0 at
+	 * least once, ie if the mutation could have changed the state of the
+	 * execution. A test cannot kill a mutant that it did not infect
+	 * 
+	 * @param mutationId
+	 *            a int.
+	 * @return a boolean.
+	 */
+	public boolean wasMutationInfected(int mutationId);
+
 	/**
 	 * Retrieve IDs of all executed mutants
 	 * 
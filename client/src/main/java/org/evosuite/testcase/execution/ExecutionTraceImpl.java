@@ -43,6 +43,8 @@ import org.evosuite.coverage.dataflow.Use;
 import org.evosuite.setup.CallContext;
 import org.evosuite.statistics.RuntimeVariable;
 import org.evosuite.utils.ArrayUtil;
+import org.evosuite.utils.IntDoubleArrayMap;
+import org.evosuite.utils.IntIntArrayMap;
 import org.objectweb.asm.Opcodes;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -204,15 +206,15 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 	// Coverage information
 	public Map<String, Map<String, Map<Integer, Integer>>> coverage = Collections.synchronizedMap(new HashMap<String, Map<String, Map<Integer, Integer>>>());
 
-	public Map<Integer, Integer> coveredFalse = Collections.synchronizedMap(new HashMap<Integer, Integer>());
+	public IntIntArrayMap coveredFalse = new IntIntArrayMap(getBranchCapacity());
 
 	public Map<String, Integer> coveredMethods = Collections.synchronizedMap(new HashMap<String, Integer>());
 
     public Map<String, Integer> coveredBranchlessMethods = Collections.synchronizedMap(new HashMap<String, Integer>());
 
-	public Map<Integer, Integer> coveredPredicates = Collections.synchronizedMap(new HashMap<Integer, Integer>());
+	public IntIntArrayMap coveredPredicates = new IntIntArrayMap(getBranchCapacity());
 
-	public Map<Integer, Integer> coveredTrue = Collections.synchronizedMap(new HashMap<Integer, Integer>());
+	public IntIntArrayMap coveredTrue = new IntIntArrayMap(getBranchCapacity());
 
 	public Map<Integer, Integer> coveredDefs = Collections.synchronizedMap(new HashMap<Integer, Integer>());
 
@@ -229,8 +231,8 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 	// The last explicitly thrown exception is kept here
 	private Throwable explicitException = null;
 
-	public Map<Integer, Double> falseDistances = Collections.synchronizedMap(new HashMap<Integer, Double>());
-	private final Map<Integer, Double> falseDistancesSum = Collections.synchronizedMap(new HashMap<Integer, Double>());
+	public IntDoubleArrayMap falseDistances = new IntDoubleArrayMap(getBranchCapacity());
+	private final IntDoubleArrayMap falseDistancesSum = new IntDoubleArrayMap(getBranchCapacity());
 	// finished_calls;
 	public List<MethodCall> finishedCalls = Collections.synchronizedList(new ArrayList<MethodCall>());
 	public Map<Integer, Object> knownCallerObjects = Collections.synchronizedMap(new HashMap<Integer, Object>());
@@ -246,8 +248,13 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 
 	public Map<String, HashMap<Integer, HashMap<Integer, Object>>> passedDefinitionObject = Collections.synchronizedMap(new HashMap<String, HashMap<Integer, HashMap<Integer, Object>>>());
 	public Map<String, HashMap<Integer, HashMap<Integer, Object>>> passedUseObject = Collections.synchronizedMap(new HashMap<String, HashMap<Integer, HashMap<Integer, Object>>>());
+	// the same definitions and uses in the order in which they were passed
+	private DefUseEventLog defUseEvents = new DefUseEventLog();
 
 	private int proxyCount = 1;
+
+	// whether the nested maps may be shared with a clone
+	private boolean sharesNestedMaps = false;
 	// Data information
 	public Map<String, Map<String, Map<Integer, Integer>>> returnData = Collections.synchronizedMap(new HashMap<String, Map<String, Map<Integer, Integer>>>());
 
@@ -256,9 +263,9 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 
 	public Set<Integer> touchedMutants = Collections.synchronizedSet(new HashSet<Integer>());
 
-	public Map<Integer, Double> trueDistances = Collections.synchronizedMap(new HashMap<Integer, Double>());
+	public IntDoubleArrayMap trueDistances = new IntDoubleArrayMap(getBranchCapacity());
 
-	private final Map<Integer, Double> trueDistancesSum = Collections.synchronizedMap(new HashMap<Integer, Double>());
+	private final IntDoubleArrayMap trueDistancesSum = new IntDoubleArrayMap(getBranchCapacity());
 	
 	public static Set<Integer> gradientBranches = Collections.synchronizedSet(new HashSet<Integer>());
 	
@@ -281,6 +288,14 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 		stack.add(new MethodCall("", "", 0, 0, 0)); // Main method
 	}
 
+	/**
+	 * Branch ids are assigned consecutively from 1, so the branch maps can be
+	 * sized upfront to hold all the branches currently known
+	 */
+	private static int getBranchCapacity() {
+		return BranchPool.getInstance(TestGenerationContext.getInstance().getClassLoaderForSUT()).getBranchCounter() + 1;
+	}
+
 	/**
 	 * <p>
 	 * addProxy
@@ -319,24 +334,14 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 		}
 
 		if (traceCoverage) {
-			if (!coveredPredicates.containsKey(branch))
-				coveredPredicates.put(branch, 1);
-			else
-				coveredPredicates.put(branch, coveredPredicates.get(branch) + 1);
+			coveredPredicates.increment(branch);
 
 			if (true_distance == 0.0) {
-				if (!coveredTrue.containsKey(branch))
-					coveredTrue.put(branch, 1);
-				else
-					coveredTrue.put(branch, coveredTrue.get(branch) + 1);
-
+				coveredTrue.increment(branch);
 			}
 
 			if (false_distance == 0.0) {
-				if (!coveredFalse.containsKey(branch))
-					coveredFalse.put(branch, 1);
-				else
-					coveredFalse.put(branch, coveredFalse.get(branch) + 1);
+				coveredFalse.increment(branch);
 			}
 		}
 		
@@ -442,26 +447,10 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 			}
 		}
 
-		if (!trueDistances.containsKey(branch))
-			trueDistances.put(branch, true_distance);
-		else
-			trueDistances.put(branch, Math.min(trueDistances.get(branch), true_distance));
-
-		if (!falseDistances.containsKey(branch))
-			falseDistances.put(branch, false_distance);
-		else
-			falseDistances.put(branch,
-			                   Math.min(falseDistances.get(branch), false_distance));
-
-		if (!trueDistancesSum.containsKey(branch))
-			trueDistancesSum.put(branch, true_distance);
-		else
-			trueDistancesSum.put(branch, trueDistancesSum.get(branch) + true_distance);
-
-		if (!falseDistancesSum.containsKey(branch))
-			falseDistancesSum.put(branch, false_distance);
-		else
-			falseDistancesSum.put(branch, falseDistancesSum.get(branch) + false_distance);
+		trueDistances.putMin(branch, true_distance);
+		falseDistances.putMin(branch, false_distance);
+		trueDistancesSum.add(branch, true_distance);
+		falseDistancesSum.add(branch, false_distance);
 
 		if (!disableContext&&(Properties.INSTRUMENT_CONTEXT
 				|| Properties.INSTRUMENT_METHOD_CALLS
@@ -498,6 +487,7 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 	 */
 	private void updateBranchContextMaps(int branch, double true_distance,
 	        double false_distance) {
+		unshareNestedMaps();
 		if (!coveredPredicateContext.containsKey(branch)) {
 			coveredPredicateContext.put(branch, new HashMap<CallContext, Integer>());
 			coveredTrueContext.put(branch, new HashMap<CallContext, Double>());
@@ -540,39 +530,40 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 		duCounter = 0;
 		objectCounter = 0;
 		knownCallerObjects = new HashMap<Integer, Object>();
-		trueDistances = new HashMap<Integer, Double>();
-		falseDistances = new HashMap<Integer, Double>();
+		trueDistances = new IntDoubleArrayMap(getBranchCapacity());
+		falseDistances = new IntDoubleArrayMap(getBranchCapacity());
 		mutantDistances = new HashMap<Integer, Double>();
 		touchedMutants = new HashSet<Integer>();
 		coveredMethods = new HashMap<String, Integer>();
         coveredBranchlessMethods = new HashMap<String, Integer>();
-		coveredPredicates = new HashMap<Integer, Integer>();
-		coveredTrue = new HashMap<Integer, Integer>();
-		coveredFalse = new HashMap<Integer, Integer>();
+		coveredPredicates = new IntIntArrayMap(getBranchCapacity());
+		coveredTrue = new IntIntArrayMap(getBranchCapacity());
+		coveredFalse = new IntIntArrayMap(getBranchCapacity());
 		coveredDefs = new HashMap<Integer, Integer>();
 		passedDefinitions = new HashMap<String, HashMap<Integer, HashMap<Integer, Integer>>>();
 		passedUses = new HashMap<String, HashMap<Integer, HashMap<Integer, Integer>>>();
 		passedDefinitionObject = new HashMap<String, HashMap<Integer, HashMap<Integer, Object>>>();
 		passedUseObject = new HashMap<String, HashMap<Integer, HashMap<Integer, Object>>>();
+		defUseEvents = new DefUseEventLog();
 		branchesTrace = new ArrayList<BranchEval>();
 		coveredTrueContext = new HashMap<Integer, Map<CallContext, Double>>();
 		coveredFalseContext = new HashMap<Integer, Map<CallContext, Double>>();
 		coveredPredicateContext = new HashMap<Integer, Map<CallContext, Integer>>();
+		sharesNestedMaps = false;
 	}
 
 	/**
 	 * {@inheritDoc}
 	 * 
-	 * Create a deep copy
+	 * Create a copy. Finished method calls are not modified any more, so they
+	 * are shared with the copy; the nested maps are shared until either trace
+	 * writes to them (see {@link #unshareNestedMaps()}).
 	 */
 	@Override
 	public ExecutionTraceImpl clone() {
 
 		ExecutionTraceImpl copy = new ExecutionTraceImpl();
-		for (MethodCall call : finishedCalls) {
-			copy.finishedCalls.add(call.clone());
-		}
-		// copy.finished_calls.addAll(finished_calls);
+		copy.finishedCalls.addAll(finishedCalls);
 		copy.coverage = new HashMap<String, Map<String, Map<Integer, Integer>>>();
 		if (coverage != null) {
 			copy.coverage.putAll(coverage);
@@ -585,13 +576,13 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 		 * logger.info("Copying main method");
 		 * copy.finished_calls.add(stack.peek()); }
 		 */
-		copy.trueDistances.putAll(trueDistances);
-		copy.falseDistances.putAll(falseDistances);
+		copy.trueDistances = new IntDoubleArrayMap(trueDistances);
+		copy.falseDistances = new IntDoubleArrayMap(falseDistances);
 		copy.coveredMethods.putAll(coveredMethods);
         copy.coveredBranchlessMethods.putAll(coveredBranchlessMethods);
-		copy.coveredPredicates.putAll(coveredPredicates);
-		copy.coveredTrue.putAll(coveredTrue);
-		copy.coveredFalse.putAll(coveredFalse);
+		copy.coveredPredicates = new IntIntArrayMap(coveredPredicates);
+		copy.coveredTrue = new IntIntArrayMap(coveredTrue);
+		copy.coveredFalse = new IntIntArrayMap(coveredFalse);
 		copy.coveredDefs.putAll(coveredDefs);
 		copy.touchedMutants.addAll(touchedMutants);
 		copy.mutantDistances.putAll(mutantDistances);
@@ -599,6 +590,7 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 		copy.passedUses.putAll(passedUses);
 		copy.passedDefinitionObject.putAll(passedDefinitionObject);
 		copy.passedUseObject.putAll(passedUseObject);
+		copy.defUseEvents = defUseEvents;
 		copy.branchesTrace.addAll(branchesTrace);
 
 		copy.coveredTrueContext.putAll(coveredTrueContext);
@@ -610,6 +602,76 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 		copy.objectCounter = objectCounter;
 		copy.knownCallerObjects.putAll(knownCallerObjects);
 		copy.proxyCount = 1;
+
+		sharesNestedMaps = true;
+		copy.sharesNestedMaps = true;
+		return copy;
+	}
+
+	/**
+	 * The inner maps of the line coverage, return value, def-use and context
+	 * maps are shared between a trace and its clones. Before the first write
+	 * to any of them, the trace makes its own copy.
+	 */
+	private void unshareNestedMaps() {
+		if (!sharesNestedMaps)
+			return;
+
+		Map<String, Map<String, Map<Integer, Integer>>> coverageCopy = new HashMap<String, Map<String, Map<Integer, Integer>>>();
+		for (Entry<String, Map<String, Map<Integer, Integer>>> entry : coverage.entrySet()) {
+			Map<String, Map<Integer, Integer>> methods = new HashMap<String, Map<Integer, Integer>>();
+			for (Entry<String, Map<Integer, Integer>> methodEntry : entry.getValue().entrySet()) {
+				methods.put(methodEntry.getKey(),
+				            new IntIntArrayMap((IntIntArrayMap) methodEntry.getValue()));
+			}
+			coverageCopy.put(entry.getKey(), methods);
+		}
+		coverage = coverageCopy;
+
+		Map<String, Map<String, Map<Integer, Integer>>> returnDataCopy = new HashMap<String, Map<String, Map<Integer, Integer>>>();
+		for (Entry<String, Map<String, Map<Integer, Integer>>> entry : returnData.entrySet()) {
+			Map<String, Map<Integer, Integer>> methods = new HashMap<String, Map<Integer, Integer>>();
+			for (Entry<String, Map<Integer, Integer>> methodEntry : entry.getValue().entrySet()) {
+				methods.put(methodEntry.getKey(),
+				            new HashMap<Integer, Integer>(methodEntry.getValue()));
+			}
+			returnDataCopy.put(entry.getKey(), methods);
+		}
+		returnData = returnDataCopy;
+
+		passedDefinitions = copyDefUseMap(passedDefinitions);
+		passedUses = copyDefUseMap(passedUses);
+		passedDefinitionObject = copyDefUseMap(passedDefinitionObject);
+		passedUseObject = copyDefUseMap(passedUseObject);
+		defUseEvents = new DefUseEventLog(defUseEvents);
+
+		coveredTrueContext = copyContextMap(coveredTrueContext);
+		coveredFalseContext = copyContextMap(coveredFalseContext);
+		coveredPredicateContext = copyContextMap(coveredPredicateContext);
+
+		sharesNestedMaps = false;
+	}
+
+	private static <T> Map<String, HashMap<Integer, HashMap<Integer, T>>> copyDefUseMap(
+	        Map<String, HashMap<Integer, HashMap<Integer, T>>> map) {
+		Map<String, HashMap<Integer, HashMap<Integer, T>>> copy = new HashMap<String, HashMap<Integer, HashMap<Integer, T>>>();
+		for (Entry<String, HashMap<Integer, HashMap<Integer, T>>> entry : map.entrySet()) {
+			HashMap<Integer, HashMap<Integer, T>> objects = new HashMap<Integer, HashMap<Integer, T>>();
+			for (Entry<Integer, HashMap<Integer, T>> objectEntry : entry.getValue().entrySet()) {
+				objects.put(objectEntry.getKey(),
+				            new HashMap<Integer, T>(objectEntry.getValue()));
+			}
+			copy.put(entry.getKey(), objects);
+		}
+		return copy;
+	}
+
+	private static <T> Map<Integer, Map<CallContext, T>> copyContextMap(
+	        Map<Integer, Map<CallContext, T>> map) {
+		Map<Integer, Map<CallContext, T>> copy = new HashMap<Integer, Map<CallContext, T>>();
+		for (Entry<Integer, Map<CallContext, T>> entry : map.entrySet()) {
+			copy.put(entry.getKey(), new HashMap<CallContext, T>(entry.getValue()));
+		}
 		return copy;
 	}
 
@@ -630,6 +692,7 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 		if (!traceCalls) {
 			return;
 		}
+		unshareNestedMaps();
 
 		Definition def = DefUsePool.getDefinitionByDefId(defID);
 		if (def == null) {
@@ -664,6 +727,7 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 		defsObject.put(duCounter, object);
 		passedDefinitions.get(varName).put(objectID, defs);
 		passedDefinitionObject.get(varName).put(objectID, defsObject);
+		defUseEvents.addDefinition(duCounter, varName, objectID, defID);
 
 		//		logger.trace(duCounter+": set active definition for var "+def.getDUVariableName()+" on object "+objectID+" to Def "+defID);
 		duCounter++;
@@ -949,6 +1013,12 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 		return passedDefinitionObject;
 	}
 
+	/** {@inheritDoc} */
+	@Override
+	public DefUseEventLog getDefUseEvents() {
+		return defUseEvents;
+	}
+
 	/** {@inheritDoc} */
 	@Override
 	public Throwable getExplicitException() {
@@ -961,7 +1031,7 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 	/** {@inheritDoc} */
 	@Override
 	public double getFalseDistance(int branchId) {
-		return falseDistances.get(branchId);
+		return falseDistances.getDouble(branchId);
 	}
 
 	/* (non-Javadoc)
@@ -1190,7 +1260,12 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 
 				}
 			}
-			removeFromFinishCall(call, removableIndices);
+			if (!removableIndices.isEmpty()) {
+				// finished calls are shared with this trace
+				call = call.clone();
+				r.finishedCalls.set(callPos, call);
+				removeFromFinishCall(call, removableIndices);
+			}
 			if (call.defuseCounterTrace.size() == 0)
 				removableCalls.add(callPos);
 		}
@@ -1204,7 +1279,7 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 	/** {@inheritDoc} */
 	@Override
 	public double getTrueDistance(int branchId) {
-		return trueDistances.get(branchId);
+		return trueDistances.getDouble(branchId);
 	}
 
 	/* (non-Javadoc)
@@ -1266,8 +1341,8 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 	/** {@inheritDoc} */
 	@Override
 	public ExecutionTrace lazyClone() {
-		// TODO Auto-generated method stub
-		return null;
+		// this trace can be written to directly, so the copy cannot share it
+		return new ExecutionTraceProxy(clone());
 	}
 
 	private boolean stackHasMethod(String methodName) {
@@ -1324,20 +1399,20 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 			}
 		}
 		if (traceCoverage) {
-			if (!coverage.containsKey(className)) {
-				coverage.put(className, new HashMap<String, Map<Integer, Integer>>());
+			unshareNestedMaps();
+			Map<String, Map<Integer, Integer>> methods = coverage.get(className);
+			if (methods == null) {
+				methods = new HashMap<String, Map<Integer, Integer>>();
+				coverage.put(className, methods);
 			}
 
-			if (!coverage.get(className).containsKey(methodName)) {
-				coverage.get(className).put(methodName, new HashMap<Integer, Integer>());
+			IntIntArrayMap lines = (IntIntArrayMap) methods.get(methodName);
+			if (lines == null) {
+				lines = new IntIntArrayMap();
+				methods.put(methodName, lines);
 			}
 
-			if (!coverage.get(className).get(methodName).containsKey(line)) {
-				coverage.get(className).get(methodName).put(line, 1);
-			} else {
-				coverage.get(className).get(methodName)
-						.put(line, coverage.get(className).get(methodName).get(line) + 1);
-			}
+			lines.increment(line);
 		}
 	}
 
@@ -1379,6 +1454,7 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 	/** {@inheritDoc} */
 	@Override
 	public void returnValue(String className, String methodName, int value) {
+		unshareNestedMaps();
 		if (!returnData.containsKey(className)) {
 			returnData.put(className, new HashMap<String, Map<Integer, Integer>>());
 		}
@@ -1559,6 +1635,7 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 
 		if (!traceCalls) // TODO ???
 			return;
+		unshareNestedMaps();
 
 		Use use = DefUsePool.getUseByUseId(useID);
 
@@ -1588,6 +1665,7 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 		usesObject.put(duCounter, object);
 		passedUses.get(varName).put(objectID, uses);
 		passedUseObject.get(varName).put(objectID, usesObject);
+		defUseEvents.addUse(duCounter, varName, objectID, useID);
 		duCounter++;
 	}
 
@@ -1600,6 +1678,13 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 		return touchedMutants.contains(mutationId);
 	}
 
+	/** {@inheritDoc} */
+	@Override
+	public boolean wasMutationInfected(int mutationId) {
+		Double distance = mutantDistances.get(mutationId);
+		return distance != null && distance <= 0.0;
+	}
+
 	/** {@inheritDoc} */
 	@Override
 	public Map<Integer, Double> getFalseDistancesSum() {
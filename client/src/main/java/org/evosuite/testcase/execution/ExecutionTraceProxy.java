@@ -401,6 +401,12 @@ public class ExecutionTraceProxy implements ExecutionTrace, Cloneable {
 		return trace.getUseDataObjects();
 	}
 
+	/** {@inheritDoc} */
+	@Override
+	public DefUseEventLog getDefUseEvents() {
+		return trace.getDefUseEvents();
+	}
+
 	/* (non-Javadoc)
 	 * @see org.evosuite.testcase.ExecutionTrace#hasFalseDistance(int)
 	 */
@@ -516,6 +522,12 @@ public class ExecutionTraceProxy implements ExecutionTrace, Cloneable {
 		return trace.wasMutationTouched(mutationId);
 	}
 
+	/** {@inheritDoc} */
+	@Override
+	public boolean wasMutationInfected(int mutationId) {
+		return trace.wasMutationInfected(mutationId);
+	}
+
 	/** {@inheritDoc} */
 	@Override
 	public List<BranchEval> getBranchesTrace() {
@@ -65,6 +65,26 @@ public class ExecutionTracer {
 	 */
 	private static volatile Thread currentThread = null;
 
+	/**
+	 * Tracers of the workers of the {@link ParallelTestCaseExecutor}. A worker
+	 * binds its own tracer to the thread driving it, and the test execution
+	 * thread (as well as any thread spawned by the SUT) inherits it
+	 */
+	private static final InheritableThreadLocal<ExecutionTracer> workerTracer = new InheritableThreadLocal<ExecutionTracer>();
+
+	/**
+	 * Only look up the thread local once a worker tracer was ever bound, to
+	 * keep the overhead of the sequential execution unchanged
+	 */
+	private static volatile boolean workerTracersInUse = false;
+
+	/**
+	 * Thread executing the test case of a worker tracer. This is the
+	 * counterpart of the static <code>currentThread</code> of the global
+	 * tracer
+	 */
+	private volatile Thread executionThread = null;
+
 	/**
 	 * <p>
 	 * setThread
@@ -74,7 +94,49 @@ public class ExecutionTracer {
 	 *            a {@link java.lang.Thread} object.
 	 */
 	public static void setThread(Thread thread) {
-		currentThread = thread;
+		ExecutionTracer tracer = getWorkerTracer();
+		if (tracer != null) {
+			tracer.executionThread = thread;
+		} else {
+			currentThread = thread;
+		}
+	}
+
+	/**
+	 * Create a new tracer that is independent of the global one. It only
+	 * receives the traces of the threads it is bound to with
+	 * {@link #bindToCurrentThread(ExecutionTracer)}
+	 * 
+	 * @return a new, disabled tracer
+	 */
+	public static ExecutionTracer createWorkerTracer() {
+		return new ExecutionTracer();
+	}
+
+	/**
+	 * Route all the calls of the current thread (and of the threads it
+	 * creates) to the given tracer
+	 * 
+	 * @param tracer
+	 *            a worker tracer
+	 */
+	public static void bindToCurrentThread(ExecutionTracer tracer) {
+		workerTracersInUse = true;
+		workerTracer.set(tracer);
+	}
+
+	/**
+	 * Route the calls of the current thread back to the global tracer
+	 */
+	public static void unbindFromCurrentThread() {
+		workerTracer.remove();
+	}
+
+	private static ExecutionTracer getWorkerTracer() {
+		if (!workerTracersInUse) {
+			return null;
+		}
+		return workerTracer.get();
 	}
 
 	/**
@@ -184,6 +246,12 @@ public class ExecutionTracer {
 	 * @return a {@link org.evosuite.testcase.execution.ExecutionTracer} object.
 	 */
 	public static ExecutionTracer getExecutionTracer() {
+		if (workerTracersInUse) {
+			ExecutionTracer tracer = workerTracer.get();
+			if (tracer != null) {
+				return tracer;
+			}
+		}
 		if (instance == null) {
 			instance = new ExecutionTracer();
 		}
@@ -210,6 +278,10 @@ public class ExecutionTracer {
 		if (!checkCallerThread) {
 			return false;
 		}
+		ExecutionTracer tracer = getWorkerTracer();
+		if (tracer != null) {
+			return Thread.currentThread() != tracer.executionThread;
+		}
 		if (currentThread == null) {
 			logger.error("CurrentThread has not been set!");
 			Map<Thread, StackTraceElement[]> map = Thread.getAllStackTraces();
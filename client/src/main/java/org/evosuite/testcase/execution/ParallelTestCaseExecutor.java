@@ -0,0 +1,328 @@
+/**
+ * Copyright (C) 2010-2015 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser Public License as published by the
+ * Free Software Foundation, either version 3.0 of the License, or (at your
+ * option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser Public License along
+ * with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase.execution;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+
+import org.evosuite.Properties;
+import org.evosuite.TestGenerationContext;
+import org.evosuite.ga.stoppingconditions.MaxStatementsStoppingCondition;
+import org.evosuite.instrumentation.InstrumentingClassLoader;
+import org.evosuite.instrumentation.ReplicatingClassLoader;
+import org.evosuite.runtime.LoopCounter;
+import org.evosuite.runtime.RuntimeSettings;
+import org.evosuite.runtime.classhandling.ClassResetter;
+import org.evosuite.runtime.sandbox.Sandbox;
+import org.evosuite.setup.TestCluster;
+import org.evosuite.testcase.DefaultTestCase;
+import org.evosuite.testcase.TestCase;
+import org.evosuite.testcase.TestChromosome;
+import org.evosuite.utils.LoggingUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * <p>
+ * Executes several test cases concurrently, on
+ * {@link Properties#NUM_PARALLEL_EXECUTORS} isolated workers.
+ * </p>
+ *
+ * <p>
+ * Each worker has its own {@link ReplicatingClassLoader} (and thus its own
+ * copy of the static state of the SUT), its own {@link ExecutionTracer} and its
+ * own {@link TestCaseExecutor}, which also resets the static state of the
+ * classes in the worker's class loader. Test cases are cloned and moved to the
+ * class loader of the worker before execution; the returned results refer to
+ * the original test cases.
+ * </p>
+ *
+ * <p>
+ * The virtual environment of the EvoSuite runtime (mocked JVM calls, file
+ * system, network, System.in) is global, so parallel execution is only used
+ * when none of it is enabled, and when no observers are registered on the
+ * {@link TestCaseExecutor}. Otherwise, tests are executed sequentially.
+ * </p>
+ */
+public class ParallelTestCaseExecutor {
+
+	private static final Logger logger = LoggerFactory.getLogger(ParallelTestCaseExecutor.class);
+
+	/**
+	 * Name used to define the threads that drive the workers
+	 */
+	public static final String WORKER_THREAD = "TEST_EXECUTION_WORKER";
+
+	private static ParallelTestCaseExecutor instance = null;
+
+	private static boolean warnedAboutFallback = false;
+
+	private final InstrumentingClassLoader sutClassLoader;
+
+	private final List<Worker> workers = new ArrayList<Worker>();
+
+	private final BlockingQueue<Worker> idleWorkers;
+
+	private final ExecutorService dispatcher;
+
+	private static class Worker {
+
+		private final ReplicatingClassLoader classLoader;
+
+		private final ExecutionTracer tracer;
+
+		/** The loops of the SUT are counted per test, so each worker has its own counter */
+		private final LoopCounter loopCounter;
+
+		private final TestCaseExecutor executor;
+
+		public Worker(InstrumentingClassLoader sutClassLoader) {
+			classLoader = new ReplicatingClassLoader(sutClassLoader);
+			tracer = ExecutionTracer.createWorkerTracer();
+			loopCounter = LoopCounter.createWorkerCounter();
+			executor = new TestCaseExecutor(classLoader);
+		}
+	}
+
+	private ParallelTestCaseExecutor(InstrumentingClassLoader sutClassLoader, int numWorkers) {
+		this.sutClassLoader = sutClassLoader;
+		idleWorkers = new LinkedBlockingQueue<Worker>();
+		for (int i = 0; i < numWorkers; i++) {
+			Worker worker = new Worker(sutClassLoader);
+			workers.add(worker);
+			idleWorkers.add(worker);
+		}
+		dispatcher = Executors.newFixedThreadPool(numWorkers, new ThreadFactory() {
+			private int counter = 0;
+
+			@Override
+			public Thread newThread(Runnable r) {
+				Thread thread = new Thread(r, WORKER_THREAD + "_" + counter++);
+				thread.setDaemon(true);
+				/*
+				 * The workers run EvoSuite code (e.g., static resets) while the
+				 * sandbox is on, so they need the same rights as the search thread
+				 */
+				Sandbox.addPriviligedThread(thread);
+				return thread;
+			}
+		});
+		logger.info("Created " + numWorkers + " parallel test executors");
+	}
+
+	/**
+	 * <p>
+	 * Getter for the field <code>instance</code>. A new instance is created if
+	 * the class loader of the SUT changed.
+	 * </p>
+	 *
+	 * @return a {@link ParallelTestCaseExecutor} object.
+	 */
+	public static synchronized ParallelTestCaseExecutor getInstance() {
+		InstrumentingClassLoader loader = TestGenerationContext.getInstance().getClassLoaderForSUT();
+		if (instance != null && instance.sutClassLoader != loader) {
+			pullDown();
+		}
+		if (instance == null) {
+			instance = new ParallelTestCaseExecutor(loader, Properties.NUM_PARALLEL_EXECUTORS);
+		}
+		return instance;
+	}
+
+	/**
+	 * Shut down all the workers
+	 */
+	public static synchronized void pullDown() {
+		if (instance != null) {
+			instance.dispatcher.shutdownNow();
+			for (Worker worker : instance.workers) {
+				worker.executor.shutdown();
+				ClassResetter.getInstance().removeClassLoader(worker.classLoader);
+			}
+			instance = null;
+		}
+	}
+
+	/**
+	 * Check whether tests can currently be executed in parallel
+	 *
+	 * @return true if parallel execution is enabled and safe
+	 */
+	public static boolean isParallelExecutionPossible() {
+		if (Properties.NUM_PARALLEL_EXECUTORS <= 1) {
+			return false;
+		}
+
+		String reason = null;
+		if (RuntimeSettings.mockJVMNonDeterminism || RuntimeSettings.useVFS
+				|| RuntimeSettings.useVNET || RuntimeSettings.useJEE) {
+			reason = "the virtual environment of the runtime is shared by all tests";
+		} else if (Properties.REPLACE_SYSTEM_IN) {
+			reason = "System.in is replaced by a shared stub";
+		} else if (Properties.TT) {
+			reason = "testability transformation uses a shared stack";
+		} else if (TestCaseExecutor.getInstance().hasObservers()) {
+			reason = "execution observers are registered";
+		}
+
+		if (reason != null) {
+			if (!warnedAboutFallback) {
+				LoggingUtils.getEvoLogger().info("* Executing tests sequentially, as " + reason);
+				warnedAboutFallback = true;
+			}
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Execute the given tests, in parallel if possible
+	 *
+	 * @param tests
+	 *            the tests to execute
+	 * @return the execution results, in the same order as the tests
+	 */
+	public static List<ExecutionResult> runTests(List<TestCase> tests) {
+		if (tests.size() > 1 && isParallelExecutionPossible()) {
+			return getInstance().execute(tests);
+		}
+
+		List<ExecutionResult> results = new ArrayList<ExecutionResult>();
+		for (TestCase test : tests) {
+			results.add(TestCaseExecutor.runTest(test));
+		}
+		return results;
+	}
+
+	/**
+	 * Execute all the tests of the given chromosomes that changed since their
+	 * last execution, and store the results in the chromosomes. Fitness
+	 * functions will then re-use these results instead of executing the tests
+	 * one at a time.
+	 *
+	 * @param chromosomes
+	 *            a {@link java.util.List} object.
+	 */
+	public static void executeChanged(List<? extends TestChromosome> chromosomes) {
+		if (!isParallelExecutionPossible()) {
+			return;
+		}
+
+		List<TestChromosome> changed = new ArrayList<TestChromosome>();
+		List<TestCase> tests = new ArrayList<TestCase>();
+		for (TestChromosome chromosome : chromosomes) {
+			if (chromosome.isChanged() || chromosome.getLastExecutionResult() == null) {
+				changed.add(chromosome);
+				tests.add(chromosome.getTestCase());
+			}
+		}
+		if (tests.size() < 2) {
+			return;
+		}
+
+		List<ExecutionResult> results = getInstance().execute(tests);
+		for (int i = 0; i < changed.size(); i++) {
+			changed.get(i).setLastExecutionResult(results.get(i));
+			changed.get(i).setChanged(false);
+		}
+	}
+
+	/**
+	 * Execute the given tests on the workers. The sandbox is set up once for
+	 * the whole batch.
+	 *
+	 * @param tests
+	 *            the tests to execute
+	 * @return the execution results, in the same order as the tests
+	 */
+	public List<ExecutionResult> execute(List<TestCase> tests) {
+		List<Future<ExecutionResult>> futures = new ArrayList<Future<ExecutionResult>>();
+		List<ExecutionResult> results = new ArrayList<ExecutionResult>();
+
+		Sandbox.goingToExecuteSUTCode();
+		try {
+			for (TestCase test : tests) {
+				futures.add(dispatcher.submit(new WorkerTask(test)));
+			}
+			for (Future<ExecutionResult> future : futures) {
+				results.add(future.get());
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new Error(e);
+		} catch (ExecutionException e) {
+			logger.error("ExecutionException (this is likely a serious error in the framework)", e);
+			if (e.getCause() instanceof Error) {
+				throw (Error) e.getCause();
+			}
+			throw new Error(e.getCause());
+		} finally {
+			for (Future<ExecutionResult> future : futures) {
+				future.cancel(true);
+			}
+			Sandbox.doneWithExecutingSUTCode();
+		}
+
+		for (ExecutionResult result : results) {
+			MaxStatementsStoppingCondition.statementsExecuted(result.getExecutedStatements());
+		}
+		return results;
+	}
+
+	private class WorkerTask implements Callable<ExecutionResult> {
+
+		private final TestCase test;
+
+		public WorkerTask(TestCase test) {
+			this.test = test;
+		}
+
+		@Override
+		public ExecutionResult call() throws Exception {
+			Worker worker = idleWorkers.take();
+			ExecutionTracer.bindToCurrentThread(worker.tracer);
+			LoopCounter.bindToCurrentThread(worker.loopCounter);
+			try {
+				TestCase copy = test.clone();
+				if (copy instanceof DefaultTestCase) {
+					((DefaultTestCase) copy).changeClassLoader(worker.classLoader);
+				}
+				ExecutionResult result = worker.executor.execute(copy);
+				synchronized (ParallelTestCaseExecutor.this) {
+					TestCluster.getInstance().handleRuntimeAccesses(copy);
+				}
+				result.setTest(test);
+				return result;
+			} finally {
+				ExecutionTracer.unbindFromCurrentThread();
+				LoopCounter.unbindFromCurrentThread();
+				idleWorkers.add(worker);
+			}
+		}
+	}
+}
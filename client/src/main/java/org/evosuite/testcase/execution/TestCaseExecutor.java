@@ -95,6 +95,12 @@ public class TestCaseExecutor implements ThreadFactory {
 
 	private ThreadGroup threadGroup = null;
 
+	/**
+	 * Class loader of a worker of the {@link ParallelTestCaseExecutor}, or
+	 * <code>null</code> for the singleton executor
+	 */
+	private final ClassLoader workerClassLoader;
+
 	// private static ExecutorService executor =
 	// Executors.newCachedThreadPool();
 
@@ -161,10 +167,38 @@ public class TestCaseExecutor implements ThreadFactory {
 	}
 
 	private TestCaseExecutor() {
+		this(null);
+	}
+
+	/**
+	 * Executor used by a worker of the {@link ParallelTestCaseExecutor}. Such
+	 * an executor does not set up the sandbox, as this is done once for all the
+	 * tests executed in parallel
+	 * 
+	 * @param workerClassLoader
+	 *            the class loader used as context class loader of the test
+	 *            execution thread
+	 */
+	TestCaseExecutor(ClassLoader workerClassLoader) {
+		this.workerClassLoader = workerClassLoader;
 		executor = Executors.newSingleThreadExecutor(this);
 		newObservers();
 	}
 
+	private boolean isWorker() {
+		return workerClassLoader != null;
+	}
+
+	/**
+	 * Shut down the thread of a worker executor
+	 */
+	void shutdown() {
+		if (executor != null) {
+			executor.shutdownNow();
+			executor = null;
+		}
+	}
+
 	public static class TimeoutExceeded extends RuntimeException {
 		private static final long serialVersionUID = -5314228165430676893L;
 	}
@@ -190,6 +224,7 @@ public class TestCaseExecutor implements ThreadFactory {
 				instance.executor = null;
 			}
 		}
+		ParallelTestCaseExecutor.pullDown();
 	}
 
 	/**
@@ -254,6 +289,17 @@ public class TestCaseExecutor implements ThreadFactory {
 		observers = new LinkedHashSet<ExecutionObserver>();
 	}
 
+	/**
+	 * <p>
+	 * hasObservers
+	 * </p>
+	 * 
+	 * @return true if any observer is registered
+	 */
+	public boolean hasObservers() {
+		return !observers.isEmpty();
+	}
+
 	private void resetObservers() {
 		for (ExecutionObserver observer : observers) {
 			observer.clear();
@@ -262,7 +308,14 @@ public class TestCaseExecutor implements ThreadFactory {
 
 	/**
 	 * Execute a test case on a new scope
-	 * 
+	 *
+	 * <p>
+	 * Tests are always executed from their first statement, even if only the
+	 * last statements were mutated: the scope holds references to live SUT
+	 * objects, which later statements modify, so the state after a prefix of
+	 * the test cannot be restored without executing that prefix again.
+	 * </p>
+	 *
 	 * @param tc
 	 *            a {@link org.evosuite.testcase.TestCase} object.
 	 * @return a {@link org.evosuite.testcase.execution.ExecutionResult} object.
@@ -275,7 +328,13 @@ public class TestCaseExecutor implements ThreadFactory {
 	private void resetClasses(TestCase tc, ExecutionResult result) {
 		List<String> classesToReset;
 		if (ResetManager.getInstance().getResetAllClasses()) {
-			ResetExecutor.getInstance().resetAllClasses();
+			if (isWorker()) {
+				ResetExecutor.getInstance().resetClassesOfWorker(
+						ResetManager.getInstance().getClassResetOrder(),
+						workerClassLoader);
+			} else {
+				ResetExecutor.getInstance().resetAllClasses();
+			}
 		} else {
 			// reset only classes that were "selected" during trace execution
 			ExecutionTrace trace = result.getTrace();
@@ -287,7 +346,7 @@ public class TestCaseExecutor implements ThreadFactory {
 			// sort classes to reset
 			Collections.sort(classesToReset);
 
-			ClassLoader loader = null;
+			ClassLoader loader = workerClassLoader;
 			if (tc instanceof DefaultTestCase) {
 				DefaultTestCase defaultTestCase = (DefaultTestCase) tc;
 				ClassLoader changedClassLoader = defaultTestCase
@@ -298,6 +357,9 @@ public class TestCaseExecutor implements ThreadFactory {
 			}
 			if (loader == null) {
 				ResetExecutor.getInstance().resetClasses(classesToReset);
+			} else if (isWorker()) {
+				ResetExecutor.getInstance().resetClassesOfWorker(
+						classesToReset, loader);
 			} else {
 				ResetExecutor.getInstance()
 						.resetClasses(classesToReset, loader);
@@ -415,17 +477,22 @@ public class TestCaseExecutor implements ThreadFactory {
 
 			ExecutionResult result = null;
 
-			// important to call it before setting up the sandbox
-			SystemInUtil.getInstance().initForTestCase();
-
-			Sandbox.goingToExecuteSUTCode();
-			TestGenerationContext.getInstance().goingToExecuteSUTCode();
-			try {
+			if (isWorker()) {
 				result = handler.execute(callable, executor, timeout,
 						Properties.CPU_TIMEOUT);
-			} finally {
-				Sandbox.doneWithExecutingSUTCode();
-				TestGenerationContext.getInstance().doneWithExecutingSUTCode();
+			} else {
+				// important to call it before setting up the sandbox
+				SystemInUtil.getInstance().initForTestCase();
+
+				Sandbox.goingToExecuteSUTCode();
+				TestGenerationContext.getInstance().goingToExecuteSUTCode();
+				try {
+					result = handler.execute(callable, executor, timeout,
+							Properties.CPU_TIMEOUT);
+				} finally {
+					Sandbox.doneWithExecutingSUTCode();
+					TestGenerationContext.getInstance().doneWithExecutingSUTCode();
+				}
 			}
 
 			PermissionStatistics.getInstance().countThreads(
@@ -444,8 +511,7 @@ public class TestCaseExecutor implements ThreadFactory {
 			 */
 
 			long endTime = System.currentTimeMillis();
-			timeExecuted += endTime - startTime;
-			testsExecuted++;
+			countExecution(endTime - startTime);
 			return result;
 		} catch (ThreadDeath t) {
 			logger.warn("Caught ThreadDeath during test execution");
@@ -582,10 +648,17 @@ public class TestCaseExecutor implements ThreadFactory {
 			if (threadGroup != null)
 				PermissionStatistics.getInstance().countThreads(
 						threadGroup.activeCount());
-			TestCluster.getInstance().handleRuntimeAccesses(tc);
+			// workers leave this to the thread collecting their results
+			if (!isWorker())
+				TestCluster.getInstance().handleRuntimeAccesses(tc);
 		}
 	}
 
+	private static synchronized void countExecution(long time) {
+		timeExecuted += time;
+		testsExecuted++;
+	}
+
 	private boolean isInStaticInit() {
 		for (StackTraceElement elem : currentThread.getStackTrace()) {
 			if (elem.getMethodName().equals("<clinit>"))
@@ -641,8 +714,12 @@ public class TestCaseExecutor implements ThreadFactory {
 		currentThread = new Thread(threadGroup, r);
 		currentThread.setName(TEST_EXECUTION_THREAD + "_" + threadCounter);
 		threadCounter++;
-		currentThread.setContextClassLoader(TestGenerationContext.getInstance()
-				.getClassLoaderForSUT());
+		if (isWorker()) {
+			currentThread.setContextClassLoader(workerClassLoader);
+		} else {
+			currentThread.setContextClassLoader(TestGenerationContext
+					.getInstance().getClassLoaderForSUT());
+		}
 		ExecutionTracer.setThread(currentThread);
 		return currentThread;
 	}
@@ -22,6 +22,7 @@
  */
 package org.evosuite.testcase.localsearch;
 
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 import org.evosuite.ga.ConstructionFailedException;
@@ -52,8 +53,8 @@ public class NullReferenceSearch extends StatementLocalSearch {
 		TestCase oldTest = newTest.clone();
 		ExecutionResult oldResult = test.getLastExecutionResult();
 		//double oldFitness = test.getFitness();
-		Map<FitnessFunction<?>, Double> oldFitnesses = test.getFitnessValues();
-		Map<FitnessFunction<?>, Double> oldLastFitnesses = test.getPreviousFitnessValues();
+		Map<FitnessFunction<?>, Double> oldFitnesses = new LinkedHashMap<FitnessFunction<?>, Double>(test.getFitnessValues());
+		Map<FitnessFunction<?>, Double> oldLastFitnesses = new LinkedHashMap<FitnessFunction<?>, Double>(test.getPreviousFitnessValues());
 
 		try {
 			TestFactory.getInstance().attemptGeneration(newTest,
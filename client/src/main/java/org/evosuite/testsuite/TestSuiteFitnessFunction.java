@@ -26,8 +26,10 @@ import org.evosuite.ga.FitnessFunction;
 import org.evosuite.ga.stoppingconditions.MaxStatementsStoppingCondition;
 import org.evosuite.testcase.ExecutableChromosome;
 import org.evosuite.testcase.TestCase;
+import org.evosuite.testcase.TestChromosome;
 import org.evosuite.testcase.execution.ExecutionResult;
 import org.evosuite.testcase.execution.ExecutionTracer;
+import org.evosuite.testcase.execution.ParallelTestCaseExecutor;
 import org.evosuite.testcase.execution.TestCaseExecutor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -92,6 +94,10 @@ public abstract class TestSuiteFitnessFunction extends
 		CurrentChromosomeTracker.getInstance().modification(suite);
 		List<ExecutionResult> results = new ArrayList<ExecutionResult>();
 
+		if (canExecuteTestsInParallel()) {
+			executeChangedTestsInParallel(suite);
+		}
+
 		for (ExecutableChromosome chromosome : suite.getTestChromosomes()) {
 			// Only execute test if it hasn't been changed
 			if (chromosome.isChanged() || chromosome.getLastExecutionResult() == null) {
@@ -114,6 +120,33 @@ public abstract class TestSuiteFitnessFunction extends
 
 
 
+	/**
+	 * Whether the tests of a suite can be executed by the
+	 * {@link ParallelTestCaseExecutor}, rather than one at a time through
+	 * {@link #runTest(TestCase)}. Fitness functions that need a special
+	 * execution of the tests should override this.
+	 * 
+	 * @return true by default
+	 */
+	protected boolean canExecuteTestsInParallel() {
+		return true;
+	}
+
+	private void executeChangedTestsInParallel(
+	        AbstractTestSuiteChromosome<? extends ExecutableChromosome> suite) {
+		if (!ParallelTestCaseExecutor.isParallelExecutionPossible())
+			return;
+
+		List<TestChromosome> changed = new ArrayList<TestChromosome>();
+		for (ExecutableChromosome chromosome : suite.getTestChromosomes()) {
+			// Subclasses of TestChromosome might execute differently
+			if (chromosome.getClass() != TestChromosome.class)
+				return;
+			changed.add((TestChromosome) chromosome);
+		}
+		ParallelTestCaseExecutor.executeChanged(changed);
+	}
+
 	/* (non-Javadoc)
 	 * @see org.evosuite.ga.FitnessFunction#isMaximizationFunction()
 	 */
@@ -24,13 +24,21 @@ package org.evosuite.testsuite.localsearch;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.PriorityQueue;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
 
 import org.evosuite.Properties;
 import org.evosuite.ga.Chromosome;
@@ -93,6 +101,20 @@ public class TestSuiteDSE {
 
 	private final Collection<TestBranchPair> unsolvedBranchConditions;
 
+	/**
+	 * Name used to define the threads that solve constraints concurrently
+	 */
+	public static final String SOLVER_THREAD = "DSE_SOLVER";
+
+	/**
+	 * Only used while DSE is applied with
+	 * {@link Properties#DSE_PARALLEL_SOLVERS} &gt; 1
+	 */
+	private ExecutorService solverPool = null;
+
+	/** Fitness of the test suite DSE is currently applied on */
+	private double currentFitness;
+
 	private class TestBranchPair implements Comparable<TestBranchPair> {
 		TestChromosome test;
 		BranchCondition branch;
@@ -273,6 +295,43 @@ public class TestSuiteDSE {
 		return !unsolvedBranchConditions.isEmpty();
 	}
 
+	/**
+	 * Get up to <code>maxSize</code> candidates for negation that belong to
+	 * different tests. The path constraints of a test share their variables,
+	 * so candidates of a test that is already part of the batch are put back
+	 * for a later batch. At most <code>maxSize</code> candidates are put back,
+	 * so that the batch is not filled by going through all the candidates when
+	 * most of them belong to the same tests.
+	 * 
+	 * @param maxSize
+	 * @return
+	 */
+	private List<TestBranchPair> getNextBranchConditions(int maxSize) {
+		List<TestBranchPair> batch = new ArrayList<TestBranchPair>();
+		List<TestBranchPair> deferred = new ArrayList<TestBranchPair>();
+		Set<TestChromosome> tests = Collections.newSetFromMap(new IdentityHashMap<TestChromosome, Boolean>());
+
+		while (batch.size() < maxSize && deferred.size() < maxSize && hasNextBranchCondition()) {
+			TestBranchPair pair = getNextBranchCondition();
+			if (tests.add(pair.test)) {
+				batch.add(pair);
+			} else {
+				deferred.add(pair);
+				if (Properties.DSE_NEGATE_ALL_CONDITIONS == false) {
+					String index = getBranchIndex(pair.branch);
+					solutionAttempts.put(index, solutionAttempts.get(index) - 1);
+				}
+			}
+		}
+
+		if (Properties.DSE_RANK_BRANCH_CONDITIONS) {
+			unsolvedBranchConditions.addAll(deferred);
+		} else {
+			((ArrayList<TestBranchPair>) unsolvedBranchConditions).addAll(0, deferred);
+		}
+		return batch;
+	}
+
 	/**
 	 * Generate new constraint and ask solver for solution
 	 * 
@@ -280,11 +339,27 @@ public class TestSuiteDSE {
 	 * @param test
 	 * @return
 	 */
-	// @SuppressWarnings("rawtypes")
-	// @SuppressWarnings("rawtypes")
-	@SuppressWarnings({ "unchecked", "rawtypes" })
 	private TestCase negateCondition(Set<Constraint<?>> reachingConstraints, Constraint<?> localConstraint,
 			TestCase test) {
+		List<Constraint<?>> constraints = buildQuery(reachingConstraints, localConstraint);
+		if (constraints == null)
+			return null;
+
+		SolverQuery query = new SolverQuery(constraints);
+		query.call();
+		return applySolution(query, test);
+	}
+
+	/**
+	 * Generate the constraints that need to be solved to negate the local
+	 * constraint
+	 * 
+	 * @param reachingConstraints
+	 * @param localConstraint
+	 * @return the constraints, or null if the negated constraint is not
+	 *         solveable
+	 */
+	private List<Constraint<?>> buildQuery(Set<Constraint<?>> reachingConstraints, Constraint<?> localConstraint) {
 		List<Constraint<?>> constraints = new LinkedList<Constraint<?>>();
 		constraints.addAll(reachingConstraints);
 
@@ -315,17 +390,53 @@ public class TestSuiteDSE {
 
 		nrCurrConstraints = constraints.size();
 		nrConstraints += nrCurrConstraints;
+		return constraints;
+	}
 
-		logger.info("Applying local search");
-		Solver solver = SolverFactory.getInstance().buildNewSolver();
-		DSEStats.reportNewConstraints(constraints);
+	/**
+	 * A call to the solver (through the {@link SolverCache}). Queries on the
+	 * path constraints of different tests do not share any variables, so they
+	 * can be solved concurrently.
+	 */
+	private static class SolverQuery implements Callable<SolverResult> {
 
-		long startSolvingTime = System.currentTimeMillis();
-		SolverCache solverCache = SolverCache.getInstance();
-		SolverResult solverResult = solverCache.solve(solver, constraints);
-		long estimatedSolvingTime = System.currentTimeMillis() - startSolvingTime;
-		DSEStats.reportNewSolvingTime(estimatedSolvingTime);
+		private final List<Constraint<?>> constraints;
 
+		private SolverResult result = null;
+
+		private long solvingTime = 0;
+
+		SolverQuery(List<Constraint<?>> constraints) {
+			this.constraints = constraints;
+		}
+
+		@Override
+		public SolverResult call() {
+			logger.info("Applying local search");
+			Solver solver = SolverFactory.getInstance().buildNewSolver();
+
+			long startSolvingTime = System.currentTimeMillis();
+			SolverCache solverCache = SolverCache.getInstance();
+			result = solverCache.solve(solver, constraints);
+			solvingTime = System.currentTimeMillis() - startSolvingTime;
+			return result;
+		}
+	}
+
+	/**
+	 * Report the statistics of a solved query and, if a solution was found,
+	 * apply it to a copy of the test
+	 * 
+	 * @param query
+	 * @param test
+	 * @return the new test, or null if there is no solution
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private TestCase applySolution(SolverQuery query, TestCase test) {
+		DSEStats.reportNewConstraints(query.constraints);
+		DSEStats.reportNewSolvingTime(query.solvingTime);
+
+		SolverResult solverResult = query.result;
 		if (solverResult == null) {
 			logger.info("Found no solution");
 			/* Timeout, parseException, error, trivialSolution, etc. */
@@ -506,53 +617,32 @@ public class TestSuiteDSE {
 		createPathConstraints(expandedTests);
 		// fitness.getFitness(expandedTests);
 
-		double originalFitness = getFitness(individual);
-
-		while (hasNextBranchCondition() && !LocalSearchBudget.getInstance().isFinished()) {
-			logger.info("Branches remaining: " + unsolvedBranchConditions.size());
+		currentFitness = getFitness(individual);
 
-			TestBranchPair next = getNextBranchCondition();
-			BranchCondition branch = next.branch;
-
-			TestCase newTest = negateCondition(branch.getReachingConstraints(), branch.getLocalConstraint(),
-					next.test.getTestCase());
+		if (Properties.DSE_PARALLEL_SOLVERS > 1) {
+			solverPool = createSolverPool(Properties.DSE_PARALLEL_SOLVERS);
+		}
+		try {
+			while (hasNextBranchCondition() && !LocalSearchBudget.getInstance().isFinished()) {
+				logger.info("Branches remaining: " + unsolvedBranchConditions.size());
 
-			if (newTest != null) {
-				logger.info("Found new test: " + newTest.toCode());
-				TestChromosome newTestChromosome = new TestChromosome();
-				newTestChromosome.setTestCase(newTest);
-				expandedTests.addTest(newTestChromosome);
+				if (solverPool == null) {
+					TestBranchPair next = getNextBranchCondition();
+					BranchCondition branch = next.branch;
 
-				if (Properties.DSE_KEEP_ALL_TESTS) {
-					updatePathConstraints(newTestChromosome);
-					calculateUncoveredBranches();
-					individual.addTest(newTest);
-					wasSuccess = true;
+					TestCase newTest = negateCondition(branch.getReachingConstraints(), branch.getLocalConstraint(),
+							next.test.getTestCase());
+					wasSuccess |= addNewTest(individual, expandedTests, next, newTest);
 				} else {
-
-					if (getFitness(expandedTests) < originalFitness) {
-						logger.info("New test improves fitness to {}", getFitness(expandedTests));
-						DSEStats.reportNewTestUseful();
-						wasSuccess = true;
-
-						// no need to clone so we can keep executionresult
-						updatePathConstraints(newTestChromosome);
-						calculateUncoveredBranches(newTestChromosome);
-						individual.addTest(newTest);
-						originalFitness = getFitness(expandedTests);
-						// TODO: Cancel on fitness 0 - would need to know if
-						// ZeroFitness is a stopping condition
-					} else {
-						logger.info("New test does not improve fitness");
-						DSEStats.reportNewTestUnuseful();
-						expandedTests.deleteTest(newTest);
-					}
+					wasSuccess |= negateConditionsInParallel(individual, expandedTests);
+					if (Thread.currentThread().isInterrupted())
+						break;
 				}
-				success++;
-			} else {
-				unsolvableBranchConditions.add(branch);
-				failed++;
-				logger.info("Failed to find new test.");
+			}
+		} finally {
+			if (solverPool != null) {
+				solverPool.shutdownNow();
+				solverPool = null;
 			}
 		}
 		logger.info("Finished DSE");
@@ -562,6 +652,132 @@ public class TestSuiteDSE {
 		return wasSuccess;
 	}
 
+	/**
+	 * Negate a batch of branch conditions of different tests, solving the
+	 * constraints concurrently. The new tests are evaluated and merged into the
+	 * test suite one at a time, in the order of the batch, as concolic
+	 * execution and fitness evaluation use global state.
+	 * 
+	 * @param individual
+	 * @param expandedTests
+	 * @return true if a new test was added to the individual
+	 */
+	private boolean negateConditionsInParallel(TestSuiteChromosome individual, TestSuiteChromosome expandedTests) {
+		List<TestBranchPair> batch = getNextBranchConditions(Properties.DSE_PARALLEL_SOLVERS);
+		List<SolverQuery> queries = new ArrayList<SolverQuery>();
+		List<Future<SolverResult>> futures = new ArrayList<Future<SolverResult>>();
+
+		for (TestBranchPair pair : batch) {
+			List<Constraint<?>> constraints = buildQuery(pair.branch.getReachingConstraints(),
+					pair.branch.getLocalConstraint());
+			if (constraints == null) {
+				queries.add(null);
+			} else {
+				SolverQuery query = new SolverQuery(constraints);
+				queries.add(query);
+				futures.add(solverPool.submit(query));
+			}
+		}
+
+		try {
+			for (Future<SolverResult> future : futures) {
+				try {
+					future.get();
+				} catch (ExecutionException e) {
+					// the query then has no result, as if the solver had failed
+					logger.error("Error while solving constraints", e.getCause());
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			for (Future<SolverResult> future : futures) {
+				future.cancel(true);
+			}
+			// solvers that did not stop yet may still write to the queries
+			return false;
+		}
+
+		boolean wasSuccess = false;
+		for (int i = 0; i < batch.size(); i++) {
+			TestBranchPair pair = batch.get(i);
+			SolverQuery query = queries.get(i);
+			TestCase newTest = null;
+			if (query != null) {
+				newTest = applySolution(query, pair.test.getTestCase());
+			}
+			wasSuccess |= addNewTest(individual, expandedTests, pair, newTest);
+		}
+		return wasSuccess;
+	}
+
+	/**
+	 * Add the test generated by negating a branch condition to the test suite,
+	 * if it is useful
+	 * 
+	 * @param individual
+	 * @param expandedTests
+	 * @param pair
+	 *            the negated branch condition
+	 * @param newTest
+	 *            the new test, or null if no test could be generated
+	 * @return true if the test was added to the individual
+	 */
+	private boolean addNewTest(TestSuiteChromosome individual, TestSuiteChromosome expandedTests,
+			TestBranchPair pair, TestCase newTest) {
+		boolean wasSuccess = false;
+		if (newTest != null) {
+			logger.info("Found new test: " + newTest.toCode());
+			TestChromosome newTestChromosome = new TestChromosome();
+			newTestChromosome.setTestCase(newTest);
+			expandedTests.addTest(newTestChromosome);
+
+			if (Properties.DSE_KEEP_ALL_TESTS) {
+				updatePathConstraints(newTestChromosome);
+				calculateUncoveredBranches();
+				individual.addTest(newTest);
+				wasSuccess = true;
+			} else {
+
+				if (getFitness(expandedTests) < currentFitness) {
+					logger.info("New test improves fitness to {}", getFitness(expandedTests));
+					DSEStats.reportNewTestUseful();
+					wasSuccess = true;
+
+					// no need to clone so we can keep executionresult
+					updatePathConstraints(newTestChromosome);
+					calculateUncoveredBranches(newTestChromosome);
+					individual.addTest(newTest);
+					currentFitness = getFitness(expandedTests);
+					// TODO: Cancel on fitness 0 - would need to know if
+					// ZeroFitness is a stopping condition
+				} else {
+					logger.info("New test does not improve fitness");
+					DSEStats.reportNewTestUnuseful();
+					expandedTests.deleteTest(newTest);
+				}
+			}
+			success++;
+		} else {
+			unsolvableBranchConditions.add(pair.branch);
+			failed++;
+			logger.info("Failed to find new test.");
+		}
+		return wasSuccess;
+	}
+
+	private static ExecutorService createSolverPool(int numThreads) {
+		return Executors.newFixedThreadPool(numThreads, new ThreadFactory() {
+			private int counter = 0;
+
+			@Override
+			public Thread newThread(Runnable r) {
+				Thread thread = new Thread(r, SOLVER_THREAD + "_" + counter++);
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+	}
+
 	private void calculateUncoveredBranches(TestChromosome newTestChromosome) {
 
 		if (Properties.DSE_NEGATE_ALL_CONDITIONS == true) {
@@ -0,0 +1,275 @@
+/**
+ * Copyright (C) 2010-2015 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser Public License as published by the
+ * Free Software Foundation, either version 3.0 of the License, or (at your
+ * option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser Public License along
+ * with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.utils;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * <p>
+ * Base class of maps with <code>int</code> keys that keep their entries in
+ * arrays indexed by key, rather than in a hash table of boxed objects.
+ * </p>
+ *
+ * <p>
+ * The arrays cover the range between the smallest and the largest key that was
+ * added, and grow as needed, so these maps only make sense for dense keys such
+ * as the ids of branches or the lines of a method. Subclasses provide
+ * primitive accessors that do not allocate; the {@link Map} interface is
+ * implemented on top of them, and iterates over the entries in increasing
+ * order of keys.
+ * </p>
+ *
+ * @param <V>
+ *            the boxed type of the values
+ */
+public abstract class AbstractIntArrayMap<V> extends AbstractMap<Integer, V> {
+
+	private static final int MAX_LENGTH = Integer.MAX_VALUE - 8;
+
+	/** The key stored at index 0 */
+	protected int offset = 0;
+
+	/** Which indices hold a value */
+	protected boolean[] present;
+
+	protected int size = 0;
+
+	protected AbstractIntArrayMap(int capacity) {
+		present = new boolean[capacity];
+	}
+
+	protected AbstractIntArrayMap(AbstractIntArrayMap<V> other) {
+		offset = other.offset;
+		present = other.present.clone();
+		size = other.size;
+	}
+
+	/**
+	 * Make the keys of this map those of <code>other</code>; subclasses copy
+	 * the values
+	 */
+	protected void copyKeysFrom(AbstractIntArrayMap<V> other) {
+		offset = other.offset;
+		present = other.present.clone();
+		size = other.size;
+	}
+
+	/**
+	 * Replace the value array with one of the given length, where the old
+	 * values start at index <code>shift</code>
+	 */
+	protected abstract void resizeValues(int shift, int length);
+
+	protected abstract V getValueAt(int index);
+
+	protected abstract void setValueAt(int index, V value);
+
+	/**
+	 * Index of the given key, or -1 if the key is outside of the arrays
+	 */
+	protected final int indexOf(int key) {
+		long index = (long) key - offset;
+		if (index < 0 || index >= present.length)
+			return -1;
+		return (int) index;
+	}
+
+	/**
+	 * Index of the given key, growing the arrays if needed
+	 */
+	protected final int slotOf(int key) {
+		int index = indexOf(key);
+		if (index >= 0)
+			return index;
+
+		if (size == 0) {
+			// nothing to keep, so just move the window to the new key
+			Arrays.fill(present, false);
+			offset = key;
+			if (present.length > 0)
+				return 0;
+		}
+
+		long low = Math.min((long) offset, key);
+		long high = Math.max((long) offset + present.length - 1, key);
+		long length = Math.max(high - low + 1, 2L * present.length);
+		if (length > MAX_LENGTH)
+			throw new IllegalArgumentException("Key " + key
+			        + " is too far from the other keys of the map");
+
+		// grow in the direction of the new key
+		int newOffset = key < offset ? (int) (high - length + 1) : offset;
+		int shift = offset - newOffset;
+		boolean[] newPresent = new boolean[(int) length];
+		System.arraycopy(present, 0, newPresent, shift, present.length);
+		present = newPresent;
+		resizeValues(shift, (int) length);
+		offset = newOffset;
+		return key - offset;
+	}
+
+	/**
+	 * Mark the given index as holding a value
+	 */
+	protected final void markPresent(int index) {
+		if (!present[index]) {
+			present[index] = true;
+			size++;
+		}
+	}
+
+	/**
+	 * <p>
+	 * Check whether the given key has a value, without boxing
+	 * </p>
+	 *
+	 * @param key
+	 *            a int.
+	 * @return a boolean.
+	 */
+	public boolean containsKey(int key) {
+		int index = indexOf(key);
+		return index >= 0 && present[index];
+	}
+
+	/**
+	 * <p>
+	 * Get the smallest key that has a value, without boxing
+	 * </p>
+	 *
+	 * @return a int.
+	 * @throws NoSuchElementException
+	 *             if the map is empty
+	 */
+	public int firstKey() {
+		for (int i = 0; i < present.length; i++) {
+			if (present[i])
+				return i + offset;
+		}
+		throw new NoSuchElementException("The map is empty");
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return key instanceof Integer && containsKey(((Integer) key).intValue());
+	}
+
+	@Override
+	public V get(Object key) {
+		if (!(key instanceof Integer))
+			return null;
+		int index = indexOf((Integer) key);
+		if (index < 0 || !present[index])
+			return null;
+		return getValueAt(index);
+	}
+
+	@Override
+	public V put(Integer key, V value) {
+		if (value == null)
+			throw new NullPointerException("Null values are not supported");
+		int index = slotOf(key);
+		V previous = present[index] ? getValueAt(index) : null;
+		setValueAt(index, value);
+		markPresent(index);
+		return previous;
+	}
+
+	@Override
+	public V remove(Object key) {
+		if (!(key instanceof Integer))
+			return null;
+		int index = indexOf((Integer) key);
+		if (index < 0 || !present[index])
+			return null;
+		V previous = getValueAt(index);
+		present[index] = false;
+		size--;
+		return previous;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public void clear() {
+		Arrays.fill(present, false);
+		size = 0;
+	}
+
+	@Override
+	public Set<Map.Entry<Integer, V>> entrySet() {
+		return new AbstractSet<Map.Entry<Integer, V>>() {
+			@Override
+			public Iterator<Map.Entry<Integer, V>> iterator() {
+				return new EntryIterator();
+			}
+
+			@Override
+			public int size() {
+				return size;
+			}
+		};
+	}
+
+	private class EntryIterator implements Iterator<Map.Entry<Integer, V>> {
+
+		private int next = advance(0);
+
+		private int last = -1;
+
+		private int advance(int from) {
+			while (from < present.length && !present[from])
+				from++;
+			return from;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return next < present.length;
+		}
+
+		@Override
+		public Map.Entry<Integer, V> next() {
+			if (!hasNext())
+				throw new NoSuchElementException();
+			last = next;
+			next = advance(next + 1);
+			return new AbstractMap.SimpleImmutableEntry<Integer, V>(last + offset,
+			        getValueAt(last));
+		}
+
+		@Override
+		public void remove() {
+			if (last < 0 || !present[last])
+				throw new IllegalStateException();
+			present[last] = false;
+			size--;
+		}
+	}
+}
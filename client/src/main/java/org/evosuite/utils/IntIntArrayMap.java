@@ -0,0 +1,185 @@
+/**
+ * Copyright (C) 2010-2015 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser Public License as published by the
+ * Free Software Foundation, either version 3.0 of the License, or (at your
+ * option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser Public License along
+ * with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.utils;
+
+import java.util.NoSuchElementException;
+
+/**
+ * <p>
+ * A map from <code>int</code> to <code>int</code> backed by arrays indexed by
+ * key. See {@link AbstractIntArrayMap}.
+ * </p>
+ */
+public class IntIntArrayMap extends AbstractIntArrayMap<Integer> {
+
+	private int[] values;
+
+	/**
+	 * <p>
+	 * Constructor for IntIntArrayMap.
+	 * </p>
+	 */
+	public IntIntArrayMap() {
+		this(0);
+	}
+
+	/**
+	 * <p>
+	 * Constructor for IntIntArrayMap, with room for the keys from 0 to
+	 * <code>capacity - 1</code>.
+	 * </p>
+	 *
+	 * @param capacity
+	 *            a int.
+	 */
+	public IntIntArrayMap(int capacity) {
+		super(capacity);
+		values = new int[capacity];
+	}
+
+	/**
+	 * <p>
+	 * Copy constructor.
+	 * </p>
+	 *
+	 * @param other
+	 *            a {@link IntIntArrayMap} object.
+	 */
+	public IntIntArrayMap(IntIntArrayMap other) {
+		super(other);
+		values = other.values.clone();
+	}
+
+	/**
+	 * <p>
+	 * Replace the content of this map with a copy of <code>other</code>
+	 * </p>
+	 *
+	 * @param other
+	 *            a {@link IntIntArrayMap} object.
+	 */
+	public void copyFrom(IntIntArrayMap other) {
+		if (other == this)
+			return;
+		copyKeysFrom(other);
+		values = other.values.clone();
+	}
+
+	/**
+	 * <p>
+	 * Get the value of the given key
+	 * </p>
+	 *
+	 * @param key
+	 *            a int.
+	 * @return a int.
+	 * @throws NoSuchElementException
+	 *             if the key has no value
+	 */
+	public int getInt(int key) {
+		int index = indexOf(key);
+		if (index < 0 || !present[index])
+			throw new NoSuchElementException("No value for key " + key);
+		return values[index];
+	}
+
+	/**
+	 * <p>
+	 * Get the value of the given key, or <code>defaultValue</code> if there is
+	 * none
+	 * </p>
+	 *
+	 * @param key
+	 *            a int.
+	 * @param defaultValue
+	 *            a int.
+	 * @return a int.
+	 */
+	public int getInt(int key, int defaultValue) {
+		int index = indexOf(key);
+		if (index < 0 || !present[index])
+			return defaultValue;
+		return values[index];
+	}
+
+	/**
+	 * <p>
+	 * Set the value of the given key
+	 * </p>
+	 *
+	 * @param key
+	 *            a int.
+	 * @param value
+	 *            a int.
+	 */
+	public void putInt(int key, int value) {
+		int index = slotOf(key);
+		values[index] = value;
+		markPresent(index);
+	}
+
+	/**
+	 * <p>
+	 * Add one to the value of the given key, which counts as 0 if it has no
+	 * value yet
+	 * </p>
+	 *
+	 * @param key
+	 *            a int.
+	 */
+	public void increment(int key) {
+		int index = slotOf(key);
+		values[index] = present[index] ? values[index] + 1 : 1;
+		markPresent(index);
+	}
+
+	/**
+	 * <p>
+	 * Get the sum of all the values in the map
+	 * </p>
+	 *
+	 * @return a int.
+	 */
+	public int sum() {
+		int sum = 0;
+		for (int i = 0; i < present.length; i++) {
+			if (present[i])
+				sum += values[i];
+		}
+		return sum;
+	}
+
+	@Override
+	protected void resizeValues(int shift, int length) {
+		int[] newValues = new int[length];
+		System.arraycopy(values, 0, newValues, shift, values.length);
+		values = newValues;
+	}
+
+	@Override
+	protected Integer getValueAt(int index) {
+		return values[index];
+	}
+
+	@Override
+	protected void setValueAt(int index, Integer value) {
+		values[index] = value;
+	}
+}
@@ -58,9 +58,25 @@ public class ResetExecutor {
 	}
 	
 	public void resetClasses(List<String> classesToReset, ClassLoader loader) {
-		//try to reset each collected class
-
 		ClassResetter.getInstance().setClassLoader(loader);
+		resetClassesIn(classesToReset, loader);
+	}
+
+	/**
+	 * Reset the classes of a parallel test executor. Several of them do this
+	 * concurrently, so the class loader of {@link ClassResetter} is left
+	 * unchanged, and the reset methods are looked up in {@code loader}.
+	 *
+	 * @param classesToReset
+	 * @param loader
+	 *            the class loader of the executor
+	 */
+	public void resetClassesOfWorker(List<String> classesToReset, ClassLoader loader) {
+		resetClassesIn(classesToReset, loader);
+	}
+
+	private void resetClassesIn(List<String> classesToReset, ClassLoader loader) {
+		//try to reset each collected class
 
 		long start = System.currentTimeMillis();
 
@@ -73,11 +89,11 @@ public class ResetExecutor {
 				logger.warn("Stopped resetting of classes due to timeout");
 				break;
 			}
-			resetClass(className);
+			resetClass(className, loader);
 		}
 	}
 
-	private void resetClass(String className) {
+	private void resetClass(String className, ClassLoader loader) {
 
 		//className.__STATIC_RESET() exists
 		logger.debug("Resetting class " + className);
@@ -85,22 +101,32 @@ public class ResetExecutor {
 		int mutationActive = MutationObserver.activeMutation;
 		MutationObserver.deactivateMutation();
 
+		/*
+		 * When test cases are executed in parallel, the sandbox is set up
+		 * once for the whole batch of tests, and the resets happen inside it
+		 */
+		boolean inSandbox = Sandbox.isOnAndExecutingSUTCode();
+
 		//execute __STATIC_RESET()
-		Sandbox.goingToExecuteSUTCode();
-        TestGenerationContext.getInstance().goingToExecuteSUTCode();
+		if (!inSandbox) {
+			Sandbox.goingToExecuteSUTCode();
+			TestGenerationContext.getInstance().goingToExecuteSUTCode();
+		}
 
 		Runtime.getInstance().resetRuntime(); //it is important to initialize the VFS
 
 		try {
-			Method resetMethod = ClassResetter.getInstance().getResetMethod(className);
+			Method resetMethod = ClassResetter.getInstance().getResetMethod(className, loader);
 			if (resetMethod!=null) {
 				resetMethod.invoke(null, (Object[]) null);
 			}
 		} catch (Throwable  e) {
 			ClassResetter.getInstance().logWarn(className, e.getClass() + " thrown during execution of method  __STATIC_RESET() for class " + className + ", " + e.getCause());
 		}  finally {
-			Sandbox.doneWithExecutingSUTCode();
-            TestGenerationContext.getInstance().doneWithExecutingSUTCode();
+			if (!inSandbox) {
+				Sandbox.doneWithExecutingSUTCode();
+				TestGenerationContext.getInstance().doneWithExecutingSUTCode();
+			}
 			MutationObserver.activateMutation(mutationActive);
 		}
 	}
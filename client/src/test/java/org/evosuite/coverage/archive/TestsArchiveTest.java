@@ -0,0 +1,190 @@
+/**
+ * Copyright (C) 2010-2015 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser Public License as published by the
+ * Free Software Foundation, either version 3.0 of the License, or (at your
+ * option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser Public License along
+ * with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.coverage.archive;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.evosuite.Properties;
+import org.evosuite.ga.FitnessFunction;
+import org.evosuite.testcase.DefaultTestCase;
+import org.evosuite.testcase.TestChromosome;
+import org.evosuite.testcase.TestFitnessFunction;
+import org.evosuite.testcase.execution.ExecutionResult;
+import org.evosuite.testcase.execution.ExecutionTraceImpl;
+import org.evosuite.testcase.statements.numeric.IntPrimitiveStatement;
+import org.evosuite.testsuite.TestSuiteChromosome;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestsArchiveTest {
+
+	private static final String CLASS_NAME = "Foo";
+
+	/**
+	 * Goal covered by a test that executes a line
+	 */
+	private static class LineGoal extends TestFitnessFunction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final String method;
+
+		private final int line;
+
+		public LineGoal(String method, int line) {
+			this.method = method;
+			this.line = line;
+		}
+
+		@Override
+		public double getFitness(TestChromosome individual, ExecutionResult result) {
+			return result.getTrace().getCoveredLines(CLASS_NAME).contains(line) ? 0.0 : 1.0;
+		}
+
+		@Override
+		public int compareTo(TestFitnessFunction other) {
+			return Integer.compare(line, ((LineGoal) other).line);
+		}
+
+		@Override
+		public int hashCode() {
+			return line;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			return other instanceof LineGoal && ((LineGoal) other).line == line;
+		}
+
+		@Override
+		public String getTargetClass() {
+			return CLASS_NAME;
+		}
+
+		@Override
+		public String getTargetMethod() {
+			return method;
+		}
+	}
+
+	private static class SuiteFitness extends FitnessFunction<TestSuiteChromosome> {
+
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		public double getFitness(TestSuiteChromosome individual) {
+			return 0.0;
+		}
+
+		@Override
+		public boolean isMaximizationFunction() {
+			return false;
+		}
+	}
+
+	private final SuiteFitness ff = new SuiteFitness();
+
+	private final LineGoal goal1 = new LineGoal("m()V", 1);
+
+	private final LineGoal goal2 = new LineGoal("m()V", 2);
+
+	private final LineGoal goal3 = new LineGoal("n()V", 3);
+
+	@Before
+	public void setUp() {
+		Properties.getInstance().resetToDefaults();
+		TestsArchive.instance.reset();
+		TestsArchive.instance.addGoalToCover(ff, goal1);
+		TestsArchive.instance.addGoalToCover(ff, goal2);
+		TestsArchive.instance.addGoalToCover(ff, goal3);
+	}
+
+	@After
+	public void tearDown() {
+		TestsArchive.instance.reset();
+		Properties.getInstance().resetToDefaults();
+	}
+
+	/**
+	 * A result of a test with the given number of statements, that executes
+	 * the given lines of method m
+	 */
+	private static ExecutionResult createResult(int size, int... lines) {
+		DefaultTestCase test = new DefaultTestCase();
+		for (int i = 0; i < size; i++) {
+			test.addStatement(new IntPrimitiveStatement(test, i));
+		}
+		ExecutionTraceImpl trace = new ExecutionTraceImpl();
+		trace.enteredMethod(CLASS_NAME, "m()V", null);
+		for (int line : lines) {
+			trace.linePassed(CLASS_NAME, "m()V", line);
+		}
+		ExecutionResult result = new ExecutionResult(test);
+		result.setTrace(trace);
+		return result;
+	}
+
+	@Test
+	public void testCollateralCoverage() {
+		assertTrue(TestsArchive.instance.isArchiveEmpty());
+		assertEquals(3, TestsArchive.instance.getTotalNumberOfGoals());
+
+		TestsArchive.instance.putTest(ff, goal1, createResult(3, 1, 2));
+
+		assertFalse(TestsArchive.instance.isArchiveEmpty());
+		assertEquals(2, TestsArchive.instance.getNumberOfCoveredGoals());
+	}
+
+	@Test
+	public void testShorterTestReplacesCurrent() {
+		TestsArchive.instance.putTest(ff, goal1, createResult(5, 1));
+		assertEquals(5, TestsArchive.instance.getCloneAtRandom().size());
+
+		TestsArchive.instance.putTest(ff, goal1, createResult(7, 1));
+		assertEquals(5, TestsArchive.instance.getCloneAtRandom().size());
+
+		TestsArchive.instance.putTest(ff, goal1, createResult(2, 1));
+		assertEquals(2, TestsArchive.instance.getCloneAtRandom().size());
+		assertEquals(1, TestsArchive.instance.getNumberOfCoveredGoals());
+	}
+
+	@Test
+	public void testStatementsAfterExceptionAreNotCounted() {
+		TestsArchive.instance.putTest(ff, goal1, createResult(3, 1));
+
+		ExecutionResult result = createResult(7, 1);
+		result.reportNewThrownException(1, new RuntimeException());
+		TestsArchive.instance.putTest(ff, goal1, result);
+		// the clone also leaves out the statement throwing the exception
+		assertEquals(1, TestsArchive.instance.getCloneAtRandom().size());
+	}
+
+	@Test
+	public void testMergedSolutionAddsSharedTestOnce() {
+		TestsArchive.instance.putTest(ff, goal1, createResult(3, 1, 2));
+
+		TestSuiteChromosome merged = TestsArchive.instance.createMergedSolution(new TestSuiteChromosome());
+		assertEquals(1, merged.size());
+		assertTrue(Properties.TEST_ARCHIVE);
+	}
+}
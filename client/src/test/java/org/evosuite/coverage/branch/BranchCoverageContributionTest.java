@@ -0,0 +1,61 @@
+/**
+ * Copyright (C) 2010-2015 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser Public License as published by the
+ * Free Software Foundation, either version 3.0 of the License, or (at your
+ * option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser Public License along
+ * with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.coverage.branch;
+
+import org.evosuite.testcase.execution.ExecutionResult;
+import org.evosuite.testcase.execution.ExecutionTraceImpl;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BranchCoverageContributionTest {
+
+	@Test
+	public void testSummarizesTrace() {
+		ExecutionTraceImpl trace = new ExecutionTraceImpl();
+		trace.branchPassed(3, 0, 0.0, 2.0);
+		trace.branchPassed(1, 0, 4.0, 0.0);
+		trace.branchPassed(3, 0, 1.0, 1.0);
+
+		ExecutionResult result = new ExecutionResult(null);
+		result.setTrace(trace);
+		BranchCoverageContribution contribution = BranchCoverageContribution.of(result);
+
+		Assert.assertArrayEquals(new int[] { 1, 3 }, contribution.branchIds);
+		Assert.assertArrayEquals(new int[] { 1, 2 }, contribution.executionCounts);
+		Assert.assertArrayEquals(new double[] { 4.0, 0.0 }, contribution.trueDistances, 0.0);
+		Assert.assertArrayEquals(new double[] { 0.0, 1.0 }, contribution.falseDistances, 0.0);
+	}
+
+	@Test
+	public void testCachedOnResultAndClones() {
+		ExecutionTraceImpl trace = new ExecutionTraceImpl();
+		trace.branchPassed(1, 0, 0.0, 1.0);
+
+		ExecutionResult result = new ExecutionResult(null);
+		result.setTrace(trace);
+		BranchCoverageContribution contribution = BranchCoverageContribution.of(result);
+		Assert.assertSame(contribution, BranchCoverageContribution.of(result));
+		Assert.assertSame(contribution, BranchCoverageContribution.of(result.clone()));
+
+		// a new trace invalidates the cached summary
+		result.setTrace(new ExecutionTraceImpl());
+		Assert.assertEquals(0, BranchCoverageContribution.of(result).branchIds.length);
+	}
+}
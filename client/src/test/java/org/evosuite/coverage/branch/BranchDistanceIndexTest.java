@@ -0,0 +1,72 @@
+/**
+ * Copyright (C) 2010-2015 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser Public License as published by the
+ * Free Software Foundation, either version 3.0 of the License, or (at your
+ * option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser Public License along
+ * with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.coverage.branch;
+
+import java.util.List;
+
+import org.evosuite.testcase.execution.ExecutionResult;
+import org.evosuite.testcase.execution.ExecutionTraceImpl;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class BranchDistanceIndexTest {
+
+	private boolean traceCalls;
+
+	@Before
+	public void setUp() {
+		traceCalls = ExecutionTraceImpl.isTraceCallsEnabled();
+		ExecutionTraceImpl.enableTraceCalls();
+	}
+
+	@After
+	public void tearDown() {
+		if (!traceCalls)
+			ExecutionTraceImpl.disableTraceCalls();
+	}
+
+	@Test
+	public void testIndexesCallsByMethod() {
+		ExecutionTraceImpl trace = new ExecutionTraceImpl();
+		trace.enteredMethod("Foo", "bar()V", null);
+		trace.branchPassed(1, 0, 3.0, 0.0);
+		trace.branchPassed(1, 0, 2.0, 0.0);
+		trace.exitMethod("Foo", "bar()V");
+		trace.enteredMethod("Foo", "bar()V", null);
+		trace.branchPassed(2, 0, 0.0, 5.0);
+		trace.exitMethod("Foo", "bar()V");
+
+		ExecutionResult result = new ExecutionResult(null);
+		result.setTrace(trace);
+		BranchDistanceIndex index = BranchDistanceIndex.of(result);
+		Assert.assertSame(index, BranchDistanceIndex.of(result));
+
+		List<BranchDistanceIndex.CallDistances> calls = index.getCalls("Foo", "bar()V");
+		Assert.assertEquals(2, calls.size());
+		Assert.assertEquals(2.0, calls.get(0).getDistance(1, true), 0.0);
+		Assert.assertEquals(0.0, calls.get(0).getDistance(1, false), 0.0);
+		Assert.assertNull(calls.get(0).getDistance(2, true));
+		Assert.assertEquals(5.0, calls.get(1).getDistance(2, false), 0.0);
+
+		Assert.assertTrue(index.getCalls("Foo", "baz()V").isEmpty());
+	}
+}
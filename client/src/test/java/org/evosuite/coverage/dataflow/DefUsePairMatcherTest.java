@@ -0,0 +1,75 @@
+/**
+ * Copyright (C) 2010-2015 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser Public License as published by the
+ * Free Software Foundation, either version 3.0 of the License, or (at your
+ * option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser Public License along
+ * with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.coverage.dataflow;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.evosuite.testcase.execution.DefUseEventLog;
+import org.junit.Test;
+
+public class DefUsePairMatcherTest {
+
+	@Test
+	public void testActiveDefinitionPerVariableAndObject() {
+		DefUseEventLog events = new DefUseEventLog();
+		events.addUse(0, "x", 1, 10);        // no definition yet
+		events.addDefinition(1, "x", 1, 1);
+		events.addDefinition(2, "x", 2, 2);
+		events.addDefinition(3, "y", 1, 3);
+		events.addUse(4, "x", 1, 11);        // reached by 1, not by 2 or 3
+		events.addDefinition(5, "x", 1, 4);
+		events.addUse(6, "x", 1, 11);        // reached by 4
+		events.addUse(7, "x", 2, 12);        // reached by 2
+
+		DefUsePairMatcher matcher = new DefUsePairMatcher(events);
+		assertEquals(3, matcher.getNumCoveredPairs());
+		assertTrue(matcher.isCovered(1, 11, 1));
+		assertTrue(matcher.isCovered(4, 11, 1));
+		assertTrue(matcher.isCovered(2, 12, 2));
+		assertFalse(matcher.isCovered(2, 11, 1));
+		assertFalse(matcher.isCovered(3, 11, 1));
+		assertFalse(matcher.isCovered(2, 12, 1));
+		assertFalse(matcher.isCovered(1, 10, 1));
+	}
+
+	@Test
+	public void testLogGrowsAndCopies() {
+		DefUseEventLog events = new DefUseEventLog();
+		for (int i = 0; i < 100; i++)
+			events.addDefinition(i, "v" + (i % 3), 0, i);
+		DefUseEventLog copy = new DefUseEventLog(events);
+		copy.addUse(100, "v0", 0, 7);
+
+		assertEquals(100, events.size());
+		assertEquals(101, copy.size());
+		assertEquals(3, events.getNumVariables());
+		assertEquals("v0", copy.getVariableName(copy.getVariable(100)));
+		assertTrue(new DefUsePairMatcher(copy).isCovered(99, 7, 0));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testEventsOutOfOrder() {
+		DefUseEventLog events = new DefUseEventLog();
+		events.addDefinition(3, "x", 0, 1);
+		events.addUse(2, "x", 0, 1);
+	}
+}
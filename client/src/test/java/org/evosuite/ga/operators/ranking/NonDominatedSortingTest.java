@@ -0,0 +1,82 @@
+/**
+ * Copyright (C) 2010-2015 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser Public License as published by the
+ * Free Software Foundation, either version 3.0 of the License, or (at your
+ * option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser Public License along
+ * with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.ga.operators.ranking;
+
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class NonDominatedSortingTest {
+
+	private static final double[][] VALUES = new double[][] {
+	        { 0.0, 4.0 }, // 0
+	        { 1.0, 1.0 }, // 0
+	        { 2.0, 2.0 }, // 1
+	        { 1.0, 1.0 }, // 0, same as the second one
+	        { 4.0, 0.0 }, // 0
+	        { 3.0, 3.0 }, // 2
+	        { 1.0, 4.0 }, // 1
+	};
+
+	private static final int[] RANKS = new int[] { 0, 0, 1, 0, 0, 2, 1 };
+
+	@Test
+	public void testCompare() {
+		Assert.assertEquals(-1, NonDominatedSorting.compare(new double[] { 0, 1 }, new double[] { 1, 1 }));
+		Assert.assertEquals(1, NonDominatedSorting.compare(new double[] { 1, 1 }, new double[] { 0, 1 }));
+		Assert.assertEquals(0, NonDominatedSorting.compare(new double[] { 0, 2 }, new double[] { 1, 1 }));
+		Assert.assertEquals(0, NonDominatedSorting.compare(new double[] { 1, 1 }, new double[] { 1, 1 }));
+		Assert.assertEquals(0, NonDominatedSorting.compare(new double[0], new double[0]));
+	}
+
+	@Test
+	public void testFastNonDominatedSorting() {
+		Assert.assertArrayEquals(RANKS, new FastNonDominatedSorting().computeRanks(VALUES));
+	}
+
+	@Test
+	public void testEfficientNonDominatedSorting() {
+		Assert.assertArrayEquals(RANKS, new EfficientNonDominatedSorting().computeRanks(VALUES));
+	}
+
+	@Test
+	public void testEmpty() {
+		Assert.assertEquals(0, new FastNonDominatedSorting().computeRanks(new double[0][]).length);
+		Assert.assertEquals(0, new EfficientNonDominatedSorting().computeRanks(new double[0][]).length);
+	}
+
+	@Test
+	public void testSameRanksAsFastNonDominatedSorting() {
+		Random random = new Random(42);
+		for (int objectives : new int[] { 1, 2, 3, 10, 100 }) {
+			for (int run = 0; run < 20; run++) {
+				// few distinct values, so that there are ties and duplicates
+				double[][] values = new double[50 + random.nextInt(150)][objectives];
+				for (double[] row : values) {
+					for (int j = 0; j < objectives; j++)
+						row[j] = random.nextInt(5);
+				}
+				Assert.assertArrayEquals(new FastNonDominatedSorting().computeRanks(values),
+				                         new EfficientNonDominatedSorting().computeRanks(values));
+			}
+		}
+	}
+}
@@ -0,0 +1,99 @@
+/**
+ * Copyright (C) 2010-2015 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser Public License as published by the
+ * Free Software Foundation, either version 3.0 of the License, or (at your
+ * option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser Public License along
+ * with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.junit;
+
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.ToolProvider;
+
+import org.evosuite.junit.InMemoryJavaFileManager.SourceFile;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+public class InMemoryJavaFileManagerTest {
+
+	private JavaCompiler compiler;
+
+	@Before
+	public void init() {
+		compiler = ToolProvider.getSystemJavaCompiler();
+		Assume.assumeNotNull(compiler);
+	}
+
+	private InMemoryJavaFileManager createFileManager(DiagnosticCollector<JavaFileObject> diagnostics) {
+		return new InMemoryJavaFileManager(
+				compiler.getStandardFileManager(diagnostics, Locale.getDefault(), Charset.forName("UTF-8")));
+	}
+
+	@Test
+	public void testCompiledClassesStayInMemory() throws Exception {
+		SourceFile foo = new SourceFile("foo.Foo",
+				"package foo; public class Foo { Runnable r = new Runnable() { public void run() {} }; }");
+		SourceFile bar = new SourceFile("foo.Bar", "package foo; public class Bar extends Foo { }");
+
+		DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<JavaFileObject>();
+		InMemoryJavaFileManager fileManager = createFileManager(diagnostics);
+		boolean compiled = compiler.getTask(null, fileManager, diagnostics, null, null, Arrays.asList(foo, bar))
+				.call();
+		fileManager.close();
+
+		Assert.assertTrue(compiled);
+		Map<String, byte[]> classes = fileManager.getCompiledClasses();
+		Assert.assertEquals(new HashSet<String>(Arrays.asList("foo.Foo", "foo.Foo$1", "foo.Bar")), classes.keySet());
+		for (byte[] bytes : classes.values()) {
+			// class file magic number
+			Assert.assertEquals((byte) 0xCA, bytes[0]);
+			Assert.assertEquals((byte) 0xFE, bytes[1]);
+		}
+	}
+
+	@Test
+	public void testErrorsReferToSource() throws Exception {
+		SourceFile good = new SourceFile("foo.Good", "package foo; public class Good { }");
+		SourceFile bad = new SourceFile("foo.Bad", "package foo; public class Bad { int x = \"\"; }");
+
+		DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<JavaFileObject>();
+		InMemoryJavaFileManager fileManager = createFileManager(diagnostics);
+		boolean compiled = compiler.getTask(null, fileManager, diagnostics, null, null, Arrays.asList(good, bad))
+				.call();
+		fileManager.close();
+
+		Assert.assertFalse(compiled);
+		Set<JavaFileObject> failing = new HashSet<JavaFileObject>();
+		for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+			if (diagnostic.getKind() == Diagnostic.Kind.ERROR) {
+				failing.add(diagnostic.getSource());
+			}
+		}
+		Assert.assertEquals(1, failing.size());
+		Assert.assertTrue(failing.contains(bad));
+	}
+}
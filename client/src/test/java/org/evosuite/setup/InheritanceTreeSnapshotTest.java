@@ -0,0 +1,124 @@
+/**
+ * Copyright (C) 2010-2015 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser Public License as published by the
+ * Free Software Foundation, either version 3.0 of the License, or (at your
+ * option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser Public License along
+ * with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.setup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import org.evosuite.setup.InheritanceTreeSnapshot.ClassInfo;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.objectweb.asm.Opcodes;
+
+public class InheritanceTreeSnapshotTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private static InheritanceTree createTree() {
+		InheritanceTree tree = new InheritanceTree();
+		tree.addSuperclass("foo/Base", "java/lang/Object", Opcodes.ACC_PUBLIC);
+		tree.addSuperclass("foo/Sub", "foo/Base", Opcodes.ACC_PUBLIC);
+		tree.addInterface("foo/Sub", "foo/Api");
+		tree.registerAbstractClass("foo/Base");
+		tree.addAnalyzedMethod("foo.Base", "run", "()V");
+		tree.addAnalyzedMethod("foo.Sub", "run", "()V");
+		tree.addAnalyzedMethod("foo.Sub", "get", "(I)Ljava/lang/String;");
+		return tree;
+	}
+
+	private static void checkTree(InheritanceTree tree) {
+		Assert.assertEquals(createTree().getAllClasses(), tree.getAllClasses());
+		Assert.assertEquals(Arrays.asList("foo.Sub", "foo.Base", "foo.Api", "java.lang.Object"),
+		        tree.getOrderedSuperclasses("foo.Sub"));
+		Assert.assertTrue(tree.getSubclasses("foo.Api").contains("foo.Sub"));
+		Assert.assertTrue(tree.isInterface("foo.Api"));
+		Assert.assertFalse(tree.isInterface("foo.Sub"));
+		Assert.assertTrue(tree.isAbstractClass("foo.Base"));
+		Assert.assertTrue(tree.isClassDefined("foo.Sub"));
+		Assert.assertFalse(tree.isClassDefined("foo.Api"));
+		Assert.assertTrue(tree.isMethodDefined("foo.Sub", "get", "(I)Ljava/lang/String;"));
+		Assert.assertTrue(tree.isMethodDefined("foo.Base", "run()V"));
+		Assert.assertFalse(tree.isMethodDefined("foo.Base", "get(I)Ljava/lang/String;"));
+	}
+
+	@Test
+	public void testStreamRoundTrip() throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		InheritanceTreeSnapshot.write(createTree(), bytes);
+		checkTree(InheritanceTreeSnapshot.read(new ByteArrayInputStream(bytes.toByteArray())));
+	}
+
+	@Test
+	public void testFileRoundTrip() throws IOException {
+		File file = folder.newFile("tree.bin");
+		InheritanceTreeGenerator.writeInheritanceTree(createTree(), file);
+		Assert.assertTrue(InheritanceTreeSnapshot.isSnapshot(file));
+		checkTree(InheritanceTreeGenerator.readInheritanceTree(file.getAbsolutePath()));
+	}
+
+	@Test(expected = IOException.class)
+	public void testTruncatedSnapshot() throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		InheritanceTreeSnapshot.write(createTree(), bytes);
+		byte[] data = Arrays.copyOf(bytes.toByteArray(), bytes.size() / 2);
+		InheritanceTreeSnapshot.read(new ByteArrayInputStream(data));
+	}
+
+	@Test
+	public void testJarEntryCache() throws IOException {
+		File cacheDir = folder.newFolder("cache");
+		File jar = folder.newFile("lib.jar");
+		FileOutputStream out = new FileOutputStream(jar);
+		out.write(new byte[] { 1, 2, 3 });
+		out.close();
+
+		Assert.assertNull(InheritanceTreeSnapshot.readJarEntry(cacheDir, jar));
+
+		List<ClassInfo> infos = Arrays.asList(
+		        new ClassInfo("foo/Base", Opcodes.ACC_PUBLIC, "java/lang/Object",
+		                new String[] { "foo/Api" }, new String[] { "run()V" }),
+		        new ClassInfo("java/lang/Object", Opcodes.ACC_PUBLIC, null, new String[0],
+		                new String[0]));
+		InheritanceTreeSnapshot.writeJarEntry(cacheDir, jar, infos);
+
+		List<ClassInfo> cached = InheritanceTreeSnapshot.readJarEntry(cacheDir, jar);
+		Assert.assertNotNull(cached);
+		Assert.assertEquals(2, cached.size());
+		ClassInfo base = cached.get(0);
+		Assert.assertEquals("foo/Base", base.name);
+		Assert.assertEquals(Opcodes.ACC_PUBLIC, base.access);
+		Assert.assertEquals("java/lang/Object", base.superName);
+		Assert.assertArrayEquals(new String[] { "foo/Api" }, base.interfaces);
+		Assert.assertArrayEquals(new String[] { "run()V" }, base.methods);
+		Assert.assertNull(cached.get(1).superName);
+
+		// a modified jar invalidates the entry
+		Assert.assertTrue(jar.setLastModified(jar.lastModified() - 10000));
+		Assert.assertNull(InheritanceTreeSnapshot.readJarEntry(cacheDir, jar));
+	}
+}
@@ -0,0 +1,76 @@
+/**
+ * Copyright (C) 2010-2015 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser Public License as published by the
+ * Free Software Foundation, either version 3.0 of the License, or (at your
+ * option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser Public License along
+ * with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.statistics;
+
+import java.util.Map;
+
+import org.evosuite.testcase.DefaultTestCase;
+import org.evosuite.testsuite.TestSuiteChromosome;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class StatisticsSamplerTest {
+
+	@Test
+	public void testFirstSampleHasAllValues() {
+		StatisticsSample sample = new StatisticsSampler().sample(new TestSuiteChromosome());
+		Map<String, Number> values = sample.getValues();
+
+		Assert.assertEquals(0, values.get(RuntimeVariable.Size.name()));
+		Assert.assertEquals(0, values.get(RuntimeVariable.Length.name()));
+		Assert.assertTrue(values.containsKey(RuntimeVariable.Coverage.name()));
+		Assert.assertTrue(values.containsKey(RuntimeVariable.SizeTimeline.name()));
+		Assert.assertTrue(values.containsKey(RuntimeVariable.BranchCoverageTimeline.name()));
+		// set directly on the master, not sampled
+		Assert.assertFalse(values.containsKey(RuntimeVariable.TotalExceptionsTimeline.name()));
+	}
+
+	@Test
+	public void testOnlyChangedValuesAreSent() {
+		StatisticsSampler sampler = new StatisticsSampler();
+		TestSuiteChromosome suite = new TestSuiteChromosome();
+
+		StatisticsSample first = sampler.sample(suite);
+		Assert.assertFalse(first.getValues().isEmpty());
+
+		StatisticsSample unchanged = sampler.sample(suite);
+		Assert.assertTrue(unchanged.getValues().isEmpty());
+		Assert.assertTrue(unchanged.getTimeStamp() >= first.getTimeStamp());
+
+		suite.addTest(new DefaultTestCase());
+		Map<String, Number> changed = sampler.sample(suite).getValues();
+		Assert.assertEquals(1, changed.get(RuntimeVariable.Size.name()));
+		Assert.assertEquals(1, changed.get(RuntimeVariable.SizeTimeline.name()));
+		Assert.assertFalse(changed.containsKey(RuntimeVariable.Length.name()));
+	}
+
+	@Test
+	public void testSequenceUpdateWithComputedValues() {
+		SequenceOutputVariableFactory<?> factory = OutputVariableFactories.createSequenceFactories().get(
+		        RuntimeVariable.SizeTimeline.name());
+		factory.setStartTime(1000L);
+		factory.update(1500L, 3);
+		factory.update(2500L, 5);
+
+		Assert.assertEquals(2, factory.timeStamps.size());
+		Assert.assertEquals(Long.valueOf(500L), factory.timeStamps.get(0));
+		Assert.assertEquals(5, factory.values.get(1));
+	}
+}
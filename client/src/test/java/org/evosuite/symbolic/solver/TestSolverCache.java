@@ -0,0 +1,148 @@
+/**
+ * Copyright (C) 2010-2015 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser Public License as published by the
+ * Free Software Foundation, either version 3.0 of the License, or (at your
+ * option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser Public License along
+ * with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.symbolic.solver;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.evosuite.Properties;
+import org.evosuite.symbolic.expr.Comparator;
+import org.evosuite.symbolic.expr.Constraint;
+import org.evosuite.symbolic.expr.IntegerConstraint;
+import org.evosuite.symbolic.expr.bv.IntegerConstant;
+import org.evosuite.symbolic.expr.bv.IntegerVariable;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestSolverCache {
+
+	private static class CountingSolver extends Solver {
+
+		private final SolverResult result;
+
+		private int calls = 0;
+
+		public CountingSolver(SolverResult result) {
+			this.result = result;
+		}
+
+		@Override
+		public SolverResult solve(Collection<Constraint<?>> constraints) {
+			calls++;
+			return result;
+		}
+	}
+
+	private final IntegerVariable x = new IntegerVariable("x", 0, Integer.MIN_VALUE, Integer.MAX_VALUE);
+
+	private final IntegerVariable y = new IntegerVariable("y", 0, Integer.MIN_VALUE, Integer.MAX_VALUE);
+
+	private static Constraint<?> constraint(IntegerVariable v, Comparator cmp, long value) {
+		return new IntegerConstraint(v, cmp, new IntegerConstant(value));
+	}
+
+	private static SolverResult sat(String name, long value) {
+		Map<String, Object> model = new HashMap<String, Object>();
+		model.put(name, value);
+		return SolverResult.newSAT(model);
+	}
+
+	@Before
+	public void setUp() {
+		Properties.getInstance().resetToDefaults();
+		SolverCache.getInstance().clear();
+	}
+
+	@After
+	public void tearDown() {
+		Properties.getInstance().resetToDefaults();
+		SolverCache.getInstance().clear();
+	}
+
+	@Test
+	public void testOrderDoesNotMatter() {
+		Constraint<?> c1 = constraint(x, Comparator.LT, 10);
+		Constraint<?> c2 = constraint(x, Comparator.GT, 0);
+		CountingSolver solver = new CountingSolver(sat("x", 5));
+
+		SolverCache cache = SolverCache.getInstance();
+		assertTrue(cache.solve(solver, Arrays.<Constraint<?>> asList(c1, c2)).isSAT());
+		assertTrue(cache.solve(solver, Arrays.<Constraint<?>> asList(c2, c1, c2)).isSAT());
+		assertEquals(1, solver.calls);
+	}
+
+	@Test
+	public void testUNSATSubset() {
+		Constraint<?> c1 = constraint(x, Comparator.LT, 0);
+		Constraint<?> c2 = constraint(x, Comparator.GT, 0);
+		Constraint<?> c3 = constraint(y, Comparator.EQ, 3);
+		CountingSolver solver = new CountingSolver(SolverResult.newUNSAT());
+
+		SolverCache cache = SolverCache.getInstance();
+		assertTrue(cache.solve(solver, Arrays.<Constraint<?>> asList(c1, c2)).isUNSAT());
+		assertTrue(cache.solve(solver, Arrays.<Constraint<?>> asList(c3, c2, c1)).isUNSAT());
+		assertEquals(1, solver.calls);
+	}
+
+	@Test
+	public void testModelReuse() {
+		CountingSolver solver = new CountingSolver(sat("x", 5));
+
+		SolverCache cache = SolverCache.getInstance();
+		cache.solve(solver, Arrays.<Constraint<?>> asList(constraint(x, Comparator.LT, 10)));
+
+		// x = 5 also satisfies x < 7
+		SolverResult result = cache.solve(solver,
+				Arrays.<Constraint<?>> asList(constraint(x, Comparator.LT, 7)));
+		assertTrue(result.isSAT());
+		assertEquals(5L, result.getValue("x"));
+		assertEquals(1, solver.calls);
+
+		// but not x > 7
+		cache.solve(solver, Arrays.<Constraint<?>> asList(constraint(x, Comparator.GT, 7)));
+		assertEquals(2, solver.calls);
+
+		// and the model does not bind y
+		cache.solve(solver, Arrays.<Constraint<?>> asList(constraint(y, Comparator.LT, 7)));
+		assertEquals(3, solver.calls);
+	}
+
+	@Test
+	public void testEviction() {
+		Properties.DSE_SOLVER_CACHE_SIZE = 1;
+		Collection<Constraint<?>> first = Arrays.<Constraint<?>> asList(constraint(x, Comparator.LT, 0),
+				constraint(x, Comparator.GT, 0));
+		Collection<Constraint<?>> second = Arrays.<Constraint<?>> asList(constraint(y, Comparator.LT, 0),
+				constraint(y, Comparator.GT, 0));
+		CountingSolver solver = new CountingSolver(SolverResult.newUNSAT());
+
+		SolverCache cache = SolverCache.getInstance();
+		cache.solve(solver, first);
+		cache.solve(solver, second);
+		cache.solve(solver, first);
+		assertEquals(3, solver.calls);
+	}
+}
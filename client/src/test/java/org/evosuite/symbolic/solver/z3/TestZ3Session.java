@@ -0,0 +1,77 @@
+/**
+ * Copyright (C) 2010-2015 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser Public License as published by the
+ * Free Software Foundation, either version 3.0 of the License, or (at your
+ * option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser Public License along
+ * with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.symbolic.solver.z3;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Map;
+
+import org.evosuite.Properties;
+import org.evosuite.symbolic.solver.SolverTimeoutException;
+import org.evosuite.symbolic.solver.TestSolverSimpleMath;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class TestZ3Session {
+
+	private static final String DEFAULT_Z3_PATH = Properties.Z3_PATH;
+
+	@BeforeClass
+	public static void configureZ3Path() {
+		String z3StrPath = System.getenv("z3_path");
+		if (z3StrPath != null) {
+			Properties.Z3_PATH = z3StrPath;
+		}
+		Properties.Z3_SESSION = true;
+	}
+
+	@AfterClass
+	public static void restoreZ3Path() {
+		Properties.Z3_PATH = DEFAULT_Z3_PATH;
+		Properties.Z3_SESSION = false;
+		Z3Session.shutdown();
+	}
+
+	@Test
+	public void testParseValues() {
+		Map<String, String> values = Z3Session.parseValues("((var0 1)\n (var1 (- 2))\n (var2 (/ 1.0 4.0)))\n");
+		assertEquals(3, values.size());
+		assertEquals("1", values.get("var0"));
+		assertEquals("(- 2)", values.get("var1"));
+		assertEquals("(/ 1.0 4.0)", values.get("var2"));
+	}
+
+	@Test
+	public void testSeveralQueries() throws SecurityException, NoSuchMethodException,
+			SolverTimeoutException {
+		if (Properties.Z3_PATH == null) {
+			System.out
+					.println("Warning: z3_path should be configured to execute this test case");
+			return;
+		}
+
+		Z3Solver solver = new Z3Solver();
+		TestSolverSimpleMath.testAdd(solver);
+		TestSolverSimpleMath.testSub(solver);
+		TestSolverSimpleMath.testAdd(solver);
+		TestSolverSimpleMath.testMul(solver);
+	}
+}
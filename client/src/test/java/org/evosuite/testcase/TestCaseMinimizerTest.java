@@ -0,0 +1,169 @@
+/**
+ * Copyright (C) 2010-2015 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser Public License as published by the
+ * Free Software Foundation, either version 3.0 of the License, or (at your
+ * option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser Public License along
+ * with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.evosuite.Properties;
+import org.evosuite.TestGenerationContext;
+import org.evosuite.classpath.ClassPathHandler;
+import org.evosuite.runtime.RuntimeSettings;
+import org.evosuite.testcase.execution.ExecutionResult;
+import org.evosuite.testcase.execution.TestCaseExecutor;
+import org.evosuite.testcase.statements.Statement;
+import org.evosuite.testcase.statements.numeric.IntPrimitiveStatement;
+import org.evosuite.utils.Randomness;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.examples.with.different.packagename.FlagExample1;
+
+public class TestCaseMinimizerTest {
+
+	private static final boolean DEFAULT_MOCK = RuntimeSettings.mockJVMNonDeterminism;
+	private static final boolean DEFAULT_VFS = RuntimeSettings.useVFS;
+	private static final boolean DEFAULT_VNET = RuntimeSettings.useVNET;
+
+	/**
+	 * Covered if the test defines the int 42
+	 */
+	private static class DefinesAnswer extends TestFitnessFunction {
+
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		public double getFitness(TestChromosome individual, ExecutionResult result) {
+			double fitness = 1.0;
+			for (Statement statement : result.test) {
+				if (statement instanceof IntPrimitiveStatement
+						&& ((IntPrimitiveStatement) statement).getValue() == 42) {
+					fitness = 0.0;
+				}
+			}
+			updateIndividual(this, individual, fitness);
+			return fitness;
+		}
+
+		@Override
+		public int compareTo(TestFitnessFunction other) {
+			return getClass().getName().compareTo(other.getClass().getName());
+		}
+
+		@Override
+		public int hashCode() {
+			return 42;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			return other instanceof DefinesAnswer;
+		}
+
+		@Override
+		public String getTargetClass() {
+			return FlagExample1.class.getCanonicalName();
+		}
+
+		@Override
+		public String getTargetMethod() {
+			return "testMe";
+		}
+	}
+
+	private final DefinesAnswer goal = new DefinesAnswer();
+
+	@Before
+	public void setUp() {
+		ClassPathHandler.getInstance().changeTargetCPtoTheSameAsEvoSuite();
+		Properties.getInstance().resetToDefaults();
+		Randomness.setSeed(42);
+		Properties.TARGET_CLASS = FlagExample1.class.getCanonicalName();
+		Properties.NUM_PARALLEL_EXECUTORS = 4;
+		Properties.REPLACE_SYSTEM_IN = false;
+		RuntimeSettings.mockJVMNonDeterminism = false;
+		RuntimeSettings.useVFS = false;
+		RuntimeSettings.useVNET = false;
+
+		TestGenerationContext.getInstance().resetContext();
+	}
+
+	@After
+	public void tearDown() {
+		TestCaseExecutor.pullDown();
+		RuntimeSettings.mockJVMNonDeterminism = DEFAULT_MOCK;
+		RuntimeSettings.useVFS = DEFAULT_VFS;
+		RuntimeSettings.useVNET = DEFAULT_VNET;
+		TestGenerationContext.getInstance().resetContext();
+		Properties.getInstance().resetToDefaults();
+	}
+
+	private TestChromosome createTest(int... values) {
+		DefaultTestCase test = new DefaultTestCase();
+		for (int value : values) {
+			test.addStatement(new IntPrimitiveStatement(test, value));
+		}
+		TestChromosome chromosome = new TestChromosome();
+		chromosome.setTestCase(test);
+		goal.getFitness(chromosome);
+		return chromosome;
+	}
+
+	@Test
+	public void testDeltaDebugKeepsOnlyTheNeededStatement() {
+		TestChromosome test = createTest(1, 2, 3, 42, 4, 5, 6);
+
+		new TestCaseMinimizer(goal).deltaDebug(test);
+
+		assertEquals(1, test.size());
+		assertEquals(42, ((IntPrimitiveStatement) test.getTestCase().getStatement(0)).getValue().intValue());
+		assertEquals(0.0, test.getFitness(goal), 0.0);
+	}
+
+	@Test
+	public void testMemoizedCandidatesAreScored() {
+		TestChromosome test = createTest(42, 1);
+		TestChromosome better = (TestChromosome) test.clone();
+		better.getTestCase().remove(1);
+		better.setChanged(true);
+		TestChromosome worse = (TestChromosome) test.clone();
+		worse.getTestCase().remove(0);
+		worse.setChanged(true);
+
+		List<TestChromosome> candidates = new ArrayList<TestChromosome>();
+		candidates.add(better);
+		candidates.add(worse);
+		Map<String, TestChromosome> evaluated = new HashMap<String, TestChromosome>();
+		evaluated.put(test.getTestCase().toCode(), test);
+
+		// both candidates are in the same batch, and the first one is taken
+		assertEquals(0, new TestCaseMinimizer(goal).findFirstNotWorse(test, candidates, evaluated));
+
+		TestChromosome memoized = evaluated.get(worse.getTestCase().toCode());
+		assertSame(worse, memoized);
+		assertEquals(1.0, memoized.getFitness(goal), 0.0);
+	}
+}
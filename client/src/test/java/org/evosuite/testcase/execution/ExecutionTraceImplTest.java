@@ -0,0 +1,80 @@
+/**
+ * Copyright (C) 2010-2015 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser Public License as published by the
+ * Free Software Foundation, either version 3.0 of the License, or (at your
+ * option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser Public License along
+ * with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase.execution;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ExecutionTraceImplTest {
+
+	@Test
+	public void testCloneDoesNotShareCoverage() {
+		ExecutionTraceImpl trace = new ExecutionTraceImpl();
+		trace.linePassed("Foo", "bar()V", 10);
+		trace.returnValue("Foo", "bar()V", 1);
+		trace.branchPassed(1, 0, 0.0, 1.0);
+
+		ExecutionTraceImpl copy = trace.clone();
+		copy.linePassed("Foo", "bar()V", 10);
+		copy.linePassed("Foo", "bar()V", 11);
+		copy.returnValue("Foo", "bar()V", 1);
+		copy.branchPassed(2, 0, 1.0, 0.0);
+
+		Assert.assertEquals(1, trace.getCoverageData().get("Foo").get("bar()V").get(10).intValue());
+		Assert.assertFalse(trace.getCoveredLines("Foo").contains(11));
+		Assert.assertEquals(1, trace.getReturnData().get("Foo").get("bar()V").get(1).intValue());
+		Assert.assertFalse(trace.getCoveredPredicates().contains(2));
+
+		Assert.assertEquals(2, copy.getCoverageData().get("Foo").get("bar()V").get(10).intValue());
+		Assert.assertTrue(copy.getCoveredLines("Foo").contains(11));
+		Assert.assertEquals(2, copy.getReturnData().get("Foo").get("bar()V").get(1).intValue());
+		Assert.assertTrue(copy.getCoveredPredicates().contains(1));
+
+		// writing to the original after cloning does not affect the copy either
+		trace.linePassed("Foo", "bar()V", 12);
+		Assert.assertFalse(copy.getCoveredLines("Foo").contains(12));
+	}
+
+	@Test
+	public void testLazyClone() {
+		ExecutionTraceProxy proxy = new ExecutionTraceProxy();
+		proxy.linePassed("Foo", "bar()V", 10);
+
+		ExecutionTrace copy = proxy.lazyClone();
+		copy.linePassed("Foo", "bar()V", 11);
+		Assert.assertFalse(proxy.getCoveredLines("Foo").contains(11));
+		Assert.assertTrue(copy.getCoveredLines("Foo").contains(10));
+
+		ExecutionTrace implCopy = new ExecutionTraceImpl().lazyClone();
+		Assert.assertNotNull(implCopy);
+	}
+
+	@Test
+	public void testMutationInfection() {
+		ExecutionTraceImpl trace = new ExecutionTraceImpl();
+		trace.mutationPassed(1, 2.0);
+		Assert.assertTrue(trace.wasMutationTouched(1));
+		Assert.assertFalse(trace.wasMutationInfected(1));
+
+		trace.mutationPassed(1, 0.0);
+		Assert.assertTrue(trace.wasMutationInfected(1));
+		Assert.assertFalse(trace.wasMutationInfected(2));
+	}
+}
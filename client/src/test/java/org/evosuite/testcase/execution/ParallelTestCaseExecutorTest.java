@@ -0,0 +1,180 @@
+/**
+ * Copyright (C) 2010-2015 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser Public License as published by the
+ * Free Software Foundation, either version 3.0 of the License, or (at your
+ * option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser Public License along
+ * with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase.execution;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.evosuite.Properties;
+import org.evosuite.TestGenerationContext;
+import org.evosuite.classpath.ClassPathHandler;
+import org.evosuite.coverage.branch.BranchCoverageSuiteFitness;
+import org.evosuite.runtime.RuntimeSettings;
+import org.evosuite.runtime.TooManyResourcesException;
+import org.evosuite.runtime.classhandling.ResetManager;
+import org.evosuite.testcase.DefaultTestCase;
+import org.evosuite.testcase.TestCase;
+import org.evosuite.testcase.TestFactory;
+import org.evosuite.testcase.statements.MethodStatement;
+import org.evosuite.testcase.statements.numeric.IntPrimitiveStatement;
+import org.evosuite.testcase.variable.VariableReference;
+import org.evosuite.testsuite.TestSuiteChromosome;
+import org.evosuite.utils.Randomness;
+import org.evosuite.utils.generic.GenericClass;
+import org.evosuite.utils.generic.GenericConstructor;
+import org.evosuite.utils.generic.GenericMethod;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.examples.with.different.packagename.FlagExample1;
+import com.examples.with.different.packagename.LoopIterations;
+
+public class ParallelTestCaseExecutorTest {
+
+	private static final boolean DEFAULT_MOCK = RuntimeSettings.mockJVMNonDeterminism;
+	private static final boolean DEFAULT_VFS = RuntimeSettings.useVFS;
+	private static final boolean DEFAULT_VNET = RuntimeSettings.useVNET;
+	private static final long DEFAULT_MAX_LOOP_ITERATIONS = RuntimeSettings.maxNumberOfIterationsPerLoop;
+
+	@Before
+	public void setUp() {
+		ClassPathHandler.getInstance().changeTargetCPtoTheSameAsEvoSuite();
+		Properties.getInstance().resetToDefaults();
+		Randomness.setSeed(42);
+		Properties.TARGET_CLASS = FlagExample1.class.getCanonicalName();
+		Properties.NUM_PARALLEL_EXECUTORS = 4;
+		Properties.REPLACE_SYSTEM_IN = false;
+		RuntimeSettings.mockJVMNonDeterminism = false;
+		RuntimeSettings.useVFS = false;
+		RuntimeSettings.useVNET = false;
+
+		TestGenerationContext.getInstance().resetContext();
+		ResetManager.getInstance().clearManager();
+	}
+
+	@After
+	public void tearDown() {
+		TestCaseExecutor.pullDown();
+		RuntimeSettings.mockJVMNonDeterminism = DEFAULT_MOCK;
+		RuntimeSettings.useVFS = DEFAULT_VFS;
+		RuntimeSettings.useVNET = DEFAULT_VNET;
+		RuntimeSettings.maxNumberOfIterationsPerLoop = DEFAULT_MAX_LOOP_ITERATIONS;
+		TestGenerationContext.getInstance().resetContext();
+		ResetManager.getInstance().clearManager();
+		Properties.getInstance().resetToDefaults();
+	}
+
+	private TestCase createTest(int value) throws Exception {
+		Class<?> sut = TestGenerationContext.getInstance().getClassLoaderForSUT().loadClass(Properties.TARGET_CLASS);
+		GenericClass clazz = new GenericClass(sut);
+
+		DefaultTestCase test = new DefaultTestCase();
+		GenericConstructor gc = new GenericConstructor(clazz.getRawClass().getConstructors()[0], clazz);
+		VariableReference callee = TestFactory.getInstance().addConstructor(test, gc, 0, 0);
+		VariableReference input = test.addStatement(new IntPrimitiveStatement(test, value), 1);
+
+		Method m = clazz.getRawClass().getMethod("testMe", new Class<?>[] { int.class });
+		test.addStatement(new MethodStatement(test, new GenericMethod(m, sut), callee, Arrays.asList(input)), 2);
+		return test;
+	}
+
+	@Test
+	public void testSequentialFallback() {
+		RuntimeSettings.useVFS = true;
+		assertFalse(ParallelTestCaseExecutor.isParallelExecutionPossible());
+
+		RuntimeSettings.useVFS = false;
+		Properties.NUM_PARALLEL_EXECUTORS = 1;
+		assertFalse(ParallelTestCaseExecutor.isParallelExecutionPossible());
+	}
+
+	@Test
+	public void testResultsMatchSequentialExecution() throws Exception {
+		assertTrue(ParallelTestCaseExecutor.isParallelExecutionPossible());
+
+		List<TestCase> tests = new ArrayList<TestCase>();
+		for (int i = 0; i < 10; i++) {
+			tests.add(createTest(28236 + i));
+		}
+
+		List<ExecutionResult> parallel = ParallelTestCaseExecutor.getInstance().execute(tests);
+		assertEquals(tests.size(), parallel.size());
+		for (int i = 0; i < tests.size(); i++) {
+			ExecutionResult sequential = TestCaseExecutor.runTest(tests.get(i));
+			assertSame(tests.get(i), parallel.get(i).test);
+			assertEquals(sequential.getExecutedStatements(), parallel.get(i).getExecutedStatements());
+			assertEquals(sequential.getTrace().getCoveredTrueBranches(), parallel.get(i).getTrace().getCoveredTrueBranches());
+			assertEquals(sequential.getTrace().getCoveredFalseBranches(), parallel.get(i).getTrace().getCoveredFalseBranches());
+			assertEquals(sequential.getTrace().getTrueDistances(), parallel.get(i).getTrace().getTrueDistances());
+			assertEquals(sequential.getTrace().getFalseDistances(), parallel.get(i).getTrace().getFalseDistances());
+		}
+		assertFalse(parallel.get(0).getTrace().getTrueDistances().isEmpty());
+	}
+
+	@Test
+	public void testSuiteFitness() throws Exception {
+		TestSuiteChromosome suite = new TestSuiteChromosome();
+		suite.addTest(createTest(0));
+		suite.addTest(createTest(28241));
+
+		BranchCoverageSuiteFitness ff = new BranchCoverageSuiteFitness();
+		double parallelFitness = ff.getFitness(suite);
+
+		Properties.NUM_PARALLEL_EXECUTORS = 1;
+		TestSuiteChromosome copy = suite.clone();
+		for (org.evosuite.testcase.TestChromosome test : copy.getTestChromosomes()) {
+			test.setChanged(true);
+		}
+		double sequentialFitness = ff.getFitness(copy);
+
+		assertEquals(sequentialFitness, parallelFitness, 0.0);
+		assertEquals(0.0, parallelFitness, 0.0);
+	}
+
+	@Test
+	public void testLoopsCountedPerWorker() throws Exception {
+		RuntimeSettings.maxNumberOfIterationsPerLoop = 1000;
+		Properties.TARGET_CLASS = LoopIterations.class.getCanonicalName();
+		TestGenerationContext.getInstance().resetContext();
+		assertTrue(ParallelTestCaseExecutor.isParallelExecutionPossible());
+
+		// each test stays below the limit, but not several of them together
+		List<TestCase> tests = new ArrayList<TestCase>();
+		for (int i = 0; i < 40; i++) {
+			tests.add(createTest(900 + i));
+		}
+		tests.add(createTest(5000));
+
+		List<ExecutionResult> parallel = ParallelTestCaseExecutor.getInstance().execute(tests);
+		for (int i = 0; i < tests.size() - 1; i++) {
+			assertTrue(parallel.get(i).noThrownExceptions());
+		}
+		ExecutionResult tooLong = parallel.get(tests.size() - 1);
+		assertTrue(tooLong.getExceptionThrownAtPosition(2) instanceof TooManyResourcesException);
+	}
+}
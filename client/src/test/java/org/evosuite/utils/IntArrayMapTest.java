@@ -0,0 +1,134 @@
+/**
+ * Copyright (C) 2010-2015 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser Public License as published by the
+ * Free Software Foundation, either version 3.0 of the License, or (at your
+ * option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser Public License along
+ * with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.utils;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class IntArrayMapTest {
+
+	@Test
+	public void testIncrement() {
+		IntIntArrayMap map = new IntIntArrayMap(4);
+		Assert.assertTrue(map.isEmpty());
+		map.increment(2);
+		map.increment(2);
+		map.increment(3);
+		Assert.assertEquals(2, map.size());
+		Assert.assertEquals(2, map.getInt(2));
+		Assert.assertEquals(1, map.getInt(3));
+		Assert.assertEquals(0, map.getInt(1, 0));
+		Assert.assertFalse(map.containsKey(1));
+		Assert.assertNull(map.get(1));
+	}
+
+	@Test
+	public void testGrowth() {
+		IntIntArrayMap map = new IntIntArrayMap();
+		map.putInt(100, 1);
+		map.putInt(90, 2);
+		map.putInt(120, 3);
+		Assert.assertEquals(3, map.size());
+		Assert.assertEquals(1, map.getInt(100));
+		Assert.assertEquals(2, map.getInt(90));
+		Assert.assertEquals(3, map.getInt(120));
+
+		// iteration is in order of keys
+		Iterator<Integer> keys = map.keySet().iterator();
+		Assert.assertEquals(90, keys.next().intValue());
+		Assert.assertEquals(100, keys.next().intValue());
+		Assert.assertEquals(120, keys.next().intValue());
+		Assert.assertFalse(keys.hasNext());
+	}
+
+	@Test
+	public void testMinAndSum() {
+		IntDoubleArrayMap min = new IntDoubleArrayMap(2);
+		IntDoubleArrayMap sum = new IntDoubleArrayMap(2);
+		for (double d : new double[] { 3.0, 1.0, 2.0 }) {
+			min.putMin(5, d);
+			sum.add(5, d);
+		}
+		Assert.assertEquals(1.0, min.getDouble(5), 0.0);
+		Assert.assertEquals(6.0, sum.getDouble(5), 0.0);
+		Assert.assertEquals(1, min.size());
+	}
+
+	@Test
+	public void testMapContract() {
+		IntDoubleArrayMap map = new IntDoubleArrayMap(3);
+		Map<Integer, Double> expected = new HashMap<Integer, Double>();
+		for (int i = 0; i < 10; i += 2) {
+			map.put(i, i / 2.0);
+			expected.put(i, i / 2.0);
+		}
+		Assert.assertEquals(expected, map);
+		Assert.assertEquals(map, expected);
+		Assert.assertEquals(expected.hashCode(), map.hashCode());
+
+		Assert.assertEquals(Double.valueOf(1.0), map.remove(2));
+		expected.remove(2);
+		Iterator<Map.Entry<Integer, Double>> iterator = map.entrySet().iterator();
+		iterator.next();
+		iterator.remove();
+		expected.remove(0);
+		Assert.assertEquals(expected, map);
+
+		IntDoubleArrayMap copy = new IntDoubleArrayMap(map);
+		copy.putDouble(4, 0.0);
+		Assert.assertEquals(2.0, map.getDouble(4), 0.0);
+		Assert.assertEquals(0.0, copy.getDouble(4), 0.0);
+
+		map.clear();
+		Assert.assertTrue(map.isEmpty());
+		Assert.assertFalse(map.containsKey(6));
+	}
+
+	@Test
+	public void testCopyFromAndTotal() {
+		IntIntArrayMap map = new IntIntArrayMap();
+		map.putInt(7, 1);
+		map.putInt(3, 2);
+		Assert.assertEquals(3, map.firstKey());
+		Assert.assertEquals(3, map.sum());
+
+		IntIntArrayMap copy = new IntIntArrayMap(1);
+		copy.putInt(0, 5);
+		copy.copyFrom(map);
+		Assert.assertEquals(map, copy);
+		copy.increment(7);
+		Assert.assertEquals(1, map.getInt(7));
+		Assert.assertEquals(4, copy.sum());
+
+		map.clear();
+		Assert.assertEquals(0, map.sum());
+		try {
+			map.firstKey();
+			Assert.fail();
+		} catch (NoSuchElementException e) {
+			// expected
+		}
+	}
+}
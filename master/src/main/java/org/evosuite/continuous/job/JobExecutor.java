@@ -19,6 +19,7 @@
  */
 package org.evosuite.continuous.job;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.Iterator;
@@ -32,6 +33,8 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
+import org.evosuite.EvoSuite;
+import org.evosuite.Properties;
 import org.evosuite.continuous.CtgConfiguration;
 import org.evosuite.continuous.persistency.StorageManager;
 import org.evosuite.utils.LoggingUtils;
@@ -91,6 +94,13 @@ public class JobExecutor {
 	private String projectClassPath;
 	
 	private StorageManager storage;
+
+	/**
+	 * Inheritance tree of the project, shared by all the jobs so that
+	 * each of them does not need to analyze the whole classpath again.
+	 * It is null if it could not be generated
+	 */
+	private volatile String inheritanceFile;
 	
 	/**
 	 * Main constructor
@@ -135,7 +145,9 @@ public class JobExecutor {
 		Thread mainThread = new Thread(){
 			@Override
 			public void run(){
-				
+
+				initInheritanceFile();
+
 				JobHandler[] handlers = JobHandler.getPool(cores,JobExecutor.this);
 				for(JobHandler handler : handlers){
 					handler.start();
@@ -185,6 +197,26 @@ public class JobExecutor {
 		mainThread.start();
 	}
 
+	/**
+	 * Analyze the project classpath once for all the schedules, instead
+	 * of doing it at the beginning of each job
+	 */
+	protected void initInheritanceFile() {
+		if (inheritanceFile != null || Properties.INSTRUMENT_CONTEXT) {
+			return;
+		}
+		if (!Properties.INHERITANCE_FILE.isEmpty()) {
+			inheritanceFile = Properties.INHERITANCE_FILE;
+			return;
+		}
+		try {
+			inheritanceFile = EvoSuite.generateInheritanceTree(projectClassPath);
+		} catch (IOException e) {
+			logger.error("Failed to generate the inheritance tree, each job will analyze the classpath: "
+					+ e.getMessage(), e);
+		}
+	}
+
 	protected void initExecution(final List<JobDefinition> jobs) {
 		executing = true;
 		startTimeInMs = System.currentTimeMillis(); 		
@@ -327,4 +359,13 @@ public class JobExecutor {
 	public StorageManager getStorage() {
 		return storage;
 	}
+
+	/**
+	 * 
+	 * @return the file with the inheritance tree of the project, or null if jobs
+	 *         need to analyze the classpath by themselves
+	 */
+	public String getInheritanceFile() {
+		return inheritanceFile;
+	}
 }
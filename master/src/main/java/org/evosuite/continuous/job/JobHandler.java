@@ -234,6 +234,12 @@ public class JobHandler extends Thread {
 		commands.add("-projectCP");
 		commands.add(executor.getProjectClassPath());
 
+		String inheritanceFile = executor.getInheritanceFile();
+		if (inheritanceFile != null) {
+			//computed once by the executor, instead of scanning the classpath in each job
+			commands.add("-Dinheritance_file=" + inheritanceFile);
+		}
+
 		//needs to be called twice, after the Java command
 		if (Properties.LOG_LEVEL != null && !Properties.LOG_LEVEL.isEmpty()) {
 			commands.add("-Dlog.level=" + Properties.LOG_LEVEL);
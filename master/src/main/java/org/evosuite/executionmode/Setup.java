@@ -96,7 +96,7 @@ public class Setup {
 			try {
 				String fileName = EvoSuite.generateInheritanceTree(Properties.CP);
 				FileUtils.copyFile(new File(fileName), new File(Properties.OUTPUT_DIR
-				        + File.separator + "inheritance.xml.gz"));
+				        + File.separator + "inheritance.bin"));
 				
 				 /* 
 				  * we need to use '/' instead of File.separator because this value will be written on a text file.
@@ -104,7 +104,7 @@ public class Setup {
 				  */
 				Properties.getInstance().setValue("inheritance_file",
 				                                  Properties.OUTPUT_DIR + "/"
-				                                          + "inheritance.xml.gz");
+				                                          + "inheritance.bin");
 			} catch (IOException | IllegalArgumentException | NoSuchParameterException | IllegalAccessException e) {
 				LoggingUtils.getEvoLogger().error("* Error while creating inheritance tree: " + e.getMessage());
 			}
@@ -36,6 +36,7 @@ import org.evosuite.ga.Chromosome;
 import org.evosuite.result.TestGenerationResult;
 import org.evosuite.statistics.SearchStatistics;
 import org.evosuite.statistics.RuntimeVariable;
+import org.evosuite.statistics.StatisticsSample;
 import org.evosuite.utils.Listener;
 import org.evosuite.utils.LoggingUtils;
 import org.slf4j.Logger;
@@ -172,6 +173,12 @@ public class MasterNodeImpl implements MasterNodeRemote, MasterNodeLocal {
 		SearchStatistics.getInstance().setOutputVariable(variable, value);
 	}
 
+	@Override
+	public void evosuite_collectStatisticsSamples(String clientRmiIdentifier, List<StatisticsSample> samples)
+	        throws RemoteException {
+		SearchStatistics.getInstance().currentSamples(clientRmiIdentifier, samples);
+	}
+
 	@Override
 	public void evosuite_collectTestGenerationResult(
 			String clientRmiIdentifier, List<TestGenerationResult> results)
@@ -20,20 +20,6 @@
 package org.evosuite.statistics;
 
 import org.evosuite.Properties;
-import org.evosuite.coverage.ambiguity.AmbiguityCoverageSuiteFitness;
-import org.evosuite.coverage.branch.BranchCoverageSuiteFitness;
-import org.evosuite.coverage.branch.OnlyBranchCoverageSuiteFitness;
-import org.evosuite.coverage.cbranch.CBranchSuiteFitness;
-import org.evosuite.coverage.exception.ExceptionCoverageSuiteFitness;
-import org.evosuite.coverage.input.InputCoverageSuiteFitness;
-import org.evosuite.coverage.line.LineCoverageSuiteFitness;
-import org.evosuite.coverage.method.MethodCoverageSuiteFitness;
-import org.evosuite.coverage.method.MethodNoExceptionCoverageSuiteFitness;
-import org.evosuite.coverage.method.MethodTraceCoverageSuiteFitness;
-import org.evosuite.coverage.mutation.OnlyMutationSuiteFitness;
-import org.evosuite.coverage.mutation.WeakMutationSuiteFitness;
-import org.evosuite.coverage.output.OutputCoverageSuiteFitness;
-import org.evosuite.coverage.rho.RhoCoverageSuiteFitness;
 import org.evosuite.ga.Chromosome;
 import org.evosuite.result.TestGenerationResult;
 import org.evosuite.rmi.MasterServices;
@@ -80,6 +66,12 @@ public class SearchStatistics implements Listener<ClientStateInformation>{
 	/** Variable factories to extract sequence variables */
 	private Map<String, SequenceOutputVariableFactory<?>> sequenceOutputVariableFactories = new TreeMap<String, SequenceOutputVariableFactory<?>>();
 
+	/** Latest value of each variable sampled by the client, as samples only contain the changed ones */
+	private Map<String, Number> sampledValues = new HashMap<String, Number>();
+
+	/** Clients that sent samples, so their timeline is already built from those */
+	private Set<String> sampledClients = new HashSet<String>();
+
 	/** Keep track of how far EvoSuite progressed */
 	private ClientState currentState = ClientState.INITIALIZATION;
 
@@ -112,37 +104,7 @@ public class SearchStatistics implements Listener<ClientStateInformation>{
 		}
 		initFactories();
 		setOutputVariable(RuntimeVariable.Random_Seed, Randomness.getSeed());
-		sequenceOutputVariableFactories.put(RuntimeVariable.CoverageTimeline.name(), new CoverageSequenceOutputVariableFactory());
-		sequenceOutputVariableFactories.put(RuntimeVariable.FitnessTimeline.name(), new FitnessSequenceOutputVariableFactory());
-		sequenceOutputVariableFactories.put(RuntimeVariable.SizeTimeline.name(), new SizeSequenceOutputVariableFactory());
-		sequenceOutputVariableFactories.put(RuntimeVariable.LengthTimeline.name(), new LengthSequenceOutputVariableFactory());
-        sequenceOutputVariableFactories.put(RuntimeVariable.TotalExceptionsTimeline.name(), new TotalExceptionsSequenceOutputVariableFactory());
-        sequenceOutputVariableFactories.put(RuntimeVariable.IBranchGoalsTimeline.name(), new IBranchGoalsSequenceOutputVariableFactory());
-
-		sequenceOutputVariableFactories.put(RuntimeVariable.BranchCoverageTimeline.name(), new BranchCoverageSequenceOutputVariableFactory());
-        sequenceOutputVariableFactories.put(RuntimeVariable.OnlyBranchFitnessTimeline.name(), new OnlyBranchFitnessSequenceOutputVariableFactory());
-        sequenceOutputVariableFactories.put(RuntimeVariable.OnlyBranchCoverageTimeline.name(), new OnlyBranchCoverageSequenceOutputVariableFactory());
-        sequenceOutputVariableFactories.put(RuntimeVariable.CBranchFitnessTimeline.name(), new CBranchFitnessSequenceOutputVariableFactory());
-        sequenceOutputVariableFactories.put(RuntimeVariable.CBranchCoverageTimeline.name(), new CBranchCoverageSequenceOutputVariableFactory());
-        sequenceOutputVariableFactories.put(RuntimeVariable.MethodTraceFitnessTimeline.name(), new MethodTraceFitnessSequenceOutputVariableFactory());
-        sequenceOutputVariableFactories.put(RuntimeVariable.MethodTraceCoverageTimeline.name(), new MethodTraceCoverageSequenceOutputVariableFactory());
-        sequenceOutputVariableFactories.put(RuntimeVariable.MethodFitnessTimeline.name(), new MethodFitnessSequenceOutputVariableFactory());
-        sequenceOutputVariableFactories.put(RuntimeVariable.MethodCoverageTimeline.name(), new MethodCoverageSequenceOutputVariableFactory());
-        sequenceOutputVariableFactories.put(RuntimeVariable.MethodNoExceptionFitnessTimeline.name(), new MethodNoExceptionFitnessSequenceOutputVariableFactory());
-        sequenceOutputVariableFactories.put(RuntimeVariable.MethodNoExceptionCoverageTimeline.name(), new MethodNoExceptionCoverageSequenceOutputVariableFactory());
-        sequenceOutputVariableFactories.put(RuntimeVariable.RhoScoreTimeline.name(), new RhoFitnessSequenceOutputVariableFactory());
-        sequenceOutputVariableFactories.put(RuntimeVariable.AmbiguityScoreTimeline.name(), new AmbiguityFitnessSequenceOutputVariableFactory());
-        sequenceOutputVariableFactories.put(RuntimeVariable.LineFitnessTimeline.name(), new LineFitnessSequenceOutputVariableFactory());
-        sequenceOutputVariableFactories.put(RuntimeVariable.LineCoverageTimeline.name(), new LineCoverageSequenceOutputVariableFactory());
-        sequenceOutputVariableFactories.put(RuntimeVariable.OutputFitnessTimeline.name(), new OutputFitnessSequenceOutputVariableFactory());
-        sequenceOutputVariableFactories.put(RuntimeVariable.OutputCoverageTimeline.name(), new OutputCoverageSequenceOutputVariableFactory());
-        sequenceOutputVariableFactories.put(RuntimeVariable.InputFitnessTimeline.name(), new InputFitnessSequenceOutputVariableFactory());
-        sequenceOutputVariableFactories.put(RuntimeVariable.InputCoverageTimeline.name(), new InputCoverageSequenceOutputVariableFactory());
-        sequenceOutputVariableFactories.put(RuntimeVariable.ExceptionFitnessTimeline.name(), new ExceptionFitnessSequenceOutputVariableFactory());
-        sequenceOutputVariableFactories.put(RuntimeVariable.ExceptionCoverageTimeline.name(), new ExceptionCoverageSequenceOutputVariableFactory());
-        sequenceOutputVariableFactories.put(RuntimeVariable.WeakMutationCoverageTimeline.name(), new WeakMutationCoverageSequenceOutputVariableFactory());
-        sequenceOutputVariableFactories.put(RuntimeVariable.OnlyMutationFitnessTimeline.name(), new OnlyMutationFitnessSequenceOutputVariableFactory());
-        sequenceOutputVariableFactories.put(RuntimeVariable.OnlyMutationCoverageTimeline.name(), new OnlyMutationCoverageSequenceOutputVariableFactory());
+		sequenceOutputVariableFactories.putAll(OutputVariableFactories.createSequenceFactories());
 
         // sequenceOutputVariableFactories.put("Generation_History", new GenerationSequenceOutputVariableFactory());
 		if(MasterServices.getInstance().getMasterNode() != null)
@@ -176,11 +138,44 @@ public class SearchStatistics implements Listener<ClientStateInformation>{
         for(ChromosomeOutputVariableFactory<?> v : variableFactories.values()) {
             setOutputVariable(v.getVariable((TestSuiteChromosome) individual));
         }
+		if(sampledClients.contains(rmiClientIdentifier))
+			return;
 		for(SequenceOutputVariableFactory<?> v : sequenceOutputVariableFactories.values()) {
 			v.update((TestSuiteChromosome) individual);
 		}
 	}
 
+	/**
+	 * This method is called when the client sends the values of the output
+	 * variables of its best individual, instead of the individual itself.
+	 * 
+	 * @param rmiClientIdentifier
+	 * @param samples in the order in which they were taken
+	 */
+	public void currentSamples(String rmiClientIdentifier, List<StatisticsSample> samples) {
+		if(backend == null)
+			return;
+
+		logger.debug("Received "+samples.size()+" samples");
+		sampledClients.add(rmiClientIdentifier);
+		for(StatisticsSample sample : samples) {
+			sampledValues.putAll(sample.getValues());
+			for(String name : variableFactories.keySet()) {
+				Number value = sampledValues.get(name);
+				if(value != null)
+					setOutputVariable(new OutputVariable<Object>(name, value));
+			}
+			for(Map.Entry<String, SequenceOutputVariableFactory<?>> entry : sequenceOutputVariableFactories.entrySet()) {
+				SequenceOutputVariableFactory<?> v = entry.getValue();
+				if(v instanceof DirectSequenceOutputVariableFactory) {
+					v.update(sample.getTimeStamp(), ((DirectSequenceOutputVariableFactory<?>) v).getValue(null));
+				} else if(sampledValues.containsKey(entry.getKey())) {
+					v.update(sample.getTimeStamp(), sampledValues.get(entry.getKey()));
+				}
+			}
+		}
+	}
+
 	/**
 	 * Set an output variable to a value directly 
 	 * 
@@ -388,448 +383,6 @@ public class SearchStatistics implements Listener<ClientStateInformation>{
 	 * Create default factories
 	 */
 	private void initFactories() {
-		variableFactories.put(RuntimeVariable.Length.name(), new ChromosomeLengthOutputVariableFactory());
-		variableFactories.put(RuntimeVariable.Size.name(), new ChromosomeSizeOutputVariableFactory());
-		variableFactories.put(RuntimeVariable.Coverage.name(), new ChromosomeCoverageOutputVariableFactory());
-		variableFactories.put(RuntimeVariable.Fitness.name(), new ChromosomeFitnessOutputVariableFactory());
-	}
-
-	/**
-	 * Total length of a test suite
-	 */
-	private static class ChromosomeLengthOutputVariableFactory extends ChromosomeOutputVariableFactory<Integer> {
-		public ChromosomeLengthOutputVariableFactory() {
-			super(RuntimeVariable.Length);
-		}
-
-		@Override
-		protected Integer getData(TestSuiteChromosome individual) {
-			return individual.totalLengthOfTestCases();
-		}
-	}
-
-	/**
-	 * Number of tests in a test suite
-	 */
-	private static class ChromosomeSizeOutputVariableFactory extends ChromosomeOutputVariableFactory<Integer> {
-		public ChromosomeSizeOutputVariableFactory() {
-			super(RuntimeVariable.Size);
-		}
-
-		@Override
-		protected Integer getData(TestSuiteChromosome individual) {
-			return individual.size();
-		}
+		variableFactories.putAll(OutputVariableFactories.createChromosomeFactories());
 	}
-
-	/**
-	 * Fitness value of a test suite
-	 */
-	private static class ChromosomeFitnessOutputVariableFactory extends ChromosomeOutputVariableFactory<Double> {
-		public ChromosomeFitnessOutputVariableFactory() {
-			super(RuntimeVariable.Fitness);
-		}
-
-		@Override
-		protected Double getData(TestSuiteChromosome individual) {
-			return individual.getFitness();
-		}
-	}
-
-	/**
-	 * Coverage value of a test suite
-	 */
-	private static class ChromosomeCoverageOutputVariableFactory extends ChromosomeOutputVariableFactory<Double> {
-		public ChromosomeCoverageOutputVariableFactory() {
-			super(RuntimeVariable.Coverage);
-		}
-
-		@Override
-		protected Double getData(TestSuiteChromosome individual) {
-			return individual.getCoverage();
-		}
-	}
-
-	/**
-	 * Sequence variable for fitness values
-	 */
-	private static class FitnessSequenceOutputVariableFactory extends SequenceOutputVariableFactory<Double> {
-
-		public FitnessSequenceOutputVariableFactory() {
-			super(RuntimeVariable.FitnessTimeline);
-		}
-
-		@Override
-		protected Double getValue(TestSuiteChromosome individual) {
-			return individual.getFitness();
-		}
-	}
-
-	/**
-	 * Sequence variable for coverage values
-	 */
-	private static class CoverageSequenceOutputVariableFactory extends SequenceOutputVariableFactory<Double> {
-
-		public CoverageSequenceOutputVariableFactory() {
-			super(RuntimeVariable.CoverageTimeline);
-		}
-
-		@Override
-		public Double getValue(TestSuiteChromosome individual) {
-			return individual.getCoverage();
-		}
-	}
-
-	/**
-	 * Sequence variable for number of tests
-	 */
-	private static class SizeSequenceOutputVariableFactory extends SequenceOutputVariableFactory<Integer> {
-
-		public SizeSequenceOutputVariableFactory() {
-			super(RuntimeVariable.SizeTimeline);
-		}
-
-		@Override
-		public Integer getValue(TestSuiteChromosome individual) {
-			return individual.size();
-		}
-	}
-
-	/**
-	 * Sequence variable for total length of tests
-	 */
-	private static class LengthSequenceOutputVariableFactory extends SequenceOutputVariableFactory<Integer> {
-
-		public LengthSequenceOutputVariableFactory() {
-			super(RuntimeVariable.LengthTimeline);
-		}
-
-		@Override
-		public Integer getValue(TestSuiteChromosome individual) {
-			return individual.totalLengthOfTestCases();
-		}
-	}
-
-    /**
-     * Total number of exceptions
-     */
-    private static class TotalExceptionsSequenceOutputVariableFactory extends DirectSequenceOutputVariableFactory<Integer> {
-        public TotalExceptionsSequenceOutputVariableFactory() {
-            super(RuntimeVariable.TotalExceptionsTimeline);
-            this.value = 0;
-        }
-
-        @Override
-        public Integer getValue(TestSuiteChromosome individual) {
-            return (Integer) this.value;
-        }
-
-        @Override
-        public void setValue(Integer value) {
-            this.value = value;
-        }
-    }
-
-    /**
-     * Sequence variable for coverage values
-     */
-    private static class IBranchGoalsSequenceOutputVariableFactory extends SequenceOutputVariableFactory<Integer> {
-
-        public IBranchGoalsSequenceOutputVariableFactory() {
-            super(RuntimeVariable.IBranchGoalsTimeline);
-        }
-
-        @Override
-        public Integer getValue(TestSuiteChromosome individual) {
-            return individual.getNumOfNotCoveredGoals();
-        }
-    }
-
-    private static class BranchCoverageSequenceOutputVariableFactory extends SequenceOutputVariableFactory<Double> {
-
-        public BranchCoverageSequenceOutputVariableFactory() {
-            super(RuntimeVariable.BranchCoverageTimeline);
-        }
-
-        @Override
-        public Double getValue(TestSuiteChromosome individual) {
-            return individual.getCoverageInstanceOf(BranchCoverageSuiteFitness.class);
-        }
-    }
-
-    private static class OnlyBranchFitnessSequenceOutputVariableFactory extends SequenceOutputVariableFactory<Double> {
-
-        public OnlyBranchFitnessSequenceOutputVariableFactory() {
-            super(RuntimeVariable.OnlyBranchFitnessTimeline);
-        }
-
-        @Override
-        public Double getValue(TestSuiteChromosome individual) {
-            return individual.getFitnessInstanceOf(OnlyBranchCoverageSuiteFitness.class);
-        }
-    }
-
-    private static class OnlyBranchCoverageSequenceOutputVariableFactory extends SequenceOutputVariableFactory<Double> {
-
-        public OnlyBranchCoverageSequenceOutputVariableFactory() {
-            super(RuntimeVariable.OnlyBranchCoverageTimeline);
-        }
-
-        @Override
-        public Double getValue(TestSuiteChromosome individual) {
-            return individual.getCoverageInstanceOf(OnlyBranchCoverageSuiteFitness.class);
-        }
-    }
-
-    private static class CBranchFitnessSequenceOutputVariableFactory extends SequenceOutputVariableFactory<Double> {
-
-        public CBranchFitnessSequenceOutputVariableFactory() {
-            super(RuntimeVariable.CBranchFitnessTimeline);
-        }
-
-        @Override
-        public Double getValue(TestSuiteChromosome individual) {
-            return individual.getFitnessInstanceOf(CBranchSuiteFitness.class);
-        }
-    }
-
-    private static class CBranchCoverageSequenceOutputVariableFactory extends SequenceOutputVariableFactory<Double> {
-
-        public CBranchCoverageSequenceOutputVariableFactory() {
-            super(RuntimeVariable.CBranchCoverageTimeline);
-        }
-
-        @Override
-        public Double getValue(TestSuiteChromosome individual) {
-            return individual.getCoverageInstanceOf(CBranchSuiteFitness.class);
-        }
-    }
-
-    private static class MethodTraceFitnessSequenceOutputVariableFactory extends SequenceOutputVariableFactory<Double> {
-
-        public MethodTraceFitnessSequenceOutputVariableFactory() {
-            super(RuntimeVariable.MethodTraceFitnessTimeline);
-        }
-
-        @Override
-        public Double getValue(TestSuiteChromosome individual) {
-            return individual.getFitnessInstanceOf(MethodTraceCoverageSuiteFitness.class);
-        }
-    }
-
-    private static class MethodTraceCoverageSequenceOutputVariableFactory extends SequenceOutputVariableFactory<Double> {
-
-        public MethodTraceCoverageSequenceOutputVariableFactory() {
-            super(RuntimeVariable.MethodTraceCoverageTimeline);
-        }
-
-        @Override
-        public Double getValue(TestSuiteChromosome individual) {
-            return individual.getCoverageInstanceOf(MethodTraceCoverageSuiteFitness.class);
-        }
-    }
-
-    private static class MethodFitnessSequenceOutputVariableFactory extends SequenceOutputVariableFactory<Double> {
-
-        public MethodFitnessSequenceOutputVariableFactory() {
-            super(RuntimeVariable.MethodFitnessTimeline);
-        }
-
-        @Override
-        public Double getValue(TestSuiteChromosome individual) {
-            return individual.getFitnessInstanceOf(MethodCoverageSuiteFitness.class);
-        }
-    }
-
-    private static class MethodCoverageSequenceOutputVariableFactory extends SequenceOutputVariableFactory<Double> {
-
-        public MethodCoverageSequenceOutputVariableFactory() {
-            super(RuntimeVariable.MethodCoverageTimeline);
-        }
-
-        @Override
-        public Double getValue(TestSuiteChromosome individual) {
-            return individual.getCoverageInstanceOf(MethodCoverageSuiteFitness.class);
-        }
-    }
-
-    private static class MethodNoExceptionFitnessSequenceOutputVariableFactory extends SequenceOutputVariableFactory<Double> {
-
-        public MethodNoExceptionFitnessSequenceOutputVariableFactory() {
-            super(RuntimeVariable.MethodNoExceptionFitnessTimeline);
-        }
-
-        @Override
-        public Double getValue(TestSuiteChromosome individual) {
-            return individual.getFitnessInstanceOf(MethodNoExceptionCoverageSuiteFitness.class);
-        }
-    }
-
-    private static class MethodNoExceptionCoverageSequenceOutputVariableFactory extends SequenceOutputVariableFactory<Double> {
-
-        public MethodNoExceptionCoverageSequenceOutputVariableFactory() {
-            super(RuntimeVariable.MethodNoExceptionCoverageTimeline);
-        }
-
-        @Override
-        public Double getValue(TestSuiteChromosome individual) {
-            return individual.getCoverageInstanceOf(MethodNoExceptionCoverageSuiteFitness.class);
-        }
-    }
-
-    private static class RhoFitnessSequenceOutputVariableFactory extends SequenceOutputVariableFactory<Double> {
-
-        public RhoFitnessSequenceOutputVariableFactory() {
-            super(RuntimeVariable.RhoScoreTimeline);
-        }
-
-        @Override
-        public Double getValue(TestSuiteChromosome individual) {
-            return individual.getFitnessInstanceOf(RhoCoverageSuiteFitness.class);
-        }
-    }
-
-    private static class AmbiguityFitnessSequenceOutputVariableFactory extends SequenceOutputVariableFactory<Double> {
-
-        public AmbiguityFitnessSequenceOutputVariableFactory() {
-            super(RuntimeVariable.AmbiguityScoreTimeline);
-        }
-
-        @Override
-        public Double getValue(TestSuiteChromosome individual) {
-            return individual.getFitnessInstanceOf(AmbiguityCoverageSuiteFitness.class);
-        }
-    }
-
-    private static class LineFitnessSequenceOutputVariableFactory extends SequenceOutputVariableFactory<Double> {
-
-        public LineFitnessSequenceOutputVariableFactory() {
-            super(RuntimeVariable.LineFitnessTimeline);
-        }
-
-        @Override
-        public Double getValue(TestSuiteChromosome individual) {
-            return individual.getFitnessInstanceOf(LineCoverageSuiteFitness.class);
-        }
-    }
-
-    private static class LineCoverageSequenceOutputVariableFactory extends SequenceOutputVariableFactory<Double> {
-
-        public LineCoverageSequenceOutputVariableFactory() {
-            super(RuntimeVariable.LineCoverageTimeline);
-        }
-
-        @Override
-        public Double getValue(TestSuiteChromosome individual) {
-            return individual.getCoverageInstanceOf(LineCoverageSuiteFitness.class);
-        }
-    }
-
-    private static class OutputFitnessSequenceOutputVariableFactory extends SequenceOutputVariableFactory<Double> {
-
-        public OutputFitnessSequenceOutputVariableFactory() {
-            super(RuntimeVariable.OutputFitnessTimeline);
-        }
-
-        @Override
-        public Double getValue(TestSuiteChromosome individual) {
-            return individual.getFitnessInstanceOf(OutputCoverageSuiteFitness.class);
-        }
-    }
-
-    private static class OutputCoverageSequenceOutputVariableFactory extends SequenceOutputVariableFactory<Double> {
-
-        public OutputCoverageSequenceOutputVariableFactory() {
-            super(RuntimeVariable.OutputCoverageTimeline);
-        }
-
-        @Override
-        public Double getValue(TestSuiteChromosome individual) {
-            return individual.getCoverageInstanceOf(OutputCoverageSuiteFitness.class);
-        }
-    }
-
-    private static class InputFitnessSequenceOutputVariableFactory extends SequenceOutputVariableFactory<Double> {
-
-        public InputFitnessSequenceOutputVariableFactory() {
-            super(RuntimeVariable.InputFitnessTimeline);
-        }
-
-        @Override
-        public Double getValue(TestSuiteChromosome individual) {
-            return individual.getFitnessInstanceOf(InputCoverageSuiteFitness.class);
-        }
-    }
-
-    private static class InputCoverageSequenceOutputVariableFactory extends SequenceOutputVariableFactory<Double> {
-
-        public InputCoverageSequenceOutputVariableFactory() {
-            super(RuntimeVariable.InputCoverageTimeline);
-        }
-
-        @Override
-        public Double getValue(TestSuiteChromosome individual) {
-            return individual.getCoverageInstanceOf(InputCoverageSuiteFitness.class);
-        }
-    }
-
-    private static class ExceptionFitnessSequenceOutputVariableFactory extends SequenceOutputVariableFactory<Double> {
-
-        public ExceptionFitnessSequenceOutputVariableFactory() {
-            super(RuntimeVariable.ExceptionFitnessTimeline);
-        }
-
-        @Override
-        public Double getValue(TestSuiteChromosome individual) {
-            return individual.getFitnessInstanceOf(ExceptionCoverageSuiteFitness.class);
-        }
-    }
-
-    private static class ExceptionCoverageSequenceOutputVariableFactory extends SequenceOutputVariableFactory<Double> {
-
-        public ExceptionCoverageSequenceOutputVariableFactory() {
-            super(RuntimeVariable.ExceptionCoverageTimeline);
-        }
-
-        @Override
-        public Double getValue(TestSuiteChromosome individual) {
-            return individual.getCoverageInstanceOf(ExceptionCoverageSuiteFitness.class);
-        }
-    }
-
-    private static class WeakMutationCoverageSequenceOutputVariableFactory extends SequenceOutputVariableFactory<Double> {
-
-        public WeakMutationCoverageSequenceOutputVariableFactory() {
-            super(RuntimeVariable.WeakMutationCoverageTimeline);
-        }
-
-        @Override
-        public Double getValue(TestSuiteChromosome individual) {
-            return individual.getCoverageInstanceOf(WeakMutationSuiteFitness.class);
-        }
-    }
-
-    private static class OnlyMutationFitnessSequenceOutputVariableFactory extends SequenceOutputVariableFactory<Double> {
-
-        public OnlyMutationFitnessSequenceOutputVariableFactory() {
-            super(RuntimeVariable.OnlyMutationFitnessTimeline);
-        }
-
-        @Override
-        public Double getValue(TestSuiteChromosome individual) {
-            return individual.getFitnessInstanceOf(OnlyMutationSuiteFitness.class);
-        }
-    }
-
-    private static class OnlyMutationCoverageSequenceOutputVariableFactory extends SequenceOutputVariableFactory<Double> {
-
-        public OnlyMutationCoverageSequenceOutputVariableFactory() {
-            super(RuntimeVariable.OnlyMutationCoverageTimeline);
-        }
-
-        @Override
-        public Double getValue(TestSuiteChromosome individual) {
-            return individual.getCoverageInstanceOf(OnlyMutationSuiteFitness.class);
-        }
-    }
 }
@@ -28,6 +28,7 @@ import org.evosuite.Properties.StatisticsBackend;
 import org.evosuite.Properties.StoppingCondition;
 import org.evosuite.coverage.archive.TestsArchive;
 import org.evosuite.coverage.exception.ExceptionCoverageFactory;
+import org.evosuite.ga.FitnessFunctionIndex;
 import org.evosuite.ga.metaheuristics.GeneticAlgorithm;
 import org.evosuite.result.TestGenerationResult;
 import org.evosuite.runtime.RuntimeSettings;
@@ -72,6 +73,7 @@ public class SystemTest {
 		Properties.getInstance().resetToDefaults();
 		ExceptionCoverageFactory.getGoals().clear();
 		TestsArchive.instance.reset();
+		FitnessFunctionIndex.getInstance().reset();
 	}
 
 	@Before
@@ -19,6 +19,11 @@
  */
 package org.evosuite.ga;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
 import org.evosuite.Properties;
 import org.evosuite.Properties.Algorithm;
 import org.evosuite.coverage.branch.OnlyBranchCoverageSuiteFitness;
@@ -30,6 +35,8 @@ import org.evosuite.testsuite.TestSuiteChromosome;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 /**
  * @author Jose Miguel Rojas
@@ -115,4 +122,55 @@ public class ChromosomeTest {
         double sum = ANY_DOUBLE_1 + ANY_DOUBLE_2 + ANY_DOUBLE_3 + ANY_DOUBLE_4;
         assertEquals(sum, c.getFitness(), 0.001);
     }
+
+    @Test
+    public void testGetFitnessByIndex() {
+        TestSuiteChromosome c = new TestSuiteChromosome();
+        LineCoverageSuiteFitness f1 = new LineCoverageSuiteFitness();
+        c.addFitness(f1, ANY_DOUBLE_1);
+        int index = FitnessFunctionIndex.getInstance().getIndex(f1);
+        assertEquals(f1, FitnessFunctionIndex.getInstance().getFitnessFunction(index));
+        assertEquals(ANY_DOUBLE_1, c.getFitness(index), 0.001);
+        assertEquals(ANY_DOUBLE_1, c.getFitnessValues().get(f1), 0.001);
+        assertTrue(c.getFitnessValues().containsKey(f1));
+        assertFalse(c.getFitnessValues().containsKey(new OnlyBranchCoverageSuiteFitness()));
+    }
+
+    @Test
+    public void testSetFitnessValuesCopies() {
+        TestSuiteChromosome c1 = new TestSuiteChromosome();
+        LineCoverageSuiteFitness f1 = new LineCoverageSuiteFitness();
+        c1.addFitness(f1, ANY_DOUBLE_1);
+        TestSuiteChromosome c2 = new TestSuiteChromosome();
+        c2.setFitnessValues(c1.getFitnessValues());
+        c2.setPreviousFitnessValues(c1.getPreviousFitnessValues());
+
+        c1.setFitness(f1, ANY_DOUBLE_2);
+        assertEquals(ANY_DOUBLE_2, c1.getFitness(f1), 0.001);
+        assertEquals(ANY_DOUBLE_1, c2.getFitness(f1), 0.001);
+        assertTrue(c1.hasFitnessChanged());
+        assertFalse(c2.hasFitnessChanged());
+    }
+
+    @Test
+    public void testFitnessValuesAreSerialized() throws Exception {
+        TestSuiteChromosome c = new TestSuiteChromosome();
+        LineCoverageSuiteFitness f1 = new LineCoverageSuiteFitness();
+        OnlyBranchCoverageSuiteFitness f2 = new OnlyBranchCoverageSuiteFitness();
+        c.addFitness(f1, ANY_DOUBLE_1, ANY_DOUBLE_BETWEEN_0_AND_1_1, 3);
+        c.addFitness(f2, ANY_DOUBLE_2, ANY_DOUBLE_BETWEEN_0_AND_1_2, 4);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(bytes);
+        out.writeObject(c);
+        out.close();
+        ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        Chromosome copy = (Chromosome) in.readObject();
+
+        assertEquals(ANY_DOUBLE_1 + ANY_DOUBLE_2, copy.getFitness(), 0.001);
+        assertEquals(ANY_DOUBLE_1, copy.getFitnessInstanceOf(LineCoverageSuiteFitness.class), 0.001);
+        assertEquals(ANY_DOUBLE_BETWEEN_0_AND_1_2, copy.getCoverageInstanceOf(OnlyBranchCoverageSuiteFitness.class), 0.001);
+        assertEquals(7, copy.getNumOfCoveredGoals());
+        assertEquals(2, copy.getPreviousFitnessValues().size());
+    }
 }
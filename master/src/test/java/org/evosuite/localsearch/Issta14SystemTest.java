@@ -90,4 +90,26 @@ public class Issta14SystemTest extends SystemTest {
 				0.001);
 	}
 
+	@Test
+	public void testParallelDSE() {
+
+		EvoSuite evosuite = new EvoSuite();
+		String targetClass = IsstaFoo.class.getCanonicalName();
+		Properties.TARGET_CLASS = targetClass;
+
+		Properties.DSE_PROBABILITY = 1.0; // force using only DSE, no LS
+		Properties.DSE_PARALLEL_SOLVERS = 4;
+
+		String[] command = new String[] { "-generateSuite", "-class",
+				targetClass };
+
+		Object result = evosuite.parseCommandLine(command);
+		GeneticAlgorithm<?> ga = getGAFromResult(result);
+		TestSuiteChromosome best = (TestSuiteChromosome) ga.getBestIndividual();
+		System.out.println("EvolvedTestSuite:\n" + best);
+
+		Assert.assertEquals("Non-optimal coverage: ", 1d, best.getCoverage(),
+				0.001);
+	}
+
 }
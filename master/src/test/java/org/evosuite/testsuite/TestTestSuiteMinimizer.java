@@ -22,6 +22,7 @@ package org.evosuite.testsuite;
 import org.evosuite.EvoSuite;
 import org.evosuite.Properties;
 import org.evosuite.Properties.Criterion;
+import org.evosuite.Properties.MinimizationStrategy;
 import org.evosuite.SystemTest;
 import org.evosuite.ga.FitnessFunction;
 import org.evosuite.ga.metaheuristics.GeneticAlgorithm;
@@ -34,10 +35,13 @@ import com.examples.with.different.packagename.coverage.MethodReturnsPrimitive;
 public class TestTestSuiteMinimizer extends SystemTest {
 	
 	private boolean oldMinimizeValues = Properties.MINIMIZE_VALUES;
+
+	private MinimizationStrategy oldMinimizationStrategy = Properties.MINIMIZATION_STRATEGY;
 	
 	@After
 	public void restoreProperties() {
 		Properties.MINIMIZE_VALUES = oldMinimizeValues;
+		Properties.MINIMIZATION_STRATEGY = oldMinimizationStrategy;
 	}
 	
 	@Test
@@ -70,6 +74,36 @@ public class TestTestSuiteMinimizer extends SystemTest {
         Assert.assertEquals(5, c.size());
 	}
 
+	@Test
+    public void testWithDeltaDebugging()
+	{
+		Properties.CRITERION = new Criterion[1];
+        Properties.CRITERION[0] = Criterion.ONLYBRANCH;
+
+        Properties.MINIMIZATION_STRATEGY = MinimizationStrategy.DDMIN;
+
+	    EvoSuite evosuite = new EvoSuite();
+
+        String targetClass = MethodReturnsPrimitive.class.getCanonicalName();
+        Properties.TARGET_CLASS = targetClass;
+
+        String[] command = new String[] {
+            "-generateSuite",
+            "-class", targetClass
+        };
+
+        Object result = evosuite.parseCommandLine(command);
+        Assert.assertNotNull(result);
+
+        GeneticAlgorithm<?> ga = getGAFromResult(result);
+        TestSuiteChromosome c = (TestSuiteChromosome) ga.getBestIndividual();
+
+        Assert.assertEquals(0.0, c.getFitness(), 0.0);
+        Assert.assertEquals(1.0, c.getCoverage(), 0.0);
+        Assert.assertEquals(6.0, c.getNumOfCoveredGoals(ga.getFitnessFunction()), 0.0);
+        Assert.assertEquals(5, c.size());
+	}
+
 	@SuppressWarnings("rawtypes")
 	@Test
     public void testWithTwo()
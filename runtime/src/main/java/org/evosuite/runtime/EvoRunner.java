@@ -27,6 +27,7 @@ import java.util.Set;
 import org.evosuite.annotations.EvoSuiteTest;
 import org.junit.Test;
 import org.evosuite.runtime.instrumentation.EvoClassLoader;
+import org.junit.runner.notification.RunNotifier;
 import org.junit.runners.BlockJUnit4ClassRunner;
 import org.junit.runners.model.FrameworkMethod;
 import org.junit.runners.model.InitializationError;
@@ -56,6 +57,14 @@ public class EvoRunner extends BlockJUnit4ClassRunner {
 	 */
 	public static boolean useAgent = true;
 
+	/**
+	 * System property to set when test classes are run concurrently in the same JVM,
+	 * eg with Surefire parallel=classes
+	 *
+	 * @see RuntimeSettings#useThreadScopedState
+	 */
+	public static final String THREAD_SCOPED_STATE_PROPERTY = "evosuite.runtime.threadScopedState";
+
 
 	public EvoRunner(Class<?> klass)
 			throws InitializationError {
@@ -72,6 +81,18 @@ public class EvoRunner extends BlockJUnit4ClassRunner {
 		super(getClass(klass));		
 	}
 
+	@Override
+	public void run(RunNotifier notifier) {
+		if(RuntimeSettings.useThreadScopedState) {
+			/*
+			 * the thread running this test class might have been used by other
+			 * test classes before, or have inherited their state
+			 */
+			ScopedSingleton.startNewScope();
+		}
+		super.run(notifier);
+	}
+
 	private static Class<?> getClass(Class<?> klass) throws InitializationError{
 		
 		EvoRunnerParameters ep = klass.getAnnotation(EvoRunnerParameters.class);
@@ -88,6 +109,10 @@ public class EvoRunner extends BlockJUnit4ClassRunner {
         RuntimeSettings.useSeparateClassLoader = ep.separateClassLoader();
 		RuntimeSettings.useJEE = ep.useJEE();
 
+		if(Boolean.getBoolean(THREAD_SCOPED_STATE_PROPERTY)) {
+			RuntimeSettings.useThreadScopedState = true;
+		}
+
 		if(RuntimeSettings.useSeparateClassLoader) {
 			return getFromEvoSuiteClassloader(klass);
 		}
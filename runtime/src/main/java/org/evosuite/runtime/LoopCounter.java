@@ -35,7 +35,21 @@ import java.util.List;
  */
 public class LoopCounter {
 
-    private static final LoopCounter singleton = new LoopCounter();
+    private static final ScopedSingleton<LoopCounter> singleton = new ScopedSingleton<LoopCounter>() {
+        @Override
+        protected LoopCounter create() {
+            return new LoopCounter();
+        }
+    };
+
+    /**
+     * Counter of the worker that executes tests on the current thread, if
+     * tests are executed concurrently. The thread running a test, and the
+     * threads started by the SUT, inherit it
+     */
+    private static final InheritableThreadLocal<LoopCounter> workerCounter = new InheritableThreadLocal<>();
+
+    private static volatile boolean workerCountersInUse = false;
 
     private boolean activated = true;
     
@@ -50,7 +64,43 @@ public class LoopCounter {
     }
 
     public static LoopCounter getInstance(){
-        return singleton;
+        if(workerCountersInUse){
+            LoopCounter counter = workerCounter.get();
+            if(counter != null){
+                return counter;
+            }
+        }
+        return singleton.get();
+    }
+
+    /**
+     * Create a counter for a worker that executes tests concurrently with
+     * other workers, to be used with {@link #bindToCurrentThread(LoopCounter)}
+     *
+     * @return a new counter, activated as the current one
+     */
+    public static LoopCounter createWorkerCounter(){
+        LoopCounter counter = new LoopCounter();
+        counter.activated = singleton.get().activated;
+        return counter;
+    }
+
+    /**
+     * Route all the loop checks of the current thread (and of the threads it
+     * creates) to the given counter
+     *
+     * @param counter a worker counter
+     */
+    public static void bindToCurrentThread(LoopCounter counter){
+        workerCountersInUse = true;
+        workerCounter.set(counter);
+    }
+
+    /**
+     * Route the loop checks of the current thread back to the shared counter
+     */
+    public static void unbindFromCurrentThread(){
+        workerCounter.remove();
     }
 
     public void reset(){
@@ -68,9 +118,16 @@ public class LoopCounter {
      * @return the next valid index for a new loop
      */
     public int getNewIndex(){
-        int index = counters.size();
-        counters.add(0l);
-        return index;
+        LoopCounter global = singleton.getGlobal();
+        if(this != global){
+            //indices have to be unique among all the threads that instrument classes
+            return global.getNewIndex();
+        }
+        synchronized (this) {
+            int index = counters.size();
+            counters.add(0l);
+            return index;
+        }
     }
 
 
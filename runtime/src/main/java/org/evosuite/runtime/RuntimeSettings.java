@@ -104,6 +104,16 @@ public class RuntimeSettings {
      */
     public static boolean applyUIDTransformation = false;
 
+    /**
+     * Should the state of the virtual environment (VFS, VNET, loop and thread counters,
+     * mocking) be kept per thread instead of per JVM? This is needed to run
+     * test classes concurrently in the same JVM, eg with Surefire parallel=classes.
+     * Static state is only separated if tests also use a separate class loader.
+     *
+     * @see ScopedSingleton
+     */
+    public static boolean useThreadScopedState = false;
+
 
     public static boolean isUsingAnyMocking(){
         return mockJVMNonDeterminism || useVFS || useVNET;
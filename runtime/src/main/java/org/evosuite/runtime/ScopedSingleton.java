@@ -0,0 +1,98 @@
+/**
+ * Copyright (C) 2010-2015 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser Public License as published by the
+ * Free Software Foundation, either version 3.0 of the License, or (at your
+ * option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser Public License along
+ * with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.runtime;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Holder of the instance of a singleton of the runtime, eg the virtual file
+ * system.
+ *
+ * <p>
+ * By default there is only one instance per JVM. If
+ * {@link RuntimeSettings#useThreadScopedState} is on, each thread has its own
+ * instance instead, so that test classes running concurrently in the same JVM
+ * do not share the state of the virtual environment. A thread started by the
+ * SUT (or by JUnit to enforce a timeout) gets the instance of the thread that
+ * started it.
+ *
+ * @param <T> the type of the singleton
+ */
+public abstract class ScopedSingleton<T> {
+
+	private static final List<ScopedSingleton<?>> singletons = new CopyOnWriteArrayList<>();
+
+	private volatile T global;
+
+	private final InheritableThreadLocal<T> scoped = new InheritableThreadLocal<T>() {
+		@Override
+		protected T initialValue() {
+			return create();
+		}
+	};
+
+	protected ScopedSingleton() {
+		singletons.add(this);
+	}
+
+	/**
+	 * Give the current thread new instances of all the singletons. This is
+	 * needed when a thread starts running a test class, as it might have been
+	 * used by, or have inherited the state of, another test class
+	 */
+	public static void startNewScope() {
+		for (ScopedSingleton<?> singleton : singletons) {
+			singleton.scoped.remove();
+		}
+	}
+
+	/**
+	 * @return a new instance of the singleton, in its initial state
+	 */
+	protected abstract T create();
+
+	/**
+	 * @return the instance for the current execution context
+	 */
+	public T get() {
+		if (RuntimeSettings.useThreadScopedState) {
+			return scoped.get();
+		}
+		return getGlobal();
+	}
+
+	/**
+	 * @return the JVM-wide instance, regardless of the scoping mode
+	 */
+	public T getGlobal() {
+		T instance = global;
+		if (instance == null) {
+			synchronized (this) {
+				instance = global;
+				if (instance == null) {
+					instance = create();
+					global = instance;
+				}
+			}
+		}
+		return instance;
+	}
+}
@@ -27,6 +27,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.evosuite.runtime.*;
 import org.evosuite.runtime.agent.InstrumentingAgent;
@@ -56,7 +57,16 @@ public class ClassResetter {
 	 */
 	private static final ClassResetter instance = new ClassResetter();
 
-	private ClassLoader loader;
+	/**
+	 * The loader of the classes to reset, which is per thread if the state
+	 * of the runtime is thread scoped
+	 */
+	private final ScopedSingleton<AtomicReference<ClassLoader>> loader = new ScopedSingleton<AtomicReference<ClassLoader>>() {
+		@Override
+		protected AtomicReference<ClassLoader> create() {
+			return new AtomicReference<>();
+		}
+	};
 	
 	private final Map<ClassLoader, Map<String, Method>> resetMethodCache;
 
@@ -76,7 +86,7 @@ public class ClassResetter {
 		if(loader==null){
 			throw new IllegalArgumentException("Null class loader");
 		}
-		this.loader = loader;
+		this.loader.get().set(loader);
 	}
 
 
@@ -89,7 +99,7 @@ public class ClassResetter {
 		AtMostOnceLogger.warn(logger,msg);
 	}
 
-	private void cacheResetMethod(String classNameWithDots) {
+	private void cacheResetMethod(String classNameWithDots, ClassLoader loader) {
 
 		if (!resetMethodCache.containsKey(loader)) {
             resetMethodCache.put(loader, new HashMap<String, Method>());
@@ -120,10 +130,33 @@ public class ClassResetter {
 	}
 	
 	public Method getResetMethod(String classNameWithDots) {
-		cacheResetMethod(classNameWithDots);
+		return getResetMethod(classNameWithDots, loader.get().get());
+	}
+
+	/**
+	 * Look up the reset method in a specific class loader, without changing the
+	 * one set with {@link #setClassLoader(ClassLoader)}. This is needed when
+	 * different class loaders are reset concurrently
+	 *
+	 * @param classNameWithDots
+	 * @param loader
+	 * @return {@code null} if the class has no reset method
+	 */
+	public synchronized Method getResetMethod(String classNameWithDots, ClassLoader loader) {
+		cacheResetMethod(classNameWithDots, loader);
 		return resetMethodCache.get(loader).get(classNameWithDots);
 	}
 
+	/**
+	 * Forget the reset methods looked up in the given class loader, so that
+	 * it can be garbage collected once it is no longer used
+	 *
+	 * @param loader
+	 */
+	public synchronized void removeClassLoader(ClassLoader loader) {
+		resetMethodCache.remove(loader);
+	}
+
 	/**
 	 * Invoke the duplicated version of class initializar <clinit> 
 	 *  
@@ -134,7 +167,7 @@ public class ClassResetter {
 			throw new IllegalArgumentException("Empty class name in input");
 		}
 		
-		if(loader == null){					
+		if(loader.get().get() == null){
 			throw new IllegalStateException("No specified loader");
 		}
 		
@@ -24,7 +24,6 @@ import java.io.InputStream;
 import java.util.HashMap;
 import java.util.Map;
 
-import org.objectweb.asm.ClassReader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -103,8 +102,10 @@ public class EvoClassLoader extends ClassLoader {
 						+ "' should be in target project, but could not be found!");
 			}
 			
-			byte[] byteBuffer = instrumentation.transformBytes(this, className,
-			                                                   new ClassReader(is));
+			// the same classes are instrumented again by each new loader
+			byte[] byteBuffer = InstrumentedClassCache.getInstance().getInstrumentedBytes(instrumentation,
+			                                                                   this, className,
+			                                                                   InstrumentedClassCache.readBytes(is));
 			createPackageDefinition(fullyQualifiedTargetClass);
 			Class<?> result = defineClass(fullyQualifiedTargetClass, byteBuffer, 0,
 			                              byteBuffer.length);
@@ -0,0 +1,273 @@
+/**
+ * Copyright (C) 2010-2015 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser Public License as published by the
+ * Free Software Foundation, either version 3.0 of the License, or (at your
+ * option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser Public License along
+ * with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.runtime.instrumentation;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.objectweb.asm.ClassReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * JVM-wide cache of the bytecode produced by {@link RuntimeInstrumentation}.
+ *
+ * <p>
+ * When tests run with a separate class loader, each test class gets its own
+ * {@link EvoClassLoader}, and each of them would instrument the same SUT classes
+ * again. Entries are keyed by class name, hash of the original bytes and the
+ * instrumentation flags, so a cached entry is only reused if the instrumentation
+ * would produce exactly the same bytes.
+ *
+ * <p>
+ * If the system property {@link #CACHE_DIR_PROPERTY} points to a directory, the
+ * instrumented bytes are also stored there and shared among JVMs. Entries are
+ * put in a sub-directory named after a hash of the EvoSuite runtime itself, so
+ * that a different build, whose instrumentation may differ, does not reuse them.
+ */
+public class InstrumentedClassCache {
+
+	private static final Logger logger = LoggerFactory.getLogger(InstrumentedClassCache.class);
+
+	/**
+	 * System property with the directory of the on-disk cache
+	 */
+	public static final String CACHE_DIR_PROPERTY = "evosuite.instrumentation.cache";
+
+	private static final InstrumentedClassCache instance = new InstrumentedClassCache();
+
+	private final ConcurrentMap<String, byte[]> cache = new ConcurrentHashMap<>();
+
+	/**
+	 * Name of the on-disk sub-directory of this runtime, computed when first
+	 * needed; empty if the runtime cannot be identified
+	 */
+	private static volatile String runtimeRevision = null;
+
+	private InstrumentedClassCache() {
+	}
+
+	public static InstrumentedClassCache getInstance() {
+		return instance;
+	}
+
+	public static void resetSingleton() {
+		getInstance().cache.clear();
+	}
+
+	/**
+	 * Return the instrumented version of the given class, instrumenting it only
+	 * if it is neither in the memory nor in the on-disk cache
+	 *
+	 * @param instrumentation
+	 * @param classLoader the loader that is going to define the class
+	 * @param className the class name, with '/' as separator
+	 * @param originalBytes the bytes of the class as read from the class path
+	 * @return
+	 */
+	public byte[] getInstrumentedBytes(RuntimeInstrumentation instrumentation,
+			ClassLoader classLoader, String className, byte[] originalBytes) {
+
+		String key = getKey(className, originalBytes, instrumentation.getInstrumentationFlags());
+
+		byte[] instrumented = cache.get(key);
+		if (instrumented != null) {
+			return instrumented;
+		}
+
+		File cacheFile = getCacheFile(key);
+		instrumented = readFromDisk(cacheFile);
+		if (instrumented == null) {
+			instrumented = instrumentation.transformBytes(classLoader, className,
+					new ClassReader(originalBytes));
+			writeToDisk(cacheFile, instrumented);
+		}
+
+		byte[] previous = cache.putIfAbsent(key, instrumented);
+		return previous != null ? previous : instrumented;
+	}
+
+	/**
+	 * @return the number of classes in the in-memory cache
+	 */
+	public int size() {
+		return cache.size();
+	}
+
+	private static String getKey(String className, byte[] bytes, int flags) {
+		return className.replace('/', '.') + "-" + hash(bytes) + "-" + Integer.toHexString(flags);
+	}
+
+	private static String hash(byte[] bytes) {
+		return toHex(newDigest().digest(bytes));
+	}
+
+	private static MessageDigest newDigest() {
+		try {
+			return MessageDigest.getInstance("SHA-1");
+		} catch (NoSuchAlgorithmException e) {
+			//every Java platform has to support SHA-1
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static String toHex(byte[] digest) {
+		StringBuilder sb = new StringBuilder(2 * digest.length);
+		for (byte b : digest) {
+			sb.append(Character.forDigit((b >> 4) & 0xF, 16));
+			sb.append(Character.forDigit(b & 0xF, 16));
+		}
+		return sb.toString();
+	}
+
+	private static File getCacheFile(String key) {
+		String dir = System.getProperty(CACHE_DIR_PROPERTY);
+		if (dir == null || dir.isEmpty()) {
+			return null;
+		}
+		String revision = getRuntimeRevision();
+		if (revision.isEmpty()) {
+			return null;
+		}
+		return new File(new File(dir, revision), key + ".class");
+	}
+
+	/**
+	 * @return the hash of the jar file (or of the class files) this runtime is
+	 *         loaded from, or its implementation version if neither can be read
+	 */
+	static String getRuntimeRevision() {
+		String revision = runtimeRevision;
+		if (revision == null) {
+			revision = computeRuntimeRevision();
+			runtimeRevision = revision;
+		}
+		return revision;
+	}
+
+	private static String computeRuntimeRevision() {
+		try {
+			CodeSource source = InstrumentedClassCache.class.getProtectionDomain().getCodeSource();
+			if (source != null && source.getLocation() != null) {
+				File location = new File(source.getLocation().toURI());
+				MessageDigest digest = newDigest();
+				if (location.isFile()) {
+					digest.update(Files.readAllBytes(location.toPath()));
+					return toHex(digest.digest());
+				} else if (location.isDirectory()) {
+					//not packaged yet, eg when running the tests of EvoSuite itself
+					updateDigest(digest, location, "");
+					return toHex(digest.digest());
+				}
+			}
+		} catch (IOException | URISyntaxException | SecurityException | IllegalArgumentException e) {
+			logger.debug("Cannot read the EvoSuite runtime: " + e);
+		}
+		String version = InstrumentedClassCache.class.getPackage().getImplementationVersion();
+		if (version == null) {
+			logger.debug("Cannot identify the EvoSuite runtime, so the on-disk cache is not used");
+			return "";
+		}
+		return version;
+	}
+
+	private static void updateDigest(MessageDigest digest, File dir, String path) throws IOException {
+		File[] files = dir.listFiles();
+		if (files == null) {
+			return;
+		}
+		Arrays.sort(files);
+		for (File file : files) {
+			String name = path + "/" + file.getName();
+			if (file.isDirectory()) {
+				updateDigest(digest, file, name);
+			} else if (file.getName().endsWith(".class")) {
+				digest.update(name.getBytes("UTF-8"));
+				digest.update(Files.readAllBytes(file.toPath()));
+			}
+		}
+	}
+
+	private static byte[] readFromDisk(File file) {
+		if (file == null) {
+			return null;
+		}
+		try {
+			if (!file.isFile()) {
+				return null;
+			}
+			return Files.readAllBytes(file.toPath());
+		} catch (IOException | SecurityException e) {
+			//the on-disk cache is only an optimization
+			logger.debug("Cannot read " + file + ": " + e);
+			return null;
+		}
+	}
+
+	private static void writeToDisk(File file, byte[] bytes) {
+		if (file == null) {
+			return;
+		}
+		try {
+			File dir = file.getParentFile();
+			if (!dir.isDirectory() && !dir.mkdirs() && !dir.isDirectory()) {
+				logger.debug("Cannot create cache directory " + dir);
+				return;
+			}
+			/*
+			 * other JVMs might read the same entry concurrently, so it is
+			 * written to a temporary file first and then moved into place
+			 */
+			File tmp = File.createTempFile(file.getName(), ".tmp", dir);
+			try {
+				Files.write(tmp.toPath(), bytes);
+				Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE);
+			} finally {
+				tmp.delete();
+			}
+		} catch (IOException | SecurityException e) {
+			logger.debug("Cannot write " + file + ": " + e);
+		}
+	}
+
+	/**
+	 * Read the whole content of the given stream
+	 */
+	static byte[] readBytes(InputStream is) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		byte[] buffer = new byte[8192];
+		int n;
+		while ((n = is.read(buffer)) != -1) {
+			out.write(buffer, 0, n);
+		}
+		return out.toByteArray();
+	}
+}
@@ -157,6 +157,38 @@ public class RuntimeInstrumentation {
 		return list;
 	}
 
+	/**
+	 * The settings that {@link #transformBytes} depends on, one bit each.
+	 * Two calls with the same flags on the same class give the same bytes.
+	 *
+	 * @return
+	 */
+	public int getInstrumentationFlags() {
+		int flags = 0;
+		if (retransformingMode) {
+			flags |= 1;
+		}
+		if (RuntimeSettings.resetStaticState) {
+			flags |= 1 << 1;
+		}
+		if (RuntimeSettings.mockJVMNonDeterminism) {
+			flags |= 1 << 2;
+		}
+		if (RuntimeSettings.useVFS) {
+			flags |= 1 << 3;
+		}
+		if (RuntimeSettings.useVNET) {
+			flags |= 1 << 4;
+		}
+		if (RuntimeSettings.maxNumberOfIterationsPerLoop >= 0) {
+			flags |= 1 << 5;
+		}
+		if (RuntimeSettings.applyUIDTransformation) {
+			flags |= 1 << 6;
+		}
+		return flags;
+	}
+
 	public byte[] transformBytes(ClassLoader classLoader, String className,
 			ClassReader reader) {
 
@@ -19,6 +19,10 @@
  */
 package org.evosuite.runtime.mock;
 
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.evosuite.runtime.ScopedSingleton;
+
 /**
  * Class used to keep track of whether instrumented mock
  * class should use their mocked functionalities, or rather
@@ -37,21 +41,26 @@ package org.evosuite.runtime.mock;
  */
 public class MockFramework {
 
-	private static volatile boolean active = false;
+	private static final ScopedSingleton<AtomicBoolean> active = new ScopedSingleton<AtomicBoolean>() {
+		@Override
+		protected AtomicBoolean create() {
+			return new AtomicBoolean(false);
+		}
+	};
 	
 	/**
 	 * If classes are mocked, then use the mock versions
 	 * instead of the original
 	 */
 	public static void enable(){
-		active = true;
+		active.get().set(true);
 	}
 	
 	public static void disable(){
-		active = false;		
+		active.get().set(false);
 	}
 	
 	public static boolean isEnabled(){
-		return active;
+		return active.get().get();
 	}
 }
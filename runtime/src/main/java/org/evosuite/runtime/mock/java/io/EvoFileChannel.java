@@ -34,6 +34,7 @@ import java.nio.channels.WritableByteChannel;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.evosuite.runtime.mock.java.lang.MockIllegalArgumentException;
+import org.evosuite.runtime.vfs.VFile;
 import org.evosuite.runtime.vfs.VirtualFileSystem;
 
 
@@ -77,6 +78,11 @@ public class EvoFileChannel extends FileChannel{  //FIXME mock FileChannel
 
 	private final Object readWriteMonitor = new Object();
 
+	/**
+	 * The virtual file of this channel, to avoid resolving the path on each operation
+	 */
+	private VFile virtualFile = null;
+
 	/**
 	 * Main constructor
 	 * 
@@ -136,24 +142,41 @@ public class EvoFileChannel extends FileChannel{  //FIXME mock FileChannel
 			for(int j=offset; j<length; j++){
 				ByteBuffer dst = dsts[j];
 				int r = dst.remaining();
-				for(int i=0; i<r; i++){
-					int b = NativeMockedIO.read(path, posToUpdate);
-					if(b < 0){ //end of stream
-						return -1;
-					}
+				if(r == 0){
+					continue;
+				}
 
-					if(closed){
-						throw new AsynchronousCloseException();
+				virtualFile = NativeMockedIO.getFileForReading(path, virtualFile);
+				int n;
+				if(dst.hasArray()){
+					n = NativeMockedIO.read(virtualFile, path, posToUpdate, dst.array(), dst.arrayOffset() + dst.position(), r);
+					if(n > 0){
+						dst.position(dst.position() + n);
 					}
-
-					if(Thread.currentThread().isInterrupted()){
-						close();
-						throw new ClosedByInterruptException();
+				} else {
+					byte[] buffer = new byte[r];
+					n = NativeMockedIO.read(virtualFile, path, posToUpdate, buffer, 0, r);
+					if(n > 0){
+						dst.put(buffer, 0, n);
 					}
+				}
 
-					dst.put((byte)b);
-					counter++;
+				if(closed){
+					throw new AsynchronousCloseException();
 				}
+
+				if(Thread.currentThread().isInterrupted()){
+					close();
+					throw new ClosedByInterruptException();
+				}
+
+				if(n < r){ //end of stream
+					if(n > 0){
+						counter += n;
+					}
+					return counter == 0 ? -1 : counter;
+				}
+				counter += n;
 			}
 		}
 
@@ -203,26 +226,27 @@ public class EvoFileChannel extends FileChannel{  //FIXME mock FileChannel
 
 		int counter = 0;
 
-		byte[] buffer = new byte[1];
-
 		synchronized(readWriteMonitor){
 			for(int j=offset; j<length; j++){
 				ByteBuffer src = srcs[j];
 				int r = src.remaining();
-				for(int i=0; i<r; i++){
-					byte b = src.get();
-					buffer[0] = b;
-					NativeMockedIO.writeBytes(path, posToUpdate, buffer, 0, 1);
-					counter++;
-
-					if(closed){
-						throw new AsynchronousCloseException();
-					}
+				if(r == 0){
+					continue;
+				}
 
-					if(Thread.currentThread().isInterrupted()){
-						close();
-						throw new ClosedByInterruptException();
-					}
+				byte[] buffer = new byte[r];
+				src.get(buffer);
+				virtualFile = NativeMockedIO.getFileForWriting(path, virtualFile);
+				NativeMockedIO.writeBytes(virtualFile, path, posToUpdate, buffer, 0, r);
+				counter += r;
+
+				if(closed){
+					throw new AsynchronousCloseException();
+				}
+
+				if(Thread.currentThread().isInterrupted()){
+					close();
+					throw new ClosedByInterruptException();
 				}
 			}
 		}
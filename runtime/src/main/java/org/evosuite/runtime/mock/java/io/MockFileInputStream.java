@@ -54,6 +54,11 @@ public class MockFileInputStream extends FileInputStream implements LeakingResou
 	 */
 	private final AtomicInteger position = new AtomicInteger(0);
 
+	/**
+	 * The virtual file read by this stream, to avoid resolving the path on each read
+	 */
+	private VFile virtualFile = null;
+
 	// ----- constructors -------------
 
 	public MockFileInputStream(String name) throws FileNotFoundException {
@@ -81,8 +86,8 @@ public class MockFileInputStream extends FileInputStream implements LeakingResou
 			throw new MockNullPointerException();
 		}
 
-		VFile vf = NativeMockedIO.getFileForReading(path);
-		if(vf==null){
+		virtualFile = NativeMockedIO.getFileForReading(path);
+		if(virtualFile==null){
 			throw new FileNotFoundException();
 		}
 	}
@@ -107,7 +112,7 @@ public class MockFileInputStream extends FileInputStream implements LeakingResou
 		
 		throwExceptionIfClosed();
 
-		return NativeMockedIO.read(path, position); 
+		return NativeMockedIO.read(getFile(), path, position); 
 	}
 
 	private  int readBytes(byte b[], int off, int len) throws IOException{
@@ -116,23 +121,9 @@ public class MockFileInputStream extends FileInputStream implements LeakingResou
 			return super.read(b, off, len);
 		}
 		
-		int counter = 0;
-		for(int i=0; i<len; i++){
-			int v = read();
-			if(v == -1){  //EOF
-				if(i==0){
-					//no data to read
-					return -1;
-				} else {
-					return counter;
-				}
-			}
-
-			b[off+i] = (byte) v;
-			counter++;
-		}
+		throwExceptionIfClosed();
 
-		return counter; 
+		return NativeMockedIO.read(getFile(), path, position, b, off, len);
 	}
 
 	@Override
@@ -162,7 +153,7 @@ public class MockFileInputStream extends FileInputStream implements LeakingResou
 		
 		throwExceptionIfClosed();
 
-		VFile vf = NativeMockedIO.getFileForReading(path);
+		VFile vf = getFile();
 		if(vf==null){
 			throw new MockIOException();
 		}
@@ -228,6 +219,11 @@ public class MockFileInputStream extends FileInputStream implements LeakingResou
 		}
 	}
 
+	private VFile getFile(){
+		virtualFile = NativeMockedIO.getFileForReading(path, virtualFile);
+		return virtualFile;
+	}
+
 	private void throwExceptionIfClosed() throws IOException{
 		if(closed){
 			throw new MockIOException();
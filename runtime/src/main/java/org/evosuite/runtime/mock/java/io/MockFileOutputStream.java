@@ -54,6 +54,11 @@ public class MockFileOutputStream extends FileOutputStream implements LeakingRes
 	 */
 	private final AtomicInteger position = new AtomicInteger(0);
 
+	/**
+	 * The virtual file written by this stream, to avoid resolving the path on each write
+	 */
+	private VFile virtualFile = null;
+
 	//-------- constructors  ----------------
 
 	public MockFileOutputStream(String name) throws FileNotFoundException {
@@ -105,8 +110,9 @@ public class MockFileOutputStream extends FileOutputStream implements LeakingRes
 			throw new FileNotFoundException();
 		}
 
+		virtualFile = (VFile) target;
 		if(!append){
-			((VFile)target).eraseData();
+			virtualFile.eraseData();
 		}
 	}
 
@@ -126,7 +132,8 @@ public class MockFileOutputStream extends FileOutputStream implements LeakingRes
 
 		throwExceptionIfClosed();
 
-		NativeMockedIO.writeBytes(path, position, b, off, len);
+		virtualFile = NativeMockedIO.getFileForWriting(path, virtualFile);
+		NativeMockedIO.writeBytes(virtualFile, path, position, b, off, len);
 	}
 
 	@Override
@@ -54,6 +54,11 @@ public class MockRandomAccessFile extends RandomAccessFile implements LeakingRes
 	 * The position in the file
 	 */
 	private final AtomicInteger position = new AtomicInteger(0);
+
+	/**
+	 * The virtual file accessed by this object, to avoid resolving the path on each operation
+	 */
+	private VFile virtualFile = null;
 	
 	// ----------- constructors  ----------------
 
@@ -137,7 +142,8 @@ public class MockRandomAccessFile extends RandomAccessFile implements LeakingRes
 		//no need to check canRead, as should be always true
 		assert canRead;
 		
-		return NativeMockedIO.read(path, position); 
+		virtualFile = NativeMockedIO.getFileForReading(path, virtualFile);
+		return NativeMockedIO.read(virtualFile, path, position); 
 	}
 
 	@Override
@@ -156,7 +162,8 @@ public class MockRandomAccessFile extends RandomAccessFile implements LeakingRes
 			throw new IOException();
 		}
 
-		NativeMockedIO.writeBytes(path, position, b, off, len);
+		virtualFile = NativeMockedIO.getFileForWriting(path, virtualFile);
+		NativeMockedIO.writeBytes(virtualFile, path, position, b, off, len);
 	}
 	
 	@Override
@@ -215,19 +222,12 @@ public class MockRandomAccessFile extends RandomAccessFile implements LeakingRes
 	// ---------   override methods ----------------
 	
 	private  int readBytes(byte b[], int off, int len) throws IOException{
-		int counter = 0;
-		for(int i=0; i<len; i++){
-			int v = read();
-			if(v == -1){  
-				//end of stream
-				return -1;
-			}
-			
-			b[off+i] = (byte) v;
-			counter++;
+		if(closed){
+			throw new MockIOException();
 		}
-		
-		return counter; 
+
+		virtualFile = NativeMockedIO.getFileForReading(path, virtualFile);
+		return NativeMockedIO.read(virtualFile, path, position, b, off, len);
 	}
 	
 	@Override
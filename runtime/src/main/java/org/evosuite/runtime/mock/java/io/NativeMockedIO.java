@@ -46,20 +46,79 @@ public class NativeMockedIO {
 		}
 		return (VFile) target;
 	}
+
+	/**
+	 * Same as {@link #getFileForReading(String)}, but re-using the file found by a previous call
+	 * if it is still readable. Resolving a path in the virtual file system is expensive
+	 * compared to reading a few bytes, so streams keep the file they operate on.
+	 * 
+	 * @param path
+	 * @param cached  the file returned by a previous call, or {@code null}
+	 * @return {@code null} if the file cannot be read
+	 */
+	public static VFile getFileForReading(String path, VFile cached){
+		if(cached!=null && !cached.isDeleted() && cached.isReadPermission()){
+			return cached;
+		}
+		return getFileForReading(path);
+	}
 	
 	public static int read(String path, AtomicInteger position) throws IOException{
-		VFile vf = NativeMockedIO.getFileForReading(path);
+		return read(getFileForReading(path), path, position);
+	}
+
+	/**
+	 * Read a single byte from the given file
+	 * 
+	 * @param vf  the file, or {@code null} if it cannot be read
+	 * @param path  the path of the file
+	 * @param position  the position to read at, advanced unless at the end of the file
+	 * @return the byte, or -1 at the end of the file
+	 * @throws IOException
+	 */
+	public static int read(VFile vf, String path, AtomicInteger position) throws IOException{
 		if(vf==null){
 			throw new MockIOException();
 		}
 		
 		VirtualFileSystem.getInstance().throwSimuledIOExceptionIfNeeded(path);
 		
-		int b = vf.read(position.getAndIncrement());
+		int b = vf.read(position.get());
+		if(b >= 0){
+			position.incrementAndGet();
+		}
 				
 		return b; 
 	}
 
+	/**
+	 * Read up to {@code len} bytes from the given file in a single operation
+	 * 
+	 * @param vf  the file, or {@code null} if it cannot be read
+	 * @param path  the path of the file
+	 * @param position  the position to read at, advanced by the number of bytes read
+	 * @param b
+	 * @param off
+	 * @param len
+	 * @return the number of bytes read, or -1 at the end of the file
+	 * @throws IOException
+	 */
+	public static int read(VFile vf, String path, AtomicInteger position, byte b[], int off, int len)
+			throws IOException{
+		if(vf==null){
+			throw new MockIOException();
+		}
+
+		VirtualFileSystem.getInstance().throwSimuledIOExceptionIfNeeded(path);
+
+		int n = vf.read(position.get(), b, off, len);
+		if(n > 0){
+			position.addAndGet(n);
+		}
+
+		return n;
+	}
+
 	
 	public static VFile getFileForWriting(String path){
 		FSObject target = VirtualFileSystem.getInstance().findFSObject(path);
@@ -68,12 +127,31 @@ public class NativeMockedIO {
 		}
 		return (VFile) target;
 	}	
+
+	/**
+	 * Same as {@link #getFileForWriting(String)}, but re-using the file found by a previous call
+	 * if it is still writable
+	 * 
+	 * @param path
+	 * @param cached  the file returned by a previous call, or {@code null}
+	 * @return {@code null} if the file cannot be written
+	 */
+	public static VFile getFileForWriting(String path, VFile cached){
+		if(cached!=null && !cached.isDeleted() && cached.isWritePermission()){
+			return cached;
+		}
+		return getFileForWriting(path);
+	}
 	
 	
 	public static void writeBytes(String path, AtomicInteger position, byte b[], int off, int len)
 			throws IOException{
+		writeBytes(getFileForWriting(path), path, position, b, off, len);
+	}
+
+	public static void writeBytes(VFile vf, String path, AtomicInteger position, byte b[], int off, int len)
+			throws IOException{
 		
-		VFile vf = NativeMockedIO.getFileForWriting(path);
 		if(vf==null){
 			throw new MockIOException();
 		}
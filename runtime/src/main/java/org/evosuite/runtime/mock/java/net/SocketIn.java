@@ -76,7 +76,14 @@ public class SocketIn extends InputStream{
 
 	@Override
 	public int read(byte b[], int off, int len) throws IOException {
-		return super.read(b,off,len);
+
+		checkClosed();
+
+		if(isLocal){
+			return tcp.readInSUTfromRemote(b, off, len);
+		} else {
+			return tcp.readInTestFromSUT(b, off, len);
+		}
 	}
 
 	@Override
@@ -395,6 +395,18 @@ public class MSecurityManager extends SecurityManager {
 		}
 	}
 
+	/**
+	 * Make the given thread privileged, regardless of whether the current thread is.
+	 * This is only used when test classes are run concurrently, where the thread of
+	 * each test class but the first one is started after the sandbox was initialized.
+	 *
+	 * @param t
+	 */
+	synchronized void addPrivilegedThreadOfConcurrentTests(Thread t) {
+		logger.debug("Adding privileged thread of concurrent tests: \"" + t.getName()+"\"" );
+		privilegedThreads.add(t);
+	}
+
 	// ------------------------------------------------------------------------------------------
 
 	/*
@@ -22,6 +22,7 @@ package org.evosuite.runtime.sandbox;
 import java.util.Set;
 
 
+import org.evosuite.runtime.RuntimeSettings;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -53,6 +54,13 @@ public class Sandbox {
 
     private static boolean checkForInitialization = false;
 
+	/**
+	 * How many tests are executing SUT code at the same time.
+	 * Only used if the state of the runtime is thread scoped, as then
+	 * test classes can be run concurrently
+	 */
+	private static int executingTests;
+
     public static void setCheckForInitialization(boolean checkForInitialization) {
         Sandbox.checkForInitialization = checkForInitialization;
     }
@@ -73,6 +81,12 @@ public class Sandbox {
 			}
 			
 			manager.apply();
+		} else if (RuntimeSettings.useThreadScopedState) {
+			/*
+			 * another test class running concurrently has already initialized the
+			 * sandbox, but the current thread needs the same privileges its thread had
+			 */
+			manager.addPrivilegedThreadOfConcurrentTests(Thread.currentThread());
 		} else {
 			logger.warn("Sandbox can be initalized only once");
 		}
@@ -127,6 +141,14 @@ public class Sandbox {
 			}
 			return;
 		}
+		if (RuntimeSettings.useThreadScopedState) {
+			synchronized (Sandbox.class) {
+				executingTests++;
+				if (executingTests > 1) {
+					return;
+				}
+			}
+		}
 		manager.goingToExecuteTestCase();
 		PermissionStatistics.getInstance().getAndResetExceptionInfo();
 	}
@@ -138,6 +160,15 @@ public class Sandbox {
 			}
 			return;
 		}
+		if (RuntimeSettings.useThreadScopedState) {
+			synchronized (Sandbox.class) {
+				executingTests--;
+				if (executingTests > 0) {
+					return;
+				}
+				executingTests = 0;
+			}
+		}
 		manager.goingToEndTestCase();
 	}
 
@@ -20,6 +20,7 @@
 package org.evosuite.runtime.thread;
 
 import org.evosuite.runtime.RuntimeSettings;
+import org.evosuite.runtime.ScopedSingleton;
 import org.evosuite.runtime.TooManyResourcesException;
 
 /**
@@ -35,7 +36,12 @@ import org.evosuite.runtime.TooManyResourcesException;
  */
 public class ThreadCounter {
 
-    private static final ThreadCounter singleton = new ThreadCounter();
+    private static final ScopedSingleton<ThreadCounter> singleton = new ScopedSingleton<ThreadCounter>() {
+        @Override
+        protected ThreadCounter create() {
+            return new ThreadCounter();
+        }
+    };
 
     private volatile int counter;
 
@@ -44,7 +50,7 @@ public class ThreadCounter {
     }
 
     public static ThreadCounter getInstance(){
-        return singleton;
+        return singleton.get();
     }
 
     public synchronized  void resetSingleton(){
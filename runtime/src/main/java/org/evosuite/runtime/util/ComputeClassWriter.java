@@ -21,6 +21,8 @@ package org.evosuite.runtime.util;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.objectweb.asm.ClassReader;
 import org.objectweb.asm.ClassWriter;
@@ -35,6 +37,42 @@ import org.objectweb.asm.Opcodes;
 public class ComputeClassWriter extends ClassWriter {
 
 	private ClassLoader l = getClass().getClassLoader();
+
+	/**
+	 * The class hierarchy does not change during a run, but every class that
+	 * is instrumented asks for the common super classes of its types. So we
+	 * keep what is needed of each class file, instead of reading and parsing
+	 * it again each time. Only types that were found are cached, as the
+	 * classpath might still grow.
+	 */
+	private static final Map<String, TypeInfo> typeInfoCache = new ConcurrentHashMap<String, TypeInfo>();
+
+	private static final class TypeInfo {
+
+		private final int access;
+
+		private final String superName;
+
+		private final String[] interfaces;
+
+		private TypeInfo(ClassReader reader) {
+			access = reader.getAccess();
+			superName = reader.getSuperName();
+			interfaces = reader.getInterfaces();
+		}
+
+		public int getAccess() {
+			return access;
+		}
+
+		public String getSuperName() {
+			return superName;
+		}
+
+		public String[] getInterfaces() {
+			return interfaces;
+		}
+	}
 	
     public ComputeClassWriter(final int flags) {
         super(flags);
@@ -43,8 +81,8 @@ public class ComputeClassWriter extends ClassWriter {
     @Override
     protected String getCommonSuperClass(final String type1, final String type2) {
         try {
-        	ClassReader info1;
-        	ClassReader info2;
+        	TypeInfo info1;
+        	TypeInfo info2;
         	try {
         		info1 = typeInfo(type1);
             } catch (NullPointerException e) {
@@ -113,7 +151,7 @@ public class ComputeClassWriter extends ClassWriter {
      * @param type
      *            the internal name of a class or interface.
      * @param info
-     *            the ClassReader corresponding to 'type'.
+     *            the TypeInfo corresponding to 'type'.
      * @return a StringBuilder containing the ancestor classes of 'type',
      *         separated by ';'. The returned string has the following format:
      *         ";type1;type2 ... ;typeN", where type1 is 'type', and typeN is a
@@ -123,7 +161,7 @@ public class ComputeClassWriter extends ClassWriter {
      *             if the bytecode of 'type' or of some of its ancestor class
      *             cannot be loaded.
      */
-    private StringBuilder typeAncestors(String type, ClassReader info)
+    private StringBuilder typeAncestors(String type, TypeInfo info)
             throws IOException {
         StringBuilder b = new StringBuilder();
         while (!"java/lang/Object".equals(type)) {
@@ -140,7 +178,7 @@ public class ComputeClassWriter extends ClassWriter {
      * @param type
      *            the internal name of a class or interface.
      * @param info
-     *            the ClassReader corresponding to 'type'.
+     *            the TypeInfo corresponding to 'type'.
      * @param itf
      *            the internal name of a interface.
      * @return true if 'type' implements directly or indirectly 'itf'
@@ -148,7 +186,7 @@ public class ComputeClassWriter extends ClassWriter {
      *             if the bytecode of 'type' or of some of its ancestor class
      *             cannot be loaded.
      */
-    private boolean typeImplements(String type, ClassReader info, String itf)
+    private boolean typeImplements(String type, TypeInfo info, String itf)
             throws IOException {
         while (!"java/lang/Object".equals(type)) {
             String[] itfs = info.getInterfaces();
@@ -169,25 +207,31 @@ public class ComputeClassWriter extends ClassWriter {
     }
     
     /**
-     * Returns a ClassReader corresponding to the given class or interface.
+     * Returns the TypeInfo corresponding to the given class or interface.
      *
      * @param type
      *            the internal name of a class or interface.
-     * @return the ClassReader corresponding to 'type'.
+     * @return the TypeInfo corresponding to 'type'.
      * @throws IOException
      *             if the bytecode of 'type' cannot be loaded.
      * @throws NullPointerException
      *             if the bytecode of 'type' cannot be found.
      */
-    private ClassReader typeInfo(final String type) throws IOException, NullPointerException {
+    private TypeInfo typeInfo(final String type) throws IOException, NullPointerException {
+        TypeInfo info = typeInfoCache.get(type);
+        if (info != null) {
+            return info;
+        }
         InputStream is = l.getResourceAsStream(type + ".class");
         try {
         	if(is == null)
         		throw new NullPointerException("Class not found "+type);
-            return new ClassReader(is);
+            info = new TypeInfo(new ClassReader(is));
         } finally {
         	if(is != null)
         		is.close();
         }
+        typeInfoCache.put(type, info);
+        return info;
     }
 }
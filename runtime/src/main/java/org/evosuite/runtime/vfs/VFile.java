@@ -19,8 +19,7 @@
  */
 package org.evosuite.runtime.vfs;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 
 /**
  * Representation of a virtual file
@@ -30,45 +29,54 @@ import java.util.List;
  */
 public class VFile extends FSObject{
 
+	private static final int INITIAL_CAPACITY = 1024;
+
+	/**
+	 * the actual data contained in file. Only the first {@link #size} bytes are valid
+	 */
+	private byte[] data;
+
 	/**
-	 * the actual data contained in file as a list of bytes
+	 * the number of bytes in the file
 	 */
-	private final List<Byte> data;
+	private int size;
 
 	public VFile(String path, VFolder parent) {
 		super(path, parent);
 
 		//TODO might need a better type of data structure supporting multi-threading
-		data = new ArrayList<Byte>(1024);
+		data = new byte[INITIAL_CAPACITY];
+		size = 0;
 	}
 
-	public void eraseData(){
-		data.clear();
+	public synchronized void eraseData(){
+		size = 0;
 	}
 
 	public synchronized int getDataSize(){
-		return data.size();
+		return size;
 	}
 
 
 	public synchronized void setLength(int newLength){
-
-		/*
-		 * Note: this implementation is not particularly efficient...
-		 * but setLength is rarely called
-		 */
-
-		while(newLength > data.size()){
-			data.add((byte)0);
+		if(newLength > size){
+			ensureCapacity(newLength);
+			//bytes after the end of the file might still contain data that was truncated
+			Arrays.fill(data, size, newLength, (byte)0);
 		}
+		size = newLength;
+	}
 
-		if(newLength==0){
-			data.clear();
-			return;
-		}
-		
-		while(data.size() > newLength){
-			data.remove(data.size()-1);
+	/**
+	 * Make sure {@link #data} can hold at least {@code capacity} bytes
+	 */
+	private void ensureCapacity(int capacity){
+		if(capacity > data.length){
+			int newCapacity = Math.max(capacity, data.length + (data.length >> 1));
+			if(newCapacity < 0){ //overflow
+				newCapacity = Integer.MAX_VALUE;
+			}
+			data = Arrays.copyOf(data, newCapacity);
 		}
 	}
 
@@ -82,15 +90,42 @@ public class VFile extends FSObject{
 			throw new IllegalArgumentException("Position in the file cannot be negative");
 		}
 
-		if(position >= data.size()){
+		if(position >= size){
+			return -1; //this represent the end of the stream
+		}
+
+		return data[position] & 0xFF;
+	}
+
+	/**
+	 * Copy up to {@code len} bytes starting at {@code position} into {@code b}
+	 * 
+	 * @return the number of bytes copied, or -1 if {@code position} is at or after the end of the file
+	 *         (and {@code len} is not 0)
+	 */
+	public synchronized int read(int position, byte b[], int off, int len) throws IllegalArgumentException{
+		if(position<0){
+			throw new IllegalArgumentException("Position in the file cannot be negative");
+		}
+		if(off < 0 || len < 0 || len > b.length - off){
+			throw new IndexOutOfBoundsException();
+		}
+
+		if(len == 0){
+			return 0;
+		}
+
+		if(position >= size){
 			return -1; //this represent the end of the stream
 		}
 
-		return data.get(position) & 0xFF;
+		int n = Math.min(len, size - position);
+		System.arraycopy(data, position, b, off, n);
+		return n;
 	}
 
 	public synchronized int writeBytes(byte b[], int off, int len){
-		return writeBytes(data.size(),b,off,len);
+		return writeBytes(size,b,off,len);
 	}
 
 	
@@ -104,20 +139,14 @@ public class VFile extends FSObject{
 			return 0;
 		}
 
-		if(position >= data.size()){
+		if(position >= size){
 			setLength(position);
 		}
 
-		int written = 0;
-		for(int i=off; i<b.length & (i-off)<len; i++){
-			if(position < data.size()){
-				data.set(position,(b[i]));
-			} else {
-				data.add(b[i]);
-			}
-			position++;
-			written++;
-		}
+		int written = Math.max(0, Math.min(len, b.length - off));
+		ensureCapacity(position + written);
+		System.arraycopy(b, off, data, position, written);
+		size = Math.max(size, position + written);
 
 		setLastModified(getCurrentTimeMillis());
 
@@ -30,6 +30,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 
 import org.evosuite.runtime.testdata.EvoSuiteFile;
 import org.evosuite.runtime.LeakingResource;
+import org.evosuite.runtime.ScopedSingleton;
 import org.evosuite.runtime.sandbox.MSecurityManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -55,9 +56,14 @@ public final class VirtualFileSystem {
 	private static final Logger logger = LoggerFactory.getLogger(VirtualFileSystem.class);
 
 	/**
-	 * The only instance of this class
+	 * The only instance of this class, or of the current thread if the state is thread scoped
 	 */
-	private static final VirtualFileSystem singleton = new VirtualFileSystem();
+	private static final ScopedSingleton<VirtualFileSystem> singleton = new ScopedSingleton<VirtualFileSystem>() {
+		@Override
+		protected VirtualFileSystem create() {
+			return new VirtualFileSystem();
+		}
+	};
 
 	/**
 	 * The root of the VFS
@@ -119,7 +125,7 @@ public final class VirtualFileSystem {
 	 * @return
 	 */
 	public static VirtualFileSystem getInstance() {
-		return singleton;
+		return singleton.get();
 	}
 
 	/**
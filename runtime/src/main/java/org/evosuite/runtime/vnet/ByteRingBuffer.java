@@ -0,0 +1,166 @@
+/**
+ * Copyright (C) 2010-2015 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser Public License as published by the
+ * Free Software Foundation, either version 3.0 of the License, or (at your
+ * option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser Public License along
+ * with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.runtime.vnet;
+
+/**
+ * A growable circular buffer of bytes, used to hold the data in transit
+ * on a simulated connection.
+ *
+ * <p>
+ * Data is copied in and out with {@link System#arraycopy}, so bulk transfers
+ * cost one copy per contiguous chunk instead of one call per byte.
+ * This class is not thread-safe: callers need to synchronize on their own.
+ */
+public class ByteRingBuffer {
+
+	private static final int DEFAULT_CAPACITY = 1024;
+
+	private byte[] data;
+
+	/**
+	 * Position of the next byte to read
+	 */
+	private int head;
+
+	/**
+	 * Number of bytes currently stored
+	 */
+	private int size;
+
+	public ByteRingBuffer() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	public ByteRingBuffer(int initialCapacity) {
+		if (initialCapacity <= 0) {
+			throw new IllegalArgumentException("Capacity must be positive: " + initialCapacity);
+		}
+		data = new byte[initialCapacity];
+		head = 0;
+		size = 0;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	public void clear() {
+		head = 0;
+		size = 0;
+	}
+
+	public void write(byte b) {
+		ensureCapacity(size + 1);
+		data[(head + size) % data.length] = b;
+		size++;
+	}
+
+	public void write(byte[] b, int off, int len) {
+		checkBounds(b, off, len);
+		if (len == 0) {
+			return;
+		}
+		ensureCapacity(size + len);
+
+		int tail = (head + size) % data.length;
+		int first = Math.min(len, data.length - tail);
+		System.arraycopy(b, off, data, tail, first);
+		System.arraycopy(b, off + first, data, 0, len - first);
+		size += len;
+	}
+
+	/**
+	 * @return the next byte as an unsigned value in 0-255, or -1 if the buffer is empty
+	 */
+	public int read() {
+		if (size == 0) {
+			return -1;
+		}
+		int value = data[head] & 0xFF;
+		head = (head + 1) % data.length;
+		size--;
+		return value;
+	}
+
+	/**
+	 * Move up to {@code len} bytes into {@code b}.
+	 *
+	 * @return the number of bytes read, 0 if {@code len} is 0, or -1 if the buffer is empty
+	 */
+	public int read(byte[] b, int off, int len) {
+		checkBounds(b, off, len);
+		if (len == 0) {
+			return 0;
+		}
+		if (size == 0) {
+			return -1;
+		}
+
+		int n = Math.min(len, size);
+		int first = Math.min(n, data.length - head);
+		System.arraycopy(data, head, b, off, first);
+		System.arraycopy(data, 0, b, off + first, n - first);
+		head = (head + n) % data.length;
+		size -= n;
+		return n;
+	}
+
+	private void ensureCapacity(int required) {
+		if (required <= data.length) {
+			return;
+		}
+		if (required < 0) {
+			throw new OutOfMemoryError("Buffer too large");
+		}
+		int capacity = Math.max(required, data.length * 2);
+		if (capacity < 0) {
+			capacity = Integer.MAX_VALUE;
+		}
+
+		byte[] grown = new byte[capacity];
+		int first = Math.min(size, data.length - head);
+		System.arraycopy(data, head, grown, 0, first);
+		System.arraycopy(data, 0, grown, first, size - first);
+		data = grown;
+		head = 0;
+	}
+
+	private static void checkBounds(byte[] b, int off, int len) {
+		if (b == null) {
+			throw new NullPointerException();
+		}
+		if (off < 0 || len < 0 || len > b.length - off) {
+			throw new IndexOutOfBoundsException("off=" + off + ", len=" + len + ", length=" + b.length);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "ByteRingBuffer[size=" + size + ", capacity=" + data.length + "]";
+	}
+
+	int capacity() {
+		return data.length;
+	}
+}
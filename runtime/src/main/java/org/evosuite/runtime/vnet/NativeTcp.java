@@ -19,16 +19,15 @@
  */
 package org.evosuite.runtime.vnet;
 
-import java.util.ArrayDeque;
-import java.util.Queue;
-
 /**
  * Class used to simulate a bi-directional TCP socket connection between two hosts.
  * This class only handle the exchange of data between SUT and EvoSuite tests, and not
  * whether the connections are actually in place
  * 
  * <p>
- * This class is thread-safe
+ * This class is thread-safe.
+ * Data in transit is kept in {@link ByteRingBuffer}s, so bulk reads and writes
+ * copy whole arrays under a single lock acquisition
  * 
  * @author arcuri
  *
@@ -43,12 +42,12 @@ public class NativeTcp {
 	/**
 	 * The TCP buffer used locally by the SUT
 	 */
-	private final Queue<Byte> localBuffer;
+	private final ByteRingBuffer localBuffer;
 	
 	/**
 	 * The TCP buffer used by the EvoSuite tests to simulate a remote connection
 	 */
-	private final Queue<Byte> remoteBuffer;
+	private final ByteRingBuffer remoteBuffer;
 	
 	/**
 	 * Info on local (SUT) address/port
@@ -68,8 +67,8 @@ public class NativeTcp {
 		
 		this.localEndPoint = localEndPoint; //this can be null
 		this.remoteEndPoint = remoteEndPoint;
-		localBuffer = new ArrayDeque<>();
-		remoteBuffer = new ArrayDeque<>();
+		localBuffer = new ByteRingBuffer();
+		remoteBuffer = new ByteRingBuffer();
 	}
 	
 	public boolean isBound(){
@@ -89,7 +88,15 @@ public class NativeTcp {
 	 */
 	public synchronized void writeToRemote(byte b){
 		//the data is directly added to remote buffer
-		remoteBuffer.add(b);
+		remoteBuffer.write(b);
+	}
+
+	/**
+	 *  Used by SUT to simulate sending of {@code len} bytes of {@code b},
+	 *  starting at {@code off}, to remote host
+	 */
+	public synchronized void writeToRemote(byte[] b, int off, int len){
+		remoteBuffer.write(b, off, len);
 	}
 	
 	/**
@@ -100,14 +107,22 @@ public class NativeTcp {
      *   int representation
 	 */
 	public synchronized int readInSUTfromRemote(){
-		if(localBuffer.isEmpty()){
-			/*
-			 * Note: in  TCP, a read operation on a empty buffer would be blocking 
-			 */
-			return -1;  
-		}
-		
-		return localBuffer.poll() & 0xFF;
+		/*
+		 * Note: in  TCP, a read operation on a empty buffer would be blocking.
+		 * Here we cannot block, as the remote host is simulated by the test
+		 * itself, and so nothing would ever be written while the SUT is waiting
+		 */
+		return localBuffer.read();
+	}
+
+	/**
+	 * Read up to {@code len} bytes sent by the remote host into {@code b}
+	 * 
+	 * @return the number of bytes read, 0 if {@code len} is 0, or -1 if there is
+	 * no data to read
+	 */
+	public synchronized int readInSUTfromRemote(byte[] b, int off, int len){
+		return localBuffer.read(b, off, len);
 	}
 	
 	/**
@@ -115,7 +130,15 @@ public class NativeTcp {
 	 * @param b
 	 */
 	public synchronized void writeToSUT(byte b){
-		localBuffer.add(b);
+		localBuffer.write(b);
+	}
+
+	/**
+	 * Used by tests to simulate sending of {@code len} bytes of {@code b},
+	 * starting at {@code off}, to the SUT 
+	 */
+	public synchronized void writeToSUT(byte[] b, int off, int len){
+		localBuffer.write(b, off, len);
 	}
 		
 	/**
@@ -126,10 +149,17 @@ public class NativeTcp {
 	 * @return
 	 */
 	public synchronized int readInTestFromSUT(){
-		if(remoteBuffer.isEmpty()){
-			return -1;
-		}
-		return remoteBuffer.poll() & 0xFF;
+		return remoteBuffer.read();
+	}
+
+	/**
+	 * Read up to {@code len} bytes sent by the SUT into {@code b}
+	 * 
+	 * @return the number of bytes read, 0 if {@code len} is 0, or -1 if there is
+	 * no data to read
+	 */
+	public synchronized int readInTestFromSUT(byte[] b, int off, int len){
+		return remoteBuffer.read(b, off, len);
 	}
 
 	/**
@@ -31,6 +31,7 @@ import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import org.evosuite.runtime.ScopedSingleton;
 import org.evosuite.runtime.mock.java.net.MockInetAddress;
 import org.evosuite.runtime.mock.java.net.MockURL;
 
@@ -53,7 +54,12 @@ public class VirtualNetwork {
 	/**
 	 * Singleton instance
 	 */
-	private static final VirtualNetwork instance = new VirtualNetwork();
+	private static final ScopedSingleton<VirtualNetwork> instance = new ScopedSingleton<VirtualNetwork>() {
+		@Override
+		protected VirtualNetwork create() {
+			return new VirtualNetwork();
+		}
+	};
 
 	/**
 	 * When we simulate a remote incoming connection, we still need a remote port.
@@ -174,7 +180,7 @@ public class VirtualNetwork {
 	}
 
 	public static VirtualNetwork getInstance(){
-		return instance;
+		return instance.get();
 	}
 
 	//------------------------------------------
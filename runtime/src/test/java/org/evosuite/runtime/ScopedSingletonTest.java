@@ -0,0 +1,134 @@
+/**
+ * Copyright (C) 2010-2015 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser Public License as published by the
+ * Free Software Foundation, either version 3.0 of the License, or (at your
+ * option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser Public License along
+ * with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.runtime;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.evosuite.runtime.mock.MockFramework;
+import org.evosuite.runtime.vfs.VirtualFileSystem;
+import org.evosuite.runtime.vnet.VirtualNetwork;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ScopedSingletonTest {
+
+    @After
+    public void tearDown() {
+        RuntimeSettings.useThreadScopedState = false;
+    }
+
+    private static <T> T getOnNewThread(final Callable<T> callable) throws InterruptedException {
+        final AtomicReference<T> result = new AtomicReference<>();
+        Thread t = new Thread() {
+            @Override
+            public void run() {
+                result.set(callable.call());
+            }
+        };
+        t.start();
+        t.join();
+        return result.get();
+    }
+
+    private interface Callable<T> {
+        T call();
+    }
+
+    private static final Callable<VirtualFileSystem> VFS = new Callable<VirtualFileSystem>() {
+        @Override
+        public VirtualFileSystem call() {
+            return VirtualFileSystem.getInstance();
+        }
+    };
+
+    @Test
+    public void testGlobalByDefault() throws InterruptedException {
+        Assert.assertSame(VirtualFileSystem.getInstance(), getOnNewThread(VFS));
+    }
+
+    @Test
+    public void testThreadScoped() throws InterruptedException {
+        final VirtualFileSystem global = VirtualFileSystem.getInstance();
+        RuntimeSettings.useThreadScopedState = true;
+
+        Callable<VirtualFileSystem> unrelated = new Callable<VirtualFileSystem>() {
+            @Override
+            public VirtualFileSystem call() {
+                ScopedSingleton.startNewScope();
+                return VirtualFileSystem.getInstance();
+            }
+        };
+        VirtualFileSystem vfs = VirtualFileSystem.getInstance();
+        Assert.assertNotSame(global, vfs);
+        Assert.assertSame(vfs, VirtualFileSystem.getInstance());
+
+        //threads started by a test share its state, others do not
+        Assert.assertSame(vfs, getOnNewThread(VFS));
+        Assert.assertNotSame(vfs, getOnNewThread(unrelated));
+        Assert.assertNotSame(VirtualNetwork.getInstance(), getOnNewThread(new Callable<VirtualNetwork>() {
+            @Override
+            public VirtualNetwork call() {
+                ScopedSingleton.startNewScope();
+                return VirtualNetwork.getInstance();
+            }
+        }));
+
+        RuntimeSettings.useThreadScopedState = false;
+        Assert.assertSame(global, VirtualFileSystem.getInstance());
+    }
+
+    @Test
+    public void testMockFrameworkPerThread() throws InterruptedException {
+        RuntimeSettings.useThreadScopedState = true;
+        MockFramework.enable();
+        try {
+            Assert.assertTrue(getOnNewThread(new Callable<Boolean>() {
+                @Override
+                public Boolean call() {
+                    return MockFramework.isEnabled();
+                }
+            }));
+            Assert.assertFalse(getOnNewThread(new Callable<Boolean>() {
+                @Override
+                public Boolean call() {
+                    ScopedSingleton.startNewScope();
+                    return MockFramework.isEnabled();
+                }
+            }));
+        } finally {
+            MockFramework.disable();
+        }
+    }
+
+    @Test
+    public void testLoopIndicesUniqueAmongThreads() throws InterruptedException {
+        RuntimeSettings.useThreadScopedState = true;
+        int first = LoopCounter.getInstance().getNewIndex();
+        int second = getOnNewThread(new Callable<Integer>() {
+            @Override
+            public Integer call() {
+                ScopedSingleton.startNewScope();
+                return LoopCounter.getInstance().getNewIndex();
+            }
+        });
+        Assert.assertNotEquals(first, second);
+    }
+}
@@ -0,0 +1,95 @@
+/**
+ * Copyright (C) 2010-2015 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser Public License as published by the
+ * Free Software Foundation, either version 3.0 of the License, or (at your
+ * option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser Public License along
+ * with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.runtime.instrumentation;
+
+import java.io.File;
+
+import org.evosuite.runtime.RuntimeSettings;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class InstrumentedClassCacheTest {
+
+    private static final String CLASS_NAME = "com.examples.with.different.packagename.classhandling.TimeA";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private boolean resetStaticState;
+
+    @Before
+    public void init() {
+        resetStaticState = RuntimeSettings.resetStaticState;
+        InstrumentedClassCache.resetSingleton();
+    }
+
+    @After
+    public void tearDown() {
+        RuntimeSettings.resetStaticState = resetStaticState;
+        System.clearProperty(InstrumentedClassCache.CACHE_DIR_PROPERTY);
+        InstrumentedClassCache.resetSingleton();
+    }
+
+    @Test
+    public void testSharedAmongLoaders() throws Exception {
+        Class<?> first = new EvoClassLoader().loadClass(CLASS_NAME);
+        Assert.assertEquals(1, InstrumentedClassCache.getInstance().size());
+
+        Class<?> second = new EvoClassLoader().loadClass(CLASS_NAME);
+        Assert.assertEquals(1, InstrumentedClassCache.getInstance().size());
+        Assert.assertNotSame(first, second);
+        Assert.assertNotSame(first.getClassLoader(), second.getClassLoader());
+
+        //different instrumentation, so a different entry
+        RuntimeSettings.resetStaticState = !RuntimeSettings.resetStaticState;
+        new EvoClassLoader().loadClass(CLASS_NAME);
+        Assert.assertEquals(2, InstrumentedClassCache.getInstance().size());
+    }
+
+    @Test
+    public void testOnDiskCache() throws Exception {
+        File dir = new File(folder.getRoot(), "cache");
+        System.setProperty(InstrumentedClassCache.CACHE_DIR_PROPERTY, dir.getAbsolutePath());
+
+        new EvoClassLoader().loadClass(CLASS_NAME);
+        File[] revisions = dir.listFiles();
+        Assert.assertNotNull(revisions);
+        Assert.assertEquals(1, revisions.length);
+        Assert.assertEquals(InstrumentedClassCache.getRuntimeRevision(), revisions[0].getName());
+
+        File[] files = revisions[0].listFiles();
+        Assert.assertNotNull(files);
+        Assert.assertEquals(1, files.length);
+        Assert.assertTrue(files[0].getName().startsWith(CLASS_NAME));
+        long modified = files[0].lastModified();
+
+        //as in a new JVM, the class is now read from disk
+        InstrumentedClassCache.resetSingleton();
+        Class<?> klass = new EvoClassLoader().loadClass(CLASS_NAME);
+        Assert.assertEquals(CLASS_NAME, klass.getName());
+        files = revisions[0].listFiles();
+        Assert.assertEquals(1, files.length);
+        Assert.assertEquals(modified, files[0].lastModified());
+    }
+}
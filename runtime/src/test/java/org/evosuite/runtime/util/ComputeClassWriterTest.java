@@ -0,0 +1,59 @@
+/**
+ * Copyright (C) 2010-2015 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser Public License as published by the
+ * Free Software Foundation, either version 3.0 of the License, or (at your
+ * option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser Public License along
+ * with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.runtime.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.objectweb.asm.ClassWriter;
+
+public class ComputeClassWriterTest {
+
+	private final ComputeClassWriter writer = new ComputeClassWriter(ClassWriter.COMPUTE_FRAMES);
+
+	@Test
+	public void testCommonSuperClassOfClasses() {
+		Assert.assertEquals("java/util/AbstractList",
+				writer.getCommonSuperClass("java/util/ArrayList", "java/util/LinkedList"));
+		Assert.assertEquals("java/lang/Object", writer.getCommonSuperClass("java/lang/String", "java/lang/Integer"));
+		Assert.assertEquals("java/lang/Number", writer.getCommonSuperClass("java/lang/Long", "java/lang/Integer"));
+	}
+
+	@Test
+	public void testCommonSuperClassWithInterfaces() {
+		Assert.assertEquals("java/util/List", writer.getCommonSuperClass("java/util/List", "java/util/ArrayList"));
+		Assert.assertEquals("java/util/Collection",
+				writer.getCommonSuperClass("java/util/ArrayList", "java/util/Collection"));
+		Assert.assertEquals("java/lang/Object", writer.getCommonSuperClass("java/util/Map", "java/util/ArrayList"));
+	}
+
+	@Test
+	public void testSameResultFromOtherWriter() {
+		// the second writer answers from the types read by the first one
+		ComputeClassWriter other = new ComputeClassWriter(ClassWriter.COMPUTE_FRAMES);
+		Assert.assertEquals(writer.getCommonSuperClass("java/util/HashSet", "java/util/TreeSet"),
+				other.getCommonSuperClass("java/util/HashSet", "java/util/TreeSet"));
+		Assert.assertEquals("java/util/AbstractSet", other.getCommonSuperClass("java/util/HashSet", "java/util/TreeSet"));
+	}
+
+	@Test(expected = RuntimeException.class)
+	public void testUnknownClass() {
+		writer.getCommonSuperClass("java/lang/String", "does/not/Exist");
+	}
+}
@@ -22,6 +22,8 @@ package org.evosuite.runtime.vfs;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.util.Arrays;
 
 import org.evosuite.runtime.Runtime;
@@ -29,6 +31,7 @@ import org.evosuite.runtime.mock.MockFramework;
 import org.evosuite.runtime.mock.java.io.MockFile;
 import org.evosuite.runtime.mock.java.io.MockFileInputStream;
 import org.evosuite.runtime.mock.java.io.MockFileOutputStream;
+import org.evosuite.runtime.mock.java.io.MockRandomAccessFile;
 import org.evosuite.runtime.vfs.VirtualFileSystem;
 import org.junit.After;
 import org.junit.Assert;
@@ -254,4 +257,70 @@ public class VirtualFileSystemTest {
 		Assert.assertFalse(folder.exists());		
 	}
 
+
+	@Test
+	public void testBulkReadWrite() throws IOException{
+		File file = MockFile.createTempFile("foo", ".tmp");
+
+		// larger than the initial capacity of a virtual file
+		byte[] data = new byte[5000];
+		for(int i=0; i<data.length; i++){
+			data[i] = (byte) i;
+		}
+		MockFileOutputStream out = new MockFileOutputStream(file);
+		out.write(data);
+		out.close();
+		Assert.assertEquals(data.length, file.length());
+
+		MockFileInputStream in = new MockFileInputStream(file);
+		byte[] buffer = new byte[3000];
+		Assert.assertEquals(3000, in.read(buffer));
+		Assert.assertEquals(data[2999], buffer[2999]);
+		Assert.assertEquals(2000, in.available());
+		Assert.assertEquals(2000, in.read(buffer, 0, buffer.length));
+		Assert.assertEquals(data[4999], buffer[1999]);
+		Assert.assertEquals(0, in.available());
+		Assert.assertEquals(-1, in.read(buffer));
+		Assert.assertEquals(-1, in.read());
+		Assert.assertEquals(0, in.available());
+		in.close();
+	}
+
+	@Test
+	public void testTruncateAndExtend() throws IOException{
+		File file = MockFile.createTempFile("foo", ".tmp");
+		MockRandomAccessFile raf = new MockRandomAccessFile(file, "rw");
+		raf.write(new byte[]{1,2,3,4});
+		raf.setLength(1);
+		raf.setLength(3);
+		raf.seek(0);
+
+		byte[] buffer = new byte[10];
+		Assert.assertEquals(3, raf.read(buffer));
+		Assert.assertEquals(1, buffer[0]);
+		Assert.assertEquals(0, buffer[1]);
+		Assert.assertEquals(0, buffer[2]);
+		raf.close();
+	}
+
+	@Test
+	public void testChannelReadWrite() throws IOException{
+		File file = MockFile.createTempFile("foo", ".tmp");
+		MockRandomAccessFile raf = new MockRandomAccessFile(file, "rw");
+		FileChannel channel = raf.getChannel();
+
+		Assert.assertEquals(5, channel.write(ByteBuffer.wrap(new byte[]{1,2,3,4,5})));
+		Assert.assertEquals(5, channel.size());
+
+		channel.position(1);
+		ByteBuffer heap = ByteBuffer.allocate(2);
+		Assert.assertEquals(2, channel.read(heap));
+		Assert.assertEquals(3, heap.get(1));
+
+		ByteBuffer direct = ByteBuffer.allocateDirect(10);
+		Assert.assertEquals(2, channel.read(direct));
+		Assert.assertEquals(5, direct.get(1));
+		Assert.assertEquals(-1, channel.read(direct));
+		raf.close();
+	}
 }
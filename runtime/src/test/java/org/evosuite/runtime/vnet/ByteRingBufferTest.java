@@ -0,0 +1,106 @@
+/**
+ * Copyright (C) 2010-2015 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser Public License as published by the
+ * Free Software Foundation, either version 3.0 of the License, or (at your
+ * option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser Public License along
+ * with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.runtime.vnet;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ByteRingBufferTest {
+
+	@Test
+	public void testEmpty(){
+		ByteRingBuffer buffer = new ByteRingBuffer();
+		Assert.assertEquals(0, buffer.size());
+		Assert.assertEquals(-1, buffer.read());
+		Assert.assertEquals(-1, buffer.read(new byte[4], 0, 4));
+		Assert.assertEquals(0, buffer.read(new byte[4], 0, 0));
+	}
+
+	@Test
+	public void testUnsignedSingleByte(){
+		ByteRingBuffer buffer = new ByteRingBuffer();
+		buffer.write((byte) -1);
+		buffer.write((byte) 42);
+		Assert.assertEquals(255, buffer.read());
+		Assert.assertEquals(42, buffer.read());
+		Assert.assertEquals(-1, buffer.read());
+	}
+
+	@Test
+	public void testWrapAround(){
+		ByteRingBuffer buffer = new ByteRingBuffer(8);
+		byte[] out = new byte[8];
+
+		buffer.write(new byte[]{0, 1, 2, 3, 4, 5}, 0, 6);
+		Assert.assertEquals(4, buffer.read(out, 0, 4));
+
+		//this write wraps around the end of the backing array
+		buffer.write(new byte[]{6, 7, 8, 9, 10}, 0, 5);
+		Assert.assertEquals(8, buffer.capacity());
+		Assert.assertEquals(7, buffer.size());
+
+		Assert.assertEquals(7, buffer.read(out, 1, 7));
+		for(int i=0; i<7; i++){
+			Assert.assertEquals(i + 4, out[i + 1]);
+		}
+		Assert.assertTrue(buffer.isEmpty());
+	}
+
+	@Test
+	public void testGrowKeepsOrder(){
+		ByteRingBuffer buffer = new ByteRingBuffer(4);
+		buffer.write(new byte[]{0, 1, 2}, 0, 3);
+		Assert.assertEquals(0, buffer.read());
+		Assert.assertEquals(1, buffer.read());
+
+		byte[] data = new byte[100];
+		for(int i=0; i<data.length; i++){
+			data[i] = (byte) (i + 3);
+		}
+		buffer.write(data, 0, data.length);
+		Assert.assertEquals(101, buffer.size());
+
+		byte[] out = new byte[200];
+		Assert.assertEquals(101, buffer.read(out, 0, out.length));
+		for(int i=0; i<101; i++){
+			Assert.assertEquals((byte) (i + 2), out[i]);
+		}
+	}
+
+	@Test
+	public void testNativeTcpBulk(){
+		NativeTcp tcp = new NativeTcp(null, new EndPointInfo("127.0.0.1", 42, VirtualNetwork.ConnectionType.TCP));
+		byte[] msg = "Hello World".getBytes();
+
+		tcp.writeToSUT(msg, 0, msg.length);
+		Assert.assertEquals(msg.length, tcp.getAmountOfDataInLocalBuffer());
+		Assert.assertEquals('H', tcp.readInSUTfromRemote());
+
+		byte[] in = new byte[32];
+		int n = tcp.readInSUTfromRemote(in, 0, in.length);
+		Assert.assertEquals("ello World", new String(in, 0, n));
+		Assert.assertEquals(-1, tcp.readInSUTfromRemote(in, 0, in.length));
+
+		tcp.writeToRemote(msg, 6, 5);
+		Assert.assertEquals(5, tcp.getAmountOfDataInRemoteBuffer());
+		n = tcp.readInTestFromSUT(in, 0, in.length);
+		Assert.assertEquals("World", new String(in, 0, n));
+	}
+}